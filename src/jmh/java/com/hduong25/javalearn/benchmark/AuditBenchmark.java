@@ -0,0 +1,107 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.config.AuditProperties;
+import com.hduong25.javalearn.modules.audit.AuditEventListener;
+import com.hduong25.javalearn.modules.audit.AuditTrailWriter;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí audit trên thread của request: tính diff từ trạng thái Hibernate và đưa vào hàng đợi
+ * của {@link AuditTrailWriter}.
+ * <p>
+ * Thread nền vẫn chạy nhưng ghi vào một {@link JdbcTemplate} không làm gì, nên hàng đợi không đầy
+ * và số đo không tính thời gian insert của database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditBenchmark {
+
+    // Thứ tự thuộc tính của UserEntity theo Hibernate (sắp xếp theo tên)
+    private static final String[] PROPERTIES = {"account", "address", "createdBy", "createdDate", "email", "name",
+            "password", "phone", "updatedBy", "updatedDate"};
+    private static final int[] DIRTY = {5, 6, 9};
+
+    private AuditTrailWriter writer;
+    private AuditEventListener listener;
+    private EntityPersister persister;
+    private UserEntity user;
+    private Object[] oldState;
+    private Object[] newState;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AuditProperties properties = new AuditProperties();
+        writer = new AuditTrailWriter(new DiscardingJdbcTemplate(), properties);
+        writer.start();
+        listener = new AuditEventListener(null, writer, properties);
+        persister = (EntityPersister) Proxy.newProxyInstance(EntityPersister.class.getClassLoader(),
+                new Class<?>[]{EntityPersister.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getPropertyNames" -> PROPERTIES;
+                    case "getMappedClass" -> UserEntity.class;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        user = UserEntity.builder().id(1L).name("Nguyễn Văn A").account("nguyenvana").build();
+        LocalDateTime now = LocalDateTime.now();
+        oldState = new Object[]{"nguyenvana", "Đà Nẵng", "admin", now, "a@example.com", "Nguyễn Văn A",
+                "{bcrypt}$2a$10$old", "0905000000", "admin", now};
+        newState = oldState.clone();
+        newState[5] = "Nguyễn Văn B";
+        newState[6] = "{bcrypt}$2a$10$new";
+        newState[9] = now.plusSeconds(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writer.stop();
+    }
+
+    @Benchmark
+    public void update() {
+        listener.onPostUpdate(new PostUpdateEvent(user, 1L, newState, oldState, DIRTY, persister, null));
+    }
+
+    @Benchmark
+    public void insert() {
+        listener.onPostInsert(new PostInsertEvent(user, 1L, newState, persister, null));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void update4Threads() {
+        update();
+    }
+
+    /**
+     * JdbcTemplate bỏ qua batch insert của thread nền.
+     */
+    private static class DiscardingJdbcTemplate extends JdbcTemplate {
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            return new int[0][];
+        }
+    }
+}
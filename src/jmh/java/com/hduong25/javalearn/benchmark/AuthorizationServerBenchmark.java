@@ -0,0 +1,126 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.config.AuthorizationServerProperties;
+import com.hduong25.javalearn.config.JwtProperties;
+import com.hduong25.javalearn.modules.auth.jwt.SigningKeyManager;
+import com.hduong25.javalearn.modules.auth.server.CachingClientSecretEncoder;
+import com.hduong25.javalearn.modules.auth.server.ShardedOAuth2AuthorizationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Số token/giây của luồng {@code client_credentials} trên authorization server nhúng: kiểm tra client secret
+ * ({@link CachingClientSecretEncoder}), ký access token bằng key của {@link SigningKeyManager} và lưu
+ * authorization vào {@link ShardedOAuth2AuthorizationService}. Không tính phần HTTP và filter chain.
+ * <p>
+ * Store được tạo lại mỗi iteration để số authorization đã lưu không tăng mãi trong lúc đo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AuthorizationServerBenchmark {
+
+    private static final String CLIENT_SECRET = "client-secret";
+
+    @Param({"RS256", "ES256"})
+    private String algorithm;
+
+    private RegisteredClient client;
+    private CachingClientSecretEncoder secretEncoder;
+    private SigningKeyManager signingKeyManager;
+    private JwtEncoder jwtEncoder;
+    private ShardedOAuth2AuthorizationService authorizationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AuthorizationServerProperties properties = new AuthorizationServerProperties();
+        secretEncoder = new CachingClientSecretEncoder(new BCryptPasswordEncoder(10),
+                properties.getClientSecretCacheTtl(), properties.getClientSecretCacheSize());
+        client = RegisteredClient.withId(UUID.randomUUID().toString())
+                .clientId("benchmark-client")
+                .clientSecret(secretEncoder.encode(CLIENT_SECRET))
+                .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .scope("users.read")
+                .build();
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setAlgorithm(algorithm);
+        signingKeyManager = new SigningKeyManager(jwtProperties);
+        jwtEncoder = new NimbusJwtEncoder(signingKeyManager.signingJwkSource());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStore() {
+        authorizationService = new ShardedOAuth2AuthorizationService(new AuthorizationServerProperties());
+    }
+
+    @Benchmark
+    public OAuth2Authorization clientCredentials() {
+        if (!secretEncoder.matches(CLIENT_SECRET, client.getClientSecret())) {
+            throw new IllegalStateException("Invalid client secret");
+        }
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer("java-learn")
+                .subject(client.getClientId())
+                .audience(List.of(client.getClientId()))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(300))
+                .claim("scope", client.getScopes())
+                .build();
+        Jwt jwt = jwtEncoder.encode(JwtEncoderParameters.from(
+                JwsHeader.with(signingKeyManager.getSignatureAlgorithm()).build(), claims));
+
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                jwt.getTokenValue(), jwt.getIssuedAt(), jwt.getExpiresAt(), Set.copyOf(client.getScopes()));
+        OAuth2Authorization authorization = OAuth2Authorization.withRegisteredClient(client)
+                .principalName(client.getClientId())
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .authorizedScopes(client.getScopes())
+                .token(accessToken, metadata -> metadata.put(OAuth2Authorization.Token.CLAIMS_METADATA_NAME,
+                        jwt.getClaims()))
+                .build();
+        authorizationService.save(authorization);
+        return authorization;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OAuth2Authorization clientCredentials8Threads() {
+        return clientCredentials();
+    }
+
+    @Benchmark
+    public boolean cachedClientSecret() {
+        return secretEncoder.matches(CLIENT_SECRET, client.getClientSecret());
+    }
+}
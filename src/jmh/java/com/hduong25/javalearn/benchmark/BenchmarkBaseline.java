@@ -0,0 +1,170 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * So sánh kết quả JMH (JSON, {@code -rf json}) với baseline đã lưu, chạy bởi profile Maven {@code jmh}.
+ * <p>
+ * Cách dùng: {@code BenchmarkBaseline <compare|update> <result.json> <baseline.json> <threshold>}
+ * <ul>
+ *   <li>{@code compare}: in bảng so sánh; thoát với mã 1 nếu có benchmark chậm hơn baseline quá
+ *   {@code threshold} (tỉ lệ, 0.20 = 20%) và chênh lệch lớn hơn tổng sai số của hai lần đo.
+ *   Benchmark chỉ có ở một bên được bỏ qua</li>
+ *   <li>{@code update}: ghi đè baseline bằng kết quả hiện tại, kèm thông tin máy đo vào file {@code .env}
+ *   cạnh baseline (số CPU, model CPU, kiến trúc, JVM)</li>
+ * </ul>
+ * Số đo chỉ so sánh được trên cùng loại máy: nếu baseline không có file {@code .env} hoặc được đo trên
+ * máy khác, {@code compare} chỉ in bảng và cảnh báo, không làm build lỗi.
+ * Mode {@code thrpt} càng cao càng tốt, các mode còn lại ({@code avgt}, {@code sample}, {@code ss}) càng thấp càng tốt.
+ */
+public final class BenchmarkBaseline {
+
+    private BenchmarkBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: BenchmarkBaseline <compare|update> <result.json> <baseline.json> <threshold>");
+            System.exit(2);
+        }
+        String mode = args[0];
+        Path result = Path.of(args[1]);
+        Path baseline = Path.of(args[2]);
+        double threshold = Double.parseDouble(args[3]);
+
+        if ("update".equals(mode)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            try (Writer writer = Files.newBufferedWriter(environmentFile(baseline))) {
+                currentEnvironment().store(writer, "Machine that produced " + baseline.getFileName());
+            }
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline + ", skipping comparison");
+            return;
+        }
+
+        int regressions = compare(read(result), read(baseline), threshold);
+        if (regressions == 0) {
+            return;
+        }
+        System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+        String mismatch = environmentMismatch(baseline);
+        if (mismatch != null) {
+            System.out.println("WARNING: " + mismatch + ", not failing the build."
+                    + " Refresh the baseline on this runner with -Djmh.baseline.mode=update");
+            return;
+        }
+        System.exit(1);
+    }
+
+    /**
+     * Mô tả khác biệt giữa máy đo baseline và máy hiện tại, {@code null} nếu giống nhau.
+     */
+    private static String environmentMismatch(Path baseline) throws IOException {
+        Path file = environmentFile(baseline);
+        if (!Files.exists(file)) {
+            return "baseline has no machine description (" + file.getFileName() + ")";
+        }
+        Properties recorded = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            recorded.load(reader);
+        }
+        Properties current = currentEnvironment();
+        for (String key : current.stringPropertyNames()) {
+            if (!current.getProperty(key).equals(recorded.getProperty(key))) {
+                return "baseline was recorded with " + key + "=" + recorded.getProperty(key)
+                        + ", this machine has " + current.getProperty(key);
+            }
+        }
+        return null;
+    }
+
+    private static Properties currentEnvironment() throws IOException {
+        Properties environment = new Properties();
+        environment.setProperty("cpus", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        environment.setProperty("cpu.model", cpuModel());
+        environment.setProperty("os.arch", System.getProperty("os.arch"));
+        environment.setProperty("java.vm",
+                System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version"));
+        return environment;
+    }
+
+    private static String cpuModel() throws IOException {
+        Path cpuInfo = Path.of("/proc/cpuinfo");
+        if (Files.isReadable(cpuInfo)) {
+            for (String line : Files.readAllLines(cpuInfo)) {
+                if (line.startsWith("model name")) {
+                    return line.substring(line.indexOf(':') + 1).trim();
+                }
+            }
+        }
+        return "unknown";
+    }
+
+    private static Path environmentFile(Path baseline) {
+        String name = baseline.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return baseline.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".env");
+    }
+
+    private static int compare(Map<String, Score> current, Map<String, Score> baseline, double threshold) {
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s%n", entry.getKey(), "-", now.score(), "new");
+                continue;
+            }
+
+            // Tỉ lệ chậm đi: dương là xấu hơn baseline
+            double worse = now.higherIsBetter()
+                    ? (before.score() - now.score()) / before.score()
+                    : (now.score() - before.score()) / before.score();
+            boolean regressed = worse > threshold
+                    && Math.abs(now.score() - before.score()) > now.error() + before.error();
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.score(), now.score(),
+                    -worse * 100, regressed ? "  REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.hduong25.javalearn.benchmark.", ""));
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(':').append(param.getKey()).append('=').append(param.getValue().asText()));
+            key.append(" [").append(run.path("mode").asText()).append(", ")
+                    .append(run.path("primaryMetric").path("scoreUnit").asText()).append(']');
+
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, "thrpt".equals(run.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    private record Score(double score, double error, boolean higherIsBetter) {
+    }
+}
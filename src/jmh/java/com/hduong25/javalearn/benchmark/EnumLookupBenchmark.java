@@ -0,0 +1,94 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.ObjectMapperConfig;
+import com.hduong25.javalearn.utils.enums.EnumRegistry;
+import com.hduong25.javalearn.utils.enums.StatusEnum;
+import com.hduong25.javalearn.utils.enums.converter.StatusEnumConverter;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tra cứu enum theo mã: duyệt {@code values()} so với {@link EnumRegistry}, và JSON/JPA codec của enum.
+ * Mã tra cứu là hằng cuối cùng (trường hợp xấu nhất khi duyệt).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnumLookupBenchmark {
+
+    public record Holder(StatusEnum status) {
+    }
+
+    private final String statusCode = new String(StatusEnum.INACTIVE.getCode());
+    private final String errorCode = new String(ErrorResponse.IDEMPOTENCY_KEY_REUSED.code());
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectMapper codeMapper = new ObjectMapperConfig().objectMapper(true);
+    private final StatusEnumConverter converter = new StatusEnumConverter();
+    private final Holder holder = new Holder(StatusEnum.INACTIVE);
+    private final String defaultJson = "{\"status\":\"INACTIVE\"}";
+    private final String codeJson = "{\"status\":\"Không hoạt động\"}";
+
+    @Benchmark
+    public StatusEnum scanStatusValues() {
+        for (StatusEnum value : StatusEnum.values()) {
+            if (value.getCode().equals(statusCode)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public StatusEnum registryStatus() {
+        return EnumRegistry.fromCode(StatusEnum.class, statusCode);
+    }
+
+    @Benchmark
+    public ErrorResponse scanErrorValues() {
+        for (ErrorResponse value : ErrorResponse.values()) {
+            if (value.code().equals(errorCode)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public ErrorResponse registryError() {
+        return EnumRegistry.fromCode(ErrorResponse.class, errorCode);
+    }
+
+    @Benchmark
+    public StatusEnum converterRead() {
+        return converter.convertToEntityAttribute("I");
+    }
+
+    @Benchmark
+    public String jacksonWriteByName() throws IOException {
+        return defaultMapper.writeValueAsString(holder);
+    }
+
+    @Benchmark
+    public String jacksonWriteByCode() throws IOException {
+        return codeMapper.writeValueAsString(holder);
+    }
+
+    @Benchmark
+    public Holder jacksonReadByName() throws IOException {
+        return defaultMapper.readValue(defaultJson, Holder.class);
+    }
+
+    @Benchmark
+    public Holder jacksonReadByCode() throws IOException {
+        return codeMapper.readValue(codeJson, Holder.class);
+    }
+}
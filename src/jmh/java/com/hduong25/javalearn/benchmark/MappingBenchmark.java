@@ -0,0 +1,73 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.modules.user.dto.UserDTO;
+import com.hduong25.javalearn.utils.ModelMapperUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map entity sang DTO bằng {@link ModelMapperUtils}; {@code manualSingle} là mốc so sánh
+ * với code copy trường viết tay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    private UserEntity user;
+    private List<UserEntity> users;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            UserEntity entity = UserEntity.builder()
+                    .id(id)
+                    .name("Nguyễn Văn " + id)
+                    .address("1 Lê Lợi, Quận 1, TP. Hồ Chí Minh")
+                    .account("user" + id)
+                    .password("$2a$10$abcdefghijklmnopqrstuv")
+                    .email("user" + id + "@example.com")
+                    .phone("0901234567")
+                    .build();
+            entity.setCreatedDate(LocalDateTime.of(2024, 1, 1, 8, 30));
+            users.add(entity);
+        }
+        user = users.get(0);
+    }
+
+    @Benchmark
+    public UserDTO modelMapperSingle() {
+        return ModelMapperUtils.map(user, UserDTO.class);
+    }
+
+    @Benchmark
+    public List<UserDTO> modelMapperList100() {
+        return ModelMapperUtils.map(users, UserDTO.class);
+    }
+
+    @Benchmark
+    public UserDTO manualSingle() {
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setName(user.getName());
+        dto.setAddress(user.getAddress());
+        dto.setAccount(user.getAccount());
+        dto.setEmail(user.getEmail());
+        dto.setPhone(user.getPhone());
+        dto.setCreatedDate(user.getCreatedDate());
+        dto.setUpdatedDate(user.getUpdatedDate());
+        return dto;
+    }
+}
@@ -0,0 +1,104 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.config.PasswordEncoderConfig;
+import com.hduong25.javalearn.config.PasswordHashingProperties;
+import com.hduong25.javalearn.modules.auth.password.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Số lần kiểm tra mật khẩu mỗi giây khi đăng nhập: BCrypt theo {@code security.password.bcrypt-strength},
+ * PBKDF2 và encoder của ứng dụng ({@link BoundedPasswordEncoder}, chạy trên executor có giới hạn).
+ * <p>
+ * Với 8 thread gọi, throughput của encoder ứng dụng bị chặn bởi số thread băm
+ * ({@code security.password.threads}, mặc định bằng số CPU), phần dư nằm trong hàng đợi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "S3cret-passw0rd";
+
+    private PasswordEncoder encoder;
+    private PasswordEncoder pbkdf2;
+    private String pbkdf2Hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = encoder(new PasswordHashingProperties().getBcryptStrength());
+        pbkdf2 = Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        pbkdf2Hash = "{pbkdf2}" + pbkdf2.encode(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ((BoundedPasswordEncoder) encoder).destroy();
+    }
+
+    /**
+     * Encoder của ứng dụng với cost BCrypt theo tham số, hash mới dùng {@code {bcrypt}}.
+     */
+    @State(Scope.Benchmark)
+    public static class Bcrypt {
+
+        @Param({"10", "12"})
+        private int strength;
+
+        private PasswordEncoder encoder;
+        private String hash;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            encoder = encoder(strength);
+            hash = encoder.encode(PASSWORD);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ((BoundedPasswordEncoder) encoder).destroy();
+        }
+    }
+
+    @Benchmark
+    public boolean bcrypt(Bcrypt bcrypt) {
+        return bcrypt.encoder.matches(PASSWORD, bcrypt.hash);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean bcrypt8Threads(Bcrypt bcrypt) {
+        return bcrypt.encoder.matches(PASSWORD, bcrypt.hash);
+    }
+
+    @Benchmark
+    public boolean pbkdf2() {
+        return encoder.matches(PASSWORD, pbkdf2Hash);
+    }
+
+    @Benchmark
+    public boolean pbkdf2Direct() {
+        return pbkdf2.matches(PASSWORD, pbkdf2Hash.substring("{pbkdf2}".length()));
+    }
+
+    private static PasswordEncoder encoder(int bcryptStrength) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(bcryptStrength);
+        properties.setQueueCapacity(1_000);
+        properties.setTimeoutMs(60_000);
+        return new PasswordEncoderConfig().passwordEncoder(properties);
+    }
+}
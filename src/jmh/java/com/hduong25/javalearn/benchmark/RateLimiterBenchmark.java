@@ -0,0 +1,60 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.modules.auth.ratelimit.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tranh chấp trên {@link TokenBucketRateLimiter}: nhiều thread cùng một key (một IP bị dồn request)
+ * so với mỗi thread một key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimiterBenchmark {
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    private TokenBucketRateLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketRateLimiter(TokenBucketRateLimiter.MAX_CAPACITY, 1_000_000, 64);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+        String key;
+
+        @Setup
+        public void setUp() {
+            key = "ip:10.0.0." + THREAD_IDS.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public boolean singleThread(ThreadKey threadKey) {
+        return limiter.tryAcquire(threadKey.key);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean sharedKey8Threads() {
+        return limiter.tryAcquire("ip:10.0.0.0");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean distinctKeys8Threads(ThreadKey threadKey) {
+        return limiter.tryAcquire(threadKey.key);
+    }
+}
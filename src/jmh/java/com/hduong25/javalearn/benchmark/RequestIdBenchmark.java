@@ -0,0 +1,42 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.utils.RequestIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sinh request ID: {@link UUID#randomUUID()} (SecureRandom dùng chung) so với {@link RequestIdGenerator},
+ * với một thread và với nhiều thread đồng thời.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestIdBenchmark {
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String generator() {
+        return RequestIdGenerator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String randomUuid4Threads() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generator4Threads() {
+        return RequestIdGenerator.next();
+    }
+}
@@ -0,0 +1,52 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.modules.profiling.RequestResourceMeter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí đo tài nguyên mỗi request: từng counter của ThreadMXBean và cặp
+ * {@link RequestResourceMeter#start()}/{@link RequestResourceMeter#stop} gồm cả ghi metrics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResourceAccountingBenchmark {
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private RequestResourceMeter meter;
+
+    @Setup
+    public void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", new SimpleMeterRegistry());
+        meter = new RequestResourceMeter(beanFactory.getBeanProvider(io.micrometer.core.instrument.MeterRegistry.class));
+    }
+
+    @Benchmark
+    public long threadCpuTime() {
+        return threadMXBean.getCurrentThreadCpuTime();
+    }
+
+    @Benchmark
+    public long threadAllocatedBytes() {
+        return threadMXBean.getCurrentThreadAllocatedBytes();
+    }
+
+    @Benchmark
+    public RequestResourceMeter.Usage startAndStop() {
+        return meter.stop("UserController#getById", meter.start());
+    }
+}
@@ -0,0 +1,74 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.ObjectMapperConfig;
+import com.hduong25.javalearn.modules.user.dto.UserDTO;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.result.Result;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tạo {@link Result} qua {@link ResultUtils} và serialize bằng ObjectMapper của ứng dụng.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResultBenchmark {
+
+    private ObjectMapper mapper;
+    private UserDTO user;
+    private Result<UserDTO> userResult;
+    private Result<Object> errorResult;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapperConfig().objectMapper(false);
+        user = new UserDTO();
+        user.setId(42L);
+        user.setName("Nguyễn Văn A");
+        user.setAddress("1 Lê Lợi, Quận 1, TP. Hồ Chí Minh");
+        user.setAccount("nguyenvana");
+        user.setEmail("nguyenvana@example.com");
+        user.setPhone("0901234567");
+        user.setCreatedDate(LocalDateTime.of(2024, 1, 1, 8, 30));
+        userResult = ResultUtils.success(user);
+        errorResult = ResultUtils.error(HttpStatusConstants.CONFLICT, ErrorResponse.ACCOUNT_EXISTS);
+    }
+
+    @Benchmark
+    public Result<UserDTO> buildSuccess() {
+        return ResultUtils.success(user);
+    }
+
+    @Benchmark
+    public Result<Object> buildError() {
+        return ResultUtils.error(HttpStatusConstants.CONFLICT, ErrorResponse.ACCOUNT_EXISTS);
+    }
+
+    @Benchmark
+    public byte[] serializeSuccess() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(userResult);
+    }
+
+    @Benchmark
+    public byte[] serializeError() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(errorResult);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeSuccess() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(ResultUtils.success(user));
+    }
+}
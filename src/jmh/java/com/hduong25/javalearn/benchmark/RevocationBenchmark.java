@@ -0,0 +1,74 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.modules.auth.jwt.TokenRevocationStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Độ trễ kiểm tra thu hồi token trên {@link TokenRevocationStore} với 1.000.000 token đã thu hồi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RevocationBenchmark {
+
+    private static final int REVOKED = 1_000_000;
+    private static final int SAMPLE = 1024;
+
+    private TokenRevocationStore store;
+    private String[] revoked;
+    private String[] active;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        store = new TokenRevocationStore(REVOKED, null);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        revoked = new String[SAMPLE];
+        active = new String[SAMPLE];
+        for (int i = 0; i < REVOKED; i++) {
+            String jti = UUID.randomUUID().toString();
+            store.revoke(jti, expiresAt);
+            if (i < SAMPLE) {
+                revoked[i] = jti;
+            }
+        }
+        for (int i = 0; i < SAMPLE; i++) {
+            active[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.destroy();
+    }
+
+    @Benchmark
+    public boolean activeToken() {
+        return store.isRevoked(active[ThreadLocalRandom.current().nextInt(SAMPLE)]);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return store.isRevoked(revoked[ThreadLocalRandom.current().nextInt(SAMPLE)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean activeToken4Threads() {
+        return store.isRevoked(active[ThreadLocalRandom.current().nextInt(SAMPLE)]);
+    }
+}
@@ -0,0 +1,110 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.config.UserCacheProperties;
+import com.hduong25.javalearn.modules.auth.service.impl.UserDetailsServiceImpl;
+import com.hduong25.javalearn.modules.user.UserAuthProjection;
+import com.hduong25.javalearn.modules.user.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tra cứu principal khi xác thực (HTTP Basic, đăng nhập) qua {@link UserDetailsServiceImpl}:
+ * có cache Caffeine và không cache.
+ * <p>
+ * Repository chạy câu lệnh theo unique index ACCOUNT trên H2 in-memory, nên {@code uncached} là cận dưới;
+ * với MySQL qua mạng chênh lệch còn lớn hơn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserDetailsCacheBenchmark {
+
+    private static final int USERS = 1_000;
+
+    private SingleConnectionDataSource dataSource;
+    private UserDetailsServiceImpl cached;
+    private UserDetailsServiceImpl uncached;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:user_details_benchmark", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE APP_USER (ID BIGINT PRIMARY KEY, ACCOUNT VARCHAR(50) NOT NULL,"
+                + " PASSWORD VARCHAR(100) NOT NULL)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX UK_APP_USER_ACCOUNT ON APP_USER (ACCOUNT)");
+        for (int i = 0; i < USERS; i++) {
+            jdbcTemplate.update("INSERT INTO APP_USER VALUES (?, ?, ?)", i, "user" + i, "{bcrypt}$2a$10$hash" + i);
+        }
+
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (!"findAuthByAccount".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return jdbcTemplate.query("SELECT ACCOUNT, PASSWORD FROM APP_USER WHERE ACCOUNT = ?",
+                            (rs, row) -> projection(rs.getString(1), rs.getString(2)), args[0]).stream().findFirst();
+                });
+
+        UserCacheProperties disabled = new UserCacheProperties();
+        disabled.setEnabled(false);
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        cached = new UserDetailsServiceImpl(repository, new UserCacheProperties(), passwordEncoder, "admin", "admin");
+        uncached = new UserDetailsServiceImpl(repository, disabled, passwordEncoder, "admin", "admin");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public UserDetails cached() {
+        return cached.loadUserByUsername(account());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UserDetails cached4Threads() {
+        return cached.loadUserByUsername(account());
+    }
+
+    @Benchmark
+    public UserDetails uncached() {
+        return uncached.loadUserByUsername(account());
+    }
+
+    private static String account() {
+        return "user" + ThreadLocalRandom.current().nextInt(USERS);
+    }
+
+    private static UserAuthProjection projection(String account, String password) {
+        return new UserAuthProjection() {
+            @Override
+            public String getAccount() {
+                return account;
+            }
+
+            @Override
+            public String getPassword() {
+                return password;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.hduong25.javalearn.benchmark;
+
+import com.hduong25.javalearn.modules.user.search.UserSearchDocument;
+import com.hduong25.javalearn.modules.user.search.UserSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tìm kiếm trên {@link UserSearchIndex} với một triệu user sinh ngẫu nhiên (họ tên tiếng Việt,
+ * account {@code <tên>.<họ><id>}, email theo account, số điện thoại 10 chữ số).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(jvmArgsAppend = "-Xmx2g")
+public class UserSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+
+    private static final String[] SURNAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ",
+            "Võ", "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý"};
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Hữu", "Minh", "Thanh", "Quốc", "Ngọc", "Đức",
+            "Thu", "Hoài"};
+    private static final String[] GIVEN_NAMES = {"An", "Anh", "Bình", "Chi", "Dũng", "Giang", "Hà", "Hải", "Khánh",
+            "Linh", "Long", "Mai", "Nam", "Phong", "Quân", "Sơn", "Tâm", "Thảo", "Trang", "Tuấn", "Vy", "Yến", "Hùng",
+            "Hương", "Lan", "Loan", "Nhung", "Phúc", "Quang", "Thắng"};
+    private static final String[] ACCOUNT_NAMES = {"nguyen", "tran", "le", "pham", "hoang", "huynh", "phan", "vu",
+            "vo", "dang", "bui", "do", "ho", "ngo", "duong", "ly"};
+
+    private UserSearchIndex index;
+    private String account;
+    private String emailPrefix;
+    private String phonePrefix;
+    private UserSearchDocument update;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<UserSearchDocument> users = new ArrayList<>(USERS);
+        for (int id = 1; id <= USERS; id++) {
+            int surname = random.nextInt(SURNAMES.length);
+            String given = GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+            String account = "user" + random.nextInt(1000) + "." + ACCOUNT_NAMES[surname] + id;
+            users.add(new UserSearchDocument(id,
+                    SURNAMES[surname] + " " + MIDDLE_NAMES[random.nextInt(MIDDLE_NAMES.length)] + " " + given,
+                    account, account + "@mail" + id % 50 + ".vn",
+                    "09" + String.format("%08d", random.nextInt(100_000_000))));
+        }
+        index = new UserSearchIndex();
+        index.rebuild(users);
+
+        UserSearchDocument sample = users.get(USERS / 2);
+        account = sample.account();
+        emailPrefix = sample.email().substring(0, sample.email().indexOf('@') + 1);
+        phonePrefix = sample.phone().substring(0, 7);
+        update = new UserSearchDocument(sample.id(), "Trần Thị Mới", sample.account(), sample.email(), sample.phone());
+    }
+
+    @Benchmark
+    public List<Long> exactAccount() {
+        return index.search(account, 20);
+    }
+
+    @Benchmark
+    public List<Long> emailPrefix() {
+        return index.search(emailPrefix, 20);
+    }
+
+    @Benchmark
+    public List<Long> phonePrefix() {
+        return index.search(phonePrefix, 20);
+    }
+
+    @Benchmark
+    public List<Long> surnameAndAccount() {
+        return index.search("nguyen " + account.substring(0, 7), 20);
+    }
+
+    @Benchmark
+    public List<Long> commonFullName() {
+        return index.search("nguyen van an", 20);
+    }
+
+    @Benchmark
+    public void indexChange() {
+        index.index(update);
+    }
+}
@@ -2,8 +2,12 @@ package com.hduong25.javalearn;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * R2DBC được cấu hình thủ công ở chế độ reactive ({@code ReactiveDataSourceConfig}).
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class JavaLearnApplication {
 
     public static void main(String[] args) {
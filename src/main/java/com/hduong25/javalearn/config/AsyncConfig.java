@@ -0,0 +1,27 @@
+package com.hduong25.javalearn.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Bật xử lý {@code @Async}.
+ * <p>
+ * Method {@code @Async} chạy trên executor {@code applicationTaskExecutor} của Spring Boot:
+ * <ul>
+ *   <li>Mặc định: thread pool cấu hình qua {@code spring.task.execution.*}</li>
+ *   <li>Profile {@code virtual-threads} ({@code spring.threads.virtual.enabled=true}, Java 21):
+ *   mỗi task một virtual thread. Tomcat, {@code @Scheduled} và Kafka listener container
+ *   cũng chuyển sang virtual thread theo cùng thuộc tính này</li>
+ * </ul>
+ * <p>
+ * Code chạy trên virtual thread không nên giữ {@code synchronized} quanh thao tác blocking
+ * (JDBC, mail, Kafka) vì sẽ pin carrier thread; dùng {@link java.util.concurrent.locks.ReentrantLock}
+ * như {@code SigningKeyManager}. Các thao tác CPU-bound như băm mật khẩu vẫn chạy trên
+ * executor platform thread có giới hạn ({@code BoundedPasswordEncoder}).
+ *
+ * @author: hduong25
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
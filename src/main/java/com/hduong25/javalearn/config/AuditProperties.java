@@ -0,0 +1,43 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lớp cấu hình properties cho audit trail của các entity kế thừa BaseEntity
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt audit trail</li>
+ *   <li>queueCapacity: Số bản ghi audit tối đa được giữ trong hàng đợi bộ nhớ</li>
+ *   <li>batchSize: Số bản ghi tối đa trong một lần batch insert</li>
+ *   <li>flushIntervalMs: Thời gian chờ tối đa trước khi ghi batch hiện có</li>
+ *   <li>offerTimeoutMs: Thời gian chờ khi hàng đợi đầy trước khi bỏ bản ghi</li>
+ *   <li>maxRetries: Số lần ghi một batch (kể cả lần đầu) trước khi bỏ batch đó</li>
+ *   <li>shutdownTimeoutMs: Thời gian tối đa để ghi hết hàng đợi khi tắt ứng dụng</li>
+ *   <li>maxValueLength: Độ dài tối đa của giá trị cũ/mới được lưu</li>
+ *   <li>ignoredFields: Các trường không ghi audit</li>
+ *   <li>maskedFields: Các trường được ghi nhận thay đổi nhưng mask giá trị</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+    private boolean enabled = true;
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private long flushIntervalMs = 200;
+    private long offerTimeoutMs = 1_000;
+    private long shutdownTimeoutMs = 10_000;
+    private int maxRetries = 3;
+    private int maxValueLength = 1000;
+    private List<String> ignoredFields = Arrays.asList("createdBy", "updatedBy", "createdDate", "updatedDate");
+    private List<String> maskedFields = Arrays.asList("password");
+}
@@ -0,0 +1,92 @@
+package com.hduong25.javalearn.config;
+
+import com.hduong25.javalearn.modules.auth.jwt.SigningKeyManager;
+import com.hduong25.javalearn.modules.auth.server.CachingClientSecretEncoder;
+import com.hduong25.javalearn.modules.auth.server.ShardedOAuth2AuthorizationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.authentication.ClientSecretAuthenticationProvider;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configurers.OAuth2AuthorizationServerConfigurer;
+import org.springframework.security.oauth2.server.authorization.token.JwtEncodingContext;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenCustomizer;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Cấu hình authorization server nhúng (các endpoint {@code /oauth2/*}).
+ * <p>
+ * Chỉ được bật khi {@code security.authorization-server.enabled=true}; client được khai báo qua
+ * {@code spring.security.oauth2.authorizationserver.client.*}.
+ * <ul>
+ *   <li>Authorization được lưu trong {@link ShardedOAuth2AuthorizationService} thay cho map đơn mặc định</li>
+ *   <li>Token được ký bằng {@code JwtEncoder} chung (key đã sinh sẵn trong {@link SigningKeyManager}),
+ *   thuật toán theo {@code security.jwt.algorithm} (ES256 ký nhanh hơn RS256)</li>
+ *   <li>Issuer của access token là {@code security.jwt.issuer}, nên token được chính resource server
+ *   của ứng dụng chấp nhận</li>
+ *   <li>Kết quả kiểm tra client secret được cache ({@link CachingClientSecretEncoder})</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "security.authorization-server", name = "enabled", havingValue = "true")
+public class AuthorizationServerConfig {
+
+    /**
+     * SecurityFilterChain riêng cho các endpoint của authorization server,
+     * chạy trước {@link SecurityConfig#securityFilterChain}.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity httpSecurity,
+                                                                      PasswordEncoder passwordEncoder,
+                                                                      AuthorizationServerProperties properties) throws Exception {
+        OAuth2AuthorizationServerConfigurer authorizationServerConfigurer =
+                OAuth2AuthorizationServerConfigurer.authorizationServer();
+        RequestMatcher endpointsMatcher = authorizationServerConfigurer.getEndpointsMatcher();
+        PasswordEncoder clientSecretEncoder = new CachingClientSecretEncoder(passwordEncoder,
+                properties.getClientSecretCacheTtl(), properties.getClientSecretCacheSize());
+
+        httpSecurity.securityMatcher(endpointsMatcher)
+                .with(authorizationServerConfigurer, authorizationServer -> authorizationServer
+                        .clientAuthentication(clientAuthentication -> clientAuthentication
+                                .authenticationProviders(providers -> providers.forEach(provider -> {
+                                    if (provider instanceof ClientSecretAuthenticationProvider secretProvider) {
+                                        secretProvider.setPasswordEncoder(clientSecretEncoder);
+                                    }
+                                }))))
+                .csrf(csrf -> csrf.ignoringRequestMatchers(endpointsMatcher))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(req -> req.anyRequest().authenticated());
+
+        return httpSecurity.build();
+    }
+
+    @Bean
+    public ShardedOAuth2AuthorizationService authorizationService(AuthorizationServerProperties properties) {
+        return new ShardedOAuth2AuthorizationService(properties);
+    }
+
+    /**
+     * Đặt thuật toán ký theo key đang dùng và issuer theo {@code security.jwt.issuer} cho access token.
+     */
+    @Bean
+    public OAuth2TokenCustomizer<JwtEncodingContext> accessTokenCustomizer(SigningKeyManager signingKeyManager,
+                                                                          JwtProperties jwtProperties) {
+        return context -> {
+            if (OAuth2TokenType.ACCESS_TOKEN.equals(context.getTokenType())) {
+                context.getJwsHeader().algorithm(signingKeyManager.getSignatureAlgorithm());
+                context.getClaims().issuer(jwtProperties.getIssuer());
+            }
+        };
+    }
+}
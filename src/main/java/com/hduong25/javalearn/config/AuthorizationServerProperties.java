@@ -0,0 +1,35 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho authorization server nhúng
+ * <p>
+ * Client được khai báo qua {@code spring.security.oauth2.authorizationserver.client.*} của Spring Boot.
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt authorization server (các endpoint {@code /oauth2/*})</li>
+ *   <li>shards: Số shard của kho authorization trong bộ nhớ (làm tròn lên lũy thừa của 2)</li>
+ *   <li>defaultTtl: Thời gian giữ authorization chưa có token (ví dụ đang chờ authorization code)</li>
+ *   <li>sweepInterval: Chu kỳ dọn authorization đã hết hạn</li>
+ *   <li>clientSecretCacheTtl / clientSecretCacheSize: Cache kết quả kiểm tra client secret,
+ *   tránh băm lại secret ở mỗi lần cấp token</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "security.authorization-server")
+public class AuthorizationServerProperties {
+    private boolean enabled = false;
+    private int shards = 64;
+    private Duration defaultTtl = Duration.ofMinutes(5);
+    private Duration sweepInterval = Duration.ofSeconds(30);
+    private Duration clientSecretCacheTtl = Duration.ofMinutes(5);
+    private long clientSecretCacheSize = 1_000;
+}
@@ -0,0 +1,42 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lớp cấu hình properties cho CORS
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>allowedOrigins: Origin được phép, gồm ba dạng:
+ *     <ul>
+ *       <li>{@code https://app.example.com}: khớp chính xác (scheme, host, port)</li>
+ *       <li>{@code https://*.example.com}: mọi subdomain của example.com (không gồm example.com)</li>
+ *       <li>{@code *}: mọi origin, không dùng được cùng {@code allowCredentials=true}</li>
+ *     </ul>
+ *   </li>
+ *   <li>allowedMethods / allowedHeaders / exposedHeaders: Method và header được phép</li>
+ *   <li>allowCredentials: Cho phép gửi cookie/HTTP auth; bearer token không cần thuộc tính này</li>
+ *   <li>maxAge: Thời gian trình duyệt được giữ kết quả preflight ({@code Access-Control-Max-Age})</li>
+ *   <li>cacheSize: Số origin tối đa được cache kết quả kiểm tra</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "cors")
+public class CorsProperties {
+    private List<String> allowedOrigins = new ArrayList<>(List.of("*"));
+    private List<String> allowedMethods = new ArrayList<>(List.of("GET", "POST", "PUT", "DELETE"));
+    private List<String> allowedHeaders = new ArrayList<>(List.of("*"));
+    private List<String> exposedHeaders = new ArrayList<>();
+    private boolean allowCredentials = false;
+    private Duration maxAge = Duration.ofHours(1);
+    private long cacheSize = 1_000;
+}
@@ -1,30 +1,147 @@
 package com.hduong25.javalearn.config;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * @author: hduong25
+ * Chính sách CORS được biên dịch một lần khi khởi động từ {@link CorsProperties}.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Origin khớp chính xác được đưa vào một {@link Set}, origin dạng {@code https://*.example.com}
+ *   được tách thành tiền tố scheme và hậu tố domain để so khớp bằng {@code startsWith/endsWith}</li>
+ *   <li>Kết quả cho mỗi origin (một {@link CorsConfiguration} chỉ chứa đúng origin đó, hoặc cấu hình từ chối)
+ *   được cache với số lượng giới hạn, nên request và preflight sau không tạo object mới</li>
+ *   <li>Preflight trả về {@code Access-Control-Max-Age} để trình duyệt không gửi lại trong thời gian đó</li>
+ *   <li>Request không có header {@code Origin} không phải request CORS, trả về {@code null}</li>
+ * </ul>
  */
 @Configuration
 public class CustomCorsConfig implements CorsConfigurationSource {
 
-    @SuppressWarnings("null")
+    private static final String ANY_ORIGIN = "*";
+    private static final String WILDCARD_HOST = "*.";
+
+    private final CorsProperties properties;
+    private final Set<String> exactOrigins = new HashSet<>();
+    private final List<WildcardOrigin> wildcardOrigins = new ArrayList<>();
+    private final boolean anyOrigin;
+    /// Cấu hình dùng chung khi cho phép mọi origin (trả về {@code *}).
+    private final CorsConfiguration anyOriginConfiguration;
+    /// Cấu hình không có origin nào được phép: CorsProcessor trả về 403.
+    private final CorsConfiguration rejectedConfiguration;
+    private final Cache<String, CorsConfiguration> decisions;
+
+    public CustomCorsConfig(CorsProperties properties) {
+        this.properties = properties;
+
+        boolean any = false;
+        for (String origin : properties.getAllowedOrigins()) {
+            String normalized = normalize(origin);
+            int wildcard = normalized.indexOf("://" + WILDCARD_HOST);
+            if (ANY_ORIGIN.equals(normalized)) {
+                any = true;
+            } else if (wildcard > 0) {
+                String prefix = normalized.substring(0, wildcard + 3);
+                String suffix = normalized.substring(wildcard + 3 + WILDCARD_HOST.length() - 1);
+                wildcardOrigins.add(new WildcardOrigin(prefix, suffix));
+            } else {
+                exactOrigins.add(normalized);
+            }
+        }
+        if (any && properties.isAllowCredentials()) {
+            throw new IllegalStateException(
+                    "cors.allowed-origins=* cannot be combined with cors.allow-credentials=true, list the origins instead");
+        }
+        this.anyOrigin = any;
+        this.anyOriginConfiguration = any ? build(ANY_ORIGIN) : null;
+        this.rejectedConfiguration = build(null);
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .build();
+    }
+
     @Override
     public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
-        CorsConfiguration configuration = new CorsConfiguration();
+        return getCorsConfiguration(request.getHeader(HttpHeaders.ORIGIN));
+    }
 
-        configuration.setAllowedOrigins(List.of("*")); // Cho phép tất cả các origin
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE")); // Các HTTP method được phép
-        configuration.setAllowedHeaders(List.of("*")); // Cho phép tất cả các header
-        configuration.setAllowCredentials(true); // Hỗ trợ cookie hoặc Authorization header
+    /**
+     * Cấu hình CORS cho một giá trị header {@code Origin}, dùng chung cho servlet và WebFlux.
+     *
+     * @param origin giá trị header {@code Origin}, {@code null} nếu không phải request CORS
+     * @return cấu hình CORS, hoặc {@code null} nếu không phải request CORS
+     */
+    public CorsConfiguration getCorsConfiguration(String origin) {
+        if (origin == null) {
+            return null;
+        }
+        if (anyOrigin) {
+            return anyOriginConfiguration;
+        }
+        return decisions.get(origin, this::decide);
+    }
+
+    private CorsConfiguration decide(String origin) {
+        String normalized = normalize(origin);
+        if (exactOrigins.contains(normalized)) {
+            return build(origin);
+        }
+        for (WildcardOrigin wildcardOrigin : wildcardOrigins) {
+            if (wildcardOrigin.matches(normalized)) {
+                return build(origin);
+            }
+        }
+        return rejectedConfiguration;
+    }
 
+    private CorsConfiguration build(String origin) {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(origin != null ? List.of(origin) : List.of());
+        configuration.setAllowedMethods(properties.getAllowedMethods());
+        configuration.setAllowedHeaders(properties.getAllowedHeaders());
+        configuration.setExposedHeaders(properties.getExposedHeaders());
+        configuration.setAllowCredentials(properties.isAllowCredentials());
+        configuration.setMaxAge(properties.getMaxAge());
         return configuration;
     }
 
+    private static String normalize(String origin) {
+        String trimmed = origin.trim().toLowerCase(Locale.ROOT);
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    /**
+     * Origin dạng {@code scheme://*.domain[:port]}: phần subdomain phải khác rỗng
+     * và không chứa ký tự ngoài tên host.
+     */
+    private record WildcardOrigin(String prefix, String suffix) {
+        boolean matches(String origin) {
+            if (origin.length() <= prefix.length() + suffix.length()
+                    || !origin.startsWith(prefix) || !origin.endsWith(suffix)) {
+                return false;
+            }
+            for (int i = prefix.length(); i < origin.length() - suffix.length(); i++) {
+                char c = origin.charAt(i);
+                if (!(Character.isLetterOrDigit(c) || c == '-' || c == '.')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -2,13 +2,18 @@ package com.hduong25.javalearn.config;
 
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.repository.config.BootstrapMode;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -41,19 +46,24 @@ import jakarta.persistence.EntityManagerFactory;
  * <li>Sử dụng annotation {@link EnableJpaRepositories} để quét các repository
  * trong package {@code com.hduong25.javalearn} và kết nối với cấu hình
  * này.</li>
+ * <li>Với profile {@code fast-startup}, repository được khởi tạo ở chế độ
+ * {@link BootstrapMode#DEFERRED}: bean inject repository nhận proxy và không phải chờ
+ * EntityManagerFactory; repository được khởi tạo thật khi context refresh xong, trước khi
+ * ứng dụng nhận request. Các profile khác giữ chế độ mặc định để lỗi repository lộ ra
+ * ngay khi khởi tạo bean.</li>
  * </ul>
  *
  * @author hduong25
  */
 @Configuration
 @EnableTransactionManagement
-@EnableJpaRepositories(entityManagerFactoryRef = DataSourceConfig.ENTITY_MANAGER_FACTORY_NAME,
-        transactionManagerRef = DataSourceConfig.TRANSACTION_MANAGER_NAME,
-        basePackages = {"com.hduong25.javalearn"})
 public class DataSourceConfig {
 
     public static final String DATASOURCE_PREFIX = "spring.datasource";
 
+    /// Profile khởi tạo repository ở chế độ DEFERRED.
+    public static final String FAST_STARTUP_PROFILE = "fast-startup";
+
     /// Tiền tố để đọc cấu hình cho DataSource từ file cấu hình.
     public static final String DATASOURCE_PROPERTIES_PREFIX = DATASOURCE_PREFIX + ".learn-java";
 
@@ -180,6 +190,9 @@ public class DataSourceConfig {
      * <li>Nhận {@link EntityManagerFactoryBuilder} để cấu hình factory.</li>
      * <li>Sử dụng phương thức {@code packages()} để chỉ định các package chứa
      * các entity.</li>
+     * <li>Khi bật {@code startup.background-jpa-bootstrap}, Hibernate được khởi tạo
+     * trên {@code applicationTaskExecutor}; bean đầu tiên thực sự dùng
+     * EntityManagerFactory sẽ chờ tới khi khởi tạo xong.</li>
      * <li>Trả về một {@link LocalContainerEntityManagerFactoryBean} đã được cấu
      * hình.</li>
      * </ol>
@@ -194,18 +207,27 @@ public class DataSourceConfig {
      * @param builder {@link EntityManagerFactoryBuilder} đối tượng hỗ trợ xây
      * dựng factory.
      * @param dataSource {@link DataSource} để kết nối tới cơ sở dữ liệu.
+     * @param startupProperties cấu hình khởi động.
+     * @param bootstrapExecutor executor dùng để khởi tạo Hibernate ở nền.
      * @return {@link LocalContainerEntityManagerFactoryBean} đã được cấu hình.
      */
     @Primary
     @Bean(name = ENTITY_MANAGER_FACTORY_NAME)
     public LocalContainerEntityManagerFactoryBean entityManagerFactoryBean(
             EntityManagerFactoryBuilder builder,
-            @Qualifier(DATASOURCE_NAME) DataSource dataSource
+            @Qualifier(DATASOURCE_NAME) DataSource dataSource,
+            StartupProperties startupProperties,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            ObjectProvider<AsyncTaskExecutor> bootstrapExecutor
     ) {
-        return builder.dataSource(dataSource)
+        LocalContainerEntityManagerFactoryBean factoryBean = builder.dataSource(dataSource)
                 .packages(ENTITY_PACKAGE)
                 .persistenceUnit(DATASOURCE_NAME)
                 .build();
+        if (startupProperties.isBackgroundJpaBootstrap()) {
+            bootstrapExecutor.ifAvailable(factoryBean::setBootstrapExecutor);
+        }
+        return factoryBean;
     }
 
     /**
@@ -243,4 +265,27 @@ public class DataSourceConfig {
     ) {
         return new JpaTransactionManager(entityManagerFactory);
     }
+
+    /**
+     * Quét repository với chế độ khởi tạo mặc định.
+     */
+    @Configuration
+    @Profile("!" + FAST_STARTUP_PROFILE)
+    @EnableJpaRepositories(entityManagerFactoryRef = ENTITY_MANAGER_FACTORY_NAME,
+            transactionManagerRef = TRANSACTION_MANAGER_NAME,
+            basePackages = {"com.hduong25.javalearn"})
+    static class JpaRepositoriesConfig {
+    }
+
+    /**
+     * Quét repository ở chế độ {@link BootstrapMode#DEFERRED}, chỉ dùng với profile {@code fast-startup}.
+     */
+    @Configuration
+    @Profile(FAST_STARTUP_PROFILE)
+    @EnableJpaRepositories(entityManagerFactoryRef = ENTITY_MANAGER_FACTORY_NAME,
+            transactionManagerRef = TRANSACTION_MANAGER_NAME,
+            basePackages = {"com.hduong25.javalearn"},
+            bootstrapMode = BootstrapMode.DEFERRED)
+    static class DeferredJpaRepositoriesConfig {
+    }
 }
@@ -0,0 +1,51 @@
+package com.hduong25.javalearn.config;
+
+import com.hduong25.javalearn.JavaLearnApplication;
+import com.hduong25.javalearn.utils.enums.EnumRegistry;
+import com.hduong25.javalearn.utils.enums.InterfaceEnum;
+import com.hduong25.javalearn.utils.response.BaseEnumResponseCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Quét các enum implement {@link InterfaceEnum} / {@link BaseEnumResponseCode} trong package của ứng dụng
+ * và dựng sẵn bảng tra cứu của {@link EnumRegistry} khi khởi động. Enum có mã trùng làm khởi động thất bại
+ * thay vì lỗi khi tra cứu lần đầu.
+ *
+ * @author: hduong25
+ */
+@Slf4j
+@Configuration
+public class EnumRegistryConfig implements InitializingBean {
+
+    @Override
+    public void afterPropertiesSet() {
+        log.debug("Precomputed enum lookups for {} types",
+                precompute(JavaLearnApplication.class.getPackageName(), getClass().getClassLoader()));
+    }
+
+    /**
+     * Dựng sẵn bảng tra cứu cho các enum có mã trong {@code basePackage}.
+     *
+     * @return số kiểu enum đã dựng
+     * @throws IllegalStateException nếu một enum có mã hoặc mã ngắn bị trùng
+     */
+    static int precompute(String basePackage, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(InterfaceEnum.class));
+        scanner.addIncludeFilter(new AssignableTypeFilter(BaseEnumResponseCode.class));
+
+        List<Class<?>> types = scanner.findCandidateComponents(basePackage).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .<Class<?>>map(name -> ClassUtils.resolveClassName(name, classLoader))
+                .toList();
+        return EnumRegistry.precompute(types);
+    }
+}
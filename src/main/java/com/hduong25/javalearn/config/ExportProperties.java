@@ -0,0 +1,26 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lớp cấu hình properties cho chức năng export dữ liệu
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>fetchSize: Số dòng JDBC driver lấy mỗi lần từ cursor. Với MySQL chỉ có hiệu lực khi URL kết nối
+ *   bật {@code useCursorFetch=true}; nếu không, export tự chuyển sang stream từng dòng
+ *   ({@code Integer.MIN_VALUE})</li>
+ *   <li>flushEveryRows: Số dòng giữa hai lần flush output stream</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+    private int fetchSize = 1000;
+    private int flushEveryRows = 5000;
+}
@@ -0,0 +1,43 @@
+package com.hduong25.javalearn.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Đăng ký Hibernate event listener vào {@code primaryEntityManagerFactory}.
+ * <p>
+ * JPA callback ({@code @PrePersist}, {@code @PreUpdate}) không cung cấp trạng thái cũ của entity,
+ * vì vậy các chức năng cần so sánh trạng thái tại thời điểm flush (audit, index, ...)
+ * đăng ký trực tiếp listener của Hibernate thông qua lớp này.
+ *
+ * @author: hduong25
+ */
+@Component
+public class HibernateEventListenerRegistrar {
+
+    private final EventListenerRegistry eventListenerRegistry;
+
+    public HibernateEventListenerRegistrar(
+            @Qualifier(DataSourceConfig.ENTITY_MANAGER_FACTORY_NAME) EntityManagerFactory entityManagerFactory
+    ) {
+        this.eventListenerRegistry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+    }
+
+    /**
+     * Thêm listener vào cuối danh sách listener của loại sự kiện.
+     *
+     * @param type     loại sự kiện Hibernate
+     * @param listener listener cần đăng ký
+     * @param <T>      kiểu listener
+     */
+    @SafeVarargs
+    public final <T> void append(EventType<T> type, T... listener) {
+        eventListenerRegistry.appendListeners(type, listener);
+    }
+}
@@ -0,0 +1,61 @@
+package com.hduong25.javalearn.config;
+
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.ConfigurableWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bật nén response (gzip) cho body lớn, áp dụng cho cả Tomcat và Netty.
+ * <p>
+ * Chỉ áp dụng khi {@code server.compression.enabled} không được cấu hình; nếu có,
+ * cấu hình {@code server.compression.*} của Spring Boot được giữ nguyên.
+ * <ul>
+ *   <li>Chỉ nén body từ {@link #MIN_RESPONSE_SIZE} trở lên: body nhỏ (ping, lỗi, 304) không đáng tốn CPU.
+ *   Ngưỡng này chỉ áp dụng khi response có {@code Content-Length}; JSON do Jackson ghi dạng chunked
+ *   (không có {@code Content-Length}) vẫn được nén nếu client gửi {@code Accept-Encoding: gzip}</li>
+ *   <li>Chỉ nén các kiểu text: JSON, NDJSON, CSV</li>
+ *   <li>Response đã có {@code Content-Encoding} (export với {@code gzip=true}) không bị nén lại</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Component
+public class HttpCompressionConfig implements WebServerFactoryCustomizer<ConfigurableWebServerFactory>, Ordered {
+
+    public static final DataSize MIN_RESPONSE_SIZE = DataSize.ofKilobytes(2);
+
+    private static final String[] MIME_TYPES = {
+            "application/json", "application/problem+json", "application/x-ndjson",
+            "text/csv", "text/plain", "text/html"
+    };
+
+    private final Environment environment;
+
+    public HttpCompressionConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void customize(ConfigurableWebServerFactory factory) {
+        if (environment.containsProperty("server.compression.enabled")) {
+            return;
+        }
+        Compression compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMimeTypes(MIME_TYPES);
+        compression.setMinResponseSize(MIN_RESPONSE_SIZE);
+        factory.setCompression(compression);
+    }
+
+    /**
+     * Chạy sau customizer của Spring Boot (order 0), vốn luôn ghi đè {@link Compression} từ properties.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hduong25.javalearn.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.modules.idempotency.IdempotencyFilter;
+import com.hduong25.javalearn.modules.idempotency.IdempotencyStore;
+import com.hduong25.javalearn.modules.idempotency.InMemoryIdempotencyStore;
+import com.hduong25.javalearn.modules.idempotency.JdbcIdempotencyStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+/**
+ * Cấu hình xử lý header {@code Idempotency-Key} ({@code idempotency.*}).
+ *
+ * @author: hduong25
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties,
+                                             ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        return properties.getStore() == IdempotencyProperties.Store.JDBC
+                ? new JdbcIdempotencyStore(jdbcTemplate.getObject(), properties)
+                : new InMemoryIdempotencyStore(properties);
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore store, IdempotencyProperties properties,
+                                               ObjectMapper mapper) throws IOException {
+        return new IdempotencyFilter(store, properties, mapper);
+    }
+
+    /**
+     * Đăng ký filter ngay sau filter chain của Spring Security.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,50 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lớp cấu hình properties cho header {@code Idempotency-Key} ({@code idempotency.*})
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt xử lý {@code Idempotency-Key}</li>
+ *   <li>store: Nơi lưu kết quả, {@code MEMORY} (một instance) hoặc {@code JDBC} (dùng chung nhiều instance)</li>
+ *   <li>paths: Các path áp dụng (so khớp chính xác), chỉ với POST/PUT/PATCH</li>
+ *   <li>ttl: Thời gian giữ kết quả để phát lại</li>
+ *   <li>inFlightTimeout: Thời gian tối đa giữ một key đang xử lý; quá thời gian này
+ *   (ví dụ instance bị dừng giữa chừng) request khác được phép xử lý lại</li>
+ *   <li>waitTimeout: Thời gian tối đa request trùng chờ request đang xử lý, quá thì trả về 409</li>
+ *   <li>maximumSize: Số key tối đa trong store {@code MEMORY}</li>
+ *   <li>maxKeyLength: Độ dài tối đa của header</li>
+ *   <li>maxBodyBytes: Kích thước tối đa của request body và response được lưu</li>
+ *   <li>pollInterval: Chu kỳ store {@code JDBC} kiểm tra các key đang được instance khác xử lý</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    private Store store = Store.MEMORY;
+    private List<String> paths = new ArrayList<>(List.of("/auth/register"));
+    private Duration ttl = Duration.ofHours(24);
+    private Duration inFlightTimeout = Duration.ofSeconds(30);
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private long maximumSize = 100_000;
+    private int maxKeyLength = 255;
+    private int maxBodyBytes = 64 * 1024;
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    public enum Store {
+        MEMORY,
+        JDBC
+    }
+}
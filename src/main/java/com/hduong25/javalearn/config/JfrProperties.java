@@ -0,0 +1,40 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho JFR recording theo yêu cầu (actuator endpoint {@code jfr})
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt endpoint {@code /actuator/jfr}</li>
+ *   <li>repositoryEvents: Ghi JFR event cho mỗi lần gọi Spring Data repository (qua AOP)</li>
+ *   <li>settings: Cấu hình JFR có sẵn làm nền ({@code default} hoặc {@code profile})</li>
+ *   <li>defaultDuration: Thời lượng recording khi không truyền {@code duration}</li>
+ *   <li>maxDuration: Thời lượng tối đa của một recording; recording tự dừng khi hết</li>
+ *   <li>maxSize: Dung lượng tối đa trên đĩa của một recording</li>
+ *   <li>eventThreshold: Chỉ ghi event của ứng dụng dài hơn ngưỡng này</li>
+ *   <li>directory: Thư mục lưu file {@code .jfr}</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jfr")
+public class JfrProperties {
+    private boolean enabled = true;
+    private boolean repositoryEvents = true;
+    private String settings = "profile";
+    private Duration defaultDuration = Duration.ofMinutes(1);
+    private Duration maxDuration = Duration.ofMinutes(10);
+    private DataSize maxSize = DataSize.ofMegabytes(200);
+    private Duration eventThreshold = Duration.ZERO;
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "java-learn-jfr");
+}
@@ -0,0 +1,84 @@
+package com.hduong25.javalearn.config;
+
+import com.hduong25.javalearn.modules.auth.jwt.CachingJwtDecoder;
+import com.hduong25.javalearn.modules.auth.jwt.RevocationCheckingJwtDecoder;
+import com.hduong25.javalearn.modules.auth.jwt.SigningKeyManager;
+import com.hduong25.javalearn.modules.auth.jwt.TokenRevocationStore;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Cấu hình phát hành và kiểm tra JWT.
+ * <p>
+ * <ul>
+ *   <li>{@link SigningKeyManager}: key ký đã parse sẵn, hỗ trợ xoay key</li>
+ *   <li>{@link JwtEncoder}: ký token bằng key đang dùng</li>
+ *   <li>{@link JwtDecoder}: kiểm tra chữ ký với key đang dùng và key đã nghỉ,
+ *   bọc bởi {@link CachingJwtDecoder} khi {@code security.jwt.cache.enabled=true},
+ *   sau đó kiểm tra token đã bị thu hồi ({@link RevocationCheckingJwtDecoder})</li>
+ *   <li>{@link TokenRevocationStore}: danh sách {@code jti} đã thu hồi, lưu ngoài heap</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Configuration
+@EnableScheduling
+public class JwtConfig {
+
+    @Bean
+    public SigningKeyManager signingKeyManager(JwtProperties jwtProperties) {
+        return new SigningKeyManager(jwtProperties);
+    }
+
+    /**
+     * JWK set công khai (key đang dùng và key đã nghỉ).
+     */
+    @Bean
+    public JWKSource<SecurityContext> jwkSource(SigningKeyManager signingKeyManager) {
+        return signingKeyManager.verificationJwkSource();
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SigningKeyManager signingKeyManager) {
+        return new NimbusJwtEncoder(signingKeyManager.signingJwkSource());
+    }
+
+    @Bean
+    public TokenRevocationStore tokenRevocationStore(JwtProperties jwtProperties) throws IOException {
+        return new TokenRevocationStore(jwtProperties.getRevocation().getMaxEntries(),
+                jwtProperties.getRevocation().getFile());
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SigningKeyManager signingKeyManager, JwtProperties jwtProperties,
+                                 TokenRevocationStore tokenRevocationStore) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256), signingKeyManager.verificationJwkSource()));
+        // Claim được kiểm tra bởi OAuth2TokenValidator của Spring
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(jwtProperties.getIssuer()));
+
+        JwtDecoder validatingDecoder = jwtProperties.getCache().isEnabled()
+                ? new CachingJwtDecoder(decoder, jwtProperties.getCache().getMaximumSize())
+                : decoder;
+        return new RevocationCheckingJwtDecoder(validatingDecoder, tokenRevocationStore);
+    }
+}
@@ -0,0 +1,56 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho JWT
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>issuer: Giá trị claim {@code iss} khi phát hành và kiểm tra token</li>
+ *   <li>accessTokenTtl: Thời gian sống của access token</li>
+ *   <li>algorithm: Thuật toán ký ({@code RS256} hoặc {@code ES256}; ES256 ký nhanh hơn nhiều)</li>
+ *   <li>jwkSetLocation: File JWK set dùng chung giữa các instance; để trống thì tự sinh key khi khởi động</li>
+ *   <li>rotationInterval: Chu kỳ xoay key (sinh key mới hoặc đọc lại jwkSetLocation)</li>
+ *   <li>cache.enabled / cache.maximumSize: Cache kết quả kiểm tra token</li>
+ *   <li>revocation.maxEntries: Số token bị thu hồi (logout) tối đa còn hiệu lực cùng lúc</li>
+ *   <li>revocation.file: File memory-map để giữ danh sách thu hồi qua các lần khởi động lại;
+ *   để trống thì chỉ giữ trong bộ nhớ</li>
+ *   <li>revocation.sweepInterval: Chu kỳ xóa các token thu hồi đã hết hạn</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "security.jwt")
+public class JwtProperties {
+    private String issuer = "java-learn";
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+    private String algorithm = "RS256";
+    private Resource jwkSetLocation;
+    private Duration rotationInterval = Duration.ofDays(1);
+    private Cache cache = new Cache();
+    private Revocation revocation = new Revocation();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 50_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Revocation {
+        private int maxEntries = 1_000_000;
+        private Path file;
+        private Duration sweepInterval = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.hduong25.javalearn.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Đánh dấu lazy-init cho các bean hạ tầng được liệt kê ở {@code startup.lazy-beans}.
+ * <p>
+ * Khác với {@code spring.main.lazy-initialization=true} (lazy toàn bộ, dồn chi phí sang request đầu tiên),
+ * chỉ những bean ít dùng như mail sender, Kafka template/admin mới bị hoãn.
+ * Mỗi phần tử khớp theo tên bean hoặc tên class đầy đủ của bean.
+ * <p>
+ * Lưu ý:
+ * <ul>
+ *   <li>Bean lazy vẫn được tạo ngay nếu một bean eager inject trực tiếp nó</li>
+ *   <li>Bean lazy không nhận callback {@code SmartInitializingSingleton} và không được start
+ *   như {@code SmartLifecycle} cho tới khi được tạo</li>
+ *   <li>Khi build với Spring AOT, processor chạy ở thời điểm build và cờ lazy được ghi vào
+ *   bean definition sinh ra, nên danh sách phải được cấu hình lúc build</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Slf4j
+public class LazyInfrastructureBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    private final Set<String> lazyBeans;
+
+    public LazyInfrastructureBeanFactoryPostProcessor(Environment environment) {
+        List<String> configured = Binder.get(environment)
+                .bind(StartupProperties.PREFIX + ".lazy-beans", Bindable.listOf(String.class))
+                .orElse(List.of());
+        this.lazyBeans = new HashSet<>(configured);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (lazyBeans.isEmpty()) {
+            return;
+        }
+        int count = 0;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.isLazyInit() || !definition.isSingleton() || !matches(beanName, beanFactory)) {
+                continue;
+            }
+            definition.setLazyInit(true);
+            count++;
+        }
+        log.debug("Marked {} infrastructure beans as lazy", count);
+    }
+
+    private boolean matches(String beanName, ConfigurableListableBeanFactory beanFactory) {
+        if (lazyBeans.contains(beanName)) {
+            return true;
+        }
+        Class<?> type = beanFactory.getType(beanName, false);
+        return type != null && lazyBeans.contains(type.getName());
+    }
+}
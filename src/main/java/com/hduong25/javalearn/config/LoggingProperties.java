@@ -17,6 +17,8 @@ import java.util.List;
  *   <li>maxBodyLength: Độ dài tối đa của body được log</li>
  *   <li>maskedFields: Danh sách các trường cần mask</li>
  *   <li>logLevel: Level log (INFO, DEBUG, etc)</li>
+ *   <li>resourceAccounting: Đo CPU time và số byte cấp phát của mỗi request, ghi vào log response
+ *   và metrics {@code http.server.requests.cpu} / {@code http.server.requests.allocated}</li>
  * </ul>
  */
 @Getter
@@ -28,4 +30,5 @@ public class LoggingProperties {
     private int maxBodyLength = 1000;
     private List<String> maskedFields = Arrays.asList("password", "token", "secret");
     private String logLevel = "DEBUG";
+    private boolean resourceAccounting = true;
 }
\ No newline at end of file
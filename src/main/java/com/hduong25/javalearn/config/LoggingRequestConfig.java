@@ -1,22 +1,27 @@
 package com.hduong25.javalearn.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.modules.profiling.RequestResourceMeter;
+import com.hduong25.javalearn.utils.RequestIdGenerator;
+import com.hduong25.javalearn.utils.SensitiveDataMasker;
+import com.hduong25.javalearn.utils.jfr.RequestEvent;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.*;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +37,7 @@ import java.util.stream.Collectors;
  *   <li>Cấu hình linh hoạt thông qua properties</li>
  *   <li>Structured logging với JSON format</li>
  *   <li>MDC context cho distributed tracing</li>
+ *   <li>CPU time và số byte cấp phát của mỗi request ({@link RequestResourceMeter})</li>
  * </ul>
  * <p>
  * Các annotation được sử dụng:
@@ -39,17 +45,26 @@ import java.util.stream.Collectors;
  *   <li>{@code @Slf4j} - Tự động tạo logger từ Lombok</li>
  *   <li>{@code @Aspect} - Đánh dấu class là một aspect trong AOP</li>
  *   <li>{@code @Component} - Đăng ký bean với Spring container</li>
- *   <li>{@code @RequiredArgsConstructor} - Tự động tạo constructor với final fields</li>
  * </ul>
  */
 @Slf4j
 @Aspect
 @Component
-@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class LoggingRequestConfig {
 
     private final ObjectMapper mapper;
     private final LoggingProperties loggingProperties;
+    private final SensitiveDataMasker masker;
+    private final RequestResourceMeter resourceMeter;
+
+    public LoggingRequestConfig(ObjectMapper mapper, LoggingProperties loggingProperties,
+                                RequestResourceMeter resourceMeter) {
+        this.mapper = mapper;
+        this.loggingProperties = loggingProperties;
+        this.resourceMeter = resourceMeter;
+        this.masker = new SensitiveDataMasker(loggingProperties.getMaskedFields(), loggingProperties.getMaxBodyLength());
+    }
 
     /**
      * Định nghĩa pointcut cho AOP.
@@ -83,12 +98,14 @@ public class LoggingRequestConfig {
         }
 
         HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        String requestId = UUID.randomUUID().toString();
+        String requestId = RequestIdGenerator.next();
+        String handler = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "#" + joinPoint.getSignature().getName();
 
         try {
-            setupMDC(requestId, request);
+            setupMDC(requestId, request, handler);
             logRequest(requestId, request);
-            return processRequest(joinPoint, requestId);
+            return processRequest(joinPoint, requestId, request, handler);
         } finally {
             MDC.clear();
         }
@@ -103,13 +120,15 @@ public class LoggingRequestConfig {
      *   <li>HTTP Method</li>
      *   <li>Request Path</li>
      *   <li>Client IP</li>
+     *   <li>Handler ({@code Controller#method}), dùng cho JFR event</li>
      * </ul>
      */
-    private void setupMDC(String requestId, HttpServletRequest request) {
+    private void setupMDC(String requestId, HttpServletRequest request, String handler) {
         MDC.put("requestId", requestId);
         MDC.put("method", request.getMethod());
         MDC.put("path", request.getRequestURI());
         MDC.put("clientIp", request.getRemoteAddr());
+        MDC.put("handler", handler);
     }
 
     /**
@@ -135,8 +154,8 @@ public class LoggingRequestConfig {
             logData.put("uri", request.getRequestURI());
             logData.put("timestamp", LocalDateTime.now());
             logData.put("headers", getHeaders(request));
-            logData.put("parameters", maskSensitiveData(request.getParameterMap()));
-            logData.put("body", truncateAndMaskBody(getRequestBody(request)));
+            logData.put("parameters", masker.maskParameters(request.getParameterMap()));
+            logData.put("body", masker.maskBody(getRequestBody(request)));
 
             log.info("REQUEST [{}] {} {} \n- Time: {} \n- Headers: {} \n- Parameters: {} \n- Body: {}",
                     requestId,
@@ -158,22 +177,40 @@ public class LoggingRequestConfig {
      * Quy trình:
      * <ol>
      *   <li>Bắt đầu timing</li>
-     *   <li>Thực thi controller method</li>
+     *   <li>Thực thi controller method, đo CPU time và số byte cấp phát
+     *   (nếu {@code logging.request.resource-accounting})</li>
      *   <li>Log response success/error</li>
+     *   <li>Ghi JFR {@link RequestEvent} (khi có recording bật event này)</li>
      * </ol>
      */
-    private Object processRequest(ProceedingJoinPoint joinPoint, String requestId) throws Throwable {
+    private Object processRequest(ProceedingJoinPoint joinPoint, String requestId, HttpServletRequest request,
+                                  String handler) throws Throwable {
         long startTime = System.currentTimeMillis();
+        RequestResourceMeter.Snapshot resources = loggingProperties.isResourceAccounting() ? resourceMeter.start() : null;
+        RequestEvent event = new RequestEvent();
+        event.begin();
         try {
-            Object result = joinPoint.proceed();
-            logResponse(requestId, result, startTime, null);
+            Object result;
+            boolean success = false;
+            try {
+                result = joinPoint.proceed();
+                success = true;
+            } finally {
+                // Kết thúc event cả khi controller ném Error, không tính thời gian ghi log response
+                event.complete(request.getMethod(), request.getRequestURI(), success);
+            }
+            logResponse(requestId, result, startTime, stopMeter(handler, resources), null);
             return result;
         } catch (Exception e) {
-            logResponse(requestId, null, startTime, e);
+            logResponse(requestId, null, startTime, stopMeter(handler, resources), e);
             throw e;
         }
     }
 
+    private RequestResourceMeter.Usage stopMeter(String handler, RequestResourceMeter.Snapshot resources) {
+        return resources != null ? resourceMeter.stop(handler, resources) : null;
+    }
+
     /**
      * Ghi log response.
      * <p>
@@ -181,23 +218,43 @@ public class LoggingRequestConfig {
      * <ul>
      *   <li>Request ID</li>
      *   <li>Thời gian xử lý</li>
+     *   <li>CPU time và số byte cấp phát (nếu đo được)</li>
      *   <li>Response body hoặc error message</li>
      * </ul>
      */
-    private void logResponse(String requestId, Object result, long startTime, Exception error) {
+    private void logResponse(String requestId, Object result, long startTime, RequestResourceMeter.Usage usage,
+                             Exception error) {
         try {
             long duration = System.currentTimeMillis() - startTime;
+            String resources = describe(usage);
             if (error == null) {
-                String response = result != null ? truncateAndMaskBody(mapper.writeValueAsString(result)) : "null";
-                log.info("RESPONSE [{}] ({} ms): {}", requestId, duration, response);
+                String response = result != null ? masker.maskBody(mapper.writeValueAsString(result)) : "null";
+                log.info("RESPONSE [{}] ({} ms{}): {}", requestId, duration, resources, response);
             } else {
-                log.error("ERROR RESPONSE [{}] ({} ms): {}", requestId, duration, error.getMessage());
+                log.error("ERROR RESPONSE [{}] ({} ms{}): {}", requestId, duration, resources, error.getMessage());
             }
         } catch (Exception e) {
             log.error("Error logging response", e);
         }
     }
 
+    /**
+     * Mô tả tài nguyên đã dùng cho dòng log response, ví dụ {@code ", cpu 1.25 ms, alloc 98304 B"}.
+     */
+    private static String describe(RequestResourceMeter.Usage usage) {
+        if (usage == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        if (usage.cpuNanos() >= 0) {
+            text.append(", cpu ").append(String.format("%.2f", usage.cpuNanos() / 1_000_000.0)).append(" ms");
+        }
+        if (usage.allocatedBytes() >= 0) {
+            text.append(", alloc ").append(usage.allocatedBytes()).append(" B");
+        }
+        return text.toString();
+    }
+
     /**
      * Lấy và mask headers từ request.
      * <p>
@@ -206,18 +263,10 @@ public class LoggingRequestConfig {
     private Map<String, String> getHeaders(HttpServletRequest request) {
         Map<String, String> headers = new HashMap<>();
         Collections.list(request.getHeaderNames())
-                .forEach(name -> headers.put(name, maskHeaderIfSensitive(name, request.getHeader(name))));
+                .forEach(name -> headers.put(name, masker.maskHeader(name, request.getHeader(name))));
         return headers;
     }
 
-    /**
-     * Mask giá trị header nếu tên header chứa từ khóa nhạy cảm.
-     */
-    private String maskHeaderIfSensitive(String name, String value) {
-        return loggingProperties.getMaskedFields().stream()
-                .anyMatch(field -> name.toLowerCase().contains(field)) ? "******" : value;
-    }
-
     /**
      * Đọc body từ request.
      */
@@ -230,58 +279,4 @@ public class LoggingRequestConfig {
             return "";
         }
     }
-
-    /**
-     * Truncate và mask dữ liệu trong body.
-     * <p>
-     * - Truncate nếu độ dài vượt quá maxBodyLength
-     * - Mask các trường nhạy cảm
-     */
-    private String truncateAndMaskBody(String content) {
-        if (!StringUtils.hasText(content)) {
-            return content;
-        }
-
-        String maskedContent = maskSensitiveDataInString(content);
-        if (maskedContent.length() > loggingProperties.getMaxBodyLength()) {
-            return maskedContent.substring(0, loggingProperties.getMaxBodyLength()) + "... (truncated)";
-        }
-        return maskedContent;
-    }
-
-    /**
-     * Mask dữ liệu nhạy cảm trong string.
-     * <p>
-     * Sử dụng regex để tìm và thay thế các trường nhạy cảm.
-     */
-    private String maskSensitiveDataInString(String content) {
-        String maskedContent = content;
-        for (String field : loggingProperties.getMaskedFields()) {
-            maskedContent = maskedContent.replaceAll(
-                    String.format("(\"%s\"\\s*:\\s*\")(.*?)(\")", field),
-                    "$1******$3"
-            );
-        }
-        return maskedContent;
-    }
-
-    /**
-     * Mask dữ liệu nhạy cảm trong Map.
-     * <p>
-     * Xử lý đệ quy nếu value là Map con.
-     */
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> maskSensitiveData(Map<String, ?> data) {
-        Map<String, Object> maskedData = new HashMap<>();
-        data.forEach((key, value) -> {
-            if (loggingProperties.getMaskedFields().contains(key.toLowerCase())) {
-                maskedData.put(key, "******");
-            } else if (value instanceof Map) {
-                maskedData.put(key, maskSensitiveData((Map<String, ?>) value));
-            } else {
-                maskedData.put(key, value);
-            }
-        });
-        return maskedData;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package com.hduong25.javalearn.config;
+
+import com.hduong25.javalearn.utils.RequestIdGenerator;
+import com.hduong25.javalearn.utils.SensitiveDataMasker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LoggingRequestWebFilter
+ * <p>
+ * Phiên bản WebFlux của {@link LoggingRequestConfig}: ghi log request/response cho chế độ reactive.
+ * <p>
+ * Khác với bản servlet:
+ * <ul>
+ *   <li>Chạy dưới dạng {@link WebFilter} thay vì AOP, vì controller reactive trả về
+ *   {@code Mono/Flux} trước khi request được xử lý xong</li>
+ *   <li>Thời gian xử lý được tính khi response hoàn tất (kể cả response dạng stream)</li>
+ *   <li>Không log body, để không phải buffer body của request/response</li>
+ *   <li>Request ID được đặt vào attribute {@link #REQUEST_ID_ATTRIBUTE} của exchange thay cho MDC</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class LoggingRequestWebFilter implements WebFilter, Ordered {
+
+    public static final String REQUEST_ID_ATTRIBUTE = "requestId";
+
+    private final LoggingProperties loggingProperties;
+    private final SensitiveDataMasker masker;
+
+    public LoggingRequestWebFilter(LoggingProperties loggingProperties) {
+        this.loggingProperties = loggingProperties;
+        this.masker = new SensitiveDataMasker(loggingProperties.getMaskedFields(), loggingProperties.getMaxBodyLength());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!loggingProperties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        String requestId = RequestIdGenerator.next();
+        exchange.getAttributes().put(REQUEST_ID_ATTRIBUTE, requestId);
+
+        log.info("REQUEST [{}] {} {} \n- Client IP: {} \n- Headers: {} \n- Parameters: {}",
+                requestId,
+                request.getMethod(),
+                request.getPath().value(),
+                request.getRemoteAddress() != null ? request.getRemoteAddress().getAddress().getHostAddress() : null,
+                getHeaders(request),
+                masker.maskParameters(request.getQueryParams()));
+
+        long startTime = System.currentTimeMillis();
+        return chain.filter(exchange)
+                .doOnError(error -> log.error("ERROR RESPONSE [{}] ({} ms): {}",
+                        requestId, System.currentTimeMillis() - startTime, error.getMessage()))
+                .doOnSuccess(ignored -> log.info("RESPONSE [{}] ({} ms): {}",
+                        requestId, System.currentTimeMillis() - startTime, exchange.getResponse().getStatusCode()));
+    }
+
+    /**
+     * Chạy sớm nhất để thời gian xử lý gồm cả Spring Security.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Lấy headers từ request, mask header nhạy cảm theo cấu hình maskedFields.
+     */
+    private Map<String, String> getHeaders(ServerHttpRequest request) {
+        Map<String, String> headers = new HashMap<>();
+        request.getHeaders().forEach((name, values) ->
+                headers.put(name, masker.maskHeader(name, String.join(",", values))));
+        return headers;
+    }
+}
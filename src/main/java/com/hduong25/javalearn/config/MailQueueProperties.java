@@ -0,0 +1,45 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho hàng đợi gửi mail ({@code mail.queue.*})
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt hàng đợi mail (cần cấu hình {@code spring.mail.*})</li>
+ *   <li>from: Địa chỉ người gửi</li>
+ *   <li>capacity: Số mail tối đa đang chờ gửi; vượt quá thì từ chối nhận thêm</li>
+ *   <li>workers: Số thread gửi, mỗi thread giữ một kết nối SMTP (kích thước pool kết nối)</li>
+ *   <li>batchSize: Số mail tối đa một worker gửi liên tiếp trên cùng kết nối</li>
+ *   <li>pollInterval: Khoảng thời gian giữa hai lần đọc hàng đợi khi không còn mail</li>
+ *   <li>maxAttempts: Số lần gửi tối đa trước khi đánh dấu FAILED</li>
+ *   <li>initialBackoff / maxBackoff: Thời gian chờ trước lần gửi lại, tăng gấp đôi sau mỗi lần lỗi</li>
+ *   <li>idleTimeout: Đóng kết nối SMTP không được dùng trong khoảng thời gian này</li>
+ *   <li>retention: Thời gian giữ mail đã gửi để tra cứu trạng thái</li>
+ *   <li>shutdownTimeout: Thời gian tối đa chờ worker gửi nốt khi tắt ứng dụng</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "mail.queue")
+public class MailQueueProperties {
+    private boolean enabled = false;
+    private String from = "no-reply@java-learn.local";
+    private int capacity = 100_000;
+    private int workers = 4;
+    private int batchSize = 50;
+    private Duration pollInterval = Duration.ofMillis(500);
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    private Duration maxBackoff = Duration.ofHours(1);
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private Duration retention = Duration.ofDays(7);
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
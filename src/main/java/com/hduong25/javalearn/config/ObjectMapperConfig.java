@@ -1,6 +1,10 @@
 package com.hduong25.javalearn.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hduong25.javalearn.utils.enums.EnumCodeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,8 +15,22 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class ObjectMapperConfig {
 
+    /**
+     * Ngày giờ ({@code LocalDateTime}, ...) được ghi dạng ISO-8601, giống định dạng của export.
+     * Đây là ObjectMapper dùng chung cho mọi request/response JSON và request log: mọi trường ngày giờ
+     * đều được ghi và đọc dạng chuỗi {@code "2025-01-31T10:00:00"} (trước đây ObjectMapper mặc định
+     * không serialize được kiểu {@code java.time}).
+     * <p>
+     * Mặc định enum được ghi/đọc theo tên hằng như Jackson. Khi bật {@code enum-codes.enabled=true},
+     * enum có mã ({@code InterfaceEnum}, {@code BaseEnumResponseCode}) được ghi theo mã ({@link EnumCodeModule})
+     * cho mọi trường của mọi request/response và request log, nên đây là thay đổi định dạng API cần báo
+     * trước cho client.
+     */
     @Bean
-    public ObjectMapper objectMapper() {
-        return new ObjectMapper();
+    public ObjectMapper objectMapper(@Value("${enum-codes.enabled:false}") boolean enumCodes) {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return enumCodes ? objectMapper.registerModule(new EnumCodeModule()) : objectMapper;
     }
 }
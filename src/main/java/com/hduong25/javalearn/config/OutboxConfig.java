@@ -0,0 +1,49 @@
+package com.hduong25.javalearn.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
+
+/**
+ * Cấu hình Kafka producer cho relay của transactional outbox.
+ * <p>
+ * Producer được tối ưu cho việc gửi theo batch:
+ * <ul>
+ *   <li>{@code linger.ms} và {@code batch.size} cho phép gom nhiều sự kiện vào một request</li>
+ *   <li>Nén batch theo {@code outbox.producer.compression-type} (mặc định lz4)</li>
+ *   <li>{@code enable.idempotence} và {@code acks=all} giữ thứ tự theo partition khi retry,
+ *   nên các sự kiện cùng user ID (cùng key) đến consumer đúng thứ tự</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    public static final String OUTBOX_KAFKA_TEMPLATE_NAME = "outboxKafkaTemplate";
+
+    @Bean(name = OUTBOX_KAFKA_TEMPLATE_NAME)
+    public KafkaTemplate<String, String> outboxKafkaTemplate(KafkaProperties kafkaProperties,
+                                                             OutboxProperties outboxProperties) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, outboxProperties.getProducer().getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, outboxProperties.getProducer().getBatchBytes());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, outboxProperties.getProducer().getCompressionType());
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, outboxProperties.getRelay().getSendTimeoutMs());
+
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+}
@@ -0,0 +1,48 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lớp cấu hình properties cho transactional outbox của user
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt ghi outbox khi UserEntity thay đổi</li>
+ *   <li>topic: Kafka topic nhận sự kiện user</li>
+ *   <li>relay.enabled: Bật/tắt relay đẩy outbox sang Kafka</li>
+ *   <li>relay.batchSize: Số sự kiện tối đa đọc và gửi mỗi lần</li>
+ *   <li>relay.pollIntervalMs: Khoảng thời gian giữa hai lần đọc outbox</li>
+ *   <li>relay.sendTimeoutMs: Thời gian chờ Kafka xác nhận một batch</li>
+ *   <li>producer.lingerMs / batchBytes / compressionType: Cấu hình batching và nén của producer</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+    private boolean enabled = true;
+    private String topic = "user-events";
+    private Relay relay = new Relay();
+    private Producer producer = new Producer();
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private boolean enabled = true;
+        private int batchSize = 500;
+        private long pollIntervalMs = 500;
+        private long sendTimeoutMs = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Producer {
+        private int lingerMs = 20;
+        private int batchBytes = 64 * 1024;
+        private String compressionType = "lz4";
+    }
+}
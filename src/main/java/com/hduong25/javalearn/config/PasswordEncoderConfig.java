@@ -0,0 +1,45 @@
+package com.hduong25.javalearn.config;
+
+import com.hduong25.javalearn.modules.auth.password.BoundedPasswordEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Cấu hình PasswordEncoder, dùng chung cho chế độ servlet ({@link SecurityConfig})
+ * và reactive ({@link ReactiveSecurityConfig}).
+ *
+ * @author: hduong25
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * PasswordEncoder dùng chung cho toàn ứng dụng.
+     * <p>
+     * Hash mới có tiền tố thuật toán (ví dụ {@code {bcrypt}}), hash cũ không có tiền tố
+     * được kiểm tra bằng BCrypt. Khi đăng nhập thành công với hash cũ hoặc cost thấp hơn
+     * {@code security.password.bcrypt-strength}, mật khẩu được băm lại
+     * (xem {@code UserDetailsServiceImpl#updatePassword}).
+     * Việc băm chạy trên executor riêng có giới hạn ({@link BoundedPasswordEncoder}).
+     *
+     * @param properties cấu hình băm mật khẩu
+     * @return PasswordEncoder
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        DelegatingPasswordEncoder delegate = new DelegatingPasswordEncoder(properties.getEncodingId(), Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+        ));
+        delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegate, properties);
+    }
+}
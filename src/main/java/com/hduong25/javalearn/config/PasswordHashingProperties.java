@@ -0,0 +1,30 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lớp cấu hình properties cho việc băm mật khẩu
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>encodingId: Thuật toán dùng khi băm mật khẩu mới ({@code bcrypt} hoặc {@code pbkdf2})</li>
+ *   <li>bcryptStrength: Cost của BCrypt; hash cũ có cost thấp hơn được băm lại khi đăng nhập</li>
+ *   <li>threads: Số thread băm mật khẩu, mặc định bằng số CPU</li>
+ *   <li>queueCapacity: Số yêu cầu tối đa chờ trong hàng đợi, vượt quá sẽ bị từ chối ngay</li>
+ *   <li>timeoutMs: Thời gian chờ tối đa cho một lần băm/kiểm tra</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "security.password")
+public class PasswordHashingProperties {
+    private String encodingId = "bcrypt";
+    private int bcryptStrength = 10;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    private long timeoutMs = 5_000;
+}
@@ -0,0 +1,63 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lớp cấu hình properties cho giới hạn tần suất request (rate limit)
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt rate limit</li>
+ *   <li>stripes: Số stripe của mỗi bảng bucket (làm tròn lên lũy thừa của 2)</li>
+ *   <li>sweepInterval: Chu kỳ xóa các key không còn hoạt động (bucket đã đầy lại)</li>
+ *   <li>maxBodyBytes: Số byte body tối đa được đọc để lấy {@code account}</li>
+ *   <li>rules: Giới hạn theo từng path, mỗi path có bucket riêng theo IP và theo account:
+ *     <ul>
+ *       <li>path: Đường dẫn áp dụng (so khớp chính xác)</li>
+ *       <li>capacity: Số request tối đa trong một đợt (tối đa 1048)</li>
+ *       <li>refillPerSecond: Số token được nạp lại mỗi giây</li>
+ *       <li>keyByAccount: Giới hạn thêm theo trường {@code account} trong body JSON</li>
+ *     </ul>
+ *   </li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "security.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int stripes = 64;
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    private int maxBodyBytes = 4 * 1024;
+    private List<Rule> rules = new ArrayList<>(List.of(
+            new Rule("/auth/login", 10, 0.5, true),
+            new Rule("/auth/register", 5, 0.1, true)
+    ));
+
+    @Getter
+    @Setter
+    public static class Rule {
+        private String path;
+        private int capacity;
+        private double refillPerSecond;
+        private boolean keyByAccount;
+
+        public Rule() {
+        }
+
+        public Rule(String path, int capacity, double refillPerSecond, boolean keyByAccount) {
+            this.path = path;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.keyByAccount = keyByAccount;
+        }
+    }
+}
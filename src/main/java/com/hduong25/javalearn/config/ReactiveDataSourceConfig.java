@@ -0,0 +1,76 @@
+package com.hduong25.javalearn.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cấu hình kết nối R2DBC (non-blocking) cho chế độ reactive.
+ * <p>
+ * Auto-configuration R2DBC của Spring Boot bị tắt ({@code JavaLearnApplication}) để chế độ servlet
+ * không cần cấu hình {@code spring.r2dbc.*}; ở chế độ reactive các bean được tạo tại đây:
+ * <ul>
+ *   <li>{@link ConnectionFactory}: từ {@code spring.r2dbc.url/username/password},
+ *   bọc bởi {@link ConnectionPool} theo {@code spring.r2dbc.pool.*}</li>
+ *   <li>{@link DatabaseClient}: dùng bởi {@code ReactiveUserRepository}</li>
+ * </ul>
+ *
+ * <p>
+ * <b>Ví dụ cấu hình:</b></p>
+ * <pre>
+ * spring:
+ *   r2dbc:
+ *     url: r2dbc:mysql://localhost:3306/learn_java_db
+ *     username: root
+ *     password: secret
+ *     pool:
+ *       initial-size: 5
+ *       max-size: 20
+ * </pre>
+ *
+ * @author: hduong25
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveDataSourceConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(R2dbcProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (StringUtils.hasText(properties.getUsername())) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder poolConfiguration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime());
+        if (pool.getMaxAcquireTime() != null) {
+            poolConfiguration.maxAcquireTime(pool.getMaxAcquireTime());
+        }
+        if (StringUtils.hasText(pool.getValidationQuery())) {
+            poolConfiguration.validationQuery(pool.getValidationQuery());
+        }
+        return new ConnectionPool(poolConfiguration.build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
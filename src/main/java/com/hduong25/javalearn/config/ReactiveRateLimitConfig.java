@@ -0,0 +1,29 @@
+package com.hduong25.javalearn.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.modules.auth.ratelimit.ReactiveRateLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Cấu hình giới hạn tần suất request cho chế độ reactive, tương đương {@link RateLimitConfig}
+ * (cùng {@code security.rate-limit.*}). WebFlux tự nhận các bean {@code WebFilter}, thứ tự lấy từ
+ * {@link ReactiveRateLimitFilter#ORDER}.
+ *
+ * @author: hduong25
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "security.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveRateLimitConfig {
+
+    @Bean
+    public ReactiveRateLimitFilter reactiveRateLimitFilter(RateLimitProperties properties, ObjectMapper mapper)
+            throws IOException {
+        return new ReactiveRateLimitFilter(properties, mapper);
+    }
+}
@@ -0,0 +1,90 @@
+package com.hduong25.javalearn.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.modules.auth.password.PasswordHashingRejectedWebFilter;
+import com.hduong25.javalearn.modules.profiling.JfrRecordingEndpoint;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * @author: hduong25
+ * Cấu hình bảo mật cho chế độ reactive, tương đương {@link SecurityConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * Định nghĩa SecurityWebFilterChain với cùng quy tắc như chế độ servlet:
+     * không trạng thái, bearer token JWT, HTTP Basic và các endpoint công khai.
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity httpSecurity,
+                                                         CustomCorsConfig customCorsConfig,
+                                                         ReactiveJwtDecoder reactiveJwtDecoder,
+                                                         ReactiveAuthenticationManager authenticationManager,
+                                                         ObjectMapper objectMapper) throws IOException {
+        return httpSecurity.csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .cors(cors -> cors.configurationSource(exchange ->
+                        customCorsConfig.getCorsConfiguration(exchange.getRequest().getHeaders().getOrigin())))
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                // API không trạng thái: không lưu SecurityContext
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtDecoder(reactiveJwtDecoder)))
+                .httpBasic(basic -> basic.authenticationManager(authenticationManager))
+                // Executor băm mật khẩu quá tải khi xác thực HTTP Basic: 503 như /auth/login thay vì 500
+                .addFilterBefore(new PasswordHashingRejectedWebFilter(objectMapper), SecurityWebFiltersOrder.HTTP_BASIC)
+                .authorizeExchange(exchange -> exchange
+                        .matchers(EndpointRequest.to(JfrRecordingEndpoint.class))
+                        .hasAnyAuthority(SecurityConfig.ADMIN_AUTHORITIES)
+                        .pathMatchers("/users/export").hasAnyAuthority(SecurityConfig.ADMIN_AUTHORITIES)
+                        .pathMatchers(
+                                "/ping",
+                                "/ping/2",
+                                "/auth/login",
+                                "/auth/register"
+                        ).permitAll()
+                        .anyExchange().authenticated()
+                )
+                .build();
+    }
+
+    /**
+     * Xác thực tài khoản/mật khẩu; việc kiểm tra mật khẩu chạy trên scheduler boundedElastic.
+     */
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService,
+                                                                       PasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        return authenticationManager;
+    }
+
+    /**
+     * Dùng lại {@link JwtDecoder} của {@link JwtConfig} (cache, kiểm tra thu hồi): việc kiểm tra
+     * chỉ tốn CPU (key nằm trong bộ nhớ, không gọi mạng) và thường trúng cache nên được chạy trực tiếp
+     * trên event loop, không chuyển sang boundedElastic.
+     */
+    @Bean
+    public ReactiveJwtDecoder reactiveJwtDecoder(JwtDecoder jwtDecoder) {
+        return token -> Mono.fromCallable(() -> jwtDecoder.decode(token));
+    }
+}
@@ -0,0 +1,53 @@
+package com.hduong25.javalearn.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.source.InvalidConfigurationPropertyValueException;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cấu hình chế độ reactive (WebFlux), bật bằng profile {@code reactive}
+ * ({@code spring.main.web-application-type=reactive}, xem application-reactive.yml).
+ * <p>
+ * Ở chế độ này:
+ * <ul>
+ *   <li>Server là Netty; vì Tomcat vẫn có trong classpath, factory được khai báo rõ ràng
+ *   (Spring Boot ưu tiên Tomcat nếu để tự chọn)</li>
+ *   <li>Các bean chỉ dành cho servlet ({@code SecurityConfig}, {@code LoggingRequestConfig},
+ *   {@code RateLimitConfig}, {@code AuthController}, {@code UserController}, ...) không được tạo;
+ *   rate limit dùng {@link ReactiveRateLimitConfig}</li>
+ *   <li>Chưa có bản reactive cho {@code Idempotency-Key}: ứng dụng không khởi động nếu
+ *   {@code idempotency.enabled=true} (application-reactive.yml tắt sẵn)</li>
+ *   <li>Endpoint tương ứng: {@code PingController} (dùng chung), {@code ReactiveAuthController},
+ *   {@code ReactiveUserController}; truy cập dữ liệu qua R2DBC ({@link ReactiveDataSourceConfig})</li>
+ *   <li>Audit, outbox relay và các tác vụ nền vẫn dùng JDBC/JPA; thay đổi ghi qua R2DBC
+ *   không đi qua Hibernate nên không sinh audit/outbox</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * {@code IdempotencyFilter} chỉ chạy trên servlet: dừng khởi động thay vì nhận {@code Idempotency-Key}
+     * mà không chống xử lý lặp.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class IdempotencyNotSupported {
+        IdempotencyNotSupported() {
+            throw new InvalidConfigurationPropertyValueException("idempotency.enabled", true,
+                    "Idempotency-Key is not supported in reactive mode, set idempotency.enabled=false");
+        }
+    }
+}
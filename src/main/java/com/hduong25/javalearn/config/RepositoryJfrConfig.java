@@ -0,0 +1,52 @@
+package com.hduong25.javalearn.config;
+
+import com.hduong25.javalearn.utils.jfr.RepositoryCallEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * RepositoryJfrConfig
+ * <p>
+ * Ghi JFR {@link RepositoryCallEvent} cho mỗi lần gọi method của Spring Data repository.
+ * Repository reactive (trả về {@code Publisher}) bị bỏ qua vì thời gian gọi method chỉ là thời gian
+ * dựng pipeline, không phải thời gian truy vấn.
+ * <p>
+ * Khi không có recording nào bật event, chi phí chỉ còn một lần gọi advice.
+ * Tắt bằng {@code jfr.repository-events=false}.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "jfr", name = "repository-events", havingValue = "true", matchIfMissing = true)
+public class RepositoryJfrConfig {
+
+    @Pointcut("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " && !execution(org.reactivestreams.Publisher+ *(..))")
+    public void repositoryPointcut() {
+    }
+
+    @Around("repositoryPointcut()")
+    public Object recordCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            if (event.isEnabled()) {
+                event.complete(repositoryName(joinPoint), joinPoint.getSignature().getName(), success);
+            }
+        }
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        return interfaces.length > 0 ? interfaces[0].getSimpleName() : joinPoint.getSignature().getDeclaringTypeName();
+    }
+}
@@ -1,44 +1,60 @@
 package com.hduong25.javalearn.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.modules.auth.password.PasswordHashingRejectedFilter;
+import com.hduong25.javalearn.modules.profiling.JfrRecordingEndpoint;
+import com.hduong25.javalearn.utils.enums.RoleEnums;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /**
  * @author: hduong25
  * Lớp cấu hình bảo mật (Spring Security) dùng để thiết lập các cấu hình bảo mật cho ứng dụng.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @EnableMethodSecurity(jsr250Enabled = true)
 public class SecurityConfig {
 
+    /**
+     * Quyền quản trị: {@code ROLE_ADMIN} khi xác thực HTTP Basic, {@code SCOPE_ROLE_ADMIN} khi dùng bearer token
+     * phát từ {@code /auth/login} (danh sách quyền nằm trong claim {@code scope}).
+     * Chỉ tài khoản mặc định {@code spring.security.user.*} có quyền này.
+     */
+    public static final String[] ADMIN_AUTHORITIES = {
+            "ROLE_" + RoleEnums.ADMIN.getCode(), "SCOPE_ROLE_" + RoleEnums.ADMIN.getCode()};
+
     private final CustomCorsConfig customCorsConfigCustom;
 
-    @Value("${spring.security.user.name}")
-    private String defaultUserName;
+    private final JwtDecoder jwtDecoder;
 
-    @Value("${spring.security.user.password}")
-    private String defaultPassword;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructor để inject dependency.
      *
-     * @param corsConfig cấu hình CORS tùy chỉnh
+     * @param corsConfig   cấu hình CORS tùy chỉnh
+     * @param jwtDecoder   decoder kiểm tra bearer token (có cache)
+     * @param objectMapper dùng để ghi body lỗi của các filter
      */
-    public SecurityConfig(CustomCorsConfig corsConfig) {
+    public SecurityConfig(CustomCorsConfig corsConfig, JwtDecoder jwtDecoder, ObjectMapper objectMapper) {
         customCorsConfigCustom = corsConfig;
+        this.jwtDecoder = jwtDecoder;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -58,13 +74,27 @@ public class SecurityConfig {
                 // Cấu hình CORS bằng cách sử dụng cấu hình CORS tùy chỉnh
                 .cors(cors -> cors.configurationSource(customCorsConfigCustom))
                 .formLogin(AbstractHttpConfigurer::disable)
+                // API không trạng thái: không tạo HTTP session
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Xác thực bằng bearer token JWT
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)))
+                // Xác thực HTTP Basic với tài khoản trong bảng USER (UserDetailsServiceImpl)
+                .httpBasic(Customizer.withDefaults())
+                // Executor băm mật khẩu quá tải khi xác thực HTTP Basic: 503 như /auth/login thay vì 500
+                .addFilterBefore(new PasswordHashingRejectedFilter(objectMapper), BasicAuthenticationFilter.class)
                 // Cấu hình các quy tắc ủy quyền
                 .authorizeHttpRequests(req ->
                         // Cho phép tất cả các yêu cầu được truy cập mà không cần xác thực
                         // Thay permitAll() -> authenticated() để yêu cầu xác thực
                         // req.anyRequest().permitAll()
 
-                        req.requestMatchers(
+                        // Endpoint quản trị (JFR recording) chỉ dành cho admin
+                        req.requestMatchers(EndpointRequest.to(JfrRecordingEndpoint.class))
+                                .hasAnyAuthority(ADMIN_AUTHORITIES)
+                                // Export trả về toàn bộ bảng USER (email, số điện thoại, địa chỉ): chỉ dành cho admin,
+                                // vì ai cũng có thể tự đăng ký tài khoản qua /auth/register
+                                .requestMatchers("/users/export").hasAnyAuthority(ADMIN_AUTHORITIES)
+                                .requestMatchers(
                                         "ping",
                                         "ping/2",
                                         "/auth/login",
@@ -78,18 +108,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
-        UserDetails admin = User
-                .withUsername(defaultUserName)
-                .password(passwordEncoder().encode(defaultPassword))
-                .authorities("auth_read", "auth_write")
-                .build();
-
-        return new InMemoryUserDetailsManager(admin);
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
+        return authenticationConfiguration.getAuthenticationManager();
     }
 }
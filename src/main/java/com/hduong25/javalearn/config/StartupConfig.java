@@ -0,0 +1,53 @@
+package com.hduong25.javalearn.config;
+
+import jakarta.servlet.Filter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Cấu hình liên quan tới thời gian khởi động ({@code startup.*}).
+ * <p>
+ * Profile {@code fast-startup} (xem {@code application-fast-startup.yml} và profile Maven cùng tên)
+ * bật khởi tạo JPA nền và danh sách bean lazy; cấu hình mặc định chỉ ghi log thời gian.
+ *
+ * @author: hduong25
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Khai báo static để processor được tạo trước các bean {@code @Configuration} khác.
+     */
+    @Bean
+    public static LazyInfrastructureBeanFactoryPostProcessor lazyInfrastructureBeanFactoryPostProcessor(
+            Environment environment) {
+        return new LazyInfrastructureBeanFactoryPostProcessor(environment);
+    }
+
+    /**
+     * Filter đo thời gian tới request đầu tiên, sau request đó chỉ còn một lần đọc cờ.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = StartupProperties.PREFIX, name = "report-first-request",
+            havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<Filter> firstRequestTimingFilter(StartupTimingReporter reporter) {
+        Filter filter = (request, response, chain) -> {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (!reporter.isFirstRequestRecorded()) {
+                    reporter.recordFirstRequest();
+                }
+            }
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,37 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lớp cấu hình properties cho thời gian khởi động ({@code startup.*})
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>backgroundJpaBootstrap: Khởi tạo EntityManagerFactory trên {@code applicationTaskExecutor},
+ *   song song với việc tạo các bean còn lại</li>
+ *   <li>lazyBeans: Tên bean hoặc tên class của các bean hạ tầng ít dùng, chỉ được tạo
+ *   khi được inject hoặc gọi lần đầu ({@link LazyInfrastructureBeanFactoryPostProcessor})</li>
+ *   <li>reportFirstRequest: Ghi log thời gian từ lúc JVM khởi động tới khi request đầu tiên
+ *   được xử lý xong ({@link StartupTimingReporter})</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = StartupProperties.PREFIX)
+public class StartupProperties {
+
+    public static final String PREFIX = "startup";
+
+    private boolean backgroundJpaBootstrap = false;
+    private List<String> lazyBeans = new ArrayList<>();
+    private boolean reportFirstRequest = true;
+}
@@ -0,0 +1,86 @@
+package com.hduong25.javalearn.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Báo cáo thời gian khởi động để so sánh cấu hình mặc định với profile {@code fast-startup}.
+ * <p>
+ * Các mốc đều tính từ lúc JVM khởi động (không chỉ từ lúc {@code SpringApplication.run}),
+ * nên phần tiết kiệm được của AppCDS (nạp class) cũng được tính:
+ * <ul>
+ *   <li>ready: khi {@link ApplicationReadyEvent} được phát</li>
+ *   <li>first request: khi request HTTP đầu tiên xử lý xong (servlet), gauge
+ *   {@code application.first.request.time}</li>
+ * </ul>
+ * Log kèm trạng thái AOT ({@code spring.aot.enabled}) và CDS archive để biết số đo thuộc cấu hình nào.
+ *
+ * @author: hduong25
+ */
+@Slf4j
+@Component
+public class StartupTimingReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+    private final AtomicBoolean firstRequestRecorded = new AtomicBoolean();
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile long firstRequestMillis = -1;
+
+    public StartupTimingReporter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Application ready {} ms after JVM start (context {} ms, aot={}, cds={})",
+                runtime.getUptime(), event.getTimeTaken().toMillis(), AotDetector.useGeneratedArtifacts(),
+                describeCds());
+    }
+
+    /**
+     * Ghi nhận request đầu tiên; các lần gọi sau không làm gì.
+     */
+    public void recordFirstRequest() {
+        if (!firstRequestRecorded.compareAndSet(false, true)) {
+            return;
+        }
+        firstRequestMillis = runtime.getUptime();
+        log.info("First request served {} ms after JVM start", firstRequestMillis);
+        meterRegistry.ifAvailable(registry -> TimeGauge.builder("application.first.request.time", this,
+                        TimeUnit.MILLISECONDS, StartupTimingReporter::getFirstRequestMillis)
+                .description("Time from JVM start until the first HTTP request completed")
+                .register(registry));
+    }
+
+    public boolean isFirstRequestRecorded() {
+        return firstRequestRecorded.get();
+    }
+
+    public long getFirstRequestMillis() {
+        return firstRequestMillis;
+    }
+
+    private String describeCds() {
+        for (String argument : runtime.getInputArguments()) {
+            if (argument.startsWith("-XX:SharedArchiveFile=")) {
+                return argument.substring("-XX:SharedArchiveFile=".length());
+            }
+            if (argument.startsWith("-XX:ArchiveClassesAtExit=")) {
+                return "training";
+            }
+        }
+        return "default";
+    }
+}
@@ -0,0 +1,28 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho cache thông tin xác thực (UserDetails)
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt cache</li>
+ *   <li>ttl: Thời gian sống của một principal trong cache</li>
+ *   <li>maximumSize: Số principal tối đa được giữ trong cache</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "security.user-cache")
+public class UserCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(60);
+    private long maximumSize = 10_000;
+}
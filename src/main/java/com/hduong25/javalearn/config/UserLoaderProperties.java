@@ -0,0 +1,29 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho gộp truy vấn user theo ID ({@code user-loader.*})
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt gộp truy vấn; tắt thì mỗi lần đọc là một {@code findById}</li>
+ *   <li>window: Thời gian gom các ID khác nhau trước khi truy vấn; {@code 0} thì chỉ gộp các lần đọc
+ *   trùng ID đang chờ</li>
+ *   <li>maxBatchSize: Số ID tối đa trong một câu {@code IN}; đủ số này thì truy vấn ngay không chờ hết window</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "user-loader")
+public class UserLoaderProperties {
+    private boolean enabled = true;
+    private Duration window = Duration.ofMillis(2);
+    private int maxBatchSize = 100;
+}
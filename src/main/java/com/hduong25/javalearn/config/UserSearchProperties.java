@@ -0,0 +1,38 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho index tìm kiếm user trong bộ nhớ ({@code user-search.*})
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt index; tắt thì {@code GET /users/search} trả lỗi 503</li>
+ *   <li>buildThreads: Số thread đọc bảng USER song song khi dựng index, mỗi thread một khoảng ID</li>
+ *   <li>pageSize: Số dòng mỗi truy vấn khi dựng index</li>
+ *   <li>compactionThreshold: Số user thay đổi kể từ lần dựng gần nhất; vượt quá thì dựng lại index</li>
+ *   <li>rebuildInterval: Dựng lại index định kỳ, bắt cả các thay đổi không đi qua Hibernate
+ *   (JPQL bulk, SQL trực tiếp); {@code 0} để tắt</li>
+ *   <li>checkInterval: Chu kỳ kiểm tra hai điều kiện trên</li>
+ *   <li>defaultLimit, maxLimit: Số kết quả mặc định và tối đa của một lần tìm</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "user-search")
+public class UserSearchProperties {
+    private boolean enabled = true;
+    private int buildThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private int pageSize = 5_000;
+    private int compactionThreshold = 10_000;
+    private Duration rebuildInterval = Duration.ofHours(6);
+    private Duration checkInterval = Duration.ofSeconds(10);
+    private int defaultLimit = 20;
+    private int maxLimit = 100;
+}
@@ -0,0 +1,36 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho việc chia bảng USER ra nhiều database ({@code user-shard.*})
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>key: Khóa định tuyến, {@code ID} hoặc {@code ACCOUNT}</li>
+ *   <li>previousShardCount: Số shard trước khi thêm shard mới; khác 0 trong lúc chia lại dữ liệu,
+ *   đọc/ghi không thấy user ở shard mới sẽ tìm tiếp ở shard cũ</li>
+ *   <li>queryTimeout: Thời gian tối đa của một câu truy vấn trên một shard</li>
+ *   <li>rebalancePageSize: Số dòng mỗi lần đọc khi chia lại dữ liệu</li>
+ * </ul>
+ * Chưa được bind khi khởi động (không phải bean): ứng dụng chưa đọc/ghi USER qua shard,
+ * xem {@code ShardedUserRepository}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-shard")
+public class UserShardProperties {
+    private Key key = Key.ID;
+    private int previousShardCount = 0;
+    private Duration queryTimeout = Duration.ofSeconds(5);
+    private int rebalancePageSize = 1_000;
+
+    public enum Key {
+        ID,
+        ACCOUNT
+    }
+}
@@ -0,0 +1,74 @@
+package com.hduong25.javalearn.config;
+
+import com.hduong25.javalearn.modules.usersync.InvalidUserSyncEventException;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.Map;
+
+/**
+ * Cấu hình Kafka consumer đồng bộ user ({@code user-sync.*}).
+ * <p>
+ * Listener nhận cả batch của một lần poll:
+ * <ul>
+ *   <li>{@link ContainerProperties.AckMode#BATCH}: offset chỉ được commit sau khi listener trả về,
+ *   tức là sau khi transaction database đã commit. Lỗi giữa hai bước dẫn tới xử lý lại batch;
+ *   upsert theo ID nên xử lý lại không sinh dữ liệu sai</li>
+ *   <li>Message không hợp lệ ({@link InvalidUserSyncEventException}) không được thử lại mà chuyển ngay
+ *   sang topic dead-letter; các message trước nó trong batch vẫn được ghi và commit</li>
+ *   <li>Lỗi database: thử lại cả batch theo {@code user-sync.retry-interval}/{@code max-retries},
+ *   hết lượt thì từng message được chuyển sang dead-letter</li>
+ * </ul>
+ * Dead-letter dùng lại producer của outbox ({@link OutboxConfig#OUTBOX_KAFKA_TEMPLATE_NAME}).
+ *
+ * @author: hduong25
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "user-sync", name = "enabled", havingValue = "true")
+public class UserSyncConfig {
+
+    public static final String CONTAINER_FACTORY_NAME = "userSyncContainerFactory";
+
+    @Bean(name = CONTAINER_FACTORY_NAME)
+    public ConcurrentKafkaListenerContainerFactory<String, String> userSyncContainerFactory(
+            KafkaProperties kafkaProperties,
+            UserSyncProperties userSyncProperties,
+            @Qualifier(OutboxConfig.OUTBOX_KAFKA_TEMPLATE_NAME) KafkaTemplate<String, String> deadLetterTemplate) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, userSyncProperties.getGroupId());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, userSyncProperties.getMaxPollRecords());
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.putIfAbsent(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.setConcurrency(userSyncProperties.getConcurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterTemplate,
+                (consumerRecord, e) -> new TopicPartition(
+                        consumerRecord.topic() + userSyncProperties.getDeadLetterSuffix(), -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(
+                userSyncProperties.getRetryInterval().toMillis(), userSyncProperties.getMaxRetries()));
+        errorHandler.addNotRetryableExceptions(InvalidUserSyncEventException.class);
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+}
@@ -0,0 +1,39 @@
+package com.hduong25.javalearn.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Lớp cấu hình properties cho việc đồng bộ user từ identity provider qua Kafka
+ * <p>
+ * Chứa các thuộc tính có thể cấu hình thông qua application.properties/yaml:
+ * <ul>
+ *   <li>enabled: Bật/tắt consumer đồng bộ user</li>
+ *   <li>topic: Kafka topic identity provider publish thay đổi user</li>
+ *   <li>groupId: Consumer group</li>
+ *   <li>concurrency: Số consumer chạy song song (không vượt quá số partition)</li>
+ *   <li>maxPollRecords: Số message tối đa mỗi lần poll, cũng là kích thước batch tối đa</li>
+ *   <li>upsertChunkSize: Số dòng tối đa trong một câu lệnh upsert nhiều dòng</li>
+ *   <li>deadLetterSuffix: Hậu tố tên topic dead-letter ({@code <topic><suffix>})</li>
+ *   <li>retryInterval / maxRetries: Thử lại cả batch khi ghi database lỗi, trước khi chuyển sang dead-letter</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "user-sync")
+public class UserSyncProperties {
+    private boolean enabled = false;
+    private String topic = "identity-user-events";
+    private String groupId = "java-learn-user-sync";
+    private int concurrency = 3;
+    private int maxPollRecords = 500;
+    private int upsertChunkSize = 500;
+    private String deadLetterSuffix = ".DLT";
+    private Duration retryInterval = Duration.ofSeconds(1);
+    private long maxRetries = 3;
+}
@@ -0,0 +1,163 @@
+package com.hduong25.javalearn.modules.audit;
+
+import com.hduong25.javalearn.config.AuditProperties;
+import com.hduong25.javalearn.config.HibernateEventListenerRegistrar;
+import com.hduong25.javalearn.utils.BaseEntity;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * AuditEventListener
+ * <p>
+ * Tính toán thay đổi theo từng trường của các entity kế thừa {@link BaseEntity}
+ * từ trạng thái Hibernate tại thời điểm flush, và chuyển cho {@link AuditTrailWriter}.
+ * <p>
+ * Listener được đăng ký ở giai đoạn post-commit nên transaction bị rollback sẽ không sinh audit,
+ * và request không phải chờ thao tác ghi audit.
+ * <p>
+ * Lưu ý: các câu lệnh bulk (JPQL update/delete, JDBC) không đi qua flush nên không được ghi audit.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final String MASK = "******";
+
+    private final HibernateEventListenerRegistrar listenerRegistrar;
+    private final AuditTrailWriter auditTrailWriter;
+    private final AuditProperties auditProperties;
+
+    @PostConstruct
+    public void register() {
+        listenerRegistrar.append(EventType.POST_COMMIT_INSERT, this);
+        listenerRegistrar.append(EventType.POST_COMMIT_UPDATE, this);
+        listenerRegistrar.append(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return BaseEntity.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof BaseEntity<?> entity) {
+            submit(event.getPersister(), event.getId(), AuditRecord.ACTION_INSERT, entity.getCreatedBy(),
+                    null, event.getState(), null);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof BaseEntity<?> entity) {
+            submit(event.getPersister(), event.getId(), AuditRecord.ACTION_UPDATE, entity.getUpdatedBy(),
+                    event.getOldState(), event.getState(), event.getDirtyProperties());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof BaseEntity<?> entity) {
+            submit(event.getPersister(), event.getId(), AuditRecord.ACTION_DELETE, entity.getUpdatedBy(),
+                    event.getDeletedState(), null, null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Transaction rollback: không ghi audit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Transaction rollback: không ghi audit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Transaction rollback: không ghi audit
+    }
+
+    /**
+     * So sánh trạng thái cũ/mới và tạo một {@link AuditRecord} cho mỗi trường thay đổi.
+     * <p>
+     * Nếu Hibernate đã tính sẵn {@code dirtyProperties} thì chỉ duyệt các trường đó,
+     * ngược lại so sánh toàn bộ trường.
+     */
+    private void submit(EntityPersister persister, Object id, String action, String changedBy,
+                        Object[] oldState, Object[] newState, int[] dirtyProperties) {
+        String[] propertyNames = persister.getPropertyNames();
+        String entityName = persister.getMappedClass().getSimpleName();
+        String entityId = String.valueOf(id);
+        LocalDateTime changedDate = LocalDateTime.now();
+        List<AuditRecord> records = new ArrayList<>();
+
+        if (dirtyProperties != null) {
+            for (int index : dirtyProperties) {
+                addRecord(records, propertyNames[index], oldState, newState, index,
+                        entityName, entityId, action, changedBy, changedDate);
+            }
+        } else {
+            for (int index = 0; index < propertyNames.length; index++) {
+                addRecord(records, propertyNames[index], oldState, newState, index,
+                        entityName, entityId, action, changedBy, changedDate);
+            }
+        }
+
+        if (!records.isEmpty()) {
+            auditTrailWriter.submit(records);
+        }
+    }
+
+    private void addRecord(List<AuditRecord> records, String fieldName, Object[] oldState, Object[] newState,
+                           int index, String entityName, String entityId, String action, String changedBy,
+                           LocalDateTime changedDate) {
+        if (auditProperties.getIgnoredFields().contains(fieldName)) {
+            return;
+        }
+
+        Object oldValue = oldState != null ? oldState[index] : null;
+        Object newValue = newState != null ? newState[index] : null;
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+
+        records.add(new AuditRecord(entityName, entityId, action, fieldName,
+                toAuditValue(fieldName, oldValue), toAuditValue(fieldName, newValue), changedBy, changedDate));
+    }
+
+    /**
+     * Chuyển giá trị sang chuỗi để lưu: mask trường nhạy cảm, dùng ID cho entity liên kết
+     * và cắt bớt nếu vượt quá {@code audit.max-value-length}.
+     */
+    private String toAuditValue(String fieldName, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (auditProperties.getMaskedFields().contains(fieldName)) {
+            return MASK;
+        }
+
+        String text = value instanceof BaseEntity<?> entity ? String.valueOf(entity.getId()) : String.valueOf(value);
+        return text.length() > auditProperties.getMaxValueLength()
+                ? text.substring(0, auditProperties.getMaxValueLength())
+                : text;
+    }
+}
@@ -0,0 +1,63 @@
+package com.hduong25.javalearn.modules.audit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bảng lưu lịch sử thay đổi theo từng trường của các entity kế thừa BaseEntity.
+ * <p>
+ * Bảng chỉ được ghi bởi {@link AuditTrailWriter} bằng batch insert JDBC,
+ * entity này dùng để khai báo schema và phục vụ truy vấn lịch sử.
+ *
+ * @author: hduong25
+ */
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = "AUDIT_LOG", indexes = {
+        @Index(name = "IDX_AUDIT_LOG_ENTITY", columnList = "ENTITY_NAME, ENTITY_ID")
+})
+public class AuditLogEntity {
+    public static final String TABLE_NAME = "AUDIT_LOG";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID", nullable = false)
+    private Long id;
+
+    @Column(name = "ENTITY_NAME", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "ENTITY_ID", nullable = false, length = 50)
+    private String entityId;
+
+    @Column(name = "ACTION", nullable = false, length = 10)
+    private String action;
+
+    @Column(name = "FIELD_NAME", nullable = false, length = 100)
+    private String fieldName;
+
+    @Column(name = "OLD_VALUE", length = 1000)
+    private String oldValue;
+
+    @Column(name = "NEW_VALUE", length = 1000)
+    private String newValue;
+
+    @Column(name = "CHANGED_BY", length = 50)
+    private String changedBy;
+
+    @Column(name = "CHANGED_DATE", nullable = false)
+    private LocalDateTime changedDate;
+}
@@ -0,0 +1,36 @@
+package com.hduong25.javalearn.modules.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một thay đổi của một trường, được giữ trong hàng đợi trước khi ghi xuống bảng AUDIT_LOG.
+ *
+ * @author: hduong25
+ */
+
+@Getter
+@AllArgsConstructor
+public class AuditRecord {
+    public static final String ACTION_INSERT = "INSERT";
+    public static final String ACTION_UPDATE = "UPDATE";
+    public static final String ACTION_DELETE = "DELETE";
+
+    private final String entityName;
+
+    private final String entityId;
+
+    private final String action;
+
+    private final String fieldName;
+
+    private final String oldValue;
+
+    private final String newValue;
+
+    private final String changedBy;
+
+    private final LocalDateTime changedDate;
+}
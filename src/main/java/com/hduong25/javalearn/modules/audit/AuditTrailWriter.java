@@ -0,0 +1,211 @@
+package com.hduong25.javalearn.modules.audit;
+
+import com.hduong25.javalearn.config.AuditProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AuditTrailWriter
+ * <p>
+ * Ghi bất đồng bộ các {@link AuditRecord} xuống bảng AUDIT_LOG bằng batch insert.
+ * <p>
+ * Quy trình xử lý:
+ * <ol>
+ *   <li>Listener đưa bản ghi vào hàng đợi có giới hạn ({@code audit.queue-capacity})</li>
+ *   <li>Một thread nền lấy tối đa {@code audit.batch-size} bản ghi mỗi lần</li>
+ *   <li>Ghi cả batch bằng một lệnh JDBC batch insert</li>
+ *   <li>Khi tắt ứng dụng, ghi hết phần còn lại trong hàng đợi trước khi đóng DataSource: thread nền có
+ *   {@code audit.shutdown-timeout-ms} để ghi xong batch đang ghi, phần còn lại (kể cả batch đó nếu thread
+ *   nền bị ngắt) được ghi trên thread gọi {@link #stop()}</li>
+ * </ol>
+ * <p>
+ * Khi hàng đợi đầy, thread gọi chờ tối đa {@code audit.offer-timeout-ms};
+ * quá thời gian này bản ghi bị bỏ và được đếm trong {@link #getDroppedCount()}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditTrailWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO " + AuditLogEntity.TABLE_NAME
+            + " (ENTITY_NAME, ENTITY_ID, ACTION, FIELD_NAME, OLD_VALUE, NEW_VALUE, CHANGED_BY, CHANGED_DATE)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Dừng sau web server (phase thấp hơn) để không còn request nào sinh thêm audit. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditProperties auditProperties;
+    private final BlockingQueue<AuditRecord> queue;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    /**
+     * Batch thread nền đang ghi; còn lại nếu thread nền bị ngắt giữa chừng để {@link #stop()} ghi tiếp.
+     */
+    private final List<AuditRecord> inFlight = new ArrayList<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditTrailWriter(JdbcTemplate jdbcTemplate, AuditProperties auditProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditProperties = auditProperties;
+        this.queue = new ArrayBlockingQueue<>(auditProperties.getQueueCapacity());
+    }
+
+    /**
+     * Đưa các bản ghi vào hàng đợi.
+     *
+     * @param records các thay đổi của một entity trong một lần flush
+     */
+    public void submit(List<AuditRecord> records) {
+        for (AuditRecord auditRecord : records) {
+            try {
+                if (!queue.offer(auditRecord, auditProperties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    long dropped = droppedCount.incrementAndGet();
+                    log.error("Audit queue full, dropped record {}#{} (total dropped: {})",
+                            auditRecord.getEntityName(), auditRecord.getEntityId(), dropped);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCount.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-trail-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(auditProperties.getShutdownTimeoutMs());
+            if (worker.isAlive()) {
+                log.warn("Audit writer did not finish in {} ms, flushing {} queued records on shutdown thread",
+                        auditProperties.getShutdownTimeoutMs(), queue.size());
+                worker.interrupt();
+                worker.join(auditProperties.getShutdownTimeoutMs());
+            }
+            if (worker.isAlive()) {
+                log.error("Audit writer is stuck, {} queued records not written", queue.size());
+                return;
+            }
+            flushRemaining();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            long dropped = droppedCount.addAndGet(queue.size());
+            log.error("Interrupted while flushing audit records, {} records not written (total dropped: {})",
+                    queue.size(), dropped);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Vòng lặp của thread nền: chờ bản ghi đầu tiên, lấy thêm những bản ghi đang có
+     * rồi ghi cả batch. Sau khi {@link #stop()} được gọi, vòng lặp tiếp tục cho tới khi
+     * hàng đợi rỗng; khi bị ngắt, batch đang ghi được giữ lại trong {@link #inFlight}.
+     */
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(auditProperties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                inFlight.add(first);
+                queue.drainTo(inFlight, auditProperties.getBatchSize() - 1);
+                writeBatch(inFlight);
+                inFlight.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ghi batch dở dang của thread nền và phần còn lại trong hàng đợi trên thread hiện tại.
+     */
+    private void flushRemaining() throws InterruptedException {
+        List<AuditRecord> batch = new ArrayList<>(inFlight);
+        inFlight.clear();
+        while (true) {
+            queue.drainTo(batch, auditProperties.getBatchSize() - batch.size());
+            if (batch.isEmpty()) {
+                return;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Ghi một batch, thử lại tối đa {@code audit.max-retries} lần nếu lỗi.
+     */
+    private void writeBatch(List<AuditRecord> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, auditRecord) -> {
+                    ps.setString(1, auditRecord.getEntityName());
+                    ps.setString(2, auditRecord.getEntityId());
+                    ps.setString(3, auditRecord.getAction());
+                    ps.setString(4, auditRecord.getFieldName());
+                    ps.setString(5, auditRecord.getOldValue());
+                    ps.setString(6, auditRecord.getNewValue());
+                    ps.setString(7, auditRecord.getChangedBy());
+                    ps.setTimestamp(8, Timestamp.valueOf(auditRecord.getChangedDate()));
+                });
+                writtenCount.addAndGet(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= auditProperties.getMaxRetries()) {
+                    droppedCount.addAndGet(batch.size());
+                    log.error("Error writing audit batch of {} records, giving up", batch.size(), e);
+                    return;
+                }
+                log.warn("Error writing audit batch (attempt {}), retrying", attempt, e);
+                TimeUnit.MILLISECONDS.sleep(auditProperties.getFlushIntervalMs() * attempt);
+            }
+        }
+    }
+}
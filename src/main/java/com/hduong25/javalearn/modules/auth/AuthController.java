@@ -1,8 +1,45 @@
 package com.hduong25.javalearn.modules.auth;
 
+import com.hduong25.javalearn.modules.auth.dto.LoginRequest;
+import com.hduong25.javalearn.modules.auth.dto.LoginResponse;
+import com.hduong25.javalearn.modules.auth.dto.RegisterRequest;
+import com.hduong25.javalearn.modules.auth.service.AuthService;
+import com.hduong25.javalearn.utils.result.Result;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
 /**
  * @author: hduong25
  */
-    
+
+@Validated
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
+
+    private final AuthService authService;
+
+    @PostMapping("/login")
+    public Result<LoginResponse> login(@RequestBody LoginRequest request) {
+        return authService.login(request);
+    }
+
+    @PostMapping("/register")
+    public Result<Long> register(@RequestBody RegisterRequest request) {
+        return authService.register(request);
+    }
+
+    @PostMapping("/logout")
+    public Result<String> logout(@AuthenticationPrincipal Jwt jwt) {
+        return authService.logout(jwt);
+    }
 }
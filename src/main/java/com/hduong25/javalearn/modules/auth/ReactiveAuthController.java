@@ -0,0 +1,48 @@
+package com.hduong25.javalearn.modules.auth;
+
+import com.hduong25.javalearn.modules.auth.dto.LoginRequest;
+import com.hduong25.javalearn.modules.auth.dto.LoginResponse;
+import com.hduong25.javalearn.modules.auth.dto.RegisterRequest;
+import com.hduong25.javalearn.modules.auth.service.ReactiveAuthService;
+import com.hduong25.javalearn.utils.result.Result;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Phiên bản reactive của {@link AuthController}.
+ *
+ * @author: hduong25
+ */
+
+@Validated
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService reactiveAuthService;
+
+    @PostMapping("/login")
+    public Mono<Result<LoginResponse>> login(@RequestBody LoginRequest request) {
+        return reactiveAuthService.login(request);
+    }
+
+    @PostMapping("/register")
+    public Mono<Result<Long>> register(@RequestBody RegisterRequest request) {
+        return reactiveAuthService.register(request);
+    }
+
+    @PostMapping("/logout")
+    public Mono<Result<String>> logout(@AuthenticationPrincipal Jwt jwt) {
+        return reactiveAuthService.logout(jwt);
+    }
+}
@@ -0,0 +1,18 @@
+package com.hduong25.javalearn.modules.auth.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * @author: hduong25
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class LoginRequest {
+    private String account;
+
+    private String password;
+}
@@ -0,0 +1,22 @@
+package com.hduong25.javalearn.modules.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * @author: hduong25
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginResponse {
+    private String accessToken;
+
+    private String tokenType;
+
+    private long expiresIn;
+}
@@ -0,0 +1,26 @@
+package com.hduong25.javalearn.modules.auth.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * @author: hduong25
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RegisterRequest {
+    private String name;
+
+    private String address;
+
+    private String account;
+
+    private String password;
+
+    private String email;
+
+    private String phone;
+}
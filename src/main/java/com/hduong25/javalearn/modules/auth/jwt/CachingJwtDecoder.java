@@ -0,0 +1,109 @@
+package com.hduong25.javalearn.modules.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * CachingJwtDecoder
+ * <p>
+ * JwtDecoder giữ lại kết quả kiểm tra token hợp lệ để không phải parse và kiểm tra chữ ký lại
+ * ở mỗi request dùng cùng một bearer token.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Key của cache là SHA-256 của token</li>
+ *   <li>Mỗi entry hết hạn đúng tại claim {@code exp} của token, nên token hết hạn không bao giờ
+ *   được trả về từ cache</li>
+ *   <li>Chỉ token hợp lệ được cache; token lỗi luôn đi qua delegate</li>
+ *   <li>Cache có giới hạn số entry ({@code security.jwt.cache.maximum-size})</li>
+ * </ul>
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    /// Thời gian cache tối đa cho token không có claim exp.
+    private static final Duration MAX_TTL_WITHOUT_EXP = Duration.ofMinutes(5);
+
+    /// Mỗi lần băm clone từ instance mẫu; không dùng ThreadLocal vì với virtual thread
+    /// mỗi request là một thread mới nên ThreadLocal không được dùng lại.
+    private static final MessageDigest SHA_256;
+
+    static {
+        try {
+            SHA_256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final JwtDecoder delegate;
+    private final Cache<ByteBuffer, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpiresAtExpiry())
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        ByteBuffer key = hash(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null && cached.getTokenValue().equals(token)) {
+            return cached;
+        }
+
+        Jwt jwt = delegate.decode(token);
+        cache.put(key, jwt);
+        return jwt;
+    }
+
+    /**
+     * Xóa toàn bộ kết quả đã cache, ví dụ sau khi thu hồi key.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            MessageDigest digest = (MessageDigest) SHA_256.clone();
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class ExpiresAtExpiry implements Expiry<ByteBuffer, Jwt> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return MAX_TTL_WITHOUT_EXP.toNanos();
+            }
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.hduong25.javalearn.modules.auth.jwt;
+
+import com.hduong25.javalearn.config.JwtProperties;
+import com.hduong25.javalearn.modules.auth.dto.LoginResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Phát hành access token JWT cho người dùng đăng nhập qua {@code /auth/login}.
+ *
+ * @author: hduong25
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtTokenProvider {
+
+    public static final String TOKEN_TYPE = "Bearer";
+
+    private final JwtEncoder jwtEncoder;
+    private final SigningKeyManager signingKeyManager;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Tạo access token với claim {@code scope} là danh sách quyền của người dùng.
+     *
+     * @param authentication kết quả xác thực
+     * @return thông tin token
+     */
+    public LoginResponse issue(Authentication authentication) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(jwtProperties.getAccessTokenTtl());
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(jwtProperties.getIssuer())
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(expiresAt)
+                .claim("scope", authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.joining(" ")))
+                .build();
+        JwsHeader header = JwsHeader.with(signingKeyManager.getSignatureAlgorithm()).build();
+
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return new LoginResponse(token, TOKEN_TYPE, jwtProperties.getAccessTokenTtl().toSeconds());
+    }
+}
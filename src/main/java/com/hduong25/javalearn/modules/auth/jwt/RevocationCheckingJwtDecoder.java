@@ -0,0 +1,32 @@
+package com.hduong25.javalearn.modules.auth.jwt;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * JwtDecoder từ chối token có {@code jti} nằm trong {@link TokenRevocationStore}.
+ * <p>
+ * Bọc ngoài {@link CachingJwtDecoder} nên việc kiểm tra thu hồi chạy ở mọi request,
+ * kể cả khi kết quả kiểm tra chữ ký lấy từ cache.
+ */
+public class RevocationCheckingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final TokenRevocationStore revocationStore;
+
+    public RevocationCheckingJwtDecoder(JwtDecoder delegate, TokenRevocationStore revocationStore) {
+        this.delegate = delegate;
+        this.revocationStore = revocationStore;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = delegate.decode(token);
+        if (revocationStore.isRevoked(jwt.getId())) {
+            throw new BadJwtException("Token has been revoked");
+        }
+        return jwt;
+    }
+}
@@ -0,0 +1,151 @@
+package com.hduong25.javalearn.modules.auth.jwt;
+
+import com.hduong25.javalearn.config.JwtProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SigningKeyManager
+ * <p>
+ * Giữ các key ký JWT đã được parse sẵn trong bộ nhớ và hỗ trợ xoay key.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Key đang dùng để ký nằm trong {@link #signingJwkSource()} (luôn đúng một key)</li>
+ *   <li>Key đang dùng và các key đã nghỉ nằm trong {@link #verificationJwkSource()},
+ *   nên token ký bằng key cũ vẫn hợp lệ tới khi hết hạn</li>
+ *   <li>Key đã nghỉ bị loại bỏ sau một khoảng {@code security.jwt.access-token-ttl}</li>
+ *   <li>Nếu cấu hình {@code security.jwt.jwk-set-location}, key được đọc từ file
+ *   (key đầu tiên là key ký) để nhiều instance dùng chung; ngược lại key được sinh khi khởi động</li>
+ * </ul>
+ */
+@Slf4j
+public class SigningKeyManager {
+
+    private final JwtProperties jwtProperties;
+    private final JWSAlgorithm algorithm;
+
+    private final ReentrantLock rotationLock = new ReentrantLock();
+    private final List<RetiredKey> retiredKeys = new ArrayList<>();
+
+    private volatile JWKSet signingSet;
+    private volatile JWKSet verificationSet;
+    private volatile SignatureAlgorithm signatureAlgorithm;
+
+    public SigningKeyManager(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.algorithm = JWSAlgorithm.parse(jwtProperties.getAlgorithm());
+        rotate();
+    }
+
+    /**
+     * Thuật toán ký của key đang dùng.
+     */
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * JWKSource chỉ chứa key đang dùng để ký.
+     */
+    public JWKSource<SecurityContext> signingJwkSource() {
+        return (selector, context) -> selector.select(signingSet);
+    }
+
+    /**
+     * JWKSource chứa key đang dùng và các key đã nghỉ còn hiệu lực, dùng để kiểm tra chữ ký.
+     */
+    public JWKSource<SecurityContext> verificationJwkSource() {
+        return (selector, context) -> selector.select(verificationSet);
+    }
+
+    /**
+     * Xoay key theo chu kỳ {@code security.jwt.rotation-interval}.
+     */
+    @Scheduled(initialDelayString = "${security.jwt.rotation-interval:P1D}",
+            fixedDelayString = "${security.jwt.rotation-interval:P1D}")
+    public void rotate() {
+        rotationLock.lock();
+        try {
+            doRotate();
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private void doRotate() {
+        List<JWK> keys = jwtProperties.getJwkSetLocation() != null ? loadKeys() : List.of(generateKey());
+        JWK active = keys.get(0);
+
+        Instant now = Instant.now();
+        if (signingSet != null) {
+            JWK previous = signingSet.getKeys().get(0);
+            if (!previous.getKeyID().equals(active.getKeyID())) {
+                retiredKeys.add(new RetiredKey(previous, now));
+            }
+        }
+        retiredKeys.removeIf(retired -> retired.retiredAt().plus(jwtProperties.getAccessTokenTtl()).isBefore(now));
+        retiredKeys.removeIf(retired -> keys.stream().anyMatch(key -> key.getKeyID().equals(retired.key().getKeyID())));
+
+        List<JWK> verificationKeys = new ArrayList<>(keys);
+        retiredKeys.forEach(retired -> verificationKeys.add(retired.key()));
+
+        this.signatureAlgorithm = SignatureAlgorithm.from(
+                active.getAlgorithm() != null ? active.getAlgorithm().getName() : algorithm.getName());
+        this.signingSet = new JWKSet(active);
+        this.verificationSet = new JWKSet(verificationKeys);
+        log.info("JWT signing key {} active, {} verification keys", active.getKeyID(), verificationKeys.size());
+    }
+
+    private JWK generateKey() {
+        String keyId = UUID.randomUUID().toString();
+        try {
+            if (JWSAlgorithm.Family.EC.contains(algorithm)) {
+                return new ECKeyGenerator(Curve.forJWSAlgorithm(algorithm).iterator().next())
+                        .keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).generate();
+            }
+            return new RSAKeyGenerator(RSAKeyGenerator.MIN_KEY_SIZE_BITS)
+                    .keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot generate JWT signing key", e);
+        }
+    }
+
+    private List<JWK> loadKeys() {
+        try (InputStream inputStream = jwtProperties.getJwkSetLocation().getInputStream()) {
+            List<JWK> keys = JWKSet.load(inputStream).getKeys();
+            if (keys.isEmpty() || !keys.get(0).isPrivate()) {
+                throw new IllegalStateException("JWK set must start with a private signing key");
+            }
+            return keys;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JWK set " + jwtProperties.getJwkSetLocation(), e);
+        }
+    }
+
+    private record RetiredKey(JWK key, Instant retiredAt) {
+    }
+}
@@ -0,0 +1,385 @@
+package com.hduong25.javalearn.modules.auth.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * TokenRevocationStore
+ * <p>
+ * Lưu ID ({@code jti}) của các token đã bị thu hồi ngoài heap, mỗi entry tự hết hạn tại {@code exp} của token.
+ * <p>
+ * Cấu trúc:
+ * <ul>
+ *   <li>Bảng băm open addressing (linear probing) trong một direct {@link ByteBuffer}, hoặc một
+ *   {@link MappedByteBuffer} nếu cấu hình {@code security.jwt.revocation.file} để giữ dữ liệu qua các lần
+ *   khởi động lại. Mỗi slot 16 byte: fingerprint 64 bit của jti và thời điểm hết hạn (epoch giây)</li>
+ *   <li>Bloom filter trong một {@code long[]} (k = 7) đứng trước bảng: phần lớn token chưa bị thu hồi
+ *   được trả lời chỉ bằng vài phép đọc mảng</li>
+ *   <li>Đọc dùng optimistic read của {@link StampedLock}, chỉ lấy read lock khi có ghi đồng thời;
+ *   hash được tính trực tiếp trên các ký tự của jti nên {@link #isRevoked} không cấp phát bộ nhớ</li>
+ *   <li>Entry hết hạn được coi như không tồn tại và bị xóa định kỳ bởi {@link #purgeExpired()}
+ *   (xóa bằng backward shift, không để lại tombstone), sau đó Bloom filter được dựng lại</li>
+ * </ul>
+ * <p>
+ * Bộ nhớ sử dụng (số slot là lũy thừa của 2 và ít nhất bằng 4/3 {@code max-entries},
+ * Bloom filter khoảng 10-20 bit mỗi entry):
+ * <ul>
+ *   <li>1.000.000 entry: bảng 2^21 slot = 32 MB ngoài heap, Bloom filter 2^24 bit = 2 MB trên heap</li>
+ *   <li>10.000.000 entry: bảng 2^24 slot = 256 MB ngoài heap, Bloom filter 2^27 bit = 16 MB trên heap</li>
+ * </ul>
+ * Fingerprint 64 bit nên xác suất một token hợp lệ bị coi là đã thu hồi xấp xỉ {@code n / 2^64} mỗi lần kiểm tra.
+ * <p>
+ * Danh sách thu hồi chỉ tồn tại trong từng instance: khi chạy nhiều instance sau load balancer, token bị
+ * thu hồi ở một instance vẫn được các instance khác chấp nhận tới khi hết hạn. File
+ * {@code security.jwt.revocation.file} chỉ giữ dữ liệu qua lần khởi động lại của chính instance đó và không
+ * được dùng chung giữa các instance.
+ */
+@Slf4j
+public class TokenRevocationStore implements DisposableBean {
+
+    private static final int SLOT_BYTES = 16;
+    private static final int HEADER_BYTES = 16;
+    private static final long MAGIC = 0x4A4C_5256_4B30_3031L;
+    private static final int BLOOM_HASHES = 7;
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+
+    private final StampedLock lock = new StampedLock();
+    private final int maxEntries;
+    private final ByteBuffer table;
+    private final int tableOffset;
+    private final int slotMask;
+    private final long[] bloom;
+    private final long bloomMask;
+    private final FileChannel channel;
+    private final LongSupplier epochSeconds;
+
+    /** Số entry trong bảng, chỉ thay đổi khi giữ write lock. */
+    private int size;
+
+    /**
+     * @param maxEntries số token thu hồi tối đa còn hiệu lực cùng lúc
+     * @param file       file để memory-map bảng, {@code null} để dùng direct buffer
+     */
+    public TokenRevocationStore(int maxEntries, Path file) throws IOException {
+        this(maxEntries, file, () -> System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * @param epochSeconds đồng hồ (epoch giây), dùng trong test
+     */
+    TokenRevocationStore(int maxEntries, Path file, LongSupplier epochSeconds) throws IOException {
+        this.epochSeconds = epochSeconds;
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+
+        long slots = Long.highestOneBit(Math.max(2, (long) maxEntries * 4 / 3 - 1)) << 1;
+        if (HEADER_BYTES + slots * SLOT_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxEntries too large: " + maxEntries);
+        }
+        this.slotMask = (int) slots - 1;
+
+        long bloomBits = Long.highestOneBit(Math.max(64, (long) maxEntries * BLOOM_BITS_PER_ENTRY - 1)) << 1;
+        this.bloom = new long[(int) (bloomBits >>> 6)];
+        this.bloomMask = bloomBits - 1;
+
+        if (file == null) {
+            this.channel = null;
+            this.tableOffset = 0;
+            this.table = ByteBuffer.allocateDirect((int) slots * SLOT_BYTES);
+        } else {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.tableOffset = HEADER_BYTES;
+            this.table = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + slots * SLOT_BYTES);
+            load(file, slots);
+        }
+    }
+
+    /**
+     * Thu hồi một token tới thời điểm hết hạn của nó.
+     *
+     * @param jti       ID của token
+     * @param expiresAt thời điểm hết hạn của token; token đã hết hạn thì không cần lưu
+     * @throws IllegalStateException nếu số token thu hồi còn hiệu lực đã đạt {@code max-entries}
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        long now = epochSeconds.getAsLong();
+        long expiresAtSecond = expiresAt.getEpochSecond();
+        if (expiresAtSecond <= now) {
+            return;
+        }
+
+        long fingerprint = fingerprint(jti);
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(fingerprint);
+            for (long key; (key = key(slot)) != 0; slot = (slot + 1) & slotMask) {
+                if (key == fingerprint) {
+                    table.putLong(offset(slot) + 8, Math.max(expiresAtOf(slot), expiresAtSecond));
+                    return;
+                }
+            }
+
+            if (size >= maxEntries) {
+                purge(now);
+            }
+            if (size >= maxEntries) {
+                throw new IllegalStateException("Token revocation store is full (" + maxEntries + " entries)");
+            }
+            slot = slot(fingerprint);
+            while (key(slot) != 0) {
+                slot = (slot + 1) & slotMask;
+            }
+            table.putLong(offset(slot), fingerprint);
+            table.putLong(offset(slot) + 8, expiresAtSecond);
+            addToBloom(fingerprint);
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Kiểm tra token đã bị thu hồi và chưa hết hạn hay chưa.
+     *
+     * @param jti ID của token, {@code null} được coi là chưa thu hồi
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        long fingerprint = fingerprint(jti);
+        long now = epochSeconds.getAsLong();
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            boolean revoked = mightContain(fingerprint) && contains(fingerprint, now);
+            if (lock.validate(stamp)) {
+                return revoked;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return mightContain(fingerprint) && contains(fingerprint, now);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Xóa các entry đã hết hạn và dựng lại Bloom filter.
+     */
+    @Scheduled(initialDelayString = "${security.jwt.revocation.sweep-interval:PT1M}",
+            fixedDelayString = "${security.jwt.revocation.sweep-interval:PT1M}")
+    public void purgeExpired() {
+        long stamp = lock.writeLock();
+        try {
+            int removed = purge(epochSeconds.getAsLong());
+            if (removed > 0) {
+                log.debug("Purged {} expired revoked tokens, {} remaining", removed, size);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Số token thu hồi đang lưu (bao gồm entry đã hết hạn nhưng chưa được xóa).
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (channel != null) {
+            ((MappedByteBuffer) table).force();
+            channel.close();
+        }
+    }
+
+    /**
+     * Đọc bảng đã lưu trong file: kiểm tra header, đếm entry, xóa entry hết hạn và dựng Bloom filter.
+     * File có kích thước khác với cấu hình hiện tại được khởi tạo lại.
+     */
+    private void load(Path file, long slots) {
+        if (table.getLong(0) != MAGIC || table.getLong(8) != slots) {
+            if (table.getLong(0) != 0) {
+                log.warn("Revocation file {} does not match max-entries={}, reinitializing", file, maxEntries);
+                for (int position = 0; position < table.capacity(); position += 8) {
+                    table.putLong(position, 0);
+                }
+            }
+            table.putLong(0, MAGIC);
+            table.putLong(8, slots);
+            return;
+        }
+
+        for (int slot = 0; slot <= slotMask; slot++) {
+            if (key(slot) != 0) {
+                size++;
+            }
+        }
+        purge(epochSeconds.getAsLong());
+        rebuildBloom();
+        log.info("Loaded {} revoked tokens from {}", size, file);
+    }
+
+    /**
+     * Xóa entry hết hạn, phải giữ write lock.
+     * <p>
+     * Duyệt một vòng bảng bắt đầu sau một slot trống, nên backward shift chỉ dịch entry
+     * vào các vị trí chưa duyệt tới hoặc đang duyệt.
+     *
+     * @return số entry đã xóa
+     */
+    private int purge(long now) {
+        int start = 0;
+        while (key(start) != 0) {
+            start++;
+        }
+
+        int removed = 0;
+        for (int step = 1; step <= slotMask + 1; step++) {
+            int slot = (start + step) & slotMask;
+            while (key(slot) != 0 && expiresAtOf(slot) <= now) {
+                deleteAt(slot);
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            size -= removed;
+            rebuildBloom();
+        }
+        return removed;
+    }
+
+    /**
+     * Xóa slot và dịch các entry phía sau trong cùng cluster về để không cần tombstone.
+     */
+    private void deleteAt(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & slotMask;
+            long key = key(slot);
+            if (key == 0) {
+                break;
+            }
+            int home = slot(key);
+            boolean movable = hole <= slot ? (home <= hole || home > slot) : (home <= hole && home > slot);
+            if (movable) {
+                table.putLong(offset(hole), key);
+                table.putLong(offset(hole) + 8, expiresAtOf(slot));
+                hole = slot;
+            }
+        }
+        table.putLong(offset(hole), 0);
+        table.putLong(offset(hole) + 8, 0);
+    }
+
+    private boolean contains(long fingerprint, long now) {
+        int slot = slot(fingerprint);
+        for (int probe = 0; probe <= slotMask; probe++) {
+            long key = key(slot);
+            if (key == 0) {
+                return false;
+            }
+            if (key == fingerprint) {
+                return expiresAtOf(slot) > now;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        return false;
+    }
+
+    private void rebuildBloom() {
+        Arrays.fill(bloom, 0);
+        for (int slot = 0; slot <= slotMask; slot++) {
+            long key = key(slot);
+            if (key != 0) {
+                addToBloom(key);
+            }
+        }
+    }
+
+    private void addToBloom(long fingerprint) {
+        long step = mix(fingerprint) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (fingerprint + i * step) & bloomMask;
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContain(long fingerprint) {
+        long step = mix(fingerprint) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (fingerprint + i * step) & bloomMask;
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long key(int slot) {
+        return table.getLong(offset(slot));
+    }
+
+    private long expiresAtOf(int slot) {
+        return table.getLong(offset(slot) + 8);
+    }
+
+    private int offset(int slot) {
+        return tableOffset + slot * SLOT_BYTES;
+    }
+
+    private int slot(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & slotMask;
+    }
+
+    /**
+     * FNV-1a 64 bit trên các ký tự của jti, trộn thêm bằng {@link #mix}; 0 được dành cho slot trống.
+     */
+    static long fingerprint(String jti) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < jti.length(); i++) {
+            hash ^= jti.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = mix(hash);
+        return hash != 0 ? hash : 1;
+    }
+
+    /**
+     * Hàm trộn 64 bit (fmix64 của MurmurHash3).
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,121 @@
+package com.hduong25.javalearn.modules.auth.password;
+
+import com.hduong25.javalearn.config.PasswordHashingProperties;
+import com.hduong25.javalearn.utils.jfr.PasswordHashEvent;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BoundedPasswordEncoder
+ * <p>
+ * PasswordEncoder chạy {@code encode}/{@code matches} trên một executor riêng
+ * thay vì trên thread request của Tomcat.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Số thread cố định (mặc định bằng số CPU), nên băm mật khẩu không chiếm hết CPU
+ *   của các endpoint khác</li>
+ *   <li>Hàng đợi có giới hạn; khi đầy, yêu cầu bị từ chối ngay bằng
+ *   {@link PasswordHashingRejectedException} thay vì xếp hàng vô hạn</li>
+ *   <li>{@code upgradeEncoding} chỉ đọc hash nên chạy trực tiếp trên thread gọi</li>
+ * </ul>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties) {
+        this.delegate = delegate;
+        this.timeoutMs = properties.getTimeoutMs();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Số yêu cầu đang chờ trong hàng đợi.
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Chạy {@code task} trên executor băm mật khẩu; JFR {@link PasswordHashEvent} được ghi trên thread băm
+     * với request ID và handler lấy từ MDC của thread gọi.
+     */
+    private <T> T execute(String operation, Callable<T> task) {
+        String requestId = MDC.get("requestId");
+        String handler = MDC.get("handler");
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                PasswordHashEvent event = new PasswordHashEvent();
+                event.begin();
+                try {
+                    return task.call();
+                } finally {
+                    event.complete(operation, requestId, handler);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingRejectedException("Password hashing queue is full", e);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
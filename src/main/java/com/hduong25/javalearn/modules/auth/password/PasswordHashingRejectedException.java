@@ -0,0 +1,18 @@
+package com.hduong25.javalearn.modules.auth.password;
+
+/**
+ * Ném ra khi executor băm mật khẩu quá tải (hàng đợi đầy hoặc quá thời gian chờ).
+ *
+ * @author: hduong25
+ */
+
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,65 @@
+package com.hduong25.javalearn.modules.auth.password;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PasswordHashingRejectedFilter
+ * <p>
+ * Trả về 503 với body {@code Result} ({@link ErrorResponse#SERVER_BUSY}) khi {@link BoundedPasswordEncoder}
+ * từ chối kiểm tra mật khẩu trong lúc xác thực HTTP Basic.
+ * <p>
+ * {@code ProviderManager} và {@code BasicAuthenticationFilter} chỉ xử lý {@code AuthenticationException},
+ * nên {@link PasswordHashingRejectedException} đi thẳng ra servlet container thành lỗi 500.
+ * Filter này được đặt ngay trước {@code BasicAuthenticationFilter} để trả cùng response như {@code /auth/login}.
+ */
+@Slf4j
+public class PasswordHashingRejectedFilter extends OncePerRequestFilter {
+
+    private final byte[] rejectedBody;
+
+    public PasswordHashingRejectedFilter(ObjectMapper mapper) throws IOException {
+        this.rejectedBody = mapper.writeValueAsBytes(
+                ResultUtils.error(HttpStatusConstants.SERVICE_UNAVAILABLE, ErrorResponse.SERVER_BUSY));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (PasswordHashingRejectedException e) {
+            reject(response, e);
+        } catch (ServletException e) {
+            if (!(e.getCause() instanceof PasswordHashingRejectedException cause)) {
+                throw e;
+            }
+            reject(response, cause);
+        }
+    }
+
+    private void reject(HttpServletResponse response, PasswordHashingRejectedException e) throws IOException {
+        if (response.isCommitted()) {
+            throw e;
+        }
+        log.warn("Rejected authentication: {}", e.getMessage());
+        response.resetBuffer();
+        response.setStatus(HttpStatusConstants.SERVICE_UNAVAILABLE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(rejectedBody.length);
+        response.getOutputStream().write(rejectedBody);
+    }
+}
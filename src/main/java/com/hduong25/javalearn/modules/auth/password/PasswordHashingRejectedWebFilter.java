@@ -0,0 +1,46 @@
+package com.hduong25.javalearn.modules.auth.password;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * Bản reactive của {@link PasswordHashingRejectedFilter}: trả về 503 với body {@code Result} khi
+ * {@link BoundedPasswordEncoder} từ chối kiểm tra mật khẩu trong lúc xác thực HTTP Basic.
+ */
+@Slf4j
+public class PasswordHashingRejectedWebFilter implements WebFilter {
+
+    private final byte[] rejectedBody;
+
+    public PasswordHashingRejectedWebFilter(ObjectMapper mapper) throws IOException {
+        this.rejectedBody = mapper.writeValueAsBytes(
+                ResultUtils.error(HttpStatusConstants.SERVICE_UNAVAILABLE, ErrorResponse.SERVER_BUSY));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange).onErrorResume(PasswordHashingRejectedException.class, e -> {
+            ServerHttpResponse response = exchange.getResponse();
+            if (response.isCommitted()) {
+                return Mono.error(e);
+            }
+            log.warn("Rejected authentication: {}", e.getMessage());
+            response.setStatusCode(HttpStatusCode.valueOf(HttpStatusConstants.SERVICE_UNAVAILABLE));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(rejectedBody.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(rejectedBody)));
+        });
+    }
+}
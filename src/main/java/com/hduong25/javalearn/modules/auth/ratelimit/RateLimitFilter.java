@@ -0,0 +1,98 @@
+package com.hduong25.javalearn.modules.auth.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.RateLimitProperties;
+import com.hduong25.javalearn.utils.ReplayedBodyRequest;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RateLimitFilter
+ * <p>
+ * Giới hạn tần suất request cho các path cấu hình tại {@code security.rate-limit.rules},
+ * chạy trước Spring Security để request bị chặn không tốn BCrypt hay truy vấn database.
+ * <p>
+ * Quy trình xử lý:
+ * <ol>
+ *   <li>Tìm rule theo path; path không có rule đi thẳng qua filter</li>
+ *   <li>Lấy một token từ bucket theo IP của client</li>
+ *   <li>Nếu rule bật {@code keyByAccount}: đọc tối đa {@code max-body-bytes} byte body, lấy trường
+ *   {@code account} bằng JSON streaming, rồi lấy thêm một token từ bucket theo account.
+ *   Phần body đã đọc được phát lại cho controller</li>
+ *   <li>Hết token: trả về 429 với body {@code Result} đã serialize sẵn khi khởi động</li>
+ * </ol>
+ * <p>
+ * IP lấy từ {@link HttpServletRequest#getRemoteAddr()}; khi chạy sau reverse proxy cần cấu hình
+ * {@code server.forward-headers-strategy} để giá trị này là IP thật của client.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimitRules rules;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper mapper) throws IOException {
+        this.properties = properties;
+        this.rules = new RateLimitRules(properties, mapper);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rules.get(path(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitRules.Limit limit = rules.get(path(request));
+
+        if (!limit.limiter().tryAcquire("ip:" + request.getRemoteAddr())) {
+            reject(response, limit);
+            return;
+        }
+
+        if (limit.keyByAccount()) {
+            byte[] head = request.getInputStream().readNBytes(properties.getMaxBodyBytes());
+            String account = rules.readAccount(head);
+            if (account != null && !limit.limiter().tryAcquire("account:" + account)) {
+                reject(response, limit);
+                return;
+            }
+            request = new ReplayedBodyRequest(request, head);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Xóa các bucket không còn hoạt động.
+     */
+    @Scheduled(initialDelayString = "${security.rate-limit.sweep-interval:PT1M}",
+            fixedDelayString = "${security.rate-limit.sweep-interval:PT1M}")
+    public void evictIdle() {
+        rules.evictIdle();
+    }
+
+    private void reject(HttpServletResponse response, RateLimitRules.Limit limit) throws IOException {
+        byte[] rejectedBody = rules.rejectedBody();
+        response.setStatus(HttpStatusConstants.TOO_MANY_REQUESTS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.RETRY_AFTER, limit.retryAfterSeconds());
+        response.setContentLength(rejectedBody.length);
+        response.getOutputStream().write(rejectedBody);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
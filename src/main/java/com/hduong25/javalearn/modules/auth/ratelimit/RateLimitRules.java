@@ -0,0 +1,95 @@
+package com.hduong25.javalearn.modules.auth.ratelimit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.RateLimitProperties;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Các rule {@code security.rate-limit.rules} dùng chung cho {@link RateLimitFilter} (servlet)
+ * và {@link ReactiveRateLimitFilter} (WebFlux): mỗi path một {@link TokenBucketRateLimiter},
+ * body 429 đã serialize sẵn và cách đọc trường {@code account} từ body JSON.
+ */
+@Slf4j
+final class RateLimitRules {
+
+    private static final String ACCOUNT_FIELD = "account";
+
+    private final JsonFactory jsonFactory;
+    private final Map<String, Limit> limits = new HashMap<>();
+    private final byte[] rejectedBody;
+
+    RateLimitRules(RateLimitProperties properties, ObjectMapper mapper) throws IOException {
+        this.jsonFactory = mapper.getFactory();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(
+                    rule.getCapacity(), rule.getRefillPerSecond(), properties.getStripes());
+            String retryAfter = Long.toString(Math.max(1, (long) Math.ceil(1 / rule.getRefillPerSecond())));
+            limits.put(rule.getPath(), new Limit(limiter, rule.isKeyByAccount(), retryAfter));
+        }
+        this.rejectedBody = mapper.writeValueAsBytes(
+                ResultUtils.error(HttpStatusConstants.TOO_MANY_REQUESTS, ErrorResponse.TOO_MANY_REQUESTS));
+    }
+
+    /**
+     * Rule của path, {@code null} nếu path không bị giới hạn.
+     */
+    Limit get(String path) {
+        return limits.get(path);
+    }
+
+    byte[] rejectedBody() {
+        return rejectedBody;
+    }
+
+    /**
+     * Xóa các bucket không còn hoạt động.
+     */
+    void evictIdle() {
+        limits.forEach((path, limit) -> {
+            int removed = limit.limiter().evictIdle();
+            if (removed > 0) {
+                log.debug("Evicted {} idle rate-limit buckets for {}", removed, path);
+            }
+        });
+    }
+
+    /**
+     * Lấy giá trị chuỗi của trường {@code account} ở cấp cao nhất của body JSON,
+     * trả về {@code null} nếu không có hoặc body không đọc được (body bị cắt cũng được xử lý như vậy).
+     */
+    String readAccount(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                token = parser.nextToken();
+                if (ACCOUNT_FIELD.equals(field)) {
+                    return token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    record Limit(TokenBucketRateLimiter limiter, boolean keyByAccount, String retryAfterSeconds) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.hduong25.javalearn.modules.auth.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.RateLimitProperties;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Bản reactive của {@link RateLimitFilter}: cùng rule {@code security.rate-limit.rules}, cùng
+ * {@link TokenBucketRateLimiter}, cùng response 429 (header {@code Retry-After}, body {@code Result}).
+ * <p>
+ * Khác biệt với bản servlet:
+ * <ul>
+ *   <li>Chạy trước {@code WebFilterChainProxy} của Spring Security (order {@value #ORDER})</li>
+ *   <li>Với rule {@code keyByAccount}, toàn bộ body được đọc vào bộ nhớ rồi phát lại cho controller;
+ *   body dài hơn {@code max-body-bytes} bị từ chối với 400 thay vì bỏ qua giới hạn theo account</li>
+ * </ul>
+ * IP lấy từ {@link ServerHttpRequest#getRemoteAddress()}; khi chạy sau reverse proxy cần cấu hình
+ * {@code server.forward-headers-strategy} để giá trị này là IP thật của client.
+ */
+public class ReactiveRateLimitFilter implements WebFilter, Ordered {
+
+    /** Ngay trước {@code WebFilterChainProxy} (order -100). */
+    public static final int ORDER = -101;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RateLimitProperties properties;
+    private final RateLimitRules rules;
+    private final byte[] tooLargeBody;
+
+    public ReactiveRateLimitFilter(RateLimitProperties properties, ObjectMapper mapper) throws IOException {
+        this.properties = properties;
+        this.rules = new RateLimitRules(properties, mapper);
+        this.tooLargeBody = mapper.writeValueAsBytes(
+                ResultUtils.error(HttpStatusConstants.BAD_REQUEST, ErrorResponse.BAD_REQUEST));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        RateLimitRules.Limit limit = rules.get(request.getPath().pathWithinApplication().value());
+        if (limit == null) {
+            return chain.filter(exchange);
+        }
+
+        if (!limit.limiter().tryAcquire("ip:" + remoteAddress(request))) {
+            return reject(exchange, limit);
+        }
+        if (!limit.keyByAccount()) {
+            return chain.filter(exchange);
+        }
+
+        return DataBufferUtils.join(request.getBody(), properties.getMaxBodyBytes())
+                .map(ReactiveRateLimitFilter::toBytes)
+                .defaultIfEmpty(EMPTY)
+                .onErrorResume(DataBufferLimitException.class, e -> write(exchange.getResponse(),
+                        HttpStatusConstants.BAD_REQUEST, tooLargeBody).then(Mono.empty()))
+                .flatMap(body -> {
+                    String account = rules.readAccount(body);
+                    if (account != null && !limit.limiter().tryAcquire("account:" + account)) {
+                        return reject(exchange, limit);
+                    }
+                    return chain.filter(exchange.mutate().request(replay(exchange, body)).build());
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Xóa các bucket không còn hoạt động.
+     */
+    @Scheduled(initialDelayString = "${security.rate-limit.sweep-interval:PT1M}",
+            fixedDelayString = "${security.rate-limit.sweep-interval:PT1M}")
+    public void evictIdle() {
+        rules.evictIdle();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, RateLimitRules.Limit limit) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, limit.retryAfterSeconds());
+        return write(response, HttpStatusConstants.TOO_MANY_REQUESTS, rules.rejectedBody());
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, int status, byte[] body) {
+        response.setStatusCode(HttpStatusCode.valueOf(status));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static ServerHttpRequest replay(ServerWebExchange exchange, byte[] body) {
+        return new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }
+        };
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
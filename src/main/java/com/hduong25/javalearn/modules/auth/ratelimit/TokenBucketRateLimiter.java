@@ -0,0 +1,133 @@
+package com.hduong25.javalearn.modules.auth.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket không dùng lock, mỗi key một bucket.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Trạng thái của một bucket nằm trong một {@link AtomicLong}: 44 bit cao là thời điểm nạp gần nhất
+ *   (mili giây, tính từ lúc tạo limiter), 20 bit thấp là số token hiện có tính theo đơn vị 1/1000 token</li>
+ *   <li>{@link #tryAcquire} tính số token được nạp thêm từ thời điểm đó và trừ một token bằng CAS;
+ *   request bị từ chối không ghi gì vào bucket</li>
+ *   <li>Các bucket được chia vào nhiều {@link ConcurrentHashMap} (stripe) theo hash của key,
+ *   nên không có lock chung giữa các core</li>
+ *   <li>Bucket đã nạp đầy tương đương với key chưa từng xuất hiện, nên {@link #evictIdle()} xóa chúng
+ *   mà không làm thay đổi kết quả giới hạn</li>
+ * </ul>
+ */
+public final class TokenBucketRateLimiter {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI_TOKENS_PER_TOKEN = 1_000;
+
+    /// Số token tối đa biểu diễn được bằng 20 bit (đơn vị 1/1000 token).
+    public static final int MAX_CAPACITY = (int) (TOKEN_MASK / MILLI_TOKENS_PER_TOKEN);
+
+    private final long capacity;
+    /// Số 1/1000 token được nạp mỗi mili giây, bằng với số token nạp mỗi giây.
+    private final double refillPerMilli;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int mask;
+    private final long origin = System.nanoTime();
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(int capacity, double refillPerSecond, int stripes) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("refillPerSecond must be positive");
+        }
+        this.capacity = capacity * MILLI_TOKENS_PER_TOKEN;
+        this.refillPerMilli = refillPerSecond;
+
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Lấy một token của key.
+     *
+     * @param key khóa giới hạn (IP, account, ...)
+     * @return {@code true} nếu còn token, {@code false} nếu request phải bị từ chối
+     */
+    public boolean tryAcquire(String key) {
+        long now = now();
+        AtomicLong bucket = stripe(key).get(key);
+        if (bucket == null) {
+            bucket = stripe(key).computeIfAbsent(key, k -> new AtomicLong(pack(now, capacity)));
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long available = available(state, now);
+            if (available < MILLI_TOKENS_PER_TOKEN) {
+                return false;
+            }
+            if (bucket.compareAndSet(state, pack(now, available - MILLI_TOKENS_PER_TOKEN))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Xóa các bucket đã nạp đầy.
+     * <p>
+     * Thread đang giữ bucket vừa bị xóa có thể trừ token trên bucket cũ,
+     * nên một key có thể được thêm tối đa một request sau mỗi lần dọn.
+     *
+     * @return số bucket đã xóa
+     */
+    public int evictIdle() {
+        long now = now();
+        int removed = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            for (Map.Entry<String, AtomicLong> entry : stripe.entrySet()) {
+                if (available(entry.getValue().get(), now) >= capacity
+                        && stripe.remove(entry.getKey(), entry.getValue())) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Số key đang có bucket.
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private long available(long state, long now) {
+        long elapsed = Math.max(0, now - (state >>> TOKEN_BITS));
+        long refilled = (long) Math.min(capacity, elapsed * refillPerMilli);
+        return Math.min(capacity, (state & TOKEN_MASK) + refilled);
+    }
+
+    private long now() {
+        return (System.nanoTime() - origin) / 1_000_000;
+    }
+
+    private static long pack(long timestamp, long milliTokens) {
+        return (timestamp << TOKEN_BITS) | milliTokens;
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,240 @@
+package com.hduong25.javalearn.modules.auth.server;
+
+import com.hduong25.javalearn.config.AuthorizationServerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2DeviceCode;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.OAuth2UserCode;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * OAuth2AuthorizationService lưu authorization trong bộ nhớ, chia shard và tự hết hạn.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Authorization được chia vào {@code security.authorization-server.shards} shard theo hash của ID,
+ *   mỗi shard là một {@link ConcurrentHashMap} riêng nên các thread cấp token không tranh chấp cùng một map</li>
+ *   <li>Giá trị từng token (state, code, access/refresh token, id token, device/user code) được đánh index
+ *   theo shard của chính giá trị đó, nên {@link #findByToken} chỉ tốn hai lần tra cứu O(1)</li>
+ *   <li>Mỗi authorization hết hạn cùng token sống lâu nhất của nó, hoặc sau
+ *   {@code security.authorization-server.default-ttl} nếu chưa có token nào;
+ *   entry hết hạn bị bỏ qua khi tra cứu và được dọn định kỳ bởi {@link #sweep()}</li>
+ * </ul>
+ * <p>
+ * Dữ liệu không được chia sẻ giữa các instance: khi chạy nhiều instance, refresh token chỉ dùng được
+ * trên instance đã cấp (cần sticky routing hoặc một kho dùng chung).
+ */
+@Slf4j
+public class ShardedOAuth2AuthorizationService implements OAuth2AuthorizationService {
+
+    private static final OAuth2TokenType STATE_TOKEN_TYPE = new OAuth2TokenType(OAuth2ParameterNames.STATE);
+    private static final OAuth2TokenType CODE_TOKEN_TYPE = new OAuth2TokenType(OAuth2ParameterNames.CODE);
+    private static final OAuth2TokenType ID_TOKEN_TOKEN_TYPE = new OAuth2TokenType(OidcParameterNames.ID_TOKEN);
+    private static final OAuth2TokenType USER_CODE_TOKEN_TYPE = new OAuth2TokenType(OAuth2ParameterNames.USER_CODE);
+    private static final OAuth2TokenType DEVICE_CODE_TOKEN_TYPE = new OAuth2TokenType(OAuth2ParameterNames.DEVICE_CODE);
+
+    private static final List<Class<? extends OAuth2Token>> TOKEN_CLASSES = List.of(
+            OAuth2AuthorizationCode.class, OAuth2AccessToken.class, OAuth2RefreshToken.class,
+            OidcIdToken.class, OAuth2UserCode.class, OAuth2DeviceCode.class);
+
+    private final AuthorizationServerProperties properties;
+    private final Shard[] shards;
+    private final int mask;
+
+    public ShardedOAuth2AuthorizationService(AuthorizationServerProperties properties) {
+        this.properties = properties;
+        int count = Integer.highestOneBit(Math.max(1, properties.getShards() - 1)) << 1;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        this.mask = count - 1;
+    }
+
+    @Override
+    public void save(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+
+        Entry entry = new Entry(authorization, expiresAt(authorization));
+        Entry previous = shard(authorization.getId()).authorizations.put(authorization.getId(), entry);
+        if (previous != null) {
+            forEachTokenValue(previous.authorization(), (value, id) -> shard(value).tokens.remove(value, id));
+        }
+        forEachTokenValue(authorization, (value, id) -> shard(value).tokens.put(value, id));
+    }
+
+    @Override
+    public void remove(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+
+        Entry removed = shard(authorization.getId()).authorizations.remove(authorization.getId());
+        if (removed != null) {
+            unindex(removed.authorization());
+        }
+    }
+
+    @Override
+    public OAuth2Authorization findById(String id) {
+        Assert.hasText(id, "id cannot be empty");
+        return live(id);
+    }
+
+    @Override
+    public OAuth2Authorization findByToken(String token, OAuth2TokenType tokenType) {
+        Assert.hasText(token, "token cannot be empty");
+
+        String id = shard(token).tokens.get(token);
+        if (id == null) {
+            return null;
+        }
+        OAuth2Authorization authorization = live(id);
+        return authorization != null && hasToken(authorization, token, tokenType) ? authorization : null;
+    }
+
+    /**
+     * Xóa các authorization đã hết hạn cùng index token của chúng.
+     */
+    @Scheduled(initialDelayString = "${security.authorization-server.sweep-interval:PT30S}",
+            fixedDelayString = "${security.authorization-server.sweep-interval:PT30S}")
+    public void sweep() {
+        long now = Instant.now().toEpochMilli();
+        int removed = 0;
+        for (Shard shard : shards) {
+            for (Map.Entry<String, Entry> mapEntry : shard.authorizations.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                if (entry.expiresAt() <= now && shard.authorizations.remove(mapEntry.getKey(), entry)) {
+                    unindex(entry.authorization());
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            log.debug("Removed {} expired OAuth2 authorizations", removed);
+        }
+    }
+
+    /**
+     * Số authorization đang được lưu (bao gồm cả entry đã hết hạn nhưng chưa được dọn).
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.authorizations.size();
+        }
+        return size;
+    }
+
+    private OAuth2Authorization live(String id) {
+        Shard shard = shard(id);
+        Entry entry = shard.authorizations.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= Instant.now().toEpochMilli()) {
+            if (shard.authorizations.remove(id, entry)) {
+                unindex(entry.authorization());
+            }
+            return null;
+        }
+        return entry.authorization();
+    }
+
+    private void unindex(OAuth2Authorization authorization) {
+        forEachTokenValue(authorization, (value, id) -> shard(value).tokens.remove(value, id));
+    }
+
+    private Shard shard(String key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * Thời điểm hết hạn của authorization: token hết hạn muộn nhất,
+     * hoặc {@code default-ttl} nếu chưa có token nào có thời hạn.
+     */
+    private long expiresAt(OAuth2Authorization authorization) {
+        Instant latest = null;
+        for (Class<? extends OAuth2Token> tokenClass : TOKEN_CLASSES) {
+            OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(tokenClass);
+            if (token != null && token.getToken().getExpiresAt() != null
+                    && (latest == null || token.getToken().getExpiresAt().isAfter(latest))) {
+                latest = token.getToken().getExpiresAt();
+            }
+        }
+        return latest != null
+                ? latest.toEpochMilli()
+                : Instant.now().plus(properties.getDefaultTtl()).toEpochMilli();
+    }
+
+    private static void forEachTokenValue(OAuth2Authorization authorization, BiConsumer<String, String> action) {
+        String state = authorization.getAttribute(OAuth2ParameterNames.STATE);
+        if (state != null) {
+            action.accept(state, authorization.getId());
+        }
+        for (Class<? extends OAuth2Token> tokenClass : TOKEN_CLASSES) {
+            OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(tokenClass);
+            if (token != null) {
+                action.accept(token.getToken().getTokenValue(), authorization.getId());
+            }
+        }
+    }
+
+    private static boolean hasToken(OAuth2Authorization authorization, String token, OAuth2TokenType tokenType) {
+        if (tokenType == null) {
+            return token.equals(authorization.getAttribute(OAuth2ParameterNames.STATE))
+                    || TOKEN_CLASSES.stream().anyMatch(tokenClass -> matches(authorization, tokenClass, token));
+        }
+        if (STATE_TOKEN_TYPE.equals(tokenType)) {
+            return token.equals(authorization.getAttribute(OAuth2ParameterNames.STATE));
+        }
+        if (CODE_TOKEN_TYPE.equals(tokenType)) {
+            return matches(authorization, OAuth2AuthorizationCode.class, token);
+        }
+        if (OAuth2TokenType.ACCESS_TOKEN.equals(tokenType)) {
+            return matches(authorization, OAuth2AccessToken.class, token);
+        }
+        if (OAuth2TokenType.REFRESH_TOKEN.equals(tokenType)) {
+            return matches(authorization, OAuth2RefreshToken.class, token);
+        }
+        if (ID_TOKEN_TOKEN_TYPE.equals(tokenType)) {
+            return matches(authorization, OidcIdToken.class, token);
+        }
+        if (USER_CODE_TOKEN_TYPE.equals(tokenType)) {
+            return matches(authorization, OAuth2UserCode.class, token);
+        }
+        if (DEVICE_CODE_TOKEN_TYPE.equals(tokenType)) {
+            return matches(authorization, OAuth2DeviceCode.class, token);
+        }
+        return false;
+    }
+
+    private static boolean matches(OAuth2Authorization authorization, Class<? extends OAuth2Token> tokenClass,
+                                   String token) {
+        OAuth2Authorization.Token<? extends OAuth2Token> authorizationToken = authorization.getToken(tokenClass);
+        return authorizationToken != null && authorizationToken.getToken().getTokenValue().equals(token);
+    }
+
+    private record Entry(OAuth2Authorization authorization, long expiresAt) {
+    }
+
+    private static final class Shard {
+        private final ConcurrentHashMap<String, Entry> authorizations = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, String> tokens = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,41 @@
+package com.hduong25.javalearn.modules.auth.service;
+
+import com.hduong25.javalearn.modules.auth.dto.LoginRequest;
+import com.hduong25.javalearn.modules.auth.dto.LoginResponse;
+import com.hduong25.javalearn.modules.auth.dto.RegisterRequest;
+import com.hduong25.javalearn.utils.result.Result;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+
+/**
+ * Phiên bản reactive của {@link AuthService}.
+ *
+ * @author: hduong25
+ */
+
+public interface ReactiveAuthService {
+
+    /**
+     * Xác thực tài khoản và mật khẩu.
+     *
+     * @param request thông tin đăng nhập
+     * @return kết quả đăng nhập, data là access token khi thành công
+     */
+    Mono<Result<LoginResponse>> login(LoginRequest request);
+
+    /**
+     * Đăng ký tài khoản mới.
+     *
+     * @param request thông tin đăng ký
+     * @return kết quả đăng ký, data là ID user khi thành công
+     */
+    Mono<Result<Long>> register(RegisterRequest request);
+
+    /**
+     * Đăng xuất: thu hồi access token đang dùng tới khi token hết hạn.
+     *
+     * @param jwt access token của request hiện tại
+     * @return kết quả đăng xuất
+     */
+    Mono<Result<String>> logout(Jwt jwt);
+}
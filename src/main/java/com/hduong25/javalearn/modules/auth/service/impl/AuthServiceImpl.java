@@ -1,8 +1,136 @@
 package com.hduong25.javalearn.modules.auth.service.impl;
 
+import com.hduong25.javalearn.modules.auth.dto.LoginRequest;
+import com.hduong25.javalearn.modules.auth.dto.LoginResponse;
+import com.hduong25.javalearn.modules.auth.jwt.JwtTokenProvider;
+import com.hduong25.javalearn.modules.auth.jwt.TokenRevocationStore;
+import com.hduong25.javalearn.modules.auth.dto.RegisterRequest;
+import com.hduong25.javalearn.modules.auth.password.PasswordHashingRejectedException;
+import com.hduong25.javalearn.modules.auth.service.AuthService;
+import com.hduong25.javalearn.modules.mail.MailQueue;
+import com.hduong25.javalearn.modules.mail.MailQueueFullException;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.modules.user.UserRepository;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.response.SuccessResponse;
+import com.hduong25.javalearn.utils.result.Result;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
 /**
  * @author: hduong25
  */
 
-public class AuthServiceImpl {
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AuthServiceImpl implements AuthService {
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final ObjectProvider<MailQueue> mailQueue;
+
+    @Override
+    public Result<LoginResponse> login(LoginRequest request) {
+        if (StringUtils.isAnyBlank(request.getAccount(), request.getPassword())) {
+            return ResultUtils.error(ErrorResponse.BAD_REQUEST);
+        }
+
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.getAccount(), request.getPassword()));
+            return ResultUtils.success(jwtTokenProvider.issue(authentication));
+        } catch (PasswordHashingRejectedException e) {
+            return busy();
+        } catch (AuthenticationException e) {
+            return ResultUtils.error(HttpStatusConstants.UNAUTHORIZED, ErrorResponse.INVALID_CREDENTIALS);
+        }
+    }
+
+    @Override
+    public Result<Long> register(RegisterRequest request) {
+        if (StringUtils.isAnyBlank(request.getName(), request.getAccount(), request.getPassword(),
+                request.getEmail(), request.getPhone())) {
+            return ResultUtils.error(ErrorResponse.BAD_REQUEST);
+        }
+        if (userRepository.existsByAccount(request.getAccount()) || userRepository.existsByEmail(request.getEmail())) {
+            return ResultUtils.error(HttpStatusConstants.CONFLICT, ErrorResponse.ACCOUNT_EXISTS);
+        }
+
+        String encodedPassword;
+        try {
+            encodedPassword = passwordEncoder.encode(request.getPassword());
+        } catch (PasswordHashingRejectedException e) {
+            return busy();
+        }
+
+        UserEntity user;
+        try {
+            user = userRepository.save(UserEntity.builder()
+                    .name(request.getName())
+                    .address(request.getAddress())
+                    .account(request.getAccount())
+                    .password(encodedPassword)
+                    .email(request.getEmail())
+                    .phone(request.getPhone())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Hai request đăng ký cùng account/email đồng thời: cả hai qua được kiểm tra exists,
+            // unique index UK_USER_ACCOUNT/UK_USER_EMAIL chặn request thứ hai
+            return ResultUtils.error(HttpStatusConstants.CONFLICT, ErrorResponse.ACCOUNT_EXISTS);
+        }
+        sendWelcomeMail(user);
+        return ResultUtils.success(HttpStatusConstants.CREATED, user.getId());
+    }
+
+    @Override
+    public Result<String> logout(Jwt jwt) {
+        if (jwt == null || StringUtils.isBlank(jwt.getId()) || jwt.getExpiresAt() == null) {
+            return ResultUtils.error(ErrorResponse.BAD_REQUEST);
+        }
+
+        try {
+            tokenRevocationStore.revoke(jwt.getId(), jwt.getExpiresAt());
+        } catch (IllegalStateException e) {
+            return busy();
+        }
+        return ResultUtils.success(SuccessResponse.LOGOUT_SUCCESS);
+    }
+
+    /**
+     * Đưa mail chào mừng vào hàng đợi (nếu {@code mail.queue.enabled}); hàng đợi đầy không làm
+     * đăng ký thất bại.
+     */
+    private void sendWelcomeMail(UserEntity user) {
+        mailQueue.ifAvailable(queue -> {
+            try {
+                queue.enqueue(user.getEmail(), "Chào mừng đến với Java Learn",
+                        "Xin chào " + user.getName() + ",\n\nTài khoản " + user.getAccount()
+                                + " đã được tạo thành công.");
+            } catch (MailQueueFullException e) {
+                log.warn("Welcome mail for user {} not queued: {}", user.getId(), e.getMessage());
+            }
+        });
+    }
+
+    private static <T> Result<T> busy() {
+        return ResultUtils.error(HttpStatusConstants.SERVICE_UNAVAILABLE, ErrorResponse.SERVER_BUSY);
+    }
 }
@@ -0,0 +1,113 @@
+package com.hduong25.javalearn.modules.auth.service.impl;
+
+import com.hduong25.javalearn.modules.auth.dto.LoginRequest;
+import com.hduong25.javalearn.modules.auth.dto.LoginResponse;
+import com.hduong25.javalearn.modules.auth.dto.RegisterRequest;
+import com.hduong25.javalearn.modules.auth.jwt.JwtTokenProvider;
+import com.hduong25.javalearn.modules.auth.jwt.TokenRevocationStore;
+import com.hduong25.javalearn.modules.auth.password.PasswordHashingRejectedException;
+import com.hduong25.javalearn.modules.auth.service.ReactiveAuthService;
+import com.hduong25.javalearn.modules.user.ReactiveUserRepository;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.modules.user.search.UserSearchDocument;
+import com.hduong25.javalearn.modules.user.search.UserSearchIndex;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.response.SuccessResponse;
+import com.hduong25.javalearn.utils.result.Result;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Phiên bản reactive của {@link AuthServiceImpl}: cùng kết quả {@link Result}, truy cập dữ liệu qua R2DBC.
+ * Băm mật khẩu (blocking, tốn CPU) chạy trên scheduler boundedElastic, không chạy trên event loop.
+ * Insert qua R2DBC không đi qua Hibernate, nên user mới được đưa vào {@link UserSearchIndex} sau khi insert
+ * (auto-commit) thành công.
+ *
+ * @author: hduong25
+ */
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthServiceImpl implements ReactiveAuthService {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final ObjectProvider<UserSearchIndex> userSearchIndex;
+
+    @Override
+    public Mono<Result<LoginResponse>> login(LoginRequest request) {
+        if (StringUtils.isAnyBlank(request.getAccount(), request.getPassword())) {
+            return Mono.just(ResultUtils.error(ErrorResponse.BAD_REQUEST));
+        }
+
+        return authenticationManager.authenticate(
+                        UsernamePasswordAuthenticationToken.unauthenticated(request.getAccount(), request.getPassword()))
+                .map(authentication -> ResultUtils.success(jwtTokenProvider.issue(authentication)))
+                .onErrorResume(PasswordHashingRejectedException.class, e -> Mono.just(busy()))
+                .onErrorResume(AuthenticationException.class, e -> Mono.just(
+                        ResultUtils.error(HttpStatusConstants.UNAUTHORIZED, ErrorResponse.INVALID_CREDENTIALS)));
+    }
+
+    @Override
+    public Mono<Result<Long>> register(RegisterRequest request) {
+        if (StringUtils.isAnyBlank(request.getName(), request.getAccount(), request.getPassword(),
+                request.getEmail(), request.getPhone())) {
+            return Mono.just(ResultUtils.error(ErrorResponse.BAD_REQUEST));
+        }
+
+        return reactiveUserRepository.existsByAccountOrEmail(request.getAccount(), request.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.just(ResultUtils.<Long>error(HttpStatusConstants.CONFLICT, ErrorResponse.ACCOUNT_EXISTS))
+                        : Mono.fromCallable(() -> passwordEncoder.encode(request.getPassword()))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(encodedPassword -> reactiveUserRepository.insert(UserEntity.builder()
+                                .name(request.getName())
+                                .address(request.getAddress())
+                                .account(request.getAccount())
+                                .password(encodedPassword)
+                                .email(request.getEmail())
+                                .phone(request.getPhone())
+                                .build()))
+                        .doOnNext(id -> userSearchIndex.ifAvailable(index -> index.index(new UserSearchDocument(
+                                id, request.getName(), request.getAccount(), request.getEmail(), request.getPhone()))))
+                        .map(id -> ResultUtils.success(HttpStatusConstants.CREATED, id)))
+                .onErrorResume(PasswordHashingRejectedException.class, e -> Mono.just(busy()))
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.just(
+                        ResultUtils.error(HttpStatusConstants.CONFLICT, ErrorResponse.ACCOUNT_EXISTS)));
+    }
+
+    @Override
+    public Mono<Result<String>> logout(Jwt jwt) {
+        if (jwt == null || StringUtils.isBlank(jwt.getId()) || jwt.getExpiresAt() == null) {
+            return Mono.just(ResultUtils.error(ErrorResponse.BAD_REQUEST));
+        }
+
+        try {
+            tokenRevocationStore.revoke(jwt.getId(), jwt.getExpiresAt());
+        } catch (IllegalStateException e) {
+            return Mono.just(busy());
+        }
+        return Mono.just(ResultUtils.success(SuccessResponse.LOGOUT_SUCCESS));
+    }
+
+    private static <T> Result<T> busy() {
+        return ResultUtils.error(HttpStatusConstants.SERVICE_UNAVAILABLE, ErrorResponse.SERVER_BUSY);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hduong25.javalearn.modules.auth.service.impl;
+
+import com.hduong25.javalearn.modules.user.ReactiveUserRepository;
+import com.hduong25.javalearn.modules.user.UserAuthProjection;
+import com.hduong25.javalearn.utils.enums.RoleEnums;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Phiên bản reactive của {@link UserDetailsServiceImpl}: đọc tài khoản từ bảng USER qua R2DBC,
+ * vẫn hỗ trợ tài khoản mặc định {@code spring.security.user.*}.
+ *
+ * @author: hduong25
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserDetailsServiceImpl implements ReactiveUserDetailsService {
+
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final UserDetails defaultUser;
+
+    public ReactiveUserDetailsServiceImpl(ReactiveUserRepository reactiveUserRepository,
+                                          PasswordEncoder passwordEncoder,
+                                          @Value("${spring.security.user.name}") String defaultUserName,
+                                          @Value("${spring.security.user.password}") String defaultPassword) {
+        this.reactiveUserRepository = reactiveUserRepository;
+        this.defaultUser = User
+                .withUsername(defaultUserName)
+                .password(passwordEncoder.encode(defaultPassword))
+                .authorities("auth_read", "auth_write", "ROLE_" + RoleEnums.ADMIN.getCode())
+                .build();
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return reactiveUserRepository.findAuthByAccount(username)
+                .map(this::toUserDetails)
+                .switchIfEmpty(Mono.fromSupplier(() -> defaultUser.getUsername().equals(username)
+                        ? User.withUserDetails(defaultUser).build()
+                        : null));
+    }
+
+    private UserDetails toUserDetails(UserAuthProjection projection) {
+        return User.withUsername(projection.getAccount())
+                .password(projection.getPassword())
+                .roles(RoleEnums.EMPLOYEE.getCode())
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.hduong25.javalearn.modules.auth.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hduong25.javalearn.config.DataSourceConfig;
+import com.hduong25.javalearn.config.UserCacheProperties;
+import com.hduong25.javalearn.modules.user.UserAuthProjection;
+import com.hduong25.javalearn.modules.user.UserRepository;
+import com.hduong25.javalearn.utils.enums.RoleEnums;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * UserDetailsService đọc tài khoản từ bảng USER.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Tra cứu theo unique index ACCOUNT và chỉ lấy các trường xác thực ({@link UserAuthProjection})</li>
+ *   <li>Principal đã load được giữ trong cache có giới hạn kích thước và TTL ngắn
+ *   ({@code security.user-cache.*})</li>
+ *   <li>Mỗi lần gọi trả về một bản sao, vì Spring Security xóa credentials của principal
+ *   sau khi xác thực thành công</li>
+ *   <li>Tài khoản mặc định {@code spring.security.user.*} vẫn được hỗ trợ khi không có trong bảng USER
+ *   và là tài khoản duy nhất có quyền {@code ROLE_ADMIN}</li>
+ *   <li>Khi đăng nhập thành công với hash cũ, Spring Security gọi {@link #updatePassword}
+ *   để lưu hash mới (rehash-on-login)</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Service
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final UserCacheProperties userCacheProperties;
+    private final Cache<String, UserDetails> principalCache;
+    private final UserDetails defaultUser;
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  UserCacheProperties userCacheProperties,
+                                  PasswordEncoder passwordEncoder,
+                                  @Value("${spring.security.user.name}") String defaultUserName,
+                                  @Value("${spring.security.user.password}") String defaultPassword) {
+        this.userRepository = userRepository;
+        this.userCacheProperties = userCacheProperties;
+        this.principalCache = Caffeine.newBuilder()
+                .expireAfterWrite(userCacheProperties.getTtl())
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .build();
+        this.defaultUser = User
+                .withUsername(defaultUserName)
+                .password(passwordEncoder.encode(defaultPassword))
+                .authorities("auth_read", "auth_write", "ROLE_" + RoleEnums.ADMIN.getCode())
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails userDetails = userCacheProperties.isEnabled()
+                ? principalCache.get(username, this::loadFromDatabase)
+                : loadFromDatabase(username);
+
+        if (userDetails == null) {
+            throw new UsernameNotFoundException(username);
+        }
+        return User.withUserDetails(userDetails).build();
+    }
+
+    /**
+     * Lưu hash mật khẩu mới sau khi {@code PasswordEncoder#upgradeEncoding} yêu cầu băm lại.
+     * Tài khoản mặc định luôn được băm theo cấu hình hiện tại nên không rơi vào trường hợp này.
+     * <p>
+     * Cập nhật qua entity (không dùng JPQL bulk update) để UPDATED_DATE được tăng và các listener
+     * của Hibernate (audit, outbox, index tìm kiếm) nhận thay đổi như mọi lần cập nhật khác.
+     */
+    @Override
+    @Transactional(transactionManager = DataSourceConfig.TRANSACTION_MANAGER_NAME)
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByAccount(user.getUsername()).ifPresent(entity -> entity.setPassword(newPassword));
+        evict(user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+    /**
+     * Xóa principal khỏi cache, gọi khi mật khẩu hoặc quyền của tài khoản thay đổi.
+     *
+     * @param account tài khoản cần xóa khỏi cache
+     */
+    public void evict(String account) {
+        principalCache.invalidate(account);
+    }
+
+    private UserDetails loadFromDatabase(String account) {
+        return userRepository.findAuthByAccount(account)
+                .map(this::toUserDetails)
+                .orElseGet(() -> defaultUser.getUsername().equals(account) ? defaultUser : null);
+    }
+
+    private UserDetails toUserDetails(UserAuthProjection projection) {
+        return User.withUsername(projection.getAccount())
+                .password(projection.getPassword())
+                .roles(RoleEnums.EMPLOYEE.getCode())
+                .build();
+    }
+}
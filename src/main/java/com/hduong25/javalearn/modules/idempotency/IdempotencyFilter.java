@@ -0,0 +1,257 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.IdempotencyProperties;
+import com.hduong25.javalearn.utils.ReplayedBodyRequest;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * IdempotencyFilter
+ * <p>
+ * Xử lý header {@code Idempotency-Key} cho các path cấu hình tại {@code idempotency.paths}:
+ * client gửi lại request (ví dụ sau timeout) với cùng key sẽ nhận lại đúng response của lần đầu
+ * mà không chạy lại controller (BCrypt, kiểm tra trùng, insert...).
+ * <p>
+ * Quy trình xử lý:
+ * <ol>
+ *   <li>Request không có header đi thẳng qua filter</li>
+ *   <li>Key được gộp với người gọi, method và path; body được đọc (tối đa {@code max-body-bytes})
+ *   và hash để phát hiện key bị dùng lại cho request khác (trả về 422)</li>
+ *   <li>Request đầu tiên giữ key trong {@link IdempotencyStore}, chạy tiếp filter chain và
+ *   lưu nguyên byte của response. Response lỗi server ({@code 5xx} hoặc {@code Result.status >= 500})
+ *   không được lưu để client có thể thử lại</li>
+ *   <li>Request trùng khi key đang xử lý chờ tối đa {@code wait-timeout} rồi nhận response đó
+ *   (quá thời gian trả về 409); khi key đã có kết quả thì phát lại ngay kèm header
+ *   {@code Idempotent-Replayed: true}</li>
+ * </ol>
+ * <p>
+ * Filter chạy sau Spring Security để response đã lưu chỉ được phát lại cho đúng người gọi:
+ * key của người dùng đã xác thực được gộp với tên tài khoản, key của request ẩn danh (ví dụ
+ * {@code /auth/register}) được gộp với địa chỉ IP của client, nên một client ẩn danh không thể phát lại
+ * response của client khác chỉ bằng cách đoán key.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH");
+    private static final String STATUS_FIELD = "status";
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final JsonFactory jsonFactory;
+    private final Set<String> paths;
+    private final byte[] badRequestBody;
+    private final byte[] inProgressBody;
+    private final byte[] keyReusedBody;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper mapper)
+            throws IOException {
+        this.store = store;
+        this.properties = properties;
+        this.jsonFactory = mapper.getFactory();
+        this.paths = Set.copyOf(properties.getPaths());
+        this.badRequestBody = mapper.writeValueAsBytes(ResultUtils.error(ErrorResponse.BAD_REQUEST));
+        this.inProgressBody = mapper.writeValueAsBytes(
+                ResultUtils.error(HttpStatusConstants.CONFLICT, ErrorResponse.IDEMPOTENCY_IN_PROGRESS));
+        this.keyReusedBody = mapper.writeValueAsBytes(
+                ResultUtils.error(HttpStatusConstants.UNPROCESSABLE_ENTITY, ErrorResponse.IDEMPOTENCY_KEY_REUSED));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !METHODS.contains(request.getMethod()) || !paths.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(properties.getMaxBodyBytes() + 1);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()
+                || body.length > properties.getMaxBodyBytes()) {
+            write(response, HttpStatusConstants.BAD_REQUEST, badRequestBody);
+            return;
+        }
+
+        String key = sha256((caller(request) + '\n' + request.getMethod() + '\n' + path(request) + '\n' + idempotencyKey)
+                .getBytes(StandardCharsets.UTF_8));
+        String fingerprint = sha256(body);
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+
+        while (true) {
+            Reservation reservation = store.reserve(key, fingerprint);
+            switch (reservation.type()) {
+                case ACQUIRED -> {
+                    execute(key, new ReplayedBodyRequest(request, body), response, filterChain);
+                    return;
+                }
+                case COMPLETED -> {
+                    replay(response, reservation.response());
+                    return;
+                }
+                case MISMATCH -> {
+                    write(response, HttpStatusConstants.UNPROCESSABLE_ENTITY, keyReusedBody);
+                    return;
+                }
+                case IN_FLIGHT -> {
+                    StoredResponse stored = await(reservation, deadline);
+                    if (stored != null) {
+                        replay(response, stored);
+                        return;
+                    }
+                    if (System.nanoTime() >= deadline) {
+                        write(response, HttpStatusConstants.CONFLICT, inProgressBody);
+                        return;
+                    }
+                    // Request đang xử lý thất bại và đã bỏ key: thử giữ key lại
+                }
+            }
+        }
+    }
+
+    private void execute(String key, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.release(key);
+            throw e;
+        }
+
+        StoredResponse result = new StoredResponse(responseWrapper.getStatus(), responseWrapper.getContentType(),
+                responseWrapper.getContentAsByteArray());
+        try {
+            if (isReplayable(result)) {
+                store.complete(key, result);
+            } else {
+                store.release(key);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error saving idempotent response", e);
+            store.release(key);
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Chờ request đang giữ key; trả về {@code null} nếu request đó đã bỏ key hoặc hết thời gian chờ.
+     */
+    private static StoredResponse await(Reservation reservation, long deadline) {
+        try {
+            return reservation.inFlight().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private boolean isReplayable(StoredResponse result) {
+        return result.status() < HttpStatusConstants.ERROR
+                && result.status() != HttpStatusConstants.TOO_MANY_REQUESTS
+                && result.body().length <= properties.getMaxBodyBytes()
+                && resultStatus(result.body()) < HttpStatusConstants.ERROR;
+    }
+
+    /**
+     * Lấy trường {@code status} ở cấp cao nhất của body {@code Result};
+     * body không phải JSON object được coi như thành công.
+     */
+    private int resultStatus(byte[] body) {
+        if (body.length == 0) {
+            return HttpStatusConstants.OK;
+        }
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return HttpStatusConstants.OK;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (STATUS_FIELD.equals(field)) {
+                    return token == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : HttpStatusConstants.OK;
+                }
+                parser.skipChildren();
+            }
+            return HttpStatusConstants.OK;
+        } catch (IOException e) {
+            return HttpStatusConstants.OK;
+        }
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void write(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Phạm vi của key: tài khoản đã xác thực, hoặc IP của client với request ẩn danh
+     * (IP đã qua {@code server.forward-headers-strategy} nếu chạy sau proxy).
+     */
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? "ip:" + request.getRemoteAddr() : "user:" + authentication.getName();
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
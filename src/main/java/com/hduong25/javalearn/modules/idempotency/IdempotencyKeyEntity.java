@@ -0,0 +1,57 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bảng lưu {@code Idempotency-Key} cho {@link JdbcIdempotencyStore}.
+ * <p>
+ * {@code STATUS_CODE} null nghĩa là key đang được xử lý; khi đó {@code EXPIRES_AT} là hạn giữ key
+ * ({@code idempotency.in-flight-timeout}), sau khi có kết quả là hạn phát lại ({@code idempotency.ttl}).
+ *
+ * @author: hduong25
+ */
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = IdempotencyKeyEntity.TABLE_NAME, indexes = {
+        @Index(name = "IDX_IDEMPOTENCY_KEY_EXPIRES_AT", columnList = "EXPIRES_AT")
+})
+public class IdempotencyKeyEntity {
+    public static final String TABLE_NAME = "IDEMPOTENCY_KEY";
+
+    /** SHA-256 (hex) của key đã gộp phạm vi */
+    @Id
+    @Column(name = "ID", nullable = false, length = 64)
+    private String id;
+
+    @Column(name = "FINGERPRINT", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "STATUS_CODE")
+    private Integer statusCode;
+
+    @Column(name = "CONTENT_TYPE", length = 100)
+    private String contentType;
+
+    @Lob
+    @Column(name = "BODY")
+    private byte[] body;
+
+    @Column(name = "CREATED_DATE", nullable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private LocalDateTime expiresAt;
+}
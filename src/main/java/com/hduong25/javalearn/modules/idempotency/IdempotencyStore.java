@@ -0,0 +1,31 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+/**
+ * Nơi lưu trạng thái và kết quả theo {@code Idempotency-Key}.
+ * <p>
+ * Key truyền vào đã được {@link IdempotencyFilter} gộp với người gọi, method và path
+ * nên không trùng giữa các endpoint hay người dùng khác nhau.
+ *
+ * @author: hduong25
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Giữ key cho request hiện tại nếu key chưa tồn tại (hoặc đã hết hạn),
+     * ngược lại trả về kết quả đã lưu hoặc request đang xử lý.
+     *
+     * @param key         key đã gộp phạm vi
+     * @param fingerprint hash của request body, dùng để phát hiện key bị dùng lại cho request khác
+     */
+    Reservation reserve(String key, String fingerprint);
+
+    /**
+     * Lưu kết quả của request đang giữ key và đánh thức các request đang chờ.
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Bỏ key khi request thất bại, để lần gửi lại được xử lý từ đầu.
+     */
+    void release(String key);
+}
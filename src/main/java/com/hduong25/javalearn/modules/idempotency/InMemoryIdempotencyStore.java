@@ -0,0 +1,81 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hduong25.javalearn.config.IdempotencyProperties;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Store {@code Idempotency-Key} trong bộ nhớ, dùng khi chỉ chạy một instance.
+ * <p>
+ * Mỗi key giữ một {@link CompletableFuture}: request đầu tiên hoàn thành future,
+ * các request trùng chờ trên chính future đó. Cache có giới hạn {@code idempotency.maximum-size};
+ * key đang xử lý hết hạn sau {@code in-flight-timeout}, key đã có kết quả hết hạn sau {@code ttl}.
+ *
+ * @author: hduong25
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        long ttlNanos = properties.getTtl().toNanos();
+        long inFlightNanos = properties.getInFlightTimeout().toNanos();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.response().isDone() ? ttlNanos : inFlightNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.response().isDone() ? ttlNanos : inFlightNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Reservation reserve(String key, String fingerprint) {
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing == null) {
+            return Reservation.acquired();
+        }
+        if (!existing.fingerprint().equals(fingerprint)) {
+            return Reservation.mismatch();
+        }
+        StoredResponse response = existing.response().getNow(null);
+        return response != null ? Reservation.completed(response) : Reservation.inFlight(existing.response());
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null) {
+            entry.response().complete(response);
+            // Ghi lại để tính hạn theo ttl thay vì in-flight-timeout
+            entries.asMap().replace(key, entry, new Entry(entry.fingerprint(), entry.response()));
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Entry entry = entries.asMap().remove(key);
+        if (entry != null) {
+            entry.response().complete(null);
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<StoredResponse> response) {
+    }
+}
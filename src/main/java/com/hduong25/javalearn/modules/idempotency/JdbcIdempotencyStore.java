@@ -0,0 +1,162 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+import com.hduong25.javalearn.config.IdempotencyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store {@code Idempotency-Key} trên bảng IDEMPOTENCY_KEY, dùng chung giữa nhiều instance.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Giữ key bằng INSERT theo primary key: instance nào insert được thì xử lý request</li>
+ *   <li>Request trùng trên cùng instance chờ trên một {@link CompletableFuture},
+ *   được hoàn thành ngay khi request đang giữ key kết thúc</li>
+ *   <li>Nếu key do instance khác giữ, {@link #pollWaiting()} đọc lại các key đang chờ
+ *   mỗi {@code idempotency.poll-interval} bằng một truy vấn</li>
+ *   <li>Key hết hạn (kể cả key đang xử lý quá {@code in-flight-timeout}) được ghi đè khi có request mới
+ *   và được xóa định kỳ</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String TABLE = IdempotencyKeyEntity.TABLE_NAME;
+
+    private static final String INSERT_SQL = "INSERT INTO " + TABLE
+            + " (ID, FINGERPRINT, CREATED_DATE, EXPIRES_AT) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_SQL = "SELECT ID, FINGERPRINT, STATUS_CODE, CONTENT_TYPE, BODY, EXPIRES_AT FROM "
+            + TABLE + " WHERE ID IN (%s)";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM " + TABLE + " WHERE ID = ? AND EXPIRES_AT < ?";
+
+    private static final String COMPLETE_SQL = "UPDATE " + TABLE
+            + " SET STATUS_CODE = ?, CONTENT_TYPE = ?, BODY = ?, EXPIRES_AT = ? WHERE ID = ?";
+
+    private static final String RELEASE_SQL = "DELETE FROM " + TABLE + " WHERE ID = ? AND STATUS_CODE IS NULL";
+
+    private static final String PURGE_SQL = "DELETE FROM " + TABLE + " WHERE EXPIRES_AT < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyProperties properties;
+    private final Map<String, CompletableFuture<StoredResponse>> waiting = new ConcurrentHashMap<>();
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public Reservation reserve(String key, String fingerprint) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                jdbcTemplate.update(INSERT_SQL, key, fingerprint, Timestamp.valueOf(now),
+                        Timestamp.valueOf(now.plus(properties.getInFlightTimeout())));
+                return Reservation.acquired();
+            } catch (DuplicateKeyException e) {
+                Row row = find(List.of(key)).get(key);
+                if (row == null) {
+                    continue;
+                }
+                if (row.expiresAt().isBefore(now)) {
+                    jdbcTemplate.update(DELETE_EXPIRED_SQL, key, Timestamp.valueOf(now));
+                    continue;
+                }
+                if (!row.fingerprint().equals(fingerprint)) {
+                    return Reservation.mismatch();
+                }
+                if (row.response() != null) {
+                    return Reservation.completed(row.response());
+                }
+                return Reservation.inFlight(waiting.computeIfAbsent(key, k -> new CompletableFuture<>()));
+            }
+        }
+        // Key liên tục bị giành giữa các lần thử: coi như đang xử lý, request sẽ chờ rồi thử lại
+        return Reservation.inFlight(waiting.computeIfAbsent(key, k -> new CompletableFuture<>()));
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update(COMPLETE_SQL, response.status(), response.contentType(), response.body(),
+                Timestamp.valueOf(LocalDateTime.now().plus(properties.getTtl())), key);
+        CompletableFuture<StoredResponse> future = waiting.remove(key);
+        if (future != null) {
+            future.complete(response);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        try {
+            jdbcTemplate.update(RELEASE_SQL, key);
+        } finally {
+            CompletableFuture<StoredResponse> future = waiting.remove(key);
+            if (future != null) {
+                future.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Đọc lại các key đang được chờ mà instance khác giữ: hoàn thành future khi key đã có kết quả,
+     * hoặc với {@code null} khi key đã bị bỏ / hết hạn để request chờ thử giữ key lại.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.poll-interval:PT0.1S}")
+    public void pollWaiting() {
+        if (waiting.isEmpty()) {
+            return;
+        }
+        List<String> keys = List.copyOf(waiting.keySet());
+        Map<String, Row> rows = find(keys);
+        LocalDateTime now = LocalDateTime.now();
+        for (String key : keys) {
+            Row row = rows.get(key);
+            if (row != null && row.response() == null && !row.expiresAt().isBefore(now)) {
+                continue;
+            }
+            CompletableFuture<StoredResponse> future = waiting.remove(key);
+            if (future != null) {
+                future.complete(row != null ? row.response() : null);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT10M}")
+    public void purge() {
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now()));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Map<String, Row> find(List<String> keys) {
+        Map<String, Row> rows = new HashMap<>();
+        jdbcTemplate.query(String.format(SELECT_SQL, String.join(",", Collections.nCopies(keys.size(), "?"))),
+                rs -> {
+                    int status = rs.getInt(3);
+                    StoredResponse response = rs.wasNull() ? null
+                            : new StoredResponse(status, rs.getString(4), rs.getBytes(5));
+                    rows.put(rs.getString(1),
+                            new Row(rs.getString(2), response, rs.getTimestamp(6).toLocalDateTime()));
+                }, keys.toArray());
+        return rows;
+    }
+
+    private record Row(String fingerprint, StoredResponse response, LocalDateTime expiresAt) {
+    }
+}
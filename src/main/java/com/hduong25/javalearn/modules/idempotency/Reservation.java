@@ -0,0 +1,44 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kết quả của {@link IdempotencyStore#reserve}.
+ *
+ * @param type     trạng thái của key
+ * @param response kết quả đã lưu, chỉ có khi {@link Type#COMPLETED}
+ * @param inFlight hoàn thành khi request đang xử lý kết thúc, chỉ có khi {@link Type#IN_FLIGHT};
+ *                 giá trị {@code null} nghĩa là request đó thất bại và key đã được giải phóng
+ */
+public record Reservation(Type type, StoredResponse response, CompletableFuture<StoredResponse> inFlight) {
+
+    private static final Reservation ACQUIRED = new Reservation(Type.ACQUIRED, null, null);
+    private static final Reservation MISMATCH = new Reservation(Type.MISMATCH, null, null);
+
+    public enum Type {
+        /** Request hiện tại giữ key và phải xử lý */
+        ACQUIRED,
+        /** Key đã có kết quả, phát lại */
+        COMPLETED,
+        /** Key đang được một request khác xử lý */
+        IN_FLIGHT,
+        /** Key đã được dùng cho một request có body khác */
+        MISMATCH
+    }
+
+    public static Reservation acquired() {
+        return ACQUIRED;
+    }
+
+    public static Reservation mismatch() {
+        return MISMATCH;
+    }
+
+    public static Reservation completed(StoredResponse response) {
+        return new Reservation(Type.COMPLETED, response, null);
+    }
+
+    public static Reservation inFlight(CompletableFuture<StoredResponse> inFlight) {
+        return new Reservation(Type.IN_FLIGHT, null, inFlight);
+    }
+}
@@ -0,0 +1,11 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+/**
+ * Response đã serialize của lần xử lý đầu tiên, được phát lại nguyên byte cho các request trùng key.
+ *
+ * @param status      HTTP status
+ * @param contentType header {@code Content-Type}, có thể null
+ * @param body        body đã serialize
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
@@ -0,0 +1,362 @@
+package com.hduong25.javalearn.modules.mail;
+
+import com.hduong25.javalearn.config.MailQueueProperties;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MailDispatcher
+ * <p>
+ * Gửi mail trong bảng MAIL_QUEUE bằng một nhóm worker, mỗi worker giữ một kết nối SMTP riêng.
+ * <p>
+ * Quy trình xử lý:
+ * <ol>
+ *   <li>Thread poller đọc tối đa {@code mail.queue.batch-size} mail PENDING đã tới hạn,
+ *   đánh dấu SENDING rồi giao cả batch cho worker qua một hàng đợi có giới hạn</li>
+ *   <li>Worker gửi lần lượt các mail trong batch trên cùng một {@link Transport} đã kết nối;
+ *   kết nối được giữ lại cho batch sau và chỉ đóng khi lỗi hoặc không dùng quá {@code mail.queue.idle-timeout}</li>
+ *   <li>Kết quả của cả batch được ghi bằng một câu lệnh cho mail thành công và một batch update cho mail lỗi</li>
+ *   <li>Mail lỗi được gửi lại sau {@code initial-backoff * 2^(lần thử - 1)} (tối đa {@code max-backoff});
+ *   địa chỉ không hợp lệ hoặc hết {@code max-attempts} lần thì chuyển FAILED</li>
+ * </ol>
+ * <p>
+ * Khi khởi động, mail còn ở trạng thái SENDING (ứng dụng dừng giữa chừng) được đưa về PENDING,
+ * nên một mail có thể được gửi lại (at-least-once). Dispatcher giả định chỉ có một instance đang chạy.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "mail.queue", name = "enabled", havingValue = "true")
+public class MailDispatcher implements SmartLifecycle {
+
+    private static final String TABLE = MailQueueEntity.TABLE_NAME;
+
+    private static final String RESET_SQL = "UPDATE " + TABLE + " SET STATUS = 'PENDING' WHERE STATUS = 'SENDING'";
+
+    private static final String SELECT_SQL = "SELECT ID, RECIPIENT, SUBJECT, BODY, ATTEMPTS FROM " + TABLE
+            + " WHERE STATUS = 'PENDING' AND NEXT_ATTEMPT_AT <= ? ORDER BY ID LIMIT ?";
+
+    private static final String CLAIM_SQL = "UPDATE " + TABLE + " SET STATUS = 'SENDING'"
+            + " WHERE STATUS = 'PENDING' AND ID IN (%s)";
+
+    private static final String RELEASE_SQL = "UPDATE " + TABLE + " SET STATUS = 'PENDING'"
+            + " WHERE STATUS = 'SENDING' AND ID IN (%s)";
+
+    private static final String SENT_SQL = "UPDATE " + TABLE + " SET STATUS = 'SENT', ATTEMPTS = ATTEMPTS + 1,"
+            + " SENT_DATE = ?, LAST_ERROR = NULL WHERE ID IN (%s)";
+
+    private static final String FAILED_SQL = "UPDATE " + TABLE + " SET STATUS = ?, ATTEMPTS = ?,"
+            + " NEXT_ATTEMPT_AT = ?, LAST_ERROR = ? WHERE ID = ?";
+
+    private static final String PENDING_COUNT_SQL = "SELECT COUNT(*) FROM " + TABLE
+            + " WHERE STATUS IN ('PENDING', 'SENDING')";
+
+    private static final String PURGE_SQL = "DELETE FROM " + TABLE
+            + " WHERE STATUS IN ('SENT', 'FAILED') AND CREATED_DATE < ?";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /** Dừng sau web server (phase thấp hơn) để không còn request nào đưa thêm mail vào hàng đợi. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JavaMailSenderImpl mailSender;
+    private final MailQueue mailQueue;
+    private final MailQueueProperties mailQueueProperties;
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong connectionCount = new AtomicLong();
+
+    private volatile boolean running;
+    private BlockingQueue<List<MailRow>> handoff;
+    private Thread poller;
+    private List<Thread> workers;
+
+    public MailDispatcher(JdbcTemplate jdbcTemplate, JavaMailSenderImpl mailSender, MailQueue mailQueue,
+                          MailQueueProperties mailQueueProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mailSender = mailSender;
+        this.mailQueue = mailQueue;
+        this.mailQueueProperties = mailQueueProperties;
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Số lần mở kết nối SMTP kể từ khi khởi động.
+     */
+    public long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public void start() {
+        int reset = jdbcTemplate.update(RESET_SQL);
+        if (reset > 0) {
+            log.warn("Re-queued {} mails left in SENDING state", reset);
+        }
+
+        int workerCount = mailQueueProperties.getWorkers();
+        handoff = new ArrayBlockingQueue<>(workerCount);
+        running = true;
+        workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workerLoop, "mail-dispatcher-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        poller = new Thread(this::pollLoop, "mail-queue-poller");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + mailQueueProperties.getShutdownTimeout().toNanos();
+        try {
+            poller.interrupt();
+            poller.join(mailQueueProperties.getShutdownTimeout().toMillis());
+            for (Thread worker : workers) {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Xóa mail đã gửi hoặc đã FAILED quá thời gian lưu {@code mail.queue.retention}.
+     */
+    @Scheduled(fixedDelayString = "${mail.queue.purge-interval:PT1H}")
+    public void purge() {
+        LocalDateTime threshold = LocalDateTime.now().minus(mailQueueProperties.getRetention());
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(threshold));
+        if (purged > 0) {
+            log.info("Purged {} mails older than {}", purged, threshold);
+        }
+    }
+
+    private void pollLoop() {
+        long pollMillis = mailQueueProperties.getPollInterval().toMillis();
+        while (running) {
+            try {
+                if (claimBatch() < mailQueueProperties.getBatchSize()) {
+                    TimeUnit.MILLISECONDS.sleep(pollMillis);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Error reading mail queue", e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(pollMillis);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Đọc, đánh dấu SENDING và giao một batch cho worker; chờ nếu mọi worker đều đang bận.
+     *
+     * @return số mail đã giao
+     */
+    private int claimBatch() throws InterruptedException {
+        mailQueue.refreshPendingCount(jdbcTemplate.queryForObject(PENDING_COUNT_SQL, Long.class));
+
+        List<MailRow> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new MailRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getInt(5)),
+                Timestamp.valueOf(LocalDateTime.now()), mailQueueProperties.getBatchSize());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = rows.stream().map(MailRow::id).toList();
+        jdbcTemplate.update(String.format(CLAIM_SQL, placeholders(ids.size())), ids.toArray());
+        try {
+            handoff.put(rows);
+        } catch (InterruptedException e) {
+            // Đang tắt: chỉ trả batch vừa đánh dấu về hàng đợi, batch worker đang gửi giữ nguyên SENDING
+            jdbcTemplate.update(String.format(RELEASE_SQL, placeholders(ids.size())), ids.toArray());
+            throw e;
+        }
+        return rows.size();
+    }
+
+    private void workerLoop() {
+        Transport transport = null;
+        long lastUsed = System.nanoTime();
+        long pollMillis = mailQueueProperties.getPollInterval().toMillis();
+        try {
+            while (running || !handoff.isEmpty()) {
+                List<MailRow> batch = handoff.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (batch == null) {
+                    if (transport != null
+                            && System.nanoTime() - lastUsed > mailQueueProperties.getIdleTimeout().toNanos()) {
+                        close(transport);
+                        transport = null;
+                    }
+                    continue;
+                }
+                transport = sendBatch(transport, batch);
+                lastUsed = System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    /**
+     * Gửi một batch trên kết nối hiện có (mở lại nếu cần) và ghi kết quả.
+     *
+     * @return kết nối còn dùng được cho batch sau, hoặc null
+     */
+    private Transport sendBatch(Transport transport, List<MailRow> batch) {
+        List<Long> sent = new ArrayList<>(batch.size());
+        List<Object[]> failures = new ArrayList<>();
+        if (transport != null && !transport.isConnected()) {
+            close(transport);
+            transport = null;
+        }
+
+        for (MailRow row : batch) {
+            try {
+                if (transport == null) {
+                    transport = connect();
+                }
+                MimeMessage message = toMessage(row);
+                transport.sendMessage(message, message.getAllRecipients());
+                sent.add(row.id());
+            } catch (MessagingException | RuntimeException e) {
+                failures.add(toFailure(row, e));
+                if (transport != null && !transport.isConnected()) {
+                    close(transport);
+                    transport = null;
+                }
+            }
+        }
+
+        try {
+            if (!sent.isEmpty()) {
+                List<Object> args = new ArrayList<>(sent.size() + 1);
+                args.add(Timestamp.valueOf(LocalDateTime.now()));
+                args.addAll(sent);
+                jdbcTemplate.update(String.format(SENT_SQL, placeholders(sent.size())), args.toArray());
+                sentCount.addAndGet(sent.size());
+            }
+            if (!failures.isEmpty()) {
+                jdbcTemplate.batchUpdate(FAILED_SQL, failures);
+            }
+        } catch (RuntimeException e) {
+            // Mail vẫn ở trạng thái SENDING và được gửi lại sau khi khởi động lại
+            log.error("Error recording result of {} mails", batch.size(), e);
+        }
+        return transport;
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        connectionCount.incrementAndGet();
+        return transport;
+    }
+
+    private MimeMessage toMessage(MailRow row) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(mailQueueProperties.getFrom());
+        helper.setTo(row.recipient());
+        helper.setSubject(row.subject());
+        helper.setText(row.body());
+        // Transport#sendMessage không tự gọi saveChanges như Transport#send
+        message.saveChanges();
+        return message;
+    }
+
+    /**
+     * Tham số cho {@link #FAILED_SQL}: thử lại với backoff, hoặc FAILED nếu lỗi vĩnh viễn / hết lượt.
+     */
+    private Object[] toFailure(MailRow row, Exception e) {
+        int attempts = row.attempts() + 1;
+        boolean permanent = e instanceof AddressException || attempts >= mailQueueProperties.getMaxAttempts();
+        Duration backoff = backoff(attempts);
+        if (permanent) {
+            failedCount.incrementAndGet();
+            log.error("Giving up mail {} after {} attempts", row.id(), attempts, e);
+        } else {
+            log.warn("Error sending mail {} (attempt {}), retrying in {}", row.id(), attempts, backoff, e);
+        }
+        return new Object[]{
+                (permanent ? MailStatus.FAILED : MailStatus.PENDING).name(),
+                attempts,
+                Timestamp.valueOf(LocalDateTime.now().plus(backoff)),
+                StringUtils.abbreviate(String.valueOf(e.getMessage()), MAX_ERROR_LENGTH),
+                row.id()
+        };
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = mailQueueProperties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(mailQueueProperties.getMaxBackoff()) > 0 ? mailQueueProperties.getMaxBackoff() : backoff;
+    }
+
+    private static void close(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection", e);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private record MailRow(long id, String recipient, String subject, String body, int attempts) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.hduong25.javalearn.modules.mail;
+
+import com.hduong25.javalearn.config.MailQueueProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MailQueue
+ * <p>
+ * Nhận mail cần gửi và ghi vào bảng MAIL_QUEUE; việc gửi do {@link MailDispatcher} thực hiện ở nền,
+ * nên request không phải chờ kết nối và bắt tay SMTP.
+ * <p>
+ * Lưu ý:
+ * <ul>
+ *   <li>Ghi bằng JDBC trên {@code primaryDataSource}: nếu đang có transaction, mail chỉ tồn tại
+ *   khi transaction đó commit</li>
+ *   <li>Hàng đợi có giới hạn: khi số mail chưa gửi đạt {@code mail.queue.capacity},
+ *   {@link #enqueue} ném {@link MailQueueFullException}. Số này được ước lượng trong bộ nhớ
+ *   và đồng bộ lại với database ở mỗi lần dispatcher đọc hàng đợi</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "mail.queue", name = "enabled", havingValue = "true")
+public class MailQueue {
+
+    private static final String INSERT_SQL = "INSERT INTO " + MailQueueEntity.TABLE_NAME
+            + " (RECIPIENT, SUBJECT, BODY, STATUS, ATTEMPTS, NEXT_ATTEMPT_AT, CREATED_DATE) VALUES (?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String STATUS_SQL = "SELECT STATUS FROM " + MailQueueEntity.TABLE_NAME + " WHERE ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MailQueueProperties mailQueueProperties;
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    public MailQueue(JdbcTemplate jdbcTemplate, MailQueueProperties mailQueueProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mailQueueProperties = mailQueueProperties;
+    }
+
+    /**
+     * Đưa một mail dạng text vào hàng đợi.
+     *
+     * @param recipient địa chỉ người nhận
+     * @param subject   tiêu đề
+     * @param body      nội dung
+     * @return ID của mail, dùng để tra cứu trạng thái
+     * @throws MailQueueFullException nếu hàng đợi đã đầy
+     */
+    public long enqueue(String recipient, String subject, String body) {
+        if (pendingCount.get() >= mailQueueProperties.getCapacity()) {
+            throw new MailQueueFullException("Mail queue is full (" + mailQueueProperties.getCapacity() + ")");
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"ID"});
+            ps.setString(1, recipient);
+            ps.setString(2, subject);
+            ps.setString(3, body);
+            ps.setString(4, MailStatus.PENDING.name());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+            return ps;
+        }, keyHolder);
+        pendingCount.incrementAndGet();
+        return keyHolder.getKeyAs(Number.class).longValue();
+    }
+
+    /**
+     * Tra cứu trạng thái của mail.
+     *
+     * @param id ID trả về từ {@link #enqueue}
+     * @return trạng thái, rỗng nếu không tồn tại hoặc đã bị xóa sau thời gian lưu
+     */
+    public Optional<MailStatus> status(long id) {
+        List<String> statuses = jdbcTemplate.queryForList(STATUS_SQL, String.class, id);
+        return statuses.isEmpty() ? Optional.empty() : Optional.of(MailStatus.valueOf(statuses.get(0)));
+    }
+
+    /**
+     * Số mail chưa gửi theo ước lượng hiện tại.
+     */
+    public long getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Đồng bộ số mail chưa gửi với số đếm từ database.
+     */
+    void refreshPendingCount(long count) {
+        pendingCount.set(count);
+    }
+}
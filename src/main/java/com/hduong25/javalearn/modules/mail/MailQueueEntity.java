@@ -0,0 +1,72 @@
+package com.hduong25.javalearn.modules.mail;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bảng hàng đợi mail.
+ * <p>
+ * Mail được ghi bởi {@link MailQueue} (trong transaction của nơi gọi nếu có) và được gửi bởi
+ * {@link MailDispatcher}; dòng được giữ lại sau khi gửi để tra cứu trạng thái tới hết
+ * {@code mail.queue.retention}.
+ *
+ * @author: hduong25
+ */
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = MailQueueEntity.TABLE_NAME, indexes = {
+        @Index(name = "IDX_MAIL_QUEUE_STATUS", columnList = "STATUS, NEXT_ATTEMPT_AT")
+})
+public class MailQueueEntity {
+    public static final String TABLE_NAME = "MAIL_QUEUE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID", nullable = false)
+    private Long id;
+
+    @Column(name = "RECIPIENT", nullable = false, length = 320)
+    private String recipient;
+
+    @Column(name = "SUBJECT", nullable = false, length = 250)
+    private String subject;
+
+    @Lob
+    @Column(name = "BODY", nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 10)
+    private MailStatus status;
+
+    @Column(name = "ATTEMPTS", nullable = false)
+    private int attempts;
+
+    @Column(name = "NEXT_ATTEMPT_AT", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "LAST_ERROR", length = 500)
+    private String lastError;
+
+    @Column(name = "CREATED_DATE", nullable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "SENT_DATE")
+    private LocalDateTime sentDate;
+}
@@ -0,0 +1,14 @@
+package com.hduong25.javalearn.modules.mail;
+
+/**
+ * Ném ra khi số mail đang chờ gửi đạt {@code mail.queue.capacity}.
+ *
+ * @author: hduong25
+ */
+
+public class MailQueueFullException extends RuntimeException {
+
+    public MailQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.hduong25.javalearn.modules.mail;
+
+/**
+ * Trạng thái của một mail trong hàng đợi.
+ *
+ * @author: hduong25
+ */
+public enum MailStatus {
+    /** Chờ gửi (lần đầu hoặc chờ tới {@code NEXT_ATTEMPT_AT} để gửi lại). */
+    PENDING,
+    /** Đã được giao cho worker. */
+    SENDING,
+    /** SMTP server đã nhận. */
+    SENT,
+    /** Lỗi vĩnh viễn hoặc hết số lần thử. */
+    FAILED
+}
@@ -0,0 +1,50 @@
+package com.hduong25.javalearn.modules.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bảng outbox chứa sự kiện thay đổi user chờ được đẩy sang Kafka.
+ * <p>
+ * Bản ghi được ghi trong cùng transaction với thay đổi của {@code UserEntity}
+ * bởi {@link UserOutboxListener} và bị xóa bởi {@link UserOutboxRelay} sau khi Kafka xác nhận.
+ *
+ * @author: hduong25
+ */
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = UserOutboxEntity.TABLE_NAME)
+public class UserOutboxEntity {
+    public static final String TABLE_NAME = "USER_OUTBOX";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID", nullable = false)
+    private Long id;
+
+    @Column(name = "AGGREGATE_ID", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "EVENT_TYPE", nullable = false, length = 30)
+    private String eventType;
+
+    @Lob
+    @Column(name = "PAYLOAD", nullable = false)
+    private String payload;
+
+    @Column(name = "CREATED_DATE", nullable = false)
+    private LocalDateTime createdDate;
+}
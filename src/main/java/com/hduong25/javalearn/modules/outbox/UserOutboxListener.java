@@ -0,0 +1,118 @@
+package com.hduong25.javalearn.modules.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.HibernateEventListenerRegistrar;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * UserOutboxListener
+ * <p>
+ * Ghi một dòng vào bảng USER_OUTBOX mỗi khi {@link UserEntity} được thêm, sửa hoặc xóa.
+ * <p>
+ * Listener chạy tại thời điểm flush và ghi qua chính JDBC connection của session,
+ * nên dòng outbox nằm trong cùng transaction ({@code primaryTransactionManager}) với thay đổi của entity:
+ * transaction rollback thì sự kiện cũng không tồn tại.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserOutboxListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public static final String USER_CREATED = "USER_CREATED";
+    public static final String USER_UPDATED = "USER_UPDATED";
+    public static final String USER_DELETED = "USER_DELETED";
+
+    private static final String INSERT_SQL = "INSERT INTO " + UserOutboxEntity.TABLE_NAME
+            + " (AGGREGATE_ID, EVENT_TYPE, PAYLOAD, CREATED_DATE) VALUES (?, ?, ?, ?)";
+
+    private final HibernateEventListenerRegistrar listenerRegistrar;
+    private final ObjectMapper mapper;
+
+    @PostConstruct
+    public void register() {
+        listenerRegistrar.append(EventType.POST_INSERT, this);
+        listenerRegistrar.append(EventType.POST_UPDATE, this);
+        listenerRegistrar.append(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof UserEntity user) {
+            write(event.getSession(), user, USER_CREATED);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof UserEntity user) {
+            write(event.getSession(), user, USER_UPDATED);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof UserEntity user) {
+            write(event.getSession(), user, USER_DELETED);
+        }
+    }
+
+    private void write(EventSource session, UserEntity user, String eventType) {
+        String payload = toPayload(user, eventType);
+        LocalDateTime now = LocalDateTime.now();
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                ps.setLong(1, user.getId());
+                ps.setString(2, eventType);
+                ps.setString(3, payload);
+                ps.setTimestamp(4, Timestamp.valueOf(now));
+                ps.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Payload JSON của sự kiện; không bao gồm mật khẩu.
+     */
+    private String toPayload(UserEntity user, String eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("eventType", eventType);
+        payload.put("id", user.getId());
+        payload.put("account", user.getAccount());
+        payload.put("name", user.getName());
+        payload.put("email", user.getEmail());
+        payload.put("phone", user.getPhone());
+        payload.put("address", user.getAddress());
+        payload.put("updatedDate", user.getUpdatedDate() != null ? user.getUpdatedDate().toString() : null);
+        try {
+            return mapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.hduong25.javalearn.modules.outbox;
+
+import com.hduong25.javalearn.config.OutboxConfig;
+import com.hduong25.javalearn.config.OutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * UserOutboxRelay
+ * <p>
+ * Đọc bảng USER_OUTBOX theo batch và đẩy sang Kafka.
+ * <p>
+ * Quy trình xử lý mỗi lần chạy:
+ * <ol>
+ *   <li>Đọc tối đa {@code outbox.relay.batch-size} sự kiện theo thứ tự ID</li>
+ *   <li>Gửi toàn bộ batch với key là user ID, sau đó flush producer một lần</li>
+ *   <li>Chờ xác nhận theo thứ tự; dừng tại sự kiện lỗi đầu tiên</li>
+ *   <li>Xóa các sự kiện đã gửi thành công bằng một câu lệnh {@code DELETE ... WHERE ID IN (...)}</li>
+ * </ol>
+ * Sự kiện lỗi và các sự kiện sau nó được gửi lại ở lần chạy sau (at-least-once),
+ * nên thứ tự theo từng user ID được giữ nguyên.
+ * <p>
+ * Relay giả định chỉ có một instance đang chạy.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserOutboxRelay {
+
+    private static final String SELECT_SQL = "SELECT ID, AGGREGATE_ID, PAYLOAD FROM "
+            + UserOutboxEntity.TABLE_NAME + " ORDER BY ID LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM " + UserOutboxEntity.TABLE_NAME + " WHERE ID IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxProperties outboxProperties;
+
+    public UserOutboxRelay(JdbcTemplate jdbcTemplate,
+                           @Qualifier(OutboxConfig.OUTBOX_KAFKA_TEMPLATE_NAME) KafkaTemplate<String, String> kafkaTemplate,
+                           OutboxProperties outboxProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.outboxProperties = outboxProperties;
+    }
+
+    /**
+     * Chạy liên tục cho tới khi outbox rỗng hoặc gặp lỗi gửi.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        int sent;
+        do {
+            sent = relayBatch();
+        } while (sent == outboxProperties.getRelay().getBatchSize());
+    }
+
+    /**
+     * Gửi một batch sự kiện.
+     *
+     * @return số sự kiện đã gửi thành công và được xóa khỏi outbox
+     */
+    public int relayBatch() {
+        List<OutboxRow> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new OutboxRow(rs.getLong(1), rs.getLong(2), rs.getString(3)),
+                outboxProperties.getRelay().getBatchSize());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            futures.add(kafkaTemplate.send(outboxProperties.getTopic(), Long.toString(row.aggregateId()), row.payload()));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> sentIds = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                futures.get(i).get(outboxProperties.getRelay().getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+                sentIds.add(rows.get(i).id());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Error relaying outbox event {}, will retry", rows.get(i).id(), e);
+                break;
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(sentIds.size(), "?"));
+            jdbcTemplate.update(String.format(DELETE_SQL, placeholders), sentIds.toArray());
+        }
+        return sentIds.size();
+    }
+
+    private record OutboxRow(long id, long aggregateId, String payload) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.hduong25.javalearn.modules.profiling;
+
+import com.hduong25.javalearn.config.JfrProperties;
+import com.hduong25.javalearn.utils.jfr.MappingEvent;
+import com.hduong25.javalearn.utils.jfr.PasswordHashEvent;
+import com.hduong25.javalearn.utils.jfr.RepositoryCallEvent;
+import com.hduong25.javalearn.utils.jfr.RequestEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Actuator endpoint {@code jfr}: bật một JFR recording có giới hạn thời gian và tải file {@code .jfr} về,
+ * không cần attach công cụ vào JVM.
+ * <p>
+ * Các thao tác:
+ * <ul>
+ *   <li>{@code GET /actuator/jfr}: trạng thái recording gần nhất</li>
+ *   <li>{@code POST /actuator/jfr} với {@code {"duration": "PT2M"}}: bắt đầu recording, tự dừng sau
+ *   {@code duration} (tối đa {@code jfr.max-duration})</li>
+ *   <li>{@code DELETE /actuator/jfr}: dừng recording ngay</li>
+ *   <li>{@code GET /actuator/jfr/{id}}: tải file; nếu recording còn chạy thì tải phần đã ghi tới hiện tại</li>
+ * </ul>
+ * Recording dùng cấu hình {@code jfr.settings} và bật các event của ứng dụng ({@link RequestEvent},
+ * {@link RepositoryCallEvent}, {@link MappingEvent}, {@link PasswordHashEvent}).
+ * Mỗi lúc chỉ có một recording; file của recording trước bị xóa khi bắt đầu recording mới.
+ * <p>
+ * Endpoint cần được expose ({@code management.endpoints.web.exposure.include=health,jfr})
+ * và chỉ dành cho tài khoản quản trị ({@link com.hduong25.javalearn.config.SecurityConfig#ADMIN_AUTHORITIES}).
+ *
+ * @author: hduong25
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+@ConditionalOnProperty(prefix = "jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrRecordingEndpoint implements DisposableBean {
+
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+            RequestEvent.class, RepositoryCallEvent.class, MappingEvent.class, PasswordHashEvent.class);
+
+    private final JfrProperties jfrProperties;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Recording recording;
+
+    public JfrRecordingEndpoint(JfrProperties jfrProperties) {
+        this.jfrProperties = jfrProperties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        lock.lock();
+        try {
+            return describe(recording);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bắt đầu recording mới.
+     *
+     * @param duration thời lượng, mặc định {@code jfr.default-duration}
+     * @return 409 nếu đang có recording chạy
+     */
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration) throws IOException, ParseException {
+        Duration requested = duration != null ? duration : jfrProperties.getDefaultDuration();
+        if (requested.isNegative() || requested.isZero()) {
+            return new WebEndpointResponse<>(Map.of("error", "duration must be positive"),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                return new WebEndpointResponse<>(describe(recording), 409);
+            }
+            discard(recording);
+
+            Files.createDirectories(jfrProperties.getDirectory());
+            Recording next = new Recording(Configuration.getConfiguration(jfrProperties.getSettings()));
+            next.setName("java-learn-" + Instant.now().toEpochMilli());
+            for (Class<? extends Event> eventType : APPLICATION_EVENTS) {
+                next.enable(eventType).withThreshold(jfrProperties.getEventThreshold());
+            }
+            next.setToDisk(true);
+            next.setMaxSize(jfrProperties.getMaxSize().toBytes());
+            next.setDuration(requested.compareTo(jfrProperties.getMaxDuration()) > 0
+                    ? jfrProperties.getMaxDuration() : requested);
+            next.setDestination(jfrProperties.getDirectory().resolve(next.getName() + ".jfr"));
+            next.start();
+            recording = next;
+
+            log.info("JFR recording {} started for {}", next.getId(), next.getDuration());
+            return new WebEndpointResponse<>(describe(next), WebEndpointResponse.STATUS_OK);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dừng recording đang chạy; file được ghi ra {@code jfr.directory} và vẫn tải được.
+     */
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+                log.info("JFR recording {} stopped", recording.getId());
+            }
+            return describe(recording);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tải file của recording.
+     *
+     * @param id ID recording (trường {@code id} trong trạng thái)
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+        lock.lock();
+        try {
+            if (recording == null || recording.getId() != id) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+
+            Path file = recording.getDestination();
+            if (recording.getState() == RecordingState.RUNNING) {
+                file = jfrProperties.getDirectory().resolve(recording.getName() + "-snapshot.jfr");
+                recording.dump(file);
+            }
+            if (file == null || !Files.exists(file)) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(Recording previous) throws IOException {
+        if (previous == null) {
+            return;
+        }
+        previous.close();
+        if (previous.getDestination() != null) {
+            Files.deleteIfExists(previous.getDestination());
+        }
+        Files.deleteIfExists(jfrProperties.getDirectory().resolve(previous.getName() + "-snapshot.jfr"));
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("id", recording.getId());
+        status.put("name", recording.getName());
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("duration", recording.getDuration());
+        status.put("file", recording.getDestination() != null ? recording.getDestination().toString() : null);
+        return status;
+    }
+}
@@ -0,0 +1,146 @@
+package com.hduong25.javalearn.modules.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo CPU time và số byte heap cấp phát của thread xử lý request, qua
+ * {@link com.sun.management.ThreadMXBean} của HotSpot.
+ * <p>
+ * Cách dùng: gọi {@link #start()} trước khi xử lý và {@link #stop(String, Snapshot)} sau đó trên cùng thread.
+ * Kết quả được cộng dồn theo handler vào Micrometer:
+ * <ul>
+ *   <li>{@value #CPU_METRIC} (timer): CPU time mỗi request</li>
+ *   <li>{@value #ALLOCATION_METRIC} (summary, byte): số byte cấp phát mỗi request</li>
+ * </ul>
+ * Một cặp {@code start}/{@code stop} tốn dưới 1 µs
+ * (xem {@code ResourceAccountingBenchmark}), nên có thể bật thường xuyên trên production.
+ * <p>
+ * Chỉ tính phần việc trên thread gọi: công việc giao cho thread khác (băm mật khẩu, audit, batch loader)
+ * không được tính. Trên virtual thread, JVM không hỗ trợ các counter này; khi đó giá trị là {@code -1}
+ * và không được ghi vào metrics.
+ *
+ * @author: hduong25
+ */
+@Slf4j
+@Component
+public class RequestResourceMeter {
+
+    public static final String CPU_METRIC = "http.server.requests.cpu";
+    public static final String ALLOCATION_METRIC = "http.server.requests.allocated";
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final boolean cpuSupported;
+    private final boolean allocationSupported;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ConcurrentMap<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestResourceMeter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.cpuSupported = enableCpuTime();
+        this.allocationSupported = enableAllocatedMemory();
+    }
+
+    /**
+     * Số đo tại thời điểm bắt đầu; {@code -1} nếu không đo được.
+     */
+    public record Snapshot(long cpuNanos, long allocatedBytes) {
+    }
+
+    /**
+     * Tài nguyên một request đã dùng; {@code -1} nếu không đo được.
+     */
+    public record Usage(long cpuNanos, long allocatedBytes) {
+    }
+
+    public Snapshot start() {
+        return new Snapshot(cpuSupported ? threadMXBean.getCurrentThreadCpuTime() : -1,
+                allocationSupported ? threadMXBean.getCurrentThreadAllocatedBytes() : -1);
+    }
+
+    /**
+     * Tính phần đã dùng từ {@code start} và ghi vào metrics của {@code handler}.
+     *
+     * @param handler tên handler, dùng làm tag {@code handler}
+     * @param start   kết quả của {@link #start()} trên cùng thread
+     */
+    public Usage stop(String handler, Snapshot start) {
+        long cpuNanos = delta(start.cpuNanos(), cpuSupported ? threadMXBean.getCurrentThreadCpuTime() : -1);
+        long allocatedBytes = delta(start.allocatedBytes(),
+                allocationSupported ? threadMXBean.getCurrentThreadAllocatedBytes() : -1);
+
+        HandlerMeters handlerMeters = meters.get(handler);
+        if (handlerMeters == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return new Usage(cpuNanos, allocatedBytes);
+            }
+            handlerMeters = meters.computeIfAbsent(handler, key -> new HandlerMeters(registry, key));
+        }
+        if (cpuNanos >= 0) {
+            handlerMeters.cpu().record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+        if (allocatedBytes >= 0) {
+            handlerMeters.allocated().record(allocatedBytes);
+        }
+        return new Usage(cpuNanos, allocatedBytes);
+    }
+
+    private static long delta(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    private boolean enableCpuTime() {
+        try {
+            if (!threadMXBean.isCurrentThreadCpuTimeSupported()) {
+                return false;
+            }
+            if (!threadMXBean.isThreadCpuTimeEnabled()) {
+                threadMXBean.setThreadCpuTimeEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            log.warn("Thread CPU time measurement is not available: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean enableAllocatedMemory() {
+        try {
+            if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+                return false;
+            }
+            if (!threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            log.warn("Thread allocation measurement is not available: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private record HandlerMeters(Timer cpu, DistributionSummary allocated) {
+        HandlerMeters(MeterRegistry registry, String handler) {
+            this(Timer.builder(CPU_METRIC)
+                            .description("CPU time of the request thread per request")
+                            .tag("handler", handler)
+                            .register(registry),
+                    DistributionSummary.builder(ALLOCATION_METRIC)
+                            .description("Heap bytes allocated by the request thread per request")
+                            .baseUnit("bytes")
+                            .tag("handler", handler)
+                            .register(registry));
+        }
+    }
+}
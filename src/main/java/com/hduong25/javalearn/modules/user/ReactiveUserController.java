@@ -0,0 +1,68 @@
+package com.hduong25.javalearn.modules.user;
+
+import com.hduong25.javalearn.modules.user.service.UserExportRow;
+import com.hduong25.javalearn.modules.user.service.UserService;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.result.Result;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Phiên bản reactive của {@link UserController}.
+ *
+ * @author: hduong25
+ */
+@Validated
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final UserService userService;
+
+    /**
+     * Như {@link UserController#search}; index nằm trong bộ nhớ nên chạy thẳng trên event loop.
+     */
+    @GetMapping("/search")
+    public Result<List<Long>> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        if (StringUtils.isBlank(q)) {
+            return ResultUtils.error(ErrorResponse.BAD_REQUEST);
+        }
+        return userService.search(q, limit)
+                .map(ids -> ResultUtils.success(ids))
+                .orElseGet(() -> ResultUtils.error(HttpStatusConstants.SERVICE_UNAVAILABLE, ErrorResponse.SERVER_BUSY));
+    }
+
+    /**
+     * Export user dạng NDJSON, mỗi user một dòng, đọc từ database theo backpressure của client.
+     * Chỉ admin được gọi (xem {@code ReactiveSecurityConfig}).
+     *
+     * @param afterId chỉ export user có ID lớn hơn giá trị này
+     * @param toId    chỉ export user có ID nhỏ hơn hoặc bằng giá trị này
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserExportRow> export(@RequestParam(required = false) Long afterId,
+                                      @RequestParam(required = false) Long toId,
+                                      ServerHttpResponse response) {
+        response.getHeaders().set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"");
+        return reactiveUserRepository.streamForExport(
+                afterId != null ? afterId : Long.MIN_VALUE,
+                toId != null ? toId : Long.MAX_VALUE);
+    }
+}
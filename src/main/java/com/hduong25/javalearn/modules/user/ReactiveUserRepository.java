@@ -0,0 +1,117 @@
+package com.hduong25.javalearn.modules.user;
+
+import com.hduong25.javalearn.modules.user.service.UserExportRow;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Truy cập bảng USER qua R2DBC cho chế độ reactive.
+ * <p>
+ * Dùng SQL trực tiếp qua {@link DatabaseClient}; entity {@link UserEntity} vẫn là nguồn định nghĩa schema.
+ *
+ * @author: hduong25
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository {
+
+    private static final String FIND_AUTH_SQL = "SELECT ACCOUNT, PASSWORD FROM USER WHERE ACCOUNT = :account";
+
+    private static final String EXISTS_SQL = "SELECT 1 FROM USER WHERE ACCOUNT = :account OR EMAIL = :email LIMIT 1";
+
+    private static final String INSERT_SQL = "INSERT INTO USER"
+            + " (NAME, ADDRESS, ACCOUNT, PASSWORD, EMAIL, PHONE, CREATED_BY, UPDATED_BY, CREATED_DATE, UPDATED_DATE)"
+            + " VALUES (:name, :address, :account, :password, :email, :phone, :createdBy, :createdBy, :now, :now)";
+
+    private static final String EXPORT_SQL = "SELECT ID, NAME, ADDRESS, ACCOUNT, EMAIL, PHONE, CREATED_DATE, UPDATED_DATE"
+            + " FROM USER WHERE ID > :afterId AND ID <= :toId ORDER BY ID";
+
+    private static final String CREATED_BY = "ADMIN";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserAuthProjection> findAuthByAccount(String account) {
+        return databaseClient.sql(FIND_AUTH_SQL)
+                .bind("account", account)
+                .map(row -> (UserAuthProjection) new AuthRow(row.get("ACCOUNT", String.class), row.get("PASSWORD", String.class)))
+                .one();
+    }
+
+    public Mono<Boolean> existsByAccountOrEmail(String account, String email) {
+        return databaseClient.sql(EXISTS_SQL)
+                .bind("account", account)
+                .bind("email", email)
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    /**
+     * Thêm user mới.
+     *
+     * @return ID được sinh
+     */
+    public Mono<Long> insert(UserEntity user) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_SQL)
+                .bind("name", user.getName())
+                .bind("account", user.getAccount())
+                .bind("password", user.getPassword())
+                .bind("email", user.getEmail())
+                .bind("phone", user.getPhone())
+                .bind("createdBy", CREATED_BY)
+                .bind("now", LocalDateTime.now());
+        spec = user.getAddress() != null ? spec.bind("address", user.getAddress()) : spec.bindNull("address", String.class);
+
+        return spec.filter(statement -> statement.returnGeneratedValues("ID"))
+                .map(row -> row.get("ID", Long.class))
+                .one();
+    }
+
+    /**
+     * Đọc user theo thứ tự ID trong khoảng ({@code afterId}, {@code toId}], không gồm mật khẩu.
+     * Dữ liệu được đọc theo backpressure của subscriber.
+     */
+    public Flux<UserExportRow> streamForExport(long afterId, long toId) {
+        return databaseClient.sql(EXPORT_SQL)
+                .bind("afterId", afterId)
+                .bind("toId", toId)
+                .map(ReactiveUserRepository::toExportRow)
+                .all();
+    }
+
+    private static UserExportRow toExportRow(Readable row) {
+        return new UserExportRow(
+                row.get("ID", Long.class),
+                row.get("NAME", String.class),
+                row.get("ADDRESS", String.class),
+                row.get("ACCOUNT", String.class),
+                row.get("EMAIL", String.class),
+                row.get("PHONE", String.class),
+                toText(row.get("CREATED_DATE", LocalDateTime.class)),
+                toText(row.get("UPDATED_DATE", LocalDateTime.class)));
+    }
+
+    private static String toText(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toString() : null;
+    }
+
+    private record AuthRow(String account, String password) implements UserAuthProjection {
+        @Override
+        public String getAccount() {
+            return account;
+        }
+
+        @Override
+        public String getPassword() {
+            return password;
+        }
+    }
+}
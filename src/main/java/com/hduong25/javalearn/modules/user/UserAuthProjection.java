@@ -0,0 +1,13 @@
+package com.hduong25.javalearn.modules.user;
+
+/**
+ * Projection chỉ chứa các trường cần cho xác thực, tránh load toàn bộ {@link UserEntity}.
+ *
+ * @author: hduong25
+ */
+
+public interface UserAuthProjection {
+    String getAccount();
+
+    String getPassword();
+}
@@ -0,0 +1,162 @@
+package com.hduong25.javalearn.modules.user;
+
+import com.hduong25.javalearn.config.UserLoaderProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UserBatchLoader
+ * <p>
+ * Đọc user theo ID thay cho {@code UserRepository#findById} khi có nhiều request đồng thời:
+ * <ul>
+ *   <li>Các lần đọc cùng một ID trong lúc truy vấn chưa xong dùng chung một {@link CompletableFuture}
+ *   (coalescing), chỉ một truy vấn được gửi</li>
+ *   <li>Các ID khác nhau trong cùng {@code user-loader.window} được gom thành một câu
+ *   {@code findAllById} ({@code IN}), chia nhỏ theo {@code user-loader.max-batch-size};
+ *   đủ batch thì truy vấn ngay</li>
+ *   <li>Truy vấn chạy trên {@code applicationTaskExecutor}, thread gọi không giữ connection khi chờ</li>
+ * </ul>
+ * <p>
+ * Không có cache: future bị xóa ngay khi truy vấn xong, lần đọc sau luôn thấy dữ liệu mới nhất.
+ * Entity trả về đã detach và dùng chung giữa các thread gọi nên chỉ được đọc, không sửa.
+ *
+ * @author: hduong25
+ */
+@Component
+public class UserBatchLoader {
+
+    private final UserRepository userRepository;
+    private final UserLoaderProperties properties;
+    private final Executor executor;
+    private final Map<Long, CompletableFuture<Optional<UserEntity>>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    private List<Long> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    public UserBatchLoader(UserRepository userRepository, UserLoaderProperties properties,
+                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * Đọc user theo ID.
+     *
+     * @param id ID user
+     * @return future hoàn thành khi batch chứa ID này được truy vấn xong
+     */
+    public CompletableFuture<Optional<UserEntity>> load(long id) {
+        CompletableFuture<Optional<UserEntity>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<UserEntity>> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return existing;
+        }
+
+        if (properties.getWindow().isZero()) {
+            dispatch(List.of(id));
+            return created;
+        }
+
+        List<Long> full = null;
+        boolean schedule = false;
+        lock.lock();
+        try {
+            pending.add(id);
+            if (pending.size() >= properties.getMaxBatchSize()) {
+                full = pending;
+                pending = new ArrayList<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                schedule = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full != null) {
+            dispatch(full);
+        } else if (schedule) {
+            CompletableFuture.delayedExecutor(properties.getWindow().toNanos(), TimeUnit.NANOSECONDS, executor)
+                    .execute(this::flush);
+        }
+        return created;
+    }
+
+    /**
+     * Số câu truy vấn đã gửi xuống database.
+     */
+    public long getQueryCount() {
+        return queryCount.get();
+    }
+
+    /**
+     * Số lần đọc được gộp vào truy vấn đang chờ của cùng ID.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    private void flush() {
+        List<Long> batch;
+        lock.lock();
+        try {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            query(batch);
+        }
+    }
+
+    private void dispatch(List<Long> ids) {
+        executor.execute(() -> query(ids));
+    }
+
+    private void query(List<Long> ids) {
+        Map<Long, UserEntity> users = new HashMap<>(ids.size() * 2);
+        try {
+            queryCount.incrementAndGet();
+            if (ids.size() == 1) {
+                userRepository.findById(ids.get(0)).ifPresent(user -> users.put(user.getId(), user));
+            } else {
+                userRepository.findAllById(ids).forEach(user -> users.put(user.getId(), user));
+            }
+        } catch (RuntimeException e) {
+            ids.forEach(id -> {
+                CompletableFuture<Optional<UserEntity>> future = inFlight.remove(id);
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return;
+        }
+
+        ids.forEach(id -> {
+            CompletableFuture<Optional<UserEntity>> future = inFlight.remove(id);
+            if (future != null) {
+                future.complete(Optional.ofNullable(users.get(id)));
+            }
+        });
+    }
+}
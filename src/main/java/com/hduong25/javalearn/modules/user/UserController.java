@@ -1,8 +1,131 @@
 package com.hduong25.javalearn.modules.user;
 
+import com.hduong25.javalearn.modules.user.dto.UserDTO;
+import com.hduong25.javalearn.modules.user.service.UserExportFormat;
+import com.hduong25.javalearn.modules.user.service.UserExportService;
+import com.hduong25.javalearn.modules.user.service.UserService;
+import com.hduong25.javalearn.utils.EntityVersion;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import com.hduong25.javalearn.utils.result.Result;
+import com.hduong25.javalearn.utils.result.ResultUtils;
+import org.apache.commons.lang3.StringUtils;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
 /**
  * @author: hduong25
  */
 
+@Validated
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
+
+    private final UserExportService userExportService;
+    private final UserService userService;
+
+    /**
+     * Lấy thông tin user, hỗ trợ conditional GET.
+     * <p>
+     * Phiên bản (ID + {@code updatedDate}) được đọc trước bằng một truy vấn nhẹ; nếu khớp
+     * {@code If-None-Match} hoặc {@code If-Modified-Since} thì trả về 304 mà không load,
+     * map hay serialize user. Ngược lại trả về user kèm weak {@code ETag} và {@code Last-Modified}
+     * tính từ chính bản ghi vừa đọc.
+     * <p>
+     * {@code Cache-Control: private, no-cache}: client được giữ bản sao nhưng phải hỏi lại server
+     * trước mỗi lần dùng, proxy dùng chung không được cache vì dữ liệu cần xác thực.
+     *
+     * @param id      ID user
+     * @param request request hiện tại, dùng để kiểm tra header điều kiện
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Result<UserDTO>> getById(@PathVariable long id, WebRequest request) {
+        EntityVersion version = userService.findVersion(id).orElse(null);
+        if (version != null && request.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;
+        }
+
+        UserDTO user = version != null ? userService.findById(id).orElse(null) : null;
+        if (user == null) {
+            return ResponseEntity.ok(ResultUtils.error(HttpStatusConstants.NOT_FOUND, ErrorResponse.NOT_FOUND));
+        }
+
+        EntityVersion current = new EntityVersion(user.getId(),
+                user.getUpdatedDate() != null ? user.getUpdatedDate() : user.getCreatedDate());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(current.eTag())
+                .lastModified(current.lastModified())
+                .body(ResultUtils.success(user));
+    }
+
+    /**
+     * Tìm user theo tên (không phân biệt dấu), account, email hoặc số điện thoại.
+     * Mỗi từ trong {@code q} khớp theo tiền tố, mọi từ đều phải khớp.
+     *
+     * @param q     câu truy vấn, ví dụ {@code "nguyen an"}
+     * @param limit số kết quả tối đa, không vượt quá {@code user-search.max-limit}
+     * @return ID user xếp theo mức độ khớp; 503 nếu index chưa sẵn sàng
+     */
+    @GetMapping("/search")
+    public Result<List<Long>> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        if (StringUtils.isBlank(q)) {
+            return ResultUtils.error(ErrorResponse.BAD_REQUEST);
+        }
+        return userService.search(q, limit)
+                .map(ids -> ResultUtils.success(ids))
+                .orElseGet(() -> ResultUtils.error(HttpStatusConstants.SERVICE_UNAVAILABLE, ErrorResponse.SERVER_BUSY));
+    }
+
+    /**
+     * Export user dạng CSV hoặc NDJSON, ghi trực tiếp ra response. Chỉ admin được gọi (xem {@code SecurityConfig}).
+     * <p>
+     * Để tiếp tục một lần export bị gián đoạn, truyền ID cuối cùng đã nhận vào {@code afterId}.
+     *
+     * @param format  định dạng output ({@code CSV} hoặc {@code NDJSON})
+     * @param gzip    nén gzip output
+     * @param afterId chỉ export user có ID lớn hơn giá trị này
+     * @param toId    chỉ export user có ID nhỏ hơn hoặc bằng giá trị này
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "CSV") UserExportFormat format,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       @RequestParam(required = false) Long afterId,
+                       @RequestParam(required = false) Long toId,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + format.getExtension() + "\"");
+
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            try (GZIPOutputStream output = new GZIPOutputStream(response.getOutputStream(), 64 * 1024)) {
+                userExportService.export(format, afterId, toId, output);
+            }
+            return;
+        }
+
+        OutputStream output = response.getOutputStream();
+        userExportService.export(format, afterId, toId, output);
+        output.flush();
+    }
 }
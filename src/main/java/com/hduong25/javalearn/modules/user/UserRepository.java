@@ -1,12 +1,36 @@
 package com.hduong25.javalearn.modules.user;
 
+import com.hduong25.javalearn.utils.EntityVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * @author: hduong25
  */
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
+
+    /**
+     * Lấy thông tin xác thực theo account, sử dụng unique index {@code UK_USER_ACCOUNT}.
+     */
+    @Query("select u.account as account, u.password as password from UserEntity u where u.account = :account")
+    Optional<UserAuthProjection> findAuthByAccount(@Param("account") String account);
+
+    /**
+     * Chỉ đọc ID và ngày cập nhật qua primary key, không load entity (dùng cho conditional GET).
+     */
+    @Query("select new com.hduong25.javalearn.utils.EntityVersion(u.id, coalesce(u.updatedDate, u.createdDate))"
+            + " from UserEntity u where u.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") long id);
+
+    boolean existsByAccount(String account);
+
+    boolean existsByEmail(String email);
+
+    Optional<UserEntity> findByAccount(String account);
 }
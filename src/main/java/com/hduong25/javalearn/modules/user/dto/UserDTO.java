@@ -0,0 +1,34 @@
+package com.hduong25.javalearn.modules.user.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Thông tin user trả về cho client, không bao gồm mật khẩu.
+ *
+ * @author: hduong25
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserDTO {
+    private Long id;
+
+    private String name;
+
+    private String address;
+
+    private String account;
+
+    private String email;
+
+    private String phone;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime updatedDate;
+}
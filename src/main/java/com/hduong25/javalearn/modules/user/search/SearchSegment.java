@@ -0,0 +1,367 @@
+package com.hduong25.javalearn.modules.user.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Một phần index bất biến: từ điển term đã sắp xếp và danh sách posting của từng term.
+ * <p>
+ * Dữ liệu được lưu trong vài mảng nguyên thủy thay vì mỗi term/posting một object: heap chỉ tăng theo
+ * số byte thực sự cần và GC không phải duyệt hàng triệu object nhỏ:
+ * <ul>
+ *   <li>{@code termBytes}/{@code termOffsets}: các term (UTF-8) nối liền nhau theo thứ tự byte tăng dần;
+ *   tìm theo tiền tố bằng hai lần tìm kiếm nhị phân và các term cùng tiền tố nằm liền nhau</li>
+ *   <li>{@code postings}/{@code postingOffsets}: với mỗi term, các giá trị {@code ordinal << 2 | field};
+ *   posting của các term liền nhau cũng nằm liền nhau</li>
+ *   <li>{@code docOffsets}/{@code docTerms}: với mỗi user, các giá trị {@code termId << 2 | field} tăng dần,
+ *   để kiểm tra một user có khớp một từ khóa hay không mà không phải duyệt posting của từ khóa đó</li>
+ *   <li>{@code ids}: ordinal → user ID</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+final class SearchSegment {
+
+    static final int NAME = 0;
+    static final int ACCOUNT = 1;
+    static final int EMAIL = 2;
+    static final int PHONE = 3;
+
+    static final int FIELD_BITS = 2;
+    static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+
+    static final SearchSegment EMPTY = new SearchSegment(new long[0], new byte[0], new int[1], new int[1], new int[0],
+            new int[1], new int[0]);
+
+    private final long[] ids;
+    private final byte[] termBytes;
+    private final int[] termOffsets;
+    private final int[] postingOffsets;
+    private final int[] postings;
+    private final int[] docOffsets;
+    private final int[] docTerms;
+
+    private SearchSegment(long[] ids, byte[] termBytes, int[] termOffsets, int[] postingOffsets, int[] postings,
+                          int[] docOffsets, int[] docTerms) {
+        this.ids = ids;
+        this.termBytes = termBytes;
+        this.termOffsets = termOffsets;
+        this.postingOffsets = postingOffsets;
+        this.postings = postings;
+        this.docOffsets = docOffsets;
+        this.docTerms = docTerms;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    int termCount() {
+        return termOffsets.length - 1;
+    }
+
+    int postingCount() {
+        return postings.length;
+    }
+
+    long id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    /**
+     * Dung lượng heap của các mảng dữ liệu (không tính header object).
+     */
+    long sizeInBytes() {
+        return 8L * ids.length + termBytes.length + 4L * (termOffsets.length + postingOffsets.length
+                + postings.length + docOffsets.length + docTerms.length);
+    }
+
+    /**
+     * Term đầu tiên lớn hơn hoặc bằng {@code prefix}.
+     */
+    int lowerBound(byte[] prefix) {
+        int low = 0;
+        int high = termCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, prefix, false) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Term đầu tiên sau {@code from} không bắt đầu bằng {@code prefix}.
+     */
+    int upperBound(byte[] prefix, int from) {
+        int low = from;
+        int high = termCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, prefix, true) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    boolean isExact(int term, byte[] prefix) {
+        return term < termCount() && termOffsets[term + 1] - termOffsets[term] == prefix.length;
+    }
+
+    /**
+     * Vị trí posting đầu tiên của {@code term}; posting của {@code term} kết thúc tại
+     * {@code postingStart(term + 1)}.
+     */
+    int postingStart(int term) {
+        return postingOffsets[term];
+    }
+
+    int posting(int index) {
+        return postings[index];
+    }
+
+    /**
+     * Vị trí đầu tiên của user {@code ordinal} trong {@link #docTerm}; kết thúc tại {@code docStart(ordinal + 1)}.
+     */
+    int docStart(int ordinal) {
+        return docOffsets[ordinal];
+    }
+
+    int docTerm(int index) {
+        return docTerms[index];
+    }
+
+    private int compare(int term, byte[] prefix, boolean truncate) {
+        int from = termOffsets[term];
+        int to = termOffsets[term + 1];
+        if (truncate) {
+            to = Math.min(to, from + prefix.length);
+        }
+        return Arrays.compareUnsigned(termBytes, from, to, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Ghép các segment dựng song song thành một; ordinal của segment sau được cộng thêm
+     * tổng số user của các segment trước.
+     */
+    static SearchSegment merge(List<SearchSegment> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        int docs = 0;
+        int termCapacity = 0;
+        int byteCapacity = 0;
+        int postingCapacity = 0;
+        int[] ordinalOffsets = new int[parts.size()];
+        for (int i = 0; i < parts.size(); i++) {
+            SearchSegment part = parts.get(i);
+            ordinalOffsets[i] = docs;
+            docs += part.size();
+            termCapacity += part.termCount();
+            byteCapacity += part.termBytes.length;
+            postingCapacity += part.postings.length;
+        }
+
+        long[] ids = new long[docs];
+        for (int i = 0; i < parts.size(); i++) {
+            System.arraycopy(parts.get(i).ids, 0, ids, ordinalOffsets[i], parts.get(i).size());
+        }
+
+        byte[] termBytes = new byte[byteCapacity];
+        int[] termOffsets = new int[termCapacity + 1];
+        int[] postingOffsets = new int[termCapacity + 1];
+        int[] postings = new int[postingCapacity];
+
+        int[][] termIds = new int[parts.size()][];
+        for (int i = 0; i < parts.size(); i++) {
+            termIds[i] = new int[parts.get(i).termCount()];
+        }
+
+        int[] cursors = new int[parts.size()];
+        PriorityQueue<Integer> heap = new PriorityQueue<>((a, b) -> {
+            SearchSegment left = parts.get(a);
+            SearchSegment right = parts.get(b);
+            int cmp = Arrays.compareUnsigned(
+                    left.termBytes, left.termOffsets[cursors[a]], left.termOffsets[cursors[a] + 1],
+                    right.termBytes, right.termOffsets[cursors[b]], right.termOffsets[cursors[b] + 1]);
+            return cmp != 0 ? cmp : Integer.compare(a, b);
+        });
+        for (int i = 0; i < parts.size(); i++) {
+            if (parts.get(i).termCount() > 0) {
+                heap.add(i);
+            }
+        }
+
+        int terms = 0;
+        int byteEnd = 0;
+        int postingEnd = 0;
+        while (!heap.isEmpty()) {
+            int first = heap.poll();
+            SearchSegment source = parts.get(first);
+            int termFrom = source.termOffsets[cursors[first]];
+            int termLength = source.termOffsets[cursors[first] + 1] - termFrom;
+            System.arraycopy(source.termBytes, termFrom, termBytes, byteEnd, termLength);
+
+            int part = first;
+            while (true) {
+                termIds[part][cursors[part]] = terms;
+                postingEnd = copyPostings(parts.get(part), cursors[part], ordinalOffsets[part], postings, postingEnd);
+                if (++cursors[part] < parts.get(part).termCount()) {
+                    heap.add(part);
+                }
+                if (heap.isEmpty() || !sameTerm(parts.get(heap.peek()), cursors[heap.peek()],
+                        termBytes, byteEnd, termLength)) {
+                    break;
+                }
+                part = heap.poll();
+            }
+
+            byteEnd += termLength;
+            terms++;
+            termOffsets[terms] = byteEnd;
+            postingOffsets[terms] = postingEnd;
+        }
+
+        int[] docOffsets = new int[docs + 1];
+        int[] docTerms = new int[postingCapacity];
+        int docEnd = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            SearchSegment part = parts.get(i);
+            for (int ordinal = 0; ordinal < part.size(); ordinal++) {
+                for (int j = part.docOffsets[ordinal]; j < part.docOffsets[ordinal + 1]; j++) {
+                    int entry = part.docTerms[j];
+                    docTerms[docEnd++] = termIds[i][entry >>> FIELD_BITS] << FIELD_BITS | entry & FIELD_MASK;
+                }
+                docOffsets[ordinalOffsets[i] + ordinal + 1] = docEnd;
+            }
+        }
+
+        return new SearchSegment(ids, termBytes, Arrays.copyOf(termOffsets, terms + 1),
+                Arrays.copyOf(postingOffsets, terms + 1), postings, docOffsets, docTerms);
+    }
+
+    private static int copyPostings(SearchSegment source, int term, int ordinalOffset, int[] target, int at) {
+        int shift = ordinalOffset << FIELD_BITS;
+        for (int i = source.postingOffsets[term]; i < source.postingOffsets[term + 1]; i++) {
+            target[at++] = source.postings[i] + shift;
+        }
+        return at;
+    }
+
+    private static boolean sameTerm(SearchSegment segment, int term, byte[] bytes, int from, int length) {
+        return Arrays.equals(segment.termBytes, segment.termOffsets[term], segment.termOffsets[term + 1],
+                bytes, from, from + length);
+    }
+
+    /**
+     * Dựng một segment từ các user được thêm tuần tự; không thread-safe, mỗi thread dựng một builder riêng.
+     */
+    static final class Builder {
+
+        private final Map<String, IntList> terms = new HashMap<>();
+        private long[] ids = new long[1024];
+        private int size;
+
+        void add(UserSearchDocument document) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            int ordinal = size;
+            ids[size++] = document.id();
+
+            String[][] fieldTerms = document.terms();
+            for (int field = 0; field < fieldTerms.length; field++) {
+                int posting = ordinal << FIELD_BITS | field;
+                for (String term : fieldTerms[field]) {
+                    terms.computeIfAbsent(term, key -> new IntList()).addIfAbsent(posting);
+                }
+            }
+        }
+
+        SearchSegment build() {
+            List<Map.Entry<byte[], IntList>> sorted = new ArrayList<>(terms.size());
+            int byteCount = 0;
+            int postingCount = 0;
+            for (Map.Entry<String, IntList> entry : terms.entrySet()) {
+                byte[] bytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                sorted.add(Map.entry(bytes, entry.getValue()));
+                byteCount += bytes.length;
+                postingCount += entry.getValue().size;
+            }
+            terms.clear();
+            sorted.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+
+            byte[] termBytes = new byte[byteCount];
+            int[] termOffsets = new int[sorted.size() + 1];
+            int[] postingOffsets = new int[sorted.size() + 1];
+            int[] postings = new int[postingCount];
+            int byteEnd = 0;
+            int postingEnd = 0;
+            for (int term = 0; term < sorted.size(); term++) {
+                byte[] bytes = sorted.get(term).getKey();
+                IntList list = sorted.get(term).getValue();
+                System.arraycopy(bytes, 0, termBytes, byteEnd, bytes.length);
+                System.arraycopy(list.values, 0, postings, postingEnd, list.size);
+                byteEnd += bytes.length;
+                postingEnd += list.size;
+                termOffsets[term + 1] = byteEnd;
+                postingOffsets[term + 1] = postingEnd;
+            }
+            int[] docOffsets = new int[size + 1];
+            int[] docTerms = forwardIndex(postingOffsets, postings, docOffsets);
+            return new SearchSegment(Arrays.copyOf(ids, size), termBytes, termOffsets, postingOffsets, postings,
+                    docOffsets, docTerms);
+        }
+
+        /**
+         * Đảo posting thành danh sách term của từng user; term được duyệt theo thứ tự tăng dần
+         * nên term của mỗi user cũng tăng dần.
+         */
+        private int[] forwardIndex(int[] postingOffsets, int[] postings, int[] docOffsets) {
+            for (int posting : postings) {
+                docOffsets[(posting >>> FIELD_BITS) + 1]++;
+            }
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                docOffsets[ordinal + 1] += docOffsets[ordinal];
+            }
+
+            int[] docTerms = new int[postings.length];
+            int[] next = Arrays.copyOf(docOffsets, size);
+            for (int term = 0; term < postingOffsets.length - 1; term++) {
+                for (int i = postingOffsets[term]; i < postingOffsets[term + 1]; i++) {
+                    int posting = postings[i];
+                    docTerms[next[posting >>> FIELD_BITS]++] = term << FIELD_BITS | posting & FIELD_MASK;
+                }
+            }
+            return docTerms;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        /** Posting được thêm theo ordinal tăng dần nên chỉ cần so với phần tử cuối để bỏ trùng. */
+        void addIfAbsent(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
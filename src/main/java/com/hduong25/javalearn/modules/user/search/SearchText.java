@@ -0,0 +1,176 @@
+package com.hduong25.javalearn.modules.user.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Chuẩn hóa văn bản cho index tìm kiếm: chữ thường, bỏ dấu tiếng Việt ({@code "Nguyễn Đức"} → {@code "nguyen duc"})
+ * và tách từ.
+ * <p>
+ * Bảng bỏ dấu cho các ký tự Latin (U+0000–U+1FFF) được tính một lần bằng {@link Normalizer} (NFD),
+ * nên mỗi lần chuẩn hóa chỉ là một vòng lặp tra bảng, không cấp phát khi chuỗi đã ở dạng chuẩn.
+ *
+ * @author: hduong25
+ */
+final class SearchText {
+
+    /** Số từ tối đa của một câu truy vấn; phần sau bị bỏ qua. */
+    static final int MAX_QUERY_TOKENS = 8;
+
+    private static final char DROP = 0;
+    private static final char[] FOLD = new char[0x2000];
+
+    static {
+        for (int c = 0; c < FOLD.length; c++) {
+            FOLD[c] = foldChar((char) c);
+        }
+    }
+
+    private SearchText() {
+    }
+
+    /**
+     * Chữ thường, bỏ dấu; các ký tự khác (dấu chấm, {@code @}, khoảng trắng...) được giữ nguyên.
+     */
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length && foldOf(text.charAt(i)) == text.charAt(i)) {
+            i++;
+        }
+        if (i == length) {
+            return text;
+        }
+
+        StringBuilder folded = new StringBuilder(length).append(text, 0, i);
+        for (; i < length; i++) {
+            char c = foldOf(text.charAt(i));
+            if (c != DROP) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Tách chuỗi đã {@link #fold} thành các từ gồm chữ và số.
+     */
+    static void words(String folded, Set<String> into) {
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                into.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    static String[] nameTerms(String name) {
+        Set<String> terms = new LinkedHashSet<>();
+        words(fold(name), terms);
+        return terms.toArray(String[]::new);
+    }
+
+    /**
+     * Account đầy đủ và từng phần của account ({@code "an_nguyen"} → {@code an_nguyen, an, nguyen}).
+     */
+    static String[] accountTerms(String account) {
+        Set<String> terms = new LinkedHashSet<>();
+        String folded = fold(account).strip();
+        if (!folded.isEmpty()) {
+            terms.add(folded);
+        }
+        words(folded, terms);
+        return terms.toArray(String[]::new);
+    }
+
+    /**
+     * Email đầy đủ, từng phần của phần trước {@code @} và tên miền
+     * ({@code "an.nguyen@mail.vn"} → {@code an.nguyen@mail.vn, an, nguyen, mail.vn}).
+     */
+    static String[] emailTerms(String email) {
+        Set<String> terms = new LinkedHashSet<>();
+        String folded = fold(email).strip();
+        if (folded.isEmpty()) {
+            return new String[0];
+        }
+        terms.add(folded);
+        int at = folded.lastIndexOf('@');
+        words(at >= 0 ? folded.substring(0, at) : folded, terms);
+        if (at >= 0 && at < folded.length() - 1) {
+            terms.add(folded.substring(at + 1));
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    /**
+     * Chỉ giữ chữ số ({@code "090-123 4567"} → {@code 0901234567}).
+     */
+    static String[] phoneTerms(String phone) {
+        if (phone == null) {
+            return new String[0];
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.isEmpty() ? new String[0] : new String[]{digits.toString()};
+    }
+
+    /**
+     * Các từ của câu truy vấn, tách theo khoảng trắng; dấu câu ở hai đầu mỗi từ bị bỏ
+     * nhưng dấu bên trong được giữ để tìm được theo email hoặc account đầy đủ.
+     */
+    static List<String> queryTokens(String query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        String folded = fold(query);
+        int i = 0;
+        while (i < folded.length() && tokens.size() < MAX_QUERY_TOKENS) {
+            while (i < folded.length() && !Character.isLetterOrDigit(folded.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < folded.length() && !Character.isWhitespace(folded.charAt(i))) {
+                i++;
+            }
+            int end = i;
+            while (end > start && !Character.isLetterOrDigit(folded.charAt(end - 1))) {
+                end--;
+            }
+            if (end > start) {
+                tokens.add(folded.substring(start, end));
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static char foldOf(char c) {
+        return c < FOLD.length ? FOLD[c] : Character.toLowerCase(c);
+    }
+
+    private static char foldChar(char c) {
+        if (c == 'đ' || c == 'Đ') {
+            return 'd';
+        }
+        if (Character.getType(c) == Character.NON_SPACING_MARK) {
+            return DROP;
+        }
+        if (c < 128) {
+            return Character.toLowerCase(c);
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        return Character.toLowerCase(decomposed.charAt(0));
+    }
+}
@@ -0,0 +1,28 @@
+package com.hduong25.javalearn.modules.user.search;
+
+import com.hduong25.javalearn.modules.user.UserEntity;
+
+/**
+ * Các trường của user được đưa vào {@link UserSearchIndex}.
+ *
+ * @author: hduong25
+ */
+public record UserSearchDocument(long id, String name, String account, String email, String phone) {
+
+    public static UserSearchDocument of(UserEntity user) {
+        return new UserSearchDocument(user.getId(), user.getName(), user.getAccount(), user.getEmail(), user.getPhone());
+    }
+
+    /**
+     * Các term đã chuẩn hóa, theo thứ tự {@link SearchSegment#NAME}, {@link SearchSegment#ACCOUNT},
+     * {@link SearchSegment#EMAIL}, {@link SearchSegment#PHONE}.
+     */
+    String[][] terms() {
+        return new String[][]{
+                SearchText.nameTerms(name),
+                SearchText.accountTerms(account),
+                SearchText.emailTerms(email),
+                SearchText.phoneTerms(phone)
+        };
+    }
+}
@@ -0,0 +1,372 @@
+package com.hduong25.javalearn.modules.user.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index tìm kiếm user trong bộ nhớ theo tên, account, email và số điện thoại, thay cho
+ * {@code LIKE '%x%'} quét toàn bảng USER.
+ * <p>
+ * Cấu trúc gồm hai phần:
+ * <ul>
+ *   <li>{@link SearchSegment} bất biến, dựng lại toàn bộ từ database bởi {@link UserSearchIndexLoader}
+ *   (song song theo khoảng ID)</li>
+ *   <li>Phần thay đổi: user được thêm/sửa/xóa sau lần dựng gần nhất, cập nhật ngay sau khi transaction commit
+ *   ({@link UserSearchIndexListener}, {@code UserSyncWriter}, đăng ký qua R2DBC). Bản ghi ở đây che bản
+ *   ghi cùng ID trong segment; khi dựng lại, các thay đổi đã có trong database được bỏ khỏi phần này</li>
+ * </ul>
+ * <p>
+ * Tìm kiếm:
+ * <ul>
+ *   <li>Câu truy vấn được chuẩn hóa như dữ liệu (chữ thường, bỏ dấu) và tách theo khoảng trắng;
+ *   mỗi từ khớp theo tiền tố với một term bất kỳ của user, mọi từ đều phải khớp</li>
+ *   <li>Điểm của mỗi từ là điểm cao nhất trên các trường: account 4, email và điện thoại 3, tên 2;
+ *   nhân đôi khi khớp trọn term. Kết quả xếp theo tổng điểm giảm dần, cùng điểm thì ID tăng dần</li>
+ *   <li>Đọc không khóa; ghi (thay đổi, thay segment) tuần tự qua một {@link ReentrantLock}</li>
+ * </ul>
+ * <p>
+ * Bộ nhớ (đo với một triệu user tên tiếng Việt, account và email riêng): khoảng 4 triệu term
+ * (account, email, điện thoại gần như là term riêng của từng user) và 11 triệu posting, segment chiếm
+ * khoảng 180 MB heap; trong lúc dựng lại, segment cũ và mới cùng tồn tại. Mỗi user trong phần thay đổi tốn
+ * khoảng 2,5 KB, giới hạn bởi {@code user-search.compaction-threshold}.
+ * <p>
+ * Độ trễ ({@code UserSearchBenchmark}, một triệu user): từ khóa có chọn lọc (account, email, số điện thoại
+ * đủ dài) trả kết quả trong vài micro giây; chi phí tăng theo số posting của từ khóa ít gặp nhất trong câu,
+ * nên họ tên phổ biến ({@code "nguyen van an"}) hoặc tiền tố rất ngắn mất vài mili giây.
+ *
+ * @author: hduong25
+ */
+@Component
+@ConditionalOnProperty(prefix = "user-search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserSearchIndex {
+
+    private static final int[] FIELD_WEIGHTS = {2, 4, 3, 3};
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingInt(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentMap<Long, Change> changes = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> changedTerms = new ConcurrentSkipListMap<>();
+
+    private volatile SearchSegment segment;
+    private long sequence;
+
+    /**
+     * Thay đổi của một user sau lần dựng gần nhất; {@code document == null} nghĩa là user đã bị xóa.
+     */
+    private record Change(long sequence, UserSearchDocument document, String[][] terms) {
+    }
+
+    private record Hit(long id, int score) {
+    }
+
+    /**
+     * Thống kê kích thước index.
+     *
+     * @param users          số user trong segment
+     * @param terms          số term khác nhau trong segment
+     * @param postings       số posting trong segment
+     * @param segmentBytes   dung lượng các mảng của segment
+     * @param pendingChanges số user thay đổi từ lần dựng gần nhất
+     */
+    public record Stats(int users, int terms, int postings, long segmentBytes, int pendingChanges) {
+    }
+
+    /**
+     * Index đã được dựng lần đầu hay chưa; trước đó kết quả tìm kiếm không đầy đủ.
+     */
+    public boolean isReady() {
+        return segment != null;
+    }
+
+    /**
+     * Thêm hoặc cập nhật một user; gọi sau khi thay đổi đã commit.
+     */
+    public void index(UserSearchDocument document) {
+        apply(document.id(), document, document.terms());
+    }
+
+    /**
+     * Xóa một user khỏi kết quả tìm kiếm; gọi sau khi thay đổi đã commit.
+     */
+    public void remove(long id) {
+        apply(id, null, null);
+    }
+
+    /**
+     * Tìm user theo các từ trong {@code query}.
+     *
+     * @param query câu truy vấn, ví dụ {@code "nguyen an"}, {@code "an.nguyen@"}, {@code "0901"}
+     * @param limit số kết quả tối đa
+     * @return ID user, xếp theo mức độ khớp giảm dần
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = SearchText.queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        SearchSegment current = segment;
+        if (current != null) {
+            searchSegment(current, tokens, limit, top);
+        }
+        if (!changes.isEmpty()) {
+            searchChanges(tokens, limit, top);
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(WORST_FIRST.reversed());
+        return hits.stream().map(Hit::id).toList();
+    }
+
+    public Stats stats() {
+        SearchSegment current = segment != null ? segment : SearchSegment.EMPTY;
+        return new Stats(current.size(), current.termCount(), current.postingCount(), current.sizeInBytes(),
+                changes.size());
+    }
+
+    public int pendingChanges() {
+        return changes.size();
+    }
+
+    /**
+     * Dựng lại toàn bộ index trên thread gọi từ danh sách user đầy đủ.
+     * Trong ứng dụng, index được dựng song song từ database bởi {@link UserSearchIndexLoader}.
+     */
+    public void rebuild(Iterable<UserSearchDocument> documents) {
+        long since = beginRebuild();
+        SearchSegment.Builder builder = new SearchSegment.Builder();
+        documents.forEach(builder::add);
+        completeRebuild(builder.build(), since);
+    }
+
+    /**
+     * Đánh dấu thời điểm bắt đầu đọc database để dựng lại index.
+     * Listener chỉ nhận thay đổi sau khi commit, nên mọi thay đổi đã áp dụng tới lúc này
+     * đều có trong dữ liệu đọc được sau đó.
+     *
+     * @return số thứ tự của thay đổi cuối cùng đã áp dụng
+     */
+    long beginRebuild() {
+        writeLock.lock();
+        try {
+            return sequence;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Thay segment và bỏ các thay đổi có số thứ tự không lớn hơn {@code since}; các thay đổi đến trong lúc
+     * dựng được giữ lại và tiếp tục che segment mới.
+     */
+    void completeRebuild(SearchSegment next, long since) {
+        writeLock.lock();
+        try {
+            segment = next;
+            changes.entrySet().removeIf(entry -> {
+                if (entry.getValue().sequence() > since) {
+                    return false;
+                }
+                unlink(entry.getKey(), entry.getValue().terms(), null);
+                return true;
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void apply(long id, UserSearchDocument document, String[][] terms) {
+        writeLock.lock();
+        try {
+            if (terms != null) {
+                for (String[] fieldTerms : terms) {
+                    for (String term : fieldTerms) {
+                        changedTerms.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id);
+                    }
+                }
+            }
+            Change previous = changes.put(id, new Change(++sequence, document, terms));
+            if (previous != null) {
+                unlink(id, previous.terms(), terms);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Bỏ {@code id} khỏi các term cũ không còn trong {@code keep}. Chỉ gọi khi giữ {@link #writeLock}.
+     */
+    private void unlink(long id, String[][] terms, String[][] keep) {
+        if (terms == null) {
+            return;
+        }
+        for (String[] fieldTerms : terms) {
+            for (String term : fieldTerms) {
+                if (keep != null && contains(keep, term)) {
+                    continue;
+                }
+                Set<Long> ids = changedTerms.get(term);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    changedTerms.remove(term, ids);
+                }
+            }
+        }
+    }
+
+    /**
+     * Duyệt posting của từ khóa có ít posting nhất, và kiểm tra các từ khóa còn lại trên danh sách term
+     * của từng user (khoảng 10 term) thay vì giao các danh sách posting với nhau.
+     */
+    private void searchSegment(SearchSegment current, List<String> tokens, int limit, PriorityQueue<Hit> top) {
+        int count = tokens.size();
+        int[] from = new int[count];
+        int[] to = new int[count];
+        boolean[] exact = new boolean[count];
+        int driver = 0;
+        int driverPostings = Integer.MAX_VALUE;
+        for (int k = 0; k < count; k++) {
+            byte[] prefix = tokens.get(k).getBytes(StandardCharsets.UTF_8);
+            from[k] = current.lowerBound(prefix);
+            to[k] = current.upperBound(prefix, from[k]);
+            if (from[k] == to[k]) {
+                return;
+            }
+            exact[k] = current.isExact(from[k], prefix);
+            int postings = current.postingStart(to[k]) - current.postingStart(from[k]);
+            if (postings < driverPostings) {
+                driver = k;
+                driverPostings = postings;
+            }
+        }
+
+        boolean checkChanges = !changes.isEmpty();
+        for (int term = from[driver]; term < to[driver]; term++) {
+            for (int i = current.postingStart(term); i < current.postingStart(term + 1); i++) {
+                int posting = current.posting(i);
+                int ordinal = posting >>> SearchSegment.FIELD_BITS;
+                int score = score(current, ordinal, from, to, exact, driver,
+                        term << SearchSegment.FIELD_BITS | posting & SearchSegment.FIELD_MASK);
+                if (score == 0) {
+                    continue;
+                }
+                long id = current.id(ordinal);
+                if (!checkChanges || !changes.containsKey(id)) {
+                    offer(top, limit, id, score);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tổng điểm của user {@code ordinal} với mọi từ khóa, {@code 0} nếu thiếu một từ khóa.
+     * Một user có thể xuất hiện ở nhiều posting của từ khóa {@code driver}; chỉ posting ứng với term đầu tiên
+     * khớp của user ({@code driverEntry}) được tính, các posting còn lại trả về {@code 0}.
+     */
+    private static int score(SearchSegment current, int ordinal, int[] from, int[] to, boolean[] exact,
+                             int driver, int driverEntry) {
+        int start = current.docStart(ordinal);
+        int end = current.docStart(ordinal + 1);
+        int total = 0;
+        for (int k = 0; k < from.length; k++) {
+            int best = 0;
+            for (int j = start; j < end; j++) {
+                int entry = current.docTerm(j);
+                int term = entry >>> SearchSegment.FIELD_BITS;
+                if (term < from[k]) {
+                    continue;
+                }
+                if (term >= to[k]) {
+                    break;
+                }
+                if (k == driver && best == 0 && entry != driverEntry) {
+                    return 0;
+                }
+                best = Math.max(best, score(entry & SearchSegment.FIELD_MASK, exact[k] && term == from[k]));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private void searchChanges(List<String> tokens, int limit, PriorityQueue<Hit> top) {
+        String selective = tokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<Long> candidates = new HashSet<>();
+        for (Set<Long> ids : changedTerms.subMap(selective, true, selective + Character.MAX_VALUE, true).values()) {
+            candidates.addAll(ids);
+        }
+        for (Long id : candidates) {
+            Change change = changes.get(id);
+            if (change == null || change.document() == null) {
+                continue;
+            }
+            int score = score(change.terms(), tokens);
+            if (score > 0) {
+                offer(top, limit, id, score);
+            }
+        }
+    }
+
+    private static int score(String[][] terms, List<String> tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            int best = 0;
+            for (int field = 0; field < terms.length; field++) {
+                for (String term : terms[field]) {
+                    if (term.startsWith(token)) {
+                        best = Math.max(best, score(field, term.length() == token.length()));
+                    }
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int score(int field, boolean exact) {
+        return exact ? FIELD_WEIGHTS[field] * 2 : FIELD_WEIGHTS[field];
+    }
+
+    private static void offer(PriorityQueue<Hit> top, int limit, long id, int score) {
+        if (top.size() >= limit) {
+            Hit worst = top.peek();
+            if (score < worst.score() || score == worst.score() && id > worst.id()) {
+                return;
+            }
+            top.poll();
+        }
+        top.add(new Hit(id, score));
+    }
+
+    private static boolean contains(String[][] terms, String term) {
+        for (String[] fieldTerms : terms) {
+            for (String candidate : fieldTerms) {
+                if (candidate.equals(term)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package com.hduong25.javalearn.modules.user.search;
+
+import com.hduong25.javalearn.config.HibernateEventListenerRegistrar;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cập nhật {@link UserSearchIndex} khi {@link UserEntity} được thêm, sửa hoặc xóa qua Hibernate.
+ * <p>
+ * Listener chạy sau khi transaction commit: thay đổi bị rollback không vào index, và
+ * {@link UserSearchIndexLoader} dựa vào thứ tự này để biết thay đổi nào đã có trong database khi dựng lại.
+ *
+ * @author: hduong25
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "user-search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserSearchIndexListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final HibernateEventListenerRegistrar listenerRegistrar;
+    private final UserSearchIndex userSearchIndex;
+
+    @PostConstruct
+    public void register() {
+        listenerRegistrar.append(EventType.POST_COMMIT_INSERT, this);
+        listenerRegistrar.append(EventType.POST_COMMIT_UPDATE, this);
+        listenerRegistrar.append(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return UserEntity.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof UserEntity user) {
+            userSearchIndex.index(UserSearchDocument.of(user));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof UserEntity user) {
+            userSearchIndex.index(UserSearchDocument.of(user));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof UserEntity) {
+            userSearchIndex.remove((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Transaction rollback: index không đổi
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Transaction rollback: index không đổi
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Transaction rollback: index không đổi
+    }
+}
@@ -0,0 +1,200 @@
+package com.hduong25.javalearn.modules.user.search;
+
+import com.hduong25.javalearn.config.UserSearchProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dựng {@link UserSearchIndex} từ bảng USER: lần đầu khi ứng dụng khởi động, sau đó dựng lại khi
+ * số thay đổi vượt {@code user-search.compaction-threshold} hoặc sau mỗi {@code user-search.rebuild-interval}.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Một thread nền kiểm tra điều kiện mỗi {@code user-search.check-interval}; ứng dụng nhận request
+ *   ngay, tìm kiếm trả 503 cho tới khi lần dựng đầu tiên xong</li>
+ *   <li>Khoảng [MIN(ID), MAX(ID)] được chia đều cho {@code user-search.build-threads} thread; mỗi thread đọc
+ *   khoảng của mình theo trang ({@code ID > ? ORDER BY ID LIMIT ?}, dùng primary key) và dựng một
+ *   {@link SearchSegment} riêng, sau đó các segment được ghép theo thứ tự</li>
+ *   <li>Chỉ đọc các cột được index, không đọc mật khẩu</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user-search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserSearchIndexLoader implements SmartLifecycle {
+
+    private static final String RANGE_SQL = "SELECT MIN(ID), MAX(ID) FROM USER";
+
+    private static final String PAGE_SQL = "SELECT ID, NAME, ACCOUNT, EMAIL, PHONE FROM USER"
+            + " WHERE ID > ? AND ID <= ? ORDER BY ID LIMIT ?";
+
+    /** Khởi động cùng các worker nền khác, trước web server. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserSearchIndex userSearchIndex;
+    private final UserSearchProperties userSearchProperties;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long lastBuildNanos;
+
+    public UserSearchIndexLoader(JdbcTemplate jdbcTemplate, UserSearchIndex userSearchIndex,
+                                 UserSearchProperties userSearchProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userSearchIndex = userSearchIndex;
+        this.userSearchProperties = userSearchProperties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "user-search-indexer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Đọc lại toàn bộ bảng USER và thay segment của index.
+     */
+    public void rebuild() throws InterruptedException {
+        long start = System.nanoTime();
+        long since = userSearchIndex.beginRebuild();
+        userSearchIndex.completeRebuild(build(), since);
+        lastBuildNanos = System.nanoTime();
+
+        UserSearchIndex.Stats stats = userSearchIndex.stats();
+        log.info("User search index built: {} users, {} terms, {} postings, {} KB in {} ms ({} pending changes)",
+                stats.users(), stats.terms(), stats.postings(), stats.segmentBytes() / 1024,
+                TimeUnit.NANOSECONDS.toMillis(lastBuildNanos - start), stats.pendingChanges());
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                if (needsRebuild()) {
+                    rebuild();
+                }
+                Thread.sleep(userSearchProperties.getCheckInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to build user search index, retrying in {}", userSearchProperties.getCheckInterval(), e);
+                try {
+                    Thread.sleep(userSearchProperties.getCheckInterval().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean needsRebuild() {
+        if (!userSearchIndex.isReady()
+                || userSearchIndex.pendingChanges() >= userSearchProperties.getCompactionThreshold()) {
+            return true;
+        }
+        long interval = userSearchProperties.getRebuildInterval().toNanos();
+        return interval > 0 && System.nanoTime() - lastBuildNanos >= interval;
+    }
+
+    private SearchSegment build() throws InterruptedException {
+        long[] range = jdbcTemplate.queryForObject(RANGE_SQL, (rs, rowNum) -> {
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        });
+        if (range == null) {
+            return SearchSegment.EMPTY;
+        }
+
+        long min = range[0];
+        long max = range[1];
+        int threads = (int) Math.max(1, Math.min(userSearchProperties.getBuildThreads(), max - min + 1));
+        long step = (max - min) / threads + 1;
+        if (threads == 1) {
+            return buildRange(min - 1, max);
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-search-build-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<SearchSegment>> parts = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                long after = min - 1 + i * step;
+                long to = i == threads - 1 ? max : after + step;
+                parts.add(executor.submit(() -> buildRange(after, to)));
+            }
+            List<SearchSegment> segments = new ArrayList<>(threads);
+            for (Future<SearchSegment> part : parts) {
+                segments.add(part.get());
+            }
+            return SearchSegment.merge(segments);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Dựng segment cho các user có ID trong khoảng ({@code afterId}, {@code toId}].
+     */
+    private SearchSegment buildRange(long afterId, long toId) {
+        SearchSegment.Builder builder = new SearchSegment.Builder();
+        long[] lastId = {afterId};
+        int pageSize = userSearchProperties.getPageSize();
+        int rows;
+        do {
+            AtomicInteger pageRows = new AtomicInteger();
+            jdbcTemplate.query(PAGE_SQL, rs -> {
+                lastId[0] = rs.getLong(1);
+                builder.add(new UserSearchDocument(lastId[0], rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5)));
+                pageRows.incrementAndGet();
+            }, lastId[0], toId, pageSize);
+            rows = pageRows.get();
+        } while (rows == pageSize && !Thread.currentThread().isInterrupted());
+        return builder.build();
+    }
+}
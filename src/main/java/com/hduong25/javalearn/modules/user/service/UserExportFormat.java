@@ -0,0 +1,20 @@
+package com.hduong25.javalearn.modules.user.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Định dạng export dữ liệu user.
+ *
+ * @author: hduong25
+ */
+
+@Getter
+@AllArgsConstructor
+public enum UserExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+}
@@ -0,0 +1,10 @@
+package com.hduong25.javalearn.modules.user.service;
+
+/**
+ * Một dòng export user (không gồm mật khẩu), cùng các trường với NDJSON của {@code UserExportService}.
+ *
+ * @author: hduong25
+ */
+public record UserExportRow(long id, String name, String address, String account, String email, String phone,
+                            String createdDate, String updatedDate) {
+}
@@ -0,0 +1,26 @@
+package com.hduong25.javalearn.modules.user.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @author: hduong25
+ */
+
+public interface UserExportService {
+
+    /**
+     * Ghi toàn bộ user có ID trong khoảng {@code (afterId, toId]} ra output stream, sắp xếp theo ID.
+     * <p>
+     * Vì dữ liệu được sắp xếp theo ID, client có thể tiếp tục một lần export bị gián đoạn
+     * bằng cách truyền ID cuối cùng đã nhận vào {@code afterId}.
+     *
+     * @param format  định dạng output
+     * @param afterId ID bắt đầu (không bao gồm), null nếu export từ đầu
+     * @param toId    ID kết thúc (bao gồm), null nếu export tới cuối bảng
+     * @param output  stream đích, không bị đóng bởi phương thức này
+     * @return số dòng đã ghi
+     * @throws IOException nếu có lỗi khi ghi
+     */
+    long export(UserExportFormat format, Long afterId, Long toId, OutputStream output) throws IOException;
+}
@@ -0,0 +1,39 @@
+package com.hduong25.javalearn.modules.user.service;
+
+import com.hduong25.javalearn.modules.user.dto.UserDTO;
+import com.hduong25.javalearn.utils.EntityVersion;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author: hduong25
+ */
+
+public interface UserService {
+
+    /**
+     * Chỉ đọc ID và ngày cập nhật của user, dùng để trả lời conditional GET.
+     *
+     * @param id ID user
+     * @return phiên bản hiện tại, rỗng nếu user không tồn tại
+     */
+    Optional<EntityVersion> findVersion(long id);
+
+    /**
+     * Đọc đầy đủ thông tin user.
+     *
+     * @param id ID user
+     * @return thông tin user, rỗng nếu user không tồn tại
+     */
+    Optional<UserDTO> findById(long id);
+
+    /**
+     * Tìm user theo tên, account, email hoặc số điện thoại qua index trong bộ nhớ.
+     *
+     * @param query câu truy vấn
+     * @param limit số kết quả tối đa, {@code null} thì dùng {@code user-search.default-limit}
+     * @return ID user xếp theo mức độ khớp, rỗng nếu index bị tắt hoặc chưa dựng xong
+     */
+    Optional<List<Long>> search(String query, Integer limit);
+}
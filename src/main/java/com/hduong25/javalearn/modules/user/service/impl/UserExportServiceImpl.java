@@ -0,0 +1,222 @@
+package com.hduong25.javalearn.modules.user.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.DataSourceConfig;
+import com.hduong25.javalearn.config.ExportProperties;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.modules.user.service.UserExportFormat;
+import com.hduong25.javalearn.modules.user.service.UserExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export bảng USER theo dạng stream với bộ nhớ không đổi.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Truy vấn chạy trong transaction read-only, đọc qua cursor forward-only
+ *   ({@code getResultStream}) với fetch size cấu hình tại {@code export.fetch-size}</li>
+ *   <li>MySQL Connector/J mặc định đọc toàn bộ kết quả vào bộ nhớ và bỏ qua fetch size; khi URL không bật
+ *   {@code useCursorFetch=true}, fetch size được đặt thành {@link Integer#MIN_VALUE} để driver stream từng dòng</li>
+ *   <li>Mỗi entity được ghi ra ngay rồi detach khỏi persistence context,
+ *   nên heap không tăng theo kích thước bảng</li>
+ *   <li>Cột PASSWORD không bao giờ được export</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final String EXPORT_QUERY = "select u from UserEntity u"
+            + " where u.id > :afterId and u.id <= :toId order by u.id";
+
+    private static final String CSV_HEADER = "id,name,address,account,email,phone,createdDate,updatedDate";
+
+    private static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
+
+    private static final String CURSOR_FETCH_FLAG = "useCursorFetch=true";
+
+    private final ObjectMapper mapper;
+    private final ExportProperties exportProperties;
+    private final int fetchSize;
+
+    @PersistenceContext(unitName = DataSourceConfig.DATASOURCE_NAME)
+    private EntityManager entityManager;
+
+    public UserExportServiceImpl(ObjectMapper mapper, ExportProperties exportProperties,
+                                 @Qualifier(DataSourceConfig.DATASOURCE_PROPERTIES_NAME)
+                                 DataSourceProperties dataSourceProperties) {
+        this.mapper = mapper;
+        this.exportProperties = exportProperties;
+        this.fetchSize = fetchSize(dataSourceProperties.getUrl(), exportProperties.getFetchSize());
+    }
+
+    /**
+     * Fetch size để driver thật sự đọc theo từng phần.
+     *
+     * @param url        JDBC URL của DataSource chính
+     * @param configured {@code export.fetch-size}
+     */
+    static int fetchSize(String url, int configured) {
+        if (url != null && url.startsWith(MYSQL_URL_PREFIX) && !url.contains(CURSOR_FETCH_FLAG)) {
+            return Integer.MIN_VALUE;
+        }
+        return configured;
+    }
+
+    @Override
+    @Transactional(transactionManager = DataSourceConfig.TRANSACTION_MANAGER_NAME, readOnly = true)
+    public long export(UserExportFormat format, Long afterId, Long toId, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == UserExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        long count = 0;
+        try (Stream<UserEntity> users = entityManager.createQuery(EXPORT_QUERY, UserEntity.class)
+                .setParameter("afterId", afterId != null ? afterId : Long.MIN_VALUE)
+                .setParameter("toId", toId != null ? toId : Long.MAX_VALUE)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream()) {
+            rowWriter.begin();
+            Iterator<UserEntity> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserEntity user = iterator.next();
+                rowWriter.write(user);
+                entityManager.detach(user);
+                if (++count % exportProperties.getFlushEveryRows() == 0) {
+                    rowWriter.flush();
+                }
+            }
+            rowWriter.end();
+        }
+        return count;
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(UserEntity user) throws IOException;
+
+        void flush() throws IOException;
+
+        void end() throws IOException;
+    }
+
+    /**
+     * Ghi CSV theo RFC 4180: giá trị chứa dấu phẩy, dấu nháy hoặc xuống dòng được đặt trong nháy kép.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(UserEntity user) throws IOException {
+            writer.write(Long.toString(user.getId()));
+            writeField(user.getName());
+            writeField(user.getAddress());
+            writeField(user.getAccount());
+            writeField(user.getEmail());
+            writeField(user.getPhone());
+            writeField(toText(user.getCreatedDate()));
+            writeField(toText(user.getUpdatedDate()));
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void end() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Ghi mỗi user thành một JSON object trên một dòng, dùng chung một {@link JsonGenerator}.
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = mapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+            // NDJSON không có header
+        }
+
+        @Override
+        public void write(UserEntity user) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.getId());
+            generator.writeStringField("name", user.getName());
+            generator.writeStringField("address", user.getAddress());
+            generator.writeStringField("account", user.getAccount());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeStringField("phone", user.getPhone());
+            generator.writeStringField("createdDate", toText(user.getCreatedDate()));
+            generator.writeStringField("updatedDate", toText(user.getUpdatedDate()));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static String toText(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toString() : null;
+    }
+}
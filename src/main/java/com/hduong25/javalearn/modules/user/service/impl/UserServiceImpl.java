@@ -0,0 +1,73 @@
+package com.hduong25.javalearn.modules.user.service.impl;
+
+import com.hduong25.javalearn.config.DataSourceConfig;
+import com.hduong25.javalearn.config.UserLoaderProperties;
+import com.hduong25.javalearn.config.UserSearchProperties;
+import com.hduong25.javalearn.modules.user.UserBatchLoader;
+import com.hduong25.javalearn.modules.user.UserRepository;
+import com.hduong25.javalearn.modules.user.dto.UserDTO;
+import com.hduong25.javalearn.modules.user.search.UserSearchIndex;
+import com.hduong25.javalearn.modules.user.service.UserService;
+import com.hduong25.javalearn.utils.EntityVersion;
+import com.hduong25.javalearn.utils.ModelMapperUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+/**
+ * @author: hduong25
+ */
+
+@Service
+@RequiredArgsConstructor
+@Transactional(transactionManager = DataSourceConfig.TRANSACTION_MANAGER_NAME, readOnly = true)
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+    private final UserBatchLoader userBatchLoader;
+    private final UserLoaderProperties userLoaderProperties;
+    private final ObjectProvider<UserSearchIndex> userSearchIndex;
+    private final UserSearchProperties userSearchProperties;
+
+    @Override
+    public Optional<EntityVersion> findVersion(long id) {
+        return userRepository.findVersionById(id);
+    }
+
+    /**
+     * Đọc qua {@link UserBatchLoader} khi {@code user-loader.enabled}. Không mở transaction để thread gọi
+     * không giữ connection trong lúc chờ batch.
+     */
+    @Override
+    @Transactional(transactionManager = DataSourceConfig.TRANSACTION_MANAGER_NAME, propagation = Propagation.NOT_SUPPORTED)
+    public Optional<UserDTO> findById(long id) {
+        if (!userLoaderProperties.isEnabled()) {
+            return userRepository.findById(id).map(user -> ModelMapperUtils.map(user, UserDTO.class));
+        }
+        try {
+            return userBatchLoader.load(id).join().map(user -> ModelMapperUtils.map(user, UserDTO.class));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Chỉ đọc index trong bộ nhớ, không mở transaction.
+     */
+    @Override
+    @Transactional(transactionManager = DataSourceConfig.TRANSACTION_MANAGER_NAME, propagation = Propagation.NOT_SUPPORTED)
+    public Optional<List<Long>> search(String query, Integer limit) {
+        UserSearchIndex index = userSearchIndex.getIfAvailable();
+        if (index == null || !index.isReady()) {
+            return Optional.empty();
+        }
+        int size = limit != null ? limit : userSearchProperties.getDefaultLimit();
+        return Optional.of(index.search(query, Math.max(1, Math.min(size, userSearchProperties.getMaxLimit()))));
+    }
+}
@@ -0,0 +1,290 @@
+package com.hduong25.javalearn.modules.user.shard;
+
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.utils.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Đọc/ghi {@link UserEntity} trên bảng USER đã chia ra nhiều database ({@link UserShards}).
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>User mới nhận ID từ {@link SnowflakeIdGenerator} (worker ID khác nhau cho mỗi instance) thay vì
+ *   AUTO_INCREMENT, nên ID không trùng giữa các shard và không cần hỏi database nào trước khi ghi</li>
+ *   <li>Thao tác có khóa định tuyến (ID hoặc account, theo {@code user-shard.key}) chỉ chạm một shard;
+ *   thao tác không có khóa (tìm theo account khi định tuyến theo ID và ngược lại, phân trang, đếm)
+ *   chạy song song trên mọi shard và gộp kết quả</li>
+ *   <li>Trong lúc chia lại dữ liệu ({@code user-shard.previous-shard-count}), user chưa được chuyển vẫn nằm ở
+ *   shard cũ: đọc và cập nhật không thấy ở shard mới thì thử shard cũ, xóa thì xóa ở cả hai</li>
+ *   <li>Không đổi ACCOUNT khi cập nhật: với {@code key = ACCOUNT}, đổi account đồng nghĩa với chuyển shard</li>
+ *   <li>Unique index UK_USER_ACCOUNT/UK_USER_EMAIL chỉ có hiệu lực trong từng shard. Trước khi thêm hoặc
+ *   cập nhật, repository hỏi mọi shard xem account/email đã thuộc user khác chưa và ném
+ *   {@link DuplicateKeyException} nếu có. Kiểm tra này không nguyên tử: hai request đồng thời ghi cùng email
+ *   vào hai shard khác nhau vẫn có thể cùng thành công. Với {@code key = ACCOUNT}, account luôn duy nhất
+ *   (cùng account luôn về cùng shard) còn email thì không được đảm bảo tuyệt đối; với {@code key = ID},
+ *   cả account và email đều không được đảm bảo tuyệt đối</li>
+ * </ul>
+ * Ghi bằng JDBC trên từng shard, mỗi câu lệnh một transaction, không đi qua Hibernate (không có audit,
+ * outbox hay {@code UserSearchIndex}); các repository JPA vẫn chỉ làm việc với DataSource chính.
+ * <p>
+ * Chưa được đăng ký thành bean: {@code AuthService}, {@code UserService} và {@code UserDetailsServiceImpl}
+ * vẫn đọc/ghi USER qua {@code UserRepository} trên DataSource chính. Các class trong package này
+ * ({@link UserShards}, {@link UserShardRebalancer}) được tạo trực tiếp cho tới khi có nơi gọi.
+ *
+ * @author: hduong25
+ */
+@RequiredArgsConstructor
+public class ShardedUserRepository {
+
+    static final String COLUMNS = "ID, NAME, ADDRESS, ACCOUNT, PASSWORD, EMAIL, PHONE,"
+            + " CREATED_BY, UPDATED_BY, CREATED_DATE, UPDATED_DATE";
+
+    static final String INSERT_SQL = "INSERT INTO USER (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL = "UPDATE USER SET NAME = ?, ADDRESS = ?, PASSWORD = ?, EMAIL = ?,"
+            + " PHONE = ?, UPDATED_BY = ?, UPDATED_DATE = ? WHERE ID = ?";
+
+    private static final String FIND_BY_ID_SQL = "SELECT " + COLUMNS + " FROM USER WHERE ID = ?";
+
+    private static final String FIND_BY_ACCOUNT_SQL = "SELECT " + COLUMNS + " FROM USER WHERE ACCOUNT = ?";
+
+    private static final String FIND_CONFLICTS_SQL = "SELECT ID FROM USER WHERE (ACCOUNT = ? OR EMAIL = ?) AND ID <> ?";
+
+    private static final String FIND_BY_IDS_SQL = "SELECT " + COLUMNS + " FROM USER WHERE ID IN (%s)";
+
+    static final String PAGE_SQL = "SELECT " + COLUMNS + " FROM USER WHERE ID > ? ORDER BY ID LIMIT ?";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM USER";
+
+    private static final String DELETE_SQL = "DELETE FROM USER WHERE ID = ?";
+
+    static final RowMapper<UserEntity> ROW_MAPPER = (rs, rowNum) -> {
+        UserEntity user = UserEntity.builder()
+                .id(rs.getLong(1))
+                .name(rs.getString(2))
+                .address(rs.getString(3))
+                .account(rs.getString(4))
+                .password(rs.getString(5))
+                .email(rs.getString(6))
+                .phone(rs.getString(7))
+                .build();
+        user.setCreatedBy(rs.getString(8));
+        user.setUpdatedBy(rs.getString(9));
+        user.setCreatedDate(toLocalDateTime(rs.getTimestamp(10)));
+        user.setUpdatedDate(toLocalDateTime(rs.getTimestamp(11)));
+        return user;
+    };
+
+    private final UserShards shards;
+    private final SnowflakeIdGenerator userIdGenerator;
+
+    /**
+     * Thêm user mới; ID được sinh nếu chưa có.
+     *
+     * @return user đã có ID
+     * @throws DuplicateKeyException nếu account hoặc email đã thuộc user khác trên một shard bất kỳ
+     */
+    public UserEntity insert(UserEntity user) {
+        if (user.getId() == 0) {
+            user.setId(userIdGenerator.nextId());
+        }
+        checkUnique(user);
+        user.prePersist();
+        UserShardRouter router = shards.router();
+        shards.shard(router.shardOf(user.getId(), user.getAccount())).update(INSERT_SQL, insertArgs(user));
+        return user;
+    }
+
+    /**
+     * Cập nhật các trường của user trừ ACCOUNT, CREATED_BY và CREATED_DATE.
+     *
+     * @return {@code false} nếu user không tồn tại
+     * @throws DuplicateKeyException nếu email đã thuộc user khác trên một shard bất kỳ
+     */
+    public boolean update(UserEntity user) {
+        checkUnique(user);
+        user.preUpdate();
+        Object[] args = {user.getName(), user.getAddress(), user.getPassword(), user.getEmail(), user.getPhone(),
+                user.getUpdatedBy(), toTimestamp(user.getUpdatedDate()), user.getId()};
+        UserShardRouter router = shards.router();
+        int shard = router.shardOf(user.getId(), user.getAccount());
+        if (shards.shard(shard).update(UPDATE_SQL, args) > 0) {
+            return true;
+        }
+        int previous = router.previousShardOf(user.getId(), user.getAccount());
+        return previous >= 0 && previous != shard && shards.shard(previous).update(UPDATE_SQL, args) > 0;
+    }
+
+    public Optional<UserEntity> findById(long id) {
+        UserShardRouter router = shards.router();
+        if (!router.routesById()) {
+            return first(shards.fanOut(shard -> shards.shard(shard).query(FIND_BY_ID_SQL, ROW_MAPPER, id)));
+        }
+        return findOne(router.shardOf(id, null), router.previousShardOf(id, null), FIND_BY_ID_SQL, id);
+    }
+
+    /**
+     * @throws IncorrectResultSizeDataAccessException nếu với {@code key = ID}, nhiều shard có user khác nhau
+     *                                                mang cùng account (dữ liệu đã vi phạm tính duy nhất)
+     */
+    public Optional<UserEntity> findByAccount(String account) {
+        UserShardRouter router = shards.router();
+        if (router.routesById()) {
+            Map<Long, UserEntity> found = new TreeMap<>();
+            shards.fanOut(shard -> shards.shard(shard).query(FIND_BY_ACCOUNT_SQL, ROW_MAPPER, account))
+                    .forEach(users -> collect(users, found));
+            if (found.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException("Account " + account + " belongs to users "
+                        + found.keySet(), 1, found.size());
+            }
+            return found.values().stream().findFirst();
+        }
+        return findOne(router.shardOf(0, account), router.previousShardOf(0, account), FIND_BY_ACCOUNT_SQL, account);
+    }
+
+    /**
+     * Tìm nhiều user theo ID; mỗi shard nhận một câu truy vấn chỉ với các ID thuộc về nó.
+     *
+     * @return các user tìm thấy, theo ID tăng dần
+     */
+    public List<UserEntity> findAllById(Collection<Long> ids) {
+        Map<Long, UserEntity> found = new TreeMap<>();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        UserShardRouter router = shards.router();
+        if (!router.routesById()) {
+            shards.fanOut(shard -> findByIds(shard, List.copyOf(ids))).forEach(users -> collect(users, found));
+            return new ArrayList<>(found.values());
+        }
+
+        List<List<Long>> byShard = groupByShard(ids, false);
+        shards.fanOut(shard -> findByIds(shard, byShard.get(shard))).forEach(users -> collect(users, found));
+        if (router.isRebalancing() && found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            List<List<Long>> byPreviousShard = groupByShard(missing, true);
+            shards.fanOut(shard -> findByIds(shard, byPreviousShard.get(shard))).forEach(users -> collect(users, found));
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    /**
+     * Phân trang theo ID trên toàn bộ các shard: mỗi shard trả tối đa {@code limit} user có ID lớn hơn
+     * {@code afterId}, kết quả được gộp và cắt còn {@code limit}.
+     *
+     * @param afterId ID cuối của trang trước, {@code 0} cho trang đầu
+     * @return các user theo ID tăng dần
+     */
+    public List<UserEntity> findPage(long afterId, int limit) {
+        Map<Long, UserEntity> merged = new TreeMap<>();
+        shards.fanOut(shard -> shards.shard(shard).query(PAGE_SQL, ROW_MAPPER, afterId, limit))
+                .forEach(users -> collect(users, merged));
+        return merged.values().stream().limit(limit).toList();
+    }
+
+    public long count() {
+        return shards.fanOut(shard -> shards.shard(shard).queryForObject(COUNT_SQL, Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Xóa user theo ID.
+     *
+     * @return {@code false} nếu user không tồn tại
+     */
+    public boolean deleteById(long id) {
+        UserShardRouter router = shards.router();
+        if (!router.routesById()) {
+            return shards.fanOut(shard -> shards.shard(shard).update(DELETE_SQL, id)).stream()
+                    .mapToInt(Integer::intValue).sum() > 0;
+        }
+        int shard = router.shardOf(id, null);
+        int previous = router.previousShardOf(id, null);
+        int deleted = shards.shard(shard).update(DELETE_SQL, id);
+        if (previous >= 0 && previous != shard) {
+            deleted += shards.shard(previous).update(DELETE_SQL, id);
+        }
+        return deleted > 0;
+    }
+
+    static Object[] insertArgs(UserEntity user) {
+        return new Object[]{user.getId(), user.getName(), user.getAddress(), user.getAccount(), user.getPassword(),
+                user.getEmail(), user.getPhone(), user.getCreatedBy(), user.getUpdatedBy(),
+                toTimestamp(user.getCreatedDate()), toTimestamp(user.getUpdatedDate())};
+    }
+
+    /**
+     * Account hoặc email của {@code user} không được thuộc user khác trên bất kỳ shard nào.
+     */
+    private void checkUnique(UserEntity user) {
+        List<Long> conflicts = shards.fanOut(shard -> shards.shard(shard).queryForList(FIND_CONFLICTS_SQL,
+                        Long.class, user.getAccount(), user.getEmail(), user.getId()))
+                .stream().flatMap(List::stream).toList();
+        if (!conflicts.isEmpty()) {
+            throw new DuplicateKeyException("Account " + user.getAccount() + " or email " + user.getEmail()
+                    + " already belongs to users " + conflicts);
+        }
+    }
+
+    private Optional<UserEntity> findOne(int shard, int previous, String sql, Object key) {
+        List<UserEntity> users = shards.shard(shard).query(sql, ROW_MAPPER, key);
+        if (users.isEmpty() && previous >= 0 && previous != shard) {
+            users = shards.shard(previous).query(sql, ROW_MAPPER, key);
+        }
+        return users.stream().findFirst();
+    }
+
+    private List<UserEntity> findByIds(int shard, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return shards.shard(shard).query(String.format(FIND_BY_IDS_SQL,
+                String.join(",", Collections.nCopies(ids.size(), "?"))), ROW_MAPPER, ids.toArray());
+    }
+
+    private List<List<Long>> groupByShard(Collection<Long> ids, boolean previousLayout) {
+        UserShardRouter router = shards.router();
+        List<List<Long>> byShard = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (long id : ids) {
+            byShard.get(previousLayout ? router.previousShardOf(id, null) : router.shardOf(id, null)).add(id);
+        }
+        return byShard;
+    }
+
+    /**
+     * Gộp kết quả theo ID: trong lúc chia lại dữ liệu, một user có thể tạm thời nằm ở cả hai shard.
+     */
+    private static void collect(List<UserEntity> users, Map<Long, UserEntity> target) {
+        for (UserEntity user : users) {
+            target.putIfAbsent(user.getId(), user);
+        }
+    }
+
+    private static Optional<UserEntity> first(List<List<UserEntity>> results) {
+        return results.stream().flatMap(List::stream).findFirst();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,216 @@
+package com.hduong25.javalearn.modules.user.shard;
+
+import com.hduong25.javalearn.config.UserShardProperties;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chuyển các user đang nằm sai shard về shard của chúng theo {@link UserShardRouter}, sau khi thêm shard.
+ * <p>
+ * Quy trình thêm shard:
+ * <ol>
+ *   <li>Tạo bảng USER trên database mới, thêm database vào cuối danh sách của {@link UserShards} và đặt
+ *   {@code user-shard.previous-shard-count} bằng số shard cũ, khởi động lại các instance</li>
+ *   <li>Dừng ghi vào USER, gọi {@link #rebalance()}</li>
+ *   <li>Nếu báo cáo có {@code conflicts}, xử lý các user đó bằng tay rồi chạy lại</li>
+ *   <li>Bỏ {@code user-shard.previous-shard-count}</li>
+ * </ol>
+ * Mỗi shard được quét song song theo trang ID ({@code user-shard.rebalance-page-size}); user sai shard
+ * được thêm vào shard đích trước rồi mới xóa khỏi shard nguồn. Bị ngắt giữa chừng thì chỉ có user nằm ở
+ * cả hai shard, chạy lại sẽ tiếp tục từ đó: bản ở shard đích được giữ nguyên (cập nhật trong lúc chia lại
+ * ghi vào shard đích trước) và bản ở shard nguồn bị xóa.
+ * <p>
+ * Với {@code key = ID}, account/email chỉ duy nhất trong từng shard nên shard đích có thể đã có user khác
+ * mang cùng account hoặc email. Những user đó không được chuyển và không bị ghi đè: chúng được giữ ở shard
+ * nguồn, ghi log và trả về trong {@link ShardReport#conflicts()}. Cần dừng ghi vì một cập nhật xảy ra giữa
+ * lúc đọc và lúc xóa ở shard nguồn sẽ bị mất.
+ *
+ * @author: hduong25
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class UserShardRebalancer {
+
+    private static final String FIND_EXISTING_SQL = "SELECT ID, ACCOUNT, EMAIL FROM USER"
+            + " WHERE ID IN (%1$s) OR ACCOUNT IN (%1$s) OR EMAIL IN (%1$s)";
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM USER WHERE ID = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM USER WHERE ID IN (%s)";
+
+    private final UserShards shards;
+    private final UserShardProperties userShardProperties;
+
+    /**
+     * Kết quả quét một shard.
+     *
+     * @param shard     số thứ tự shard
+     * @param scanned   số user đọc được
+     * @param misplaced số user không thuộc về shard này (đã được chuyển nếu không phải chạy thử, trừ
+     *                  {@code conflicts})
+     * @param conflicts ID các user sai shard không chuyển được vì shard đích đã có user khác cùng account
+     *                  hoặc email; vẫn nằm ở shard này
+     */
+    public record ShardReport(int shard, long scanned, long misplaced, List<Long> conflicts) {
+    }
+
+    public record Report(boolean moved, List<ShardReport> shards, long millis) {
+
+        public long misplaced() {
+            return shards.stream().mapToLong(ShardReport::misplaced).sum();
+        }
+
+        public List<Long> conflicts() {
+            return shards.stream().flatMap(shard -> shard.conflicts().stream()).toList();
+        }
+    }
+
+    /**
+     * Đếm số user nằm sai shard và các xung đột account/email ở shard đích, không ghi gì.
+     */
+    public Report plan() {
+        return run(false);
+    }
+
+    /**
+     * Chuyển mọi user nằm sai shard về shard đúng, trừ các user xung đột account/email.
+     */
+    public Report rebalance() {
+        Report report = run(true);
+        List<Long> conflicts = report.conflicts();
+        if (conflicts.isEmpty()) {
+            log.info("User shards rebalanced: {} of {} users moved in {} ms", report.misplaced(),
+                    report.shards().stream().mapToLong(ShardReport::scanned).sum(), report.millis());
+        } else {
+            log.error("User shards partially rebalanced: {} of {} misplaced users not moved because the target shard"
+                    + " has another user with the same account or email: {}", conflicts.size(), report.misplaced(),
+                    conflicts);
+        }
+        return report;
+    }
+
+    private Report run(boolean move) {
+        long start = System.nanoTime();
+        List<ShardReport> reports = shards.fanOut(shard -> scan(shard, move));
+        return new Report(move, reports, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private ShardReport scan(int source, boolean move) {
+        UserShardRouter router = shards.router();
+        int pageSize = userShardProperties.getRebalancePageSize();
+        long lastId = 0;
+        long scanned = 0;
+        long misplaced = 0;
+        List<Long> conflicts = new ArrayList<>();
+        List<UserEntity> page;
+        do {
+            page = shards.shard(source).query(ShardedUserRepository.PAGE_SQL, ShardedUserRepository.ROW_MAPPER,
+                    lastId, pageSize);
+            List<List<UserEntity>> byTarget = new ArrayList<>(shards.size());
+            for (int i = 0; i < shards.size(); i++) {
+                byTarget.add(new ArrayList<>());
+            }
+            for (UserEntity user : page) {
+                int target = router.shardOf(user.getId(), user.getAccount());
+                if (target != source) {
+                    byTarget.get(target).add(user);
+                    misplaced++;
+                }
+                lastId = user.getId();
+            }
+            scanned += page.size();
+
+            List<Object> movedIds = new ArrayList<>();
+            for (int target = 0; target < shards.size(); target++) {
+                if (!byTarget.get(target).isEmpty()) {
+                    copy(target, byTarget.get(target), move, movedIds, conflicts);
+                }
+            }
+            if (move && !movedIds.isEmpty()) {
+                shards.shard(source).update(String.format(DELETE_SQL,
+                        String.join(",", Collections.nCopies(movedIds.size(), "?"))), movedIds.toArray());
+            }
+        } while (page.size() == pageSize);
+        return new ShardReport(source, scanned, misplaced, conflicts);
+    }
+
+    /**
+     * Thêm {@code users} vào shard {@code target}, bỏ qua user đã có ở đó (lần chạy trước bị ngắt) và user
+     * trùng account/email với user khác.
+     *
+     * @param movedIds  nhận ID các user đã có ở shard đích, có thể xóa khỏi shard nguồn
+     * @param conflicts nhận ID các user xung đột
+     */
+    private void copy(int target, List<UserEntity> users, boolean move, List<Object> movedIds, List<Long> conflicts) {
+        Set<Long> existingIds = new HashSet<>();
+        Set<String> existingAccounts = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        List<Object> keys = new ArrayList<>(users.size() * 3);
+        users.forEach(user -> keys.add(user.getId()));
+        users.forEach(user -> keys.add(user.getAccount()));
+        users.forEach(user -> keys.add(user.getEmail()));
+        shards.shard(target).query(String.format(FIND_EXISTING_SQL,
+                String.join(",", Collections.nCopies(users.size(), "?"))), rs -> {
+            existingIds.add(rs.getLong(1));
+            existingAccounts.add(normalize(rs.getString(2)));
+            existingEmails.add(normalize(rs.getString(3)));
+        }, keys.toArray());
+
+        List<UserEntity> inserts = new ArrayList<>();
+        for (UserEntity user : users) {
+            if (existingIds.contains(user.getId())) {
+                movedIds.add(user.getId());
+            } else if (existingAccounts.contains(normalize(user.getAccount()))
+                    || existingEmails.contains(normalize(user.getEmail()))) {
+                conflicts.add(user.getId());
+            } else {
+                inserts.add(user);
+            }
+        }
+        if (!move || inserts.isEmpty()) {
+            return;
+        }
+
+        try {
+            shards.shard(target).batchUpdate(ShardedUserRepository.INSERT_SQL,
+                    inserts.stream().map(ShardedUserRepository::insertArgs).toList());
+            inserts.forEach(user -> movedIds.add(user.getId()));
+        } catch (DuplicateKeyException e) {
+            // User từ shard nguồn khác vừa được chuyển vào với cùng account/email: thêm lại từng dòng
+            for (UserEntity user : inserts) {
+                insertOne(target, user, movedIds, conflicts);
+            }
+        }
+    }
+
+    private void insertOne(int target, UserEntity user, List<Object> movedIds, List<Long> conflicts) {
+        try {
+            shards.shard(target).update(ShardedUserRepository.INSERT_SQL, ShardedUserRepository.insertArgs(user));
+            movedIds.add(user.getId());
+        } catch (DuplicateKeyException e) {
+            // Trùng ID nghĩa là dòng đã được thêm trong batch trước khi lỗi
+            if (shards.shard(target).queryForObject(EXISTS_SQL, Long.class, user.getId()) > 0) {
+                movedIds.add(user.getId());
+            } else {
+                conflicts.add(user.getId());
+            }
+        }
+    }
+
+    /**
+     * So sánh không phân biệt hoa thường, như collation của unique index trên MySQL.
+     */
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+}
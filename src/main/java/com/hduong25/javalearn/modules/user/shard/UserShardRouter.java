@@ -0,0 +1,114 @@
+package com.hduong25.javalearn.modules.user.shard;
+
+import com.hduong25.javalearn.config.UserShardProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Xác định shard của một user theo ID hoặc account ({@code user-shard.key}).
+ * <p>
+ * Khóa được băm thành 64 bit rồi chia vào các shard bằng jump consistent hash (Lamping, Veach):
+ * khi tăng từ N lên N + 1 shard, chỉ khoảng 1/(N + 1) số user phải chuyển và tất cả đều chuyển sang shard
+ * mới, nên không cần bảng phân bổ dùng chung giữa các instance.
+ * <p>
+ * Account được chuyển về chữ thường trước khi băm, cùng cách so sánh của unique index UK_USER_ACCOUNT
+ * (collation không phân biệt hoa thường); nhờ vậy với {@code key = ACCOUNT}, account vẫn duy nhất trên toàn
+ * bộ các shard. Với {@code key = ID}, unique index của ACCOUNT và EMAIL chỉ có hiệu lực trong từng shard
+ * (xem {@link ShardedUserRepository}).
+ *
+ * @author: hduong25
+ */
+public final class UserShardRouter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final UserShardProperties.Key key;
+    private final int shardCount;
+    private final int previousShardCount;
+
+    public UserShardRouter(UserShardProperties.Key key, int shardCount, int previousShardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (previousShardCount < 0 || previousShardCount > shardCount) {
+            throw new IllegalArgumentException("previousShardCount must be between 0 and " + shardCount
+                    + ": " + previousShardCount);
+        }
+        this.key = key;
+        this.shardCount = shardCount;
+        this.previousShardCount = previousShardCount == shardCount ? 0 : previousShardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Khóa định tuyến là ID: tra cứu theo account phải hỏi mọi shard; ngược lại với {@code ACCOUNT}.
+     */
+    public boolean routesById() {
+        return key == UserShardProperties.Key.ID;
+    }
+
+    public boolean isRebalancing() {
+        return previousShardCount > 0;
+    }
+
+    /**
+     * Shard của user theo số shard hiện tại. Chỉ trường tương ứng với khóa định tuyến được dùng.
+     */
+    public int shardOf(long id, String account) {
+        return bucket(routingKey(id, account), shardCount);
+    }
+
+    /**
+     * Shard của user trước khi thêm shard, hoặc {@code -1} nếu không đang chia lại dữ liệu.
+     */
+    public int previousShardOf(long id, String account) {
+        return previousShardCount > 0 ? bucket(routingKey(id, account), previousShardCount) : -1;
+    }
+
+    private long routingKey(long id, String account) {
+        return routesById() ? mix(id) : hash(account);
+    }
+
+    /**
+     * Jump consistent hash: số shard trong [0, {@code buckets}) của {@code key}.
+     */
+    static int bucket(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    /**
+     * FNV-1a 64 bit trên UTF-8 của account chữ thường; {@link String#hashCode()} chỉ có 32 bit và phân bố
+     * kém với các account chỉ khác nhau ở vài ký tự cuối.
+     */
+    static long hash(String account) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : account.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Bước trộn cuối của MurmurHash3: ID liên tiếp (phần số thứ tự của Snowflake) cho giá trị rải đều.
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
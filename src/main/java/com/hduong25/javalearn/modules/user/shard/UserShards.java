@@ -0,0 +1,109 @@
+package com.hduong25.javalearn.modules.user.shard;
+
+import com.hduong25.javalearn.config.UserShardProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Các database chứa bảng USER đã chia, cùng {@link UserShardRouter} và thread pool để truy vấn song song.
+ * <p>
+ * Mỗi shard có bảng USER cùng cấu trúc với DataSource chính. Truy vấn trên nhiều shard ({@link #fanOut})
+ * chạy shard đầu tiên trên thread gọi và các shard còn lại trên pool riêng ({@code user-shard-query-*}),
+ * nên thời gian bằng shard chậm nhất thay vì tổng các shard; mỗi câu truy vấn bị giới hạn bởi
+ * {@code user-shard.query-timeout}.
+ *
+ * @author: hduong25
+ */
+@Slf4j
+public class UserShards implements AutoCloseable {
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> jdbcTemplates;
+    private final UserShardRouter router;
+    private final ExecutorService executor;
+
+    public UserShards(List<DataSource> dataSources, UserShardProperties properties) {
+        this.dataSources = List.copyOf(dataSources);
+        this.router = new UserShardRouter(properties.getKey(), dataSources.size(), properties.getPreviousShardCount());
+        this.jdbcTemplates = new ArrayList<>(dataSources.size());
+        int queryTimeout = (int) Math.max(1, properties.getQueryTimeout().toSeconds());
+        for (DataSource dataSource : dataSources) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(queryTimeout);
+            jdbcTemplates.add(jdbcTemplate);
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, dataSources.size() - 1), runnable -> {
+            Thread thread = new Thread(runnable, "user-shard-query-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int size() {
+        return jdbcTemplates.size();
+    }
+
+    public UserShardRouter router() {
+        return router;
+    }
+
+    public JdbcTemplate shard(int index) {
+        return jdbcTemplates.get(index);
+    }
+
+    /**
+     * Chạy {@code query} trên mọi shard song song.
+     *
+     * @param query nhận số thứ tự shard
+     * @return kết quả theo thứ tự shard
+     */
+    public <T> List<T> fanOut(IntFunction<T> query) {
+        int shards = size();
+        List<Future<T>> pending = new ArrayList<>(shards - 1);
+        try {
+            for (int shard = 1; shard < shards; shard++) {
+                int index = shard;
+                pending.add(executor.submit(() -> query.apply(index)));
+            }
+            List<T> results = new ArrayList<>(shards);
+            results.add(query.apply(0));
+            for (Future<T> future : pending) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying user shards", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close user shard data source", e);
+                }
+            }
+        }
+    }
+}
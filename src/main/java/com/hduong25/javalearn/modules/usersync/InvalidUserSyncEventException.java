@@ -0,0 +1,20 @@
+package com.hduong25.javalearn.modules.usersync;
+
+/**
+ * Ném ra khi message đồng bộ user không đọc được, thiếu trường bắt buộc hoặc mang ACCOUNT/EMAIL
+ * đang thuộc về user khác.
+ * Message loại này không được thử lại mà chuyển thẳng sang topic dead-letter.
+ *
+ * @author: hduong25
+ */
+
+public class InvalidUserSyncEventException extends RuntimeException {
+
+    public InvalidUserSyncEventException(String message) {
+        super(message);
+    }
+
+    public InvalidUserSyncEventException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package com.hduong25.javalearn.modules.usersync;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Thay đổi user do identity provider publish.
+ * <p>
+ * Cùng định dạng với payload outbox của ứng dụng ({@code UserOutboxListener}):
+ * <pre>
+ * {"eventType":"USER_UPDATED","id":42,"account":"...","name":"...","email":"...","phone":"...","address":"..."}
+ * </pre>
+ * {@code USER_DELETED} chỉ cần {@code id}; các loại khác được upsert.
+ *
+ * @author: hduong25
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UserSyncEvent(String eventType, Long id, String account, String name, String email,
+                            String phone, String address) {
+
+    public static final String USER_DELETED = "USER_DELETED";
+
+    public boolean isDelete() {
+        return USER_DELETED.equals(eventType);
+    }
+}
@@ -0,0 +1,151 @@
+package com.hduong25.javalearn.modules.usersync;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hduong25.javalearn.config.UserSyncConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserSyncListener
+ * <p>
+ * Nhận thay đổi user từ identity provider theo batch (mỗi lần poll một batch) và ghi qua {@link UserSyncWriter}.
+ * <p>
+ * Quy trình xử lý mỗi batch:
+ * <ol>
+ *   <li>Đọc từng message; nhiều thay đổi của cùng user ID trong batch chỉ giữ lại thay đổi cuối cùng
+ *   (cùng key nên cùng partition, thứ tự theo offset)</li>
+ *   <li>Ghi cả batch trong một transaction bằng upsert nhiều dòng</li>
+ *   <li>Container commit offset sau khi phương thức trả về ({@code AckMode.BATCH}), tức sau khi database commit</li>
+ * </ol>
+ * Gặp message không hợp lệ tại vị trí {@code i}: ghi các message trước {@code i} rồi ném
+ * {@link BatchListenerFailedException}; error handler commit offset tới {@code i}, chuyển message lỗi
+ * sang dead-letter và poll lại phần còn lại (xem {@code UserSyncConfig}).
+ * <p>
+ * Thay đổi bị {@link UserSyncWriter} từ chối vì ACCOUNT/EMAIL thuộc về user khác được xử lý như message
+ * không hợp lệ tại vị trí của nó; các message sau vị trí đó đã được ghi nhưng sẽ được poll và ghi lại
+ * (ghi theo ID nên kết quả không đổi).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user-sync", name = "enabled", havingValue = "true")
+public class UserSyncListener {
+
+    public static final String LISTENER_ID = "userSync";
+
+    private static final int MAX_NAME = 250;
+    private static final int MAX_ADDRESS = 300;
+    private static final int MAX_ACCOUNT = 100;
+    private static final int MAX_EMAIL = 100;
+    private static final int MAX_PHONE = 10;
+
+    private final ObjectReader reader;
+    private final UserSyncWriter userSyncWriter;
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong appliedCount = new AtomicLong();
+
+    public UserSyncListener(ObjectMapper mapper, UserSyncWriter userSyncWriter) {
+        this.reader = mapper.readerFor(UserSyncEvent.class);
+        this.userSyncWriter = userSyncWriter;
+    }
+
+    @KafkaListener(id = LISTENER_ID, topics = "${user-sync.topic:identity-user-events}",
+            containerFactory = UserSyncConfig.CONTAINER_FACTORY_NAME)
+    public void onBatch(List<ConsumerRecord<String, String>> records) {
+        Map<Long, UserSyncEvent> latest = new HashMap<>(records.size() * 4 / 3 + 1);
+        Map<Long, Integer> positions = new HashMap<>(records.size() * 4 / 3 + 1);
+        for (int i = 0; i < records.size(); i++) {
+            UserSyncEvent event;
+            try {
+                event = parse(records.get(i));
+            } catch (InvalidUserSyncEventException e) {
+                apply(latest, positions, i);
+                throw new BatchListenerFailedException(e.getMessage(), e, i);
+            }
+            latest.put(event.id(), event);
+            positions.put(event.id(), i);
+        }
+        apply(latest, positions, records.size());
+    }
+
+    /**
+     * Tổng số message đã nhận và đã ghi (kể cả message bị gộp vì trùng ID).
+     */
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    /**
+     * Số dòng user đã upsert hoặc xóa sau khi loại trùng.
+     */
+    public long getAppliedCount() {
+        return appliedCount.get();
+    }
+
+    /**
+     * Ghi các thay đổi đã gom; nếu có thay đổi bị từ chối thì ném lỗi tại vị trí sớm nhất trong số đó.
+     *
+     * @param positions vị trí trong batch của message cuối cùng theo từng user ID
+     * @param received  số message đã đọc
+     */
+    private void apply(Map<Long, UserSyncEvent> latest, Map<Long, Integer> positions, int received) {
+        List<UserSyncEvent> rejected = latest.isEmpty() ? List.of() : userSyncWriter.apply(latest.values());
+        if (!rejected.isEmpty()) {
+            UserSyncEvent first = rejected.get(0);
+            for (UserSyncEvent event : rejected) {
+                if (positions.get(event.id()) < positions.get(first.id())) {
+                    first = event;
+                }
+            }
+            int index = positions.get(first.id());
+            receivedCount.addAndGet(index);
+            appliedCount.addAndGet(latest.size() - rejected.size());
+            InvalidUserSyncEventException e = new InvalidUserSyncEventException("Account or email of user "
+                    + first.id() + " belongs to another user");
+            throw new BatchListenerFailedException(e.getMessage(), e, index);
+        }
+        receivedCount.addAndGet(received);
+        appliedCount.addAndGet(latest.size());
+        log.debug("Applied {} user changes from {} records", latest.size(), received);
+    }
+
+    private UserSyncEvent parse(ConsumerRecord<String, String> consumerRecord) {
+        if (consumerRecord.value() == null) {
+            throw new InvalidUserSyncEventException("Empty user event at offset " + consumerRecord.offset());
+        }
+        UserSyncEvent event;
+        try {
+            event = reader.readValue(consumerRecord.value());
+        } catch (JsonProcessingException e) {
+            throw new InvalidUserSyncEventException("Unreadable user event at offset " + consumerRecord.offset(), e);
+        }
+
+        if (event.id() == null || event.id() <= 0) {
+            throw new InvalidUserSyncEventException("Missing user id at offset " + consumerRecord.offset());
+        }
+        if (event.isDelete()) {
+            return event;
+        }
+        if (StringUtils.isAnyBlank(event.name(), event.account(), event.email(), event.phone())
+                || event.name().length() > MAX_NAME
+                || StringUtils.length(event.address()) > MAX_ADDRESS
+                || event.account().length() > MAX_ACCOUNT
+                || event.email().length() > MAX_EMAIL
+                || event.phone().length() > MAX_PHONE) {
+            throw new InvalidUserSyncEventException("Invalid fields for user " + event.id()
+                    + " at offset " + consumerRecord.offset());
+        }
+        return event;
+    }
+}
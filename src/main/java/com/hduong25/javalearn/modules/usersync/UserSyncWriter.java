@@ -0,0 +1,274 @@
+package com.hduong25.javalearn.modules.usersync;
+
+import com.hduong25.javalearn.config.DataSourceConfig;
+import com.hduong25.javalearn.config.UserSyncProperties;
+import com.hduong25.javalearn.modules.auth.service.impl.UserDetailsServiceImpl;
+import com.hduong25.javalearn.modules.user.search.UserSearchDocument;
+import com.hduong25.javalearn.modules.user.search.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ghi một batch {@link UserSyncEvent} đã loại trùng xuống bảng USER trong một transaction.
+ * <p>
+ * Cách hoạt động, mỗi chunk tối đa {@code user-sync.upsert-chunk-size} user:
+ * <ul>
+ *   <li>Xóa trước, bằng một câu lệnh {@code DELETE ... WHERE ID IN (...)} cho mỗi chunk</li>
+ *   <li>Đọc ID và ACCOUNT hiện có của các user trong chunk, cùng các user khác đang giữ ACCOUNT/EMAIL của chunk</li>
+ *   <li>Thay đổi mang ACCOUNT hoặc EMAIL đang thuộc về một user khác ID (trong bảng hoặc trong cùng batch)
+ *   bị từ chối và trả về cho listener để chuyển sang dead-letter, không ghi đè user đang giữ chúng</li>
+ *   <li>User đã có được cập nhật theo ID bằng batch {@code UPDATE ... WHERE ID = ?}; user mới được chèn bằng một câu
+ *   lệnh {@code INSERT ... VALUES (...), (...)}. Không dùng {@code ON DUPLICATE KEY UPDATE} vì MySQL kích hoạt nó
+ *   trên mọi unique key (UK_USER_ACCOUNT, UK_USER_EMAIL) chứ không riêng ID</li>
+ *   <li>User mới nhận mật khẩu không dùng được ({@link #UNUSABLE_PASSWORD}), chỉ đăng nhập qua identity provider;
+ *   user đã có giữ nguyên mật khẩu, CREATED_BY và CREATED_DATE</li>
+ * </ul>
+ * <p>
+ * Lưu ý:
+ * <ul>
+ *   <li>ID do identity provider cấp được ghi trực tiếp vào cột ID</li>
+ *   <li>Ghi bằng JDBC nên không đi qua Hibernate: không sinh audit và không sinh sự kiện outbox
+ *   (tránh đẩy ngược thay đổi về Kafka); sau khi transaction commit, {@link UserSearchIndex} được cập nhật và
+ *   principal của các tài khoản bị đổi/xóa được xóa khỏi cache của {@link UserDetailsServiceImpl}</li>
+ *   <li>User đang giữ ACCOUNT/EMAIL được tìm bằng {@code IN (...)} theo collation của cột, giống unique key
+ *   (MySQL mặc định không phân biệt hoa thường); trong cùng batch các giá trị được so khớp không phân biệt
+ *   hoa thường</li>
+ *   <li>Một user khác chiếm ACCOUNT/EMAIL giữa lúc kiểm tra và lúc ghi (ví dụ đăng ký đồng thời) làm câu lệnh ghi
+ *   ném {@code DuplicateKeyException}: transaction rollback, batch được thử lại và lần kiểm tra sau từ chối
+ *   thay đổi đó</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "user-sync", name = "enabled", havingValue = "true")
+public class UserSyncWriter {
+
+    /** Không phải hash hợp lệ của thuật toán nào: mọi lần so khớp mật khẩu đều thất bại. */
+    public static final String UNUSABLE_PASSWORD = "!";
+
+    private static final String SYNC_USER = "USER_SYNC";
+
+    private static final String SELECT_ACCOUNTS_SQL = "SELECT ID, ACCOUNT FROM USER WHERE ID IN (%s)";
+
+    private static final String SELECT_HOLDERS_SQL = "SELECT ID, ACCOUNT, EMAIL FROM USER"
+            + " WHERE ACCOUNT IN (%1$s) OR EMAIL IN (%1$s)";
+
+    private static final String INSERT_SQL = "INSERT INTO USER"
+            + " (ID, NAME, ADDRESS, ACCOUNT, PASSWORD, EMAIL, PHONE, CREATED_BY, UPDATED_BY, CREATED_DATE, UPDATED_DATE)"
+            + " VALUES %s";
+
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int INSERT_COLUMNS = 11;
+
+    private static final String UPDATE_SQL = "UPDATE USER SET NAME = ?, ADDRESS = ?, ACCOUNT = ?, EMAIL = ?,"
+            + " PHONE = ?, UPDATED_BY = ?, UPDATED_DATE = ? WHERE ID = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM USER WHERE ID IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserSyncProperties userSyncProperties;
+    private final ObjectProvider<UserSearchIndex> userSearchIndex;
+    private final ObjectProvider<UserDetailsServiceImpl> userDetailsService;
+
+    /**
+     * Ghi batch; mỗi user ID chỉ được xuất hiện một lần.
+     *
+     * @param events các thay đổi đã loại trùng theo ID
+     * @return các thay đổi bị từ chối vì ACCOUNT hoặc EMAIL thuộc về user khác, không được ghi
+     */
+    @Transactional(transactionManager = DataSourceConfig.TRANSACTION_MANAGER_NAME)
+    public List<UserSyncEvent> apply(Collection<UserSyncEvent> events) {
+        List<UserSyncEvent> upserts = new ArrayList<>(events.size());
+        List<Object> deleteIds = new ArrayList<>();
+        for (UserSyncEvent event : events) {
+            if (event.isDelete()) {
+                deleteIds.add(event.id());
+            } else {
+                upserts.add(event);
+            }
+        }
+
+        int chunkSize = userSyncProperties.getUpsertChunkSize();
+        Set<String> changedAccounts = new HashSet<>();
+        // Xóa trước để ACCOUNT/EMAIL của user bị xóa có thể được user khác trong batch nhận lại
+        for (int from = 0; from < deleteIds.size(); from += chunkSize) {
+            List<Object> chunk = deleteIds.subList(from, Math.min(from + chunkSize, deleteIds.size()));
+            changedAccounts.addAll(accountsById(chunk).values());
+            jdbcTemplate.update(String.format(DELETE_SQL, placeholders(chunk.size())), chunk.toArray());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Claims claimed = new Claims();
+        List<UserSyncEvent> applied = new ArrayList<>(upserts.size());
+        List<UserSyncEvent> rejected = new ArrayList<>();
+        for (int from = 0; from < upserts.size(); from += chunkSize) {
+            List<UserSyncEvent> chunk = upserts.subList(from, Math.min(from + chunkSize, upserts.size()));
+            upsert(chunk, now, claimed, applied, rejected, changedAccounts);
+        }
+
+        userSearchIndex.ifAvailable(index -> indexAfterCommit(index, applied, deleteIds));
+        userDetailsService.ifAvailable(service -> evictAfterCommit(service, changedAccounts));
+        return rejected;
+    }
+
+    private static void indexAfterCommit(UserSearchIndex index, List<UserSyncEvent> upserts, List<Object> deleteIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (UserSyncEvent event : upserts) {
+                    index.index(new UserSearchDocument(event.id(), event.name(), event.account(), event.email(),
+                            event.phone()));
+                }
+                for (Object id : deleteIds) {
+                    index.remove((Long) id);
+                }
+            }
+        });
+    }
+
+    private static void evictAfterCommit(UserDetailsServiceImpl service, Set<String> accounts) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accounts.forEach(service::evict);
+            }
+        });
+    }
+
+    /**
+     * Ghi một chunk: từ chối thay đổi trùng ACCOUNT/EMAIL với user khác, cập nhật user đã có, chèn user mới.
+     *
+     * @param claimed         ACCOUNT/EMAIL đã được nhận trong batch
+     * @param applied         nhận các thay đổi đã ghi
+     * @param rejected        nhận các thay đổi bị từ chối
+     * @param changedAccounts nhận ACCOUNT cũ và mới của các user đã ghi, để xóa khỏi cache principal
+     */
+    private void upsert(List<UserSyncEvent> chunk, Timestamp now, Claims claimed,
+                        List<UserSyncEvent> applied, List<UserSyncEvent> rejected, Set<String> changedAccounts) {
+        List<Object> ids = new ArrayList<>(chunk.size());
+        List<Object> args = new ArrayList<>(chunk.size() * 2);
+        for (UserSyncEvent event : chunk) {
+            ids.add(event.id());
+            args.add(event.account());
+        }
+        for (UserSyncEvent event : chunk) {
+            args.add(event.email());
+        }
+        Map<Long, String> existing = accountsById(ids);
+        Claims holders = new Claims();
+        jdbcTemplate.query(String.format(SELECT_HOLDERS_SQL, placeholders(chunk.size())),
+                rs -> {
+                    holders.claim(rs.getLong("ID"), rs.getString("ACCOUNT"), rs.getString("EMAIL"));
+                }, args.toArray());
+
+        List<UserSyncEvent> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (UserSyncEvent event : chunk) {
+            if (holders.heldByOther(event) || claimed.heldByOther(event)) {
+                rejected.add(event);
+                continue;
+            }
+            claimed.claim(event.id(), event.account(), event.email());
+            applied.add(event);
+            changedAccounts.add(event.account());
+
+            String previousAccount = existing.get(event.id());
+            if (previousAccount == null) {
+                inserts.add(event);
+            } else {
+                changedAccounts.add(previousAccount);
+                updates.add(new Object[]{event.name(), event.address(), event.account(), event.email(), event.phone(),
+                        SYNC_USER, now, event.id()});
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        if (!inserts.isEmpty()) {
+            insert(inserts, now);
+        }
+    }
+
+    private void insert(List<UserSyncEvent> events, Timestamp now) {
+        Object[] args = new Object[events.size() * INSERT_COLUMNS];
+        int i = 0;
+        for (UserSyncEvent event : events) {
+            args[i++] = event.id();
+            args[i++] = event.name();
+            args[i++] = event.address();
+            args[i++] = event.account();
+            args[i++] = UNUSABLE_PASSWORD;
+            args[i++] = event.email();
+            args[i++] = event.phone();
+            args[i++] = SYNC_USER;
+            args[i++] = SYNC_USER;
+            args[i++] = now;
+            args[i++] = now;
+        }
+        jdbcTemplate.update(String.format(INSERT_SQL,
+                String.join(", ", Collections.nCopies(events.size(), INSERT_ROW))), args);
+    }
+
+    private Map<Long, String> accountsById(List<Object> ids) {
+        Map<Long, String> accounts = new HashMap<>(ids.size() * 4 / 3 + 1);
+        jdbcTemplate.query(String.format(SELECT_ACCOUNTS_SQL, placeholders(ids.size())),
+                rs -> {
+                    accounts.put(rs.getLong("ID"), rs.getString("ACCOUNT"));
+                }, ids.toArray());
+        return accounts;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * ACCOUNT và EMAIL đang thuộc về user nào, so khớp không phân biệt hoa thường.
+     */
+    private static final class Claims {
+
+        private final Map<String, Long> accounts = new HashMap<>();
+        private final Map<String, Long> emails = new HashMap<>();
+
+        void claim(long id, String account, String email) {
+            accounts.put(normalize(account), id);
+            emails.put(normalize(email), id);
+        }
+
+        boolean heldByOther(UserSyncEvent event) {
+            return heldByOther(accounts, event.account(), event.id())
+                    || heldByOther(emails, event.email(), event.id());
+        }
+
+        private static boolean heldByOther(Map<String, Long> holders, String key, Long id) {
+            Long holder = holders.get(normalize(key));
+            return holder != null && !holder.equals(id);
+        }
+
+        private static String normalize(String value) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hduong25.javalearn.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Phiên bản của một entity kế thừa {@link BaseEntity}, dùng cho conditional GET.
+ * <p>
+ * Phiên bản gồm ID và {@code updatedDate} (hoặc {@code createdDate} nếu bản ghi chưa từng cập nhật):
+ * <ul>
+ *   <li>{@link #eTag()}: weak ETag {@code W/"<id>-<thời điểm dạng hex>"}, đổi mỗi khi {@code updatedDate} đổi</li>
+ *   <li>{@link #lastModified()}: epoch millis cho header {@code Last-Modified}</li>
+ * </ul>
+ * ETag là weak vì được suy ra từ thời điểm cập nhật chứ không từ nội dung response
+ * (cùng phiên bản có thể được nén hoặc serialize khác nhau).
+ * <p>
+ * Vì vậy mọi đường ghi bản ghi đều phải cập nhật {@code UPDATED_DATE}: qua entity (Hibernate tự gán)
+ * hoặc tự gán trong câu SQL như {@code UserSyncWriter} và {@code ShardedUserRepository}; câu {@code UPDATE}
+ * bỏ sót cột này khiến client tiếp tục nhận 304 với dữ liệu cũ.
+ * <p>
+ * Có thể đọc phiên bản bằng truy vấn chỉ lấy ID và ngày cập nhật, ví dụ
+ * {@code select new com.hduong25.javalearn.utils.EntityVersion(u.id, coalesce(u.updatedDate, u.createdDate)) ...},
+ * để trả lời {@code If-None-Match}/{@code If-Modified-Since} mà không load cả bản ghi.
+ *
+ * @param id          ID của entity
+ * @param updatedDate thời điểm cập nhật gần nhất, có thể null
+ * @author: hduong25
+ */
+public record EntityVersion(Object id, LocalDateTime updatedDate) {
+
+    public static EntityVersion of(BaseEntity<?> entity) {
+        return new EntityVersion(entity.getId(),
+                entity.getUpdatedDate() != null ? entity.getUpdatedDate() : entity.getCreatedDate());
+    }
+
+    public String eTag() {
+        StringBuilder builder = new StringBuilder(32).append("W/\"").append(id);
+        if (updatedDate != null) {
+            long epochSecond = updatedDate.atZone(ZoneId.systemDefault()).toEpochSecond();
+            builder.append('-').append(Long.toHexString(epochSecond))
+                    .append('.').append(Integer.toHexString(updatedDate.getNano()));
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * @return epoch millis của {@code updatedDate}, hoặc {@code -1} nếu không có
+     * (Spring bỏ qua {@code If-Modified-Since} khi giá trị âm)
+     */
+    public long lastModified() {
+        return updatedDate != null ? updatedDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
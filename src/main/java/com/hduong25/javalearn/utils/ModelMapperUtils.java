@@ -1,5 +1,6 @@
 package com.hduong25.javalearn.utils;
 
+import com.hduong25.javalearn.utils.jfr.MappingEvent;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.modelmapper.convention.NameTokenizers;
@@ -26,6 +27,8 @@ import java.util.List;
  * <p>Cấu hình này cho phép ModelMapper tự động nhận biết quy ước đặt tên
  * và ánh xạ các thuộc tính một cách linh hoạt.</p>
  *
+ * <p>Mỗi lần gọi {@code map} ghi một JFR {@link MappingEvent} khi có recording bật event này.</p>
+ *
  * @author hduong25
  */
 public class ModelMapperUtils {
@@ -61,7 +64,13 @@ public class ModelMapperUtils {
      * }</pre>
      */
     public static <T> T map(Object source, Class<T> target) {
-        return source == null ? null : modelMapper.map(source, target);
+        if (source == null) return null;
+
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        T result = modelMapper.map(source, target);
+        event.complete(source, target, 1);
+        return result;
     }
 
     /**
@@ -70,7 +79,7 @@ public class ModelMapperUtils {
      * @param source đối tượng nguồn cần ánh xạ.
      * @param target instance đích đã tồn tại để cập nhật dữ liệu.
      * @param <T>    kiểu dữ liệu của instance đích.
-     * @return instance đích với dữ liệu được ánh xạ, hoặc null nếu source là null.
+     * @return instance đích với dữ liệu được ánh xạ, hoặc null nếu source hoặc target là null.
      *
      * <p>Ví dụ:</p>
      * <pre>{@code
@@ -80,9 +89,12 @@ public class ModelMapperUtils {
      * }</pre>
      */
     public static <T> T map(Object source, T target) {
-        if (source == null) return null;
+        if (source == null || target == null) return null;
 
+        MappingEvent event = new MappingEvent();
+        event.begin();
         modelMapper.map(source, target);
+        event.complete(source, target.getClass(), 1);
         return target;
     }
 
@@ -104,9 +116,13 @@ public class ModelMapperUtils {
      * }</pre>
      */
     public static <T> List<T> map(List<?> source, Class<T> target) {
-        return source != null && !source.isEmpty()
-                ? source.stream().map(s -> modelMapper.map(s, target)).toList()
-                : null;
+        if (source == null || source.isEmpty()) return null;
+
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        List<T> result = source.stream().map(s -> modelMapper.map(s, target)).toList();
+        event.complete(source, target, result.size());
+        return result;
     }
 
     /**
@@ -134,10 +150,13 @@ public class ModelMapperUtils {
     public static <T> List<T> map(Iterable<?> source, Class<T> target) {
         if (source == null) return new ArrayList<>();
 
+        MappingEvent event = new MappingEvent();
+        event.begin();
         List<T> resultList = new ArrayList<>();
         source.forEach(s ->
                 resultList.add(modelMapper.map(s, target))
         );
+        event.complete(source, target, resultList.size());
 
         return resultList;
     }
@@ -157,8 +176,12 @@ public class ModelMapperUtils {
      * }</pre>
      */
     public static <T> Page<T> map(Page<?> source, Class<T> target) {
-        return source != null && !source.isEmpty()
-                ? source.map(s -> modelMapper.map(s, target))
-                : null;
+        if (source == null || source.isEmpty()) return null;
+
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        Page<T> result = source.map(s -> modelMapper.map(s, target));
+        event.complete(source, target, result.getNumberOfElements());
+        return result;
     }
 }
@@ -0,0 +1,90 @@
+package com.hduong25.javalearn.utils;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request phát lại phần body mà filter đã đọc, sau đó đọc tiếp phần còn lại từ stream gốc.
+ * <p>
+ * Stream luôn ở trạng thái sẵn sàng ({@code isReady() == true}): phần đầu đã nằm trong bộ nhớ, phần còn
+ * lại đọc blocking từ stream gốc. Với non-blocking I/O ({@link ServletInputStream#setReadListener}),
+ * listener được gọi {@code onDataAvailable} ngay, rồi {@code onAllDataRead} nếu đã đọc hết body.
+ *
+ * @author: hduong25
+ */
+public class ReplayedBodyRequest extends HttpServletRequestWrapper {
+    private final ServletInputStream inputStream;
+
+    /**
+     * @param request request gốc
+     * @param head    phần đầu body đã đọc từ {@code request.getInputStream()}
+     */
+    public ReplayedBodyRequest(HttpServletRequest request, byte[] head) throws IOException {
+        super(request);
+        InputStream body = new SequenceInputStream(new ByteArrayInputStream(head), request.getInputStream());
+        this.inputStream = new ServletInputStream() {
+            private boolean finished;
+
+            @Override
+            public int read() throws IOException {
+                int value = body.read();
+                finished = value < 0;
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = body.read(buffer, offset, length);
+                finished = read < 0;
+                return read;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return finished;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                try {
+                    if (!finished) {
+                        readListener.onDataAvailable();
+                    }
+                    if (finished) {
+                        readListener.onAllDataRead();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    readListener.onError(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        return new BufferedReader(new InputStreamReader(inputStream,
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+    }
+}
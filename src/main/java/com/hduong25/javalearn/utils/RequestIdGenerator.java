@@ -0,0 +1,25 @@
+package com.hduong25.javalearn.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sinh request ID cho log, cùng định dạng UUID version 4 như {@link UUID#randomUUID()}.
+ * <p>
+ * {@link UUID#randomUUID()} dùng một {@code SecureRandom} chung cho mọi thread; request ID chỉ dùng để
+ * truy vết log, không cần khó đoán, nên dùng {@link ThreadLocalRandom} để không tranh chấp giữa các thread.
+ *
+ * @author: hduong25
+ */
+public final class RequestIdGenerator {
+
+    private RequestIdGenerator() {
+    }
+
+    public static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -0,0 +1,154 @@
+package com.hduong25.javalearn.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mask dữ liệu nhạy cảm trước khi ghi log (header, tham số, body JSON).
+ * <p>
+ * Danh sách trường được xử lý một lần khi khởi tạo. Body được quét một lần bằng {@link String#indexOf}
+ * trên dấu nháy kép, thay vì biên dịch và chạy một regex {@code ("field"\s*:\s*")(.*?)(")} cho từng trường
+ * ở mỗi request; với body JSON hợp lệ kết quả giống hệt regex đó (giá trị không chứa xuống dòng, kết thúc ở
+ * dấu nháy kép tiếp theo). Với chuỗi không phải JSON, khi giá trị của một trường lại là tên một trường khác
+ * ({@code "token":"password":"x"}), body chỉ được quét một lần nên có thể mask khác regex chạy lần lượt từng trường.
+ *
+ * @author: hduong25
+ */
+public final class SensitiveDataMasker {
+
+    public static final String MASK = "******";
+    private static final String TRUNCATED_SUFFIX = "... (truncated)";
+
+    private final List<String> maskedFields;
+    private final Set<String> maskedFieldSet;
+    private final int maxBodyLength;
+
+    /**
+     * @param maskedFields  tên các trường cần mask
+     * @param maxBodyLength độ dài tối đa của body sau khi mask, phần còn lại bị cắt
+     */
+    public SensitiveDataMasker(Collection<String> maskedFields, int maxBodyLength) {
+        this.maskedFields = List.copyOf(maskedFields);
+        this.maskedFieldSet = Set.copyOf(maskedFields);
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    /**
+     * Mask giá trị header nếu tên header chứa một trong các trường cần mask.
+     */
+    public String maskHeader(String name, String value) {
+        String lowerName = name.toLowerCase();
+        for (String field : maskedFields) {
+            if (lowerName.contains(field)) {
+                return MASK;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Mask giá trị chuỗi của các trường nhạy cảm trong body JSON, rồi cắt nếu dài hơn {@code maxBodyLength}.
+     */
+    public String maskBody(String content) {
+        if (content == null || content.isBlank()) {
+            return content;
+        }
+
+        String masked = maskFields(content);
+        return masked.length() > maxBodyLength ? masked.substring(0, maxBodyLength) + TRUNCATED_SUFFIX : masked;
+    }
+
+    private String maskFields(String content) {
+        StringBuilder masked = null;
+        int copied = 0;
+        int quote = content.indexOf('"');
+        while (quote >= 0) {
+            int valueStart = valueStart(content, quote);
+            int valueEnd = valueStart < 0 ? -1 : valueEnd(content, valueStart);
+            if (valueEnd < 0) {
+                quote = content.indexOf('"', quote + 1);
+                continue;
+            }
+
+            if (masked == null) {
+                masked = new StringBuilder(content.length());
+            }
+            masked.append(content, copied, valueStart).append(MASK);
+            copied = valueEnd;
+            quote = content.indexOf('"', valueEnd + 1);
+        }
+
+        if (masked == null) {
+            return content;
+        }
+        return masked.append(content, copied, content.length()).toString();
+    }
+
+    /**
+     * Nếu tại {@code quote} là {@code "field"\s*:\s*"} với field cần mask thì trả về vị trí bắt đầu giá trị,
+     * ngược lại trả về -1.
+     */
+    private int valueStart(String content, int quote) {
+        for (String field : maskedFields) {
+            int end = quote + 1 + field.length();
+            if (end < content.length() && content.charAt(end) == '"' && content.startsWith(field, quote + 1)) {
+                int index = skipWhitespace(content, end + 1);
+                if (index >= content.length() || content.charAt(index) != ':') {
+                    return -1;
+                }
+                index = skipWhitespace(content, index + 1);
+                return index < content.length() && content.charAt(index) == '"' ? index + 1 : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Vị trí dấu nháy kép kết thúc giá trị, -1 nếu không có hoặc giá trị chứa xuống dòng.
+     */
+    private static int valueEnd(String content, int valueStart) {
+        int end = content.indexOf('"', valueStart);
+        if (end < 0) {
+            return -1;
+        }
+        for (int i = valueStart; i < end; i++) {
+            char c = content.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return -1;
+            }
+        }
+        return end;
+    }
+
+    private static int skipWhitespace(String content, int index) {
+        while (index < content.length()) {
+            char c = content.charAt(index);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r') {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Mask các key nhạy cảm trong Map (không phân biệt hoa thường), xử lý đệ quy Map con.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> maskParameters(Map<String, ?> data) {
+        Map<String, Object> maskedData = new HashMap<>();
+        data.forEach((key, value) -> {
+            if (maskedFieldSet.contains(key.toLowerCase())) {
+                maskedData.put(key, MASK);
+            } else if (value instanceof Map) {
+                maskedData.put(key, maskParameters((Map<String, ?>) value));
+            } else {
+                maskedData.put(key, value);
+            }
+        });
+        return maskedData;
+    }
+}
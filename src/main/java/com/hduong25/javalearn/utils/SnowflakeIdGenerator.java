@@ -0,0 +1,70 @@
+package com.hduong25.javalearn.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sinh ID 64 bit duy nhất giữa nhiều instance mà không cần phối hợp (không dùng sequence hay
+ * AUTO_INCREMENT của database).
+ * <p>
+ * Cấu trúc ID (giống Snowflake):
+ * <ul>
+ *   <li>1 bit dấu, luôn 0</li>
+ *   <li>41 bit: số mili giây kể từ {@link #EPOCH_MILLIS} (đủ khoảng 69 năm)</li>
+ *   <li>10 bit: worker ID của instance</li>
+ *   <li>12 bit: số thứ tự trong cùng mili giây (4096 ID/ms mỗi instance)</li>
+ * </ul>
+ * ID của một instance tăng dần; giữa các instance, ID tăng gần đúng theo thời gian tạo.
+ * <p>
+ * Phần thời gian và số thứ tự được giữ chung trong một {@link AtomicLong}: mỗi ID mới lớn hơn ID trước ít
+ * nhất 1. Khi đồng hồ lùi hoặc một mili giây hết số thứ tự, phần thời gian được mượn trước và đồng hồ
+ * thật sẽ bắt kịp sau đó, thay vì chờ. Hai instance không được dùng chung worker ID cùng lúc, và đồng hồ
+ * không được lùi qua một lần khởi động lại.
+ *
+ * @author: hduong25
+ */
+public final class SnowflakeIdGenerator {
+
+    /** 2024-01-01T00:00:00Z. */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    public static final int WORKER_BITS = 10;
+
+    public static final int SEQUENCE_BITS = 12;
+
+    public static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /** (mili giây kể từ epoch << SEQUENCE_BITS) | số thứ tự của ID gần nhất. */
+    private final AtomicLong last = new AtomicLong();
+    private final long workerBits;
+
+    public SnowflakeIdGenerator(int workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+        }
+        this.workerBits = (long) workerId << SEQUENCE_BITS;
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            next = Math.max(previous + 1, now);
+        } while (!last.compareAndSet(previous, next));
+        return (next >>> SEQUENCE_BITS) << (WORKER_BITS + SEQUENCE_BITS) | workerBits | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Thời điểm tạo ID (epoch millis), có thể sớm hơn thời điểm thật một chút nếu ID được mượn trước.
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (WORKER_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int workerOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_WORKER_ID;
+    }
+}
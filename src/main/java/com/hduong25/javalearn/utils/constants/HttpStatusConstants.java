@@ -15,5 +15,11 @@ public class HttpStatusConstants {
 
     // Errors
     public static final int BAD_REQUEST = 400;
+    public static final int UNAUTHORIZED = 401;
+    public static final int NOT_FOUND = 404;
+    public static final int CONFLICT = 409;
+    public static final int UNPROCESSABLE_ENTITY = 422;
+    public static final int TOO_MANY_REQUESTS = 429;
     public static final int ERROR = 500;
+    public static final int SERVICE_UNAVAILABLE = 503;
 }
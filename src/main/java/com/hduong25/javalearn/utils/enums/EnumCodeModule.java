@@ -0,0 +1,91 @@
+package com.hduong25.javalearn.utils.enums;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Jackson module cho các enum được {@link EnumRegistry} hỗ trợ:
+ * <ul>
+ *   <li>Ghi ra mã ({@code getCode()} / {@code code()}) bằng lời gọi interface, không dùng reflection</li>
+ *   <li>Đọc vào bằng tra cứu O(1) theo mã; tên hằng ({@code ACTIVE}) vẫn được chấp nhận để tương thích</li>
+ * </ul>
+ * Enum khác vẫn dùng serializer mặc định của Jackson.
+ * <p>
+ * Module áp dụng cho mọi enum được hỗ trợ trên ObjectMapper đăng ký nó, không theo từng trường: ví dụ
+ * {@code StatusEnum.ACTIVE} được ghi thành {@code "Hoạt động"} thay cho {@code "ACTIVE"}. Vì vậy
+ * {@code ObjectMapperConfig} chỉ đăng ký khi bật {@code enum-codes.enabled}.
+ *
+ * @author: hduong25
+ */
+public class EnumCodeModule extends SimpleModule {
+
+    private static final CodeSerializer SERIALIZER = new CodeSerializer();
+
+    public EnumCodeModule() {
+        super(EnumCodeModule.class.getSimpleName());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.addSerializers(new Serializers.Base() {
+            @Override
+            public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+                return EnumRegistry.supports(type.getRawClass()) ? SERIALIZER : null;
+            }
+        });
+        context.addDeserializers(new Deserializers.Base() {
+            @Override
+            public JsonDeserializer<?> findEnumDeserializer(Class<?> type, DeserializationConfig config,
+                                                            BeanDescription beanDesc) {
+                return EnumRegistry.supports(type) ? new CodeDeserializer(type) : null;
+            }
+        });
+    }
+
+    private static final class CodeSerializer extends StdSerializer<Object> {
+        private CodeSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeString(EnumRegistry.codeOf(value));
+        }
+    }
+
+    private static final class CodeDeserializer extends StdScalarDeserializer<Object> {
+        private CodeDeserializer(Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+                return context.handleUnexpectedToken(handledType(), parser);
+            }
+            String text = parser.getText();
+            Object value = EnumRegistry.findByCodeOrName((Class) handledType(), text);
+            return value != null ? value
+                    : context.handleWeirdStringValue(handledType(), text, "not a known code of %s",
+                    handledType().getSimpleName());
+        }
+    }
+}
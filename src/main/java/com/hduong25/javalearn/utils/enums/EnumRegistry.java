@@ -0,0 +1,172 @@
+package com.hduong25.javalearn.utils.enums;
+
+import com.hduong25.javalearn.utils.response.BaseEnumResponseCode;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Tra cứu O(1) từ mã sang hằng enum cho mọi enum implement {@link InterfaceEnum} hoặc
+ * {@link BaseEnumResponseCode}, thay cho việc duyệt {@code values()}.
+ * <p>
+ * Cách hoạt động:
+ * <ul>
+ *   <li>Mỗi kiểu enum có một bảng tra cứu bất biến (mã, mã ngắn, tên hằng), dựng một lần và giữ trong
+ *   {@link ClassValue} nên lần tra cứu sau không cần khóa hay reflection</li>
+ *   <li>Khi khởi động, {@code EnumRegistryConfig} quét các enum của ứng dụng và dựng sẵn bảng
+ *   ({@link #precompute}); mã hoặc mã ngắn bị trùng làm ứng dụng dừng khởi động</li>
+ *   <li>Mã của {@link InterfaceEnum} là {@code getCode()}, mã ngắn là {@code getShortCode()}
+ *   (tối đa {@value #MAX_SHORT_CODE_LENGTH} ký tự); mã của {@link BaseEnumResponseCode} là {@code code()}
+ *   và cũng là mã ngắn</li>
+ * </ul>
+ *
+ * @author: hduong25
+ */
+public final class EnumRegistry {
+
+    public static final int MAX_SHORT_CODE_LENGTH = 16;
+
+    private static final ClassValue<Lookup<?>> LOOKUPS = new ClassValue<>() {
+        @Override
+        protected Lookup<?> computeValue(Class<?> type) {
+            return Lookup.build(type);
+        }
+    };
+
+    private EnumRegistry() {
+    }
+
+    /**
+     * Enum có được registry hỗ trợ hay không.
+     */
+    public static boolean supports(Class<?> type) {
+        Class<?> enumType = enumType(type);
+        return enumType != null && (InterfaceEnum.class.isAssignableFrom(enumType)
+                || BaseEnumResponseCode.class.isAssignableFrom(enumType));
+    }
+
+    /**
+     * Dựng sẵn bảng tra cứu cho các kiểu enum.
+     *
+     * @return số kiểu enum đã dựng
+     * @throws IllegalStateException nếu một enum có mã hoặc mã ngắn bị trùng
+     */
+    public static int precompute(Collection<Class<?>> types) {
+        int count = 0;
+        for (Class<?> type : types) {
+            if (supports(type)) {
+                LOOKUPS.get(enumType(type));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @throws IllegalArgumentException nếu không có hằng nào mang mã này
+     */
+    public static <E extends Enum<E>> E fromCode(Class<E> type, String code) {
+        E value = code != null ? lookup(type).byCode().get(code) : null;
+        if (value == null) {
+            throw new IllegalArgumentException("No " + type.getSimpleName() + " with code " + code);
+        }
+        return value;
+    }
+
+    public static <E extends Enum<E>> Optional<E> findByCode(Class<E> type, String code) {
+        return code != null ? Optional.ofNullable(lookup(type).byCode().get(code)) : Optional.empty();
+    }
+
+    /**
+     * @throws IllegalArgumentException nếu không có hằng nào mang mã ngắn này
+     */
+    public static <E extends Enum<E>> E fromShortCode(Class<E> type, String shortCode) {
+        E value = shortCode != null ? lookup(type).byShortCode().get(shortCode) : null;
+        if (value == null) {
+            throw new IllegalArgumentException("No " + type.getSimpleName() + " with short code " + shortCode);
+        }
+        return value;
+    }
+
+    /**
+     * Tìm theo mã, nếu không có thì theo tên hằng ({@code name()}); {@code null} nếu không tìm thấy.
+     */
+    public static <E extends Enum<E>> E findByCodeOrName(Class<E> type, String text) {
+        if (text == null) {
+            return null;
+        }
+        Lookup<E> lookup = lookup(type);
+        E value = lookup.byCode().get(text);
+        return value != null ? value : lookup.byName().get(text);
+    }
+
+    public static String codeOf(Object value) {
+        if (value instanceof InterfaceEnum interfaceEnum) {
+            return interfaceEnum.getCode();
+        }
+        return ((BaseEnumResponseCode) value).code();
+    }
+
+    public static String shortCodeOf(Object value) {
+        if (value instanceof InterfaceEnum interfaceEnum) {
+            return interfaceEnum.getShortCode();
+        }
+        return ((BaseEnumResponseCode) value).code();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Enum<E>> Lookup<E> lookup(Class<E> type) {
+        return (Lookup<E>) LOOKUPS.get(type);
+    }
+
+    /**
+     * Kiểu enum khai báo; hằng có thân riêng ({@code ACTIVE { ... }}) là lớp con của kiểu enum.
+     */
+    private static Class<?> enumType(Class<?> type) {
+        if (type.isEnum()) {
+            return type;
+        }
+        Class<?> parent = type.getSuperclass();
+        return parent != null && parent.isEnum() ? parent : null;
+    }
+
+    private record Lookup<E>(Map<String, E> byCode, Map<String, E> byShortCode, Map<String, E> byName) {
+
+        @SuppressWarnings("unchecked")
+        static <E> Lookup<E> build(Class<?> type) {
+            if (!supports(type) || !type.isEnum()) {
+                throw new IllegalArgumentException(type.getName()
+                        + " is not an InterfaceEnum or BaseEnumResponseCode enum");
+            }
+
+            E[] constants = (E[]) type.getEnumConstants();
+            Map<String, E> byCode = new HashMap<>();
+            Map<String, E> byShortCode = new HashMap<>();
+            Map<String, E> byName = new HashMap<>();
+            for (E constant : constants) {
+                String shortCode = shortCodeOf(constant);
+                if (shortCode == null || shortCode.isEmpty() || shortCode.length() > MAX_SHORT_CODE_LENGTH) {
+                    throw new IllegalStateException(type.getName() + "." + constant + " short code must have 1-"
+                            + MAX_SHORT_CODE_LENGTH + " characters: " + shortCode);
+                }
+                putUnique(byCode, codeOf(constant), constant, type, "code");
+                putUnique(byShortCode, shortCode, constant, type, "short code");
+                byName.put(((Enum<?>) constant).name(), constant);
+            }
+            return new Lookup<>(Map.copyOf(byCode), Map.copyOf(byShortCode), Map.copyOf(byName));
+        }
+
+        private static <E> void putUnique(Map<String, E> map, String key, E constant, Class<?> type, String kind) {
+            if (key == null) {
+                throw new IllegalStateException(type.getName() + "." + constant + " has no " + kind);
+            }
+            E previous = map.putIfAbsent(key, constant);
+            if (previous != null) {
+                throw new IllegalStateException(type.getName() + " has duplicate " + kind + " '" + key + "': "
+                        + previous + ", " + constant);
+            }
+        }
+    }
+}
@@ -10,4 +10,13 @@ public interface InterfaceEnum {
     String getCode();
 
     String getMessage();
+
+    /**
+     * Mã ngắn dùng khi lưu vào database (xem {@link EnumRegistry}), tối đa
+     * {@value EnumRegistry#MAX_SHORT_CODE_LENGTH} ký tự và không trùng trong cùng enum.
+     * Mặc định là {@link #getCode()}; enum có mã dài (ví dụ chuỗi hiển thị) cần override.
+     */
+    default String getShortCode() {
+        return getCode();
+    }
 }
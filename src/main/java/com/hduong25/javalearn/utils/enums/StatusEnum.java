@@ -10,11 +10,12 @@ import lombok.Getter;
 @Getter
 @AllArgsConstructor
 public enum StatusEnum implements InterfaceEnum {
-    ACTIVE("Hoạt động", "Trạng thái hoạt động"),
-    INACTIVE("Không hoạt động", "Trạng thái không hoạt động");
+    ACTIVE("Hoạt động", "Trạng thái hoạt động", "A"),
+    INACTIVE("Không hoạt động", "Trạng thái không hoạt động", "I");
 
     private final String code;
     private final String message;
+    private final String shortCode;
 
     @Override
     public String getCode() {
@@ -25,4 +26,9 @@ public enum StatusEnum implements InterfaceEnum {
     public String getMessage() {
         return message;
     }
+
+    @Override
+    public String getShortCode() {
+        return shortCode;
+    }
 }
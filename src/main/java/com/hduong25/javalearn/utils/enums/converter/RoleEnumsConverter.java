@@ -0,0 +1,17 @@
+package com.hduong25.javalearn.utils.enums.converter;
+
+import com.hduong25.javalearn.utils.enums.RoleEnums;
+import jakarta.persistence.Converter;
+
+/**
+ * Lưu {@link RoleEnums} theo mã ({@code ADMIN}, {@code EMPLOYEE}).
+ *
+ * @author: hduong25
+ */
+@Converter(autoApply = true)
+public class RoleEnumsConverter extends ShortCodeEnumConverter<RoleEnums> {
+
+    public RoleEnumsConverter() {
+        super(RoleEnums.class);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hduong25.javalearn.utils.enums.converter;
+
+import com.hduong25.javalearn.utils.enums.EnumRegistry;
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Lưu enum dưới dạng mã ngắn ({@link EnumRegistry#shortCodeOf}) thay cho tên hằng hay chuỗi hiển thị,
+ * đọc lại bằng tra cứu O(1) của {@link EnumRegistry}.
+ * <p>
+ * Cột tương ứng chỉ cần {@code VARCHAR(16)} ({@value EnumRegistry#MAX_SHORT_CODE_LENGTH}).
+ * Mỗi enum cần một lớp con gắn {@code @Converter(autoApply = true)} để JPA biết kiểu cụ thể.
+ *
+ * @author: hduong25
+ */
+public abstract class ShortCodeEnumConverter<E extends Enum<E>> implements AttributeConverter<E, String> {
+
+    private final Class<E> type;
+
+    protected ShortCodeEnumConverter(Class<E> type) {
+        this.type = type;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(E attribute) {
+        return attribute != null ? EnumRegistry.shortCodeOf(attribute) : null;
+    }
+
+    @Override
+    public E convertToEntityAttribute(String dbData) {
+        return dbData != null ? EnumRegistry.fromShortCode(type, dbData) : null;
+    }
+}
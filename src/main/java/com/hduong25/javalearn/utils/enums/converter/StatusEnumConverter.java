@@ -0,0 +1,17 @@
+package com.hduong25.javalearn.utils.enums.converter;
+
+import com.hduong25.javalearn.utils.enums.StatusEnum;
+import jakarta.persistence.Converter;
+
+/**
+ * Lưu {@link StatusEnum} dạng {@code A}/{@code I} thay cho "Hoạt động"/"Không hoạt động".
+ *
+ * @author: hduong25
+ */
+@Converter(autoApply = true)
+public class StatusEnumConverter extends ShortCodeEnumConverter<StatusEnum> {
+
+    public StatusEnumConverter() {
+        super(StatusEnum.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.hduong25.javalearn.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.slf4j.MDC;
+
+/**
+ * Lớp cha của các JFR event của ứng dụng: mỗi event mang request ID và handler (controller#method)
+ * lấy từ MDC do {@code LoggingRequestConfig} thiết lập.
+ * Công việc nằm ngoài controller (security filter chain, truy vấn gộp của {@code UserBatchLoader})
+ * có hai trường này rỗng.
+ * <p>
+ * Không lưu stack trace để chi phí mỗi event thấp; stack của hot path lấy từ execution sample của JFR.
+ *
+ * @author: hduong25
+ */
+@Category("Java Learn")
+@StackTrace(false)
+public abstract class ContextEvent extends jdk.jfr.Event {
+
+    @Label("Request ID")
+    String requestId;
+
+    @Label("Handler")
+    String handler;
+
+    /**
+     * Lấy request ID và handler của thread hiện tại.
+     */
+    protected void captureContext() {
+        captureContext(MDC.get("requestId"), MDC.get("handler"));
+    }
+
+    /**
+     * Dùng khi event được ghi trên thread khác với thread xử lý request.
+     */
+    protected void captureContext(String requestId, String handler) {
+        this.requestId = requestId;
+        this.handler = handler;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hduong25.javalearn.utils.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Một lần gọi {@code ModelMapperUtils.map}; với danh sách/trang, {@code count} là số phần tử.
+ *
+ * @author: hduong25
+ */
+@Name("com.hduong25.javalearn.Mapping")
+@Label("Object Mapping")
+@Description("ModelMapperUtils.map invocation")
+public class MappingEvent extends ContextEvent {
+
+    @Label("Source Type")
+    String sourceType;
+
+    @Label("Target Type")
+    String targetType;
+
+    @Label("Count")
+    int count;
+
+    public void complete(Object source, Class<?> targetType, int count) {
+        end();
+        if (shouldCommit()) {
+            captureContext();
+            this.sourceType = source != null ? source.getClass().getSimpleName() : null;
+            this.targetType = targetType.getSimpleName();
+            this.count = count;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hduong25.javalearn.utils.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Một lần băm ({@code encode}) hoặc kiểm tra ({@code matches}) mật khẩu, ghi trên thread băm mật khẩu.
+ *
+ * @author: hduong25
+ */
+@Name("com.hduong25.javalearn.PasswordHash")
+@Label("Password Hash")
+@Description("Password encode or match on the password hashing executor")
+public class PasswordHashEvent extends ContextEvent {
+
+    @Label("Operation")
+    String operation;
+
+    public void complete(String operation, String requestId, String handler) {
+        end();
+        if (shouldCommit()) {
+            captureContext(requestId, handler);
+            this.operation = operation;
+            commit();
+        }
+    }
+}
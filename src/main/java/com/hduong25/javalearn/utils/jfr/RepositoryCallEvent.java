@@ -0,0 +1,36 @@
+package com.hduong25.javalearn.utils.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Một lần gọi method của Spring Data repository.
+ *
+ * @author: hduong25
+ */
+@Name("com.hduong25.javalearn.RepositoryCall")
+@Label("Repository Call")
+@Description("Spring Data repository method invocation")
+public class RepositoryCallEvent extends ContextEvent {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Success")
+    boolean success;
+
+    public void complete(String repository, String method, boolean success) {
+        end();
+        if (shouldCommit()) {
+            captureContext();
+            this.repository = repository;
+            this.method = method;
+            this.success = success;
+            commit();
+        }
+    }
+}
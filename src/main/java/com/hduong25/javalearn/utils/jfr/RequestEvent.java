@@ -0,0 +1,36 @@
+package com.hduong25.javalearn.utils.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Thời gian xử lý một request REST, tính từ controller method (không gồm filter chain).
+ *
+ * @author: hduong25
+ */
+@Name("com.hduong25.javalearn.Request")
+@Label("HTTP Request")
+@Description("Controller method handling a REST request")
+public class RequestEvent extends ContextEvent {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Success")
+    boolean success;
+
+    public void complete(String method, String path, boolean success) {
+        end();
+        if (shouldCommit()) {
+            captureContext();
+            this.method = method;
+            this.path = path;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -11,7 +11,13 @@ public enum ErrorResponse implements BaseEnumResponseCode {
     SERVER_INVALID("ERROR_001", "Lỗi hệ thống, vui lòng thử lại sau"),
     NOT_FOUND("ERROR_002", "Tài nguyên không tìm thấy"),
     BAD_REQUEST("ERROR_003", "Yêu cầu không hợp lệ"),
-    UNAUTHORIZED("ERROR_004", "Chưa được phép truy cập");
+    UNAUTHORIZED("ERROR_004", "Chưa được phép truy cập"),
+    SERVER_BUSY("ERROR_005", "Hệ thống đang bận, vui lòng thử lại sau"),
+    ACCOUNT_EXISTS("ERROR_006", "Tài khoản hoặc email đã tồn tại"),
+    INVALID_CREDENTIALS("ERROR_007", "Tài khoản hoặc mật khẩu không đúng"),
+    TOO_MANY_REQUESTS("ERROR_008", "Quá nhiều yêu cầu, vui lòng thử lại sau"),
+    IDEMPOTENCY_IN_PROGRESS("ERROR_009", "Yêu cầu với Idempotency-Key này đang được xử lý"),
+    IDEMPOTENCY_KEY_REUSED("ERROR_010", "Idempotency-Key đã được dùng cho một yêu cầu khác");
 
     private final String code;
     private final String message;
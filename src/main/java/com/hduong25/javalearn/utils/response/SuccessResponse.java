@@ -9,7 +9,8 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public enum SuccessResponse implements BaseEnumResponseCode {
     SUCCESS("SUCCESS_001", ""),
-    PING_SUCCESS("SUCCESS_002", "Pong!!!");
+    PING_SUCCESS("SUCCESS_002", "Pong!!!"),
+    LOGOUT_SUCCESS("SUCCESS_005", "Đăng xuất thành công");
 
     private final String code;
     private final String message;
@@ -94,6 +94,20 @@ public class ResultUtils {
         throw new IllegalArgumentException(BaseEnumResponseCode.ERROR_MESSAGE);
     }
 
+    public static <T> Result<T> error(int status, Enum<?> enumResponse) {
+        if (enumResponse instanceof BaseEnumResponseCode response) {
+            return Result.<T>builder()
+                    .status(status)
+                    .code(BaseEnumResponseCode.ERROR_CODE)
+                    .message(BaseEnumResponseCode.ERROR_MESSAGE)
+                    .data(null)
+                    .error(new ErrorDetails(response.code(), AppConstants.NAME_APP, response.message()))
+                    .build();
+        }
+
+        throw new IllegalArgumentException(BaseEnumResponseCode.ERROR_MESSAGE);
+    }
+
     public static <T> Result<T> error(Enum<?> enumResponse) {
         if (enumResponse instanceof BaseEnumResponseCode response) {
             return Result.<T>builder()
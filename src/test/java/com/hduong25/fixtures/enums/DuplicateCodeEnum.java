@@ -0,0 +1,27 @@
+package com.hduong25.fixtures.enums;
+
+import com.hduong25.javalearn.utils.enums.InterfaceEnum;
+
+/**
+ * Enum có mã trùng, dùng để kiểm tra {@code EnumRegistry}. Nằm ngoài package của ứng dụng để
+ * {@code EnumRegistryConfig} không quét thấy khi chạy các test {@code @SpringBootTest}.
+ */
+public enum DuplicateCodeEnum implements InterfaceEnum {
+    FIRST,
+    SECOND;
+
+    @Override
+    public String getCode() {
+        return "SAME";
+    }
+
+    @Override
+    public String getMessage() {
+        return name();
+    }
+
+    @Override
+    public String getShortCode() {
+        return name().substring(0, 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hduong25.fixtures.enums;
+
+import com.hduong25.javalearn.utils.enums.InterfaceEnum;
+
+/**
+ * Enum có mã khác nhau nhưng mã ngắn trùng, dùng để kiểm tra {@code EnumRegistry}.
+ */
+public enum DuplicateShortCodeEnum implements InterfaceEnum {
+    SAVED,
+    SENT;
+
+    @Override
+    public String getCode() {
+        return name();
+    }
+
+    @Override
+    public String getMessage() {
+        return name();
+    }
+
+    @Override
+    public String getShortCode() {
+        return "S";
+    }
+}
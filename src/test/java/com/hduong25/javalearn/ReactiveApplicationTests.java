@@ -0,0 +1,107 @@
+package com.hduong25.javalearn;
+
+import com.hduong25.javalearn.config.ReactiveWebConfig;
+import com.hduong25.javalearn.modules.auth.dto.LoginRequest;
+import com.hduong25.javalearn.modules.auth.dto.RegisterRequest;
+import com.hduong25.javalearn.modules.user.ReactiveUserController;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.source.InvalidConfigurationPropertyValueException;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.learn-java.url=jdbc:h2:mem:reactive_db;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive_db?options=MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "spring.r2dbc.username=sa"
+})
+@ActiveProfiles("reactive")
+class ReactiveApplicationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void runsOnNettyWithReactiveBeansOnly() {
+        assertThat(applicationContext.getBeansOfType(NettyReactiveWebServerFactory.class)).hasSize(1);
+        assertThat(applicationContext.getBeansOfType(ReactiveUserController.class)).hasSize(1);
+        assertThat(applicationContext.containsBean("securityConfig")).isFalse();
+        assertThat(applicationContext.containsBean("loggingRequestConfig")).isFalse();
+    }
+
+    @Test
+    void refusesToStartWithIdempotencyEnabled() {
+        new ReactiveWebApplicationContextRunner()
+                .withUserConfiguration(ReactiveWebConfig.class)
+                .withPropertyValues("idempotency.enabled=true")
+                .run(context -> assertThat(context).hasFailed().getFailure()
+                        .hasRootCauseInstanceOf(InvalidConfigurationPropertyValueException.class));
+    }
+
+    @Test
+    void servesResultEnvelopedEndpoints() {
+        webTestClient.post().uri("/ping").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo(200);
+
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Reactive");
+        register.setAccount("reactive");
+        register.setPassword("secret");
+        register.setEmail("reactive@test");
+        register.setPhone("0900000000");
+        webTestClient.post().uri("/auth/register").bodyValue(register).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo(201).jsonPath("$.data").isNumber();
+        webTestClient.post().uri("/auth/register").bodyValue(register).exchange()
+                .expectBody().jsonPath("$.status").isEqualTo(409);
+
+        LoginRequest wrongPassword = new LoginRequest();
+        wrongPassword.setAccount("reactive");
+        wrongPassword.setPassword("wrong");
+        webTestClient.post().uri("/auth/login").bodyValue(wrongPassword).exchange()
+                .expectBody().jsonPath("$.status").isEqualTo(401);
+
+        LoginRequest login = new LoginRequest();
+        login.setAccount("reactive");
+        login.setPassword("secret");
+        JsonNode loginResult = webTestClient.post().uri("/auth/login").bodyValue(login).exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertThat(loginResult).isNotNull();
+        String token = loginResult.path("data").path("accessToken").asText();
+        assertThat(token).isNotBlank();
+
+        webTestClient.get().uri("/users/export").headers(h -> h.setBearerAuth(token)).exchange()
+                .expectStatus().isForbidden();
+
+        login.setAccount("admin");
+        login.setPassword("admin");
+        JsonNode adminLogin = webTestClient.post().uri("/auth/login").bodyValue(login).exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertThat(adminLogin).isNotNull();
+        String adminToken = adminLogin.path("data").path("accessToken").asText();
+        String export = webTestClient.get().uri("/users/export").headers(h -> h.setBearerAuth(adminToken)).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(export).contains("\"account\":\"reactive\"").doesNotContain("secret");
+
+        webTestClient.post().uri("/auth/logout").headers(h -> h.setBearerAuth(token)).exchange()
+                .expectBody().jsonPath("$.status").isEqualTo(200);
+        webTestClient.get().uri("/users/export").headers(h -> h.setBearerAuth(token)).exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
@@ -0,0 +1,30 @@
+package com.hduong25.javalearn.config;
+
+import com.hduong25.fixtures.enums.DuplicateCodeEnum;
+import com.hduong25.javalearn.JavaLearnApplication;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra bước quét enum lúc khởi động của {@link EnumRegistryConfig}.
+ */
+class EnumRegistryConfigTests {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    void precomputesApplicationEnums() {
+        // StatusEnum, RoleEnums, ErrorResponse, SuccessResponse
+        assertThat(EnumRegistryConfig.precompute(JavaLearnApplication.class.getPackageName(), classLoader))
+                .isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void failsStartupOnDuplicateCodes() {
+        assertThatThrownBy(() -> EnumRegistryConfig.precompute(DuplicateCodeEnum.class.getPackageName(), classLoader))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("duplicate");
+    }
+}
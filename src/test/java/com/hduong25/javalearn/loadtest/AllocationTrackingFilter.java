@@ -0,0 +1,63 @@
+package com.hduong25.javalearn.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Đo số byte heap mà thread xử lý cấp phát cho mỗi request, dựa trên
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}.
+ * <p>
+ * Filter được đặt ngoài cùng nên số liệu gồm security filter chain, logging filter, controller,
+ * JPA và Jackson. Phần do thread khác làm (audit writer, batch loader) và phần Tomcat xử lý
+ * trước/sau filter chain không được tính.
+ * <p>
+ * JDK không đếm byte cấp phát cho virtual thread ({@code getCurrentThreadAllocatedBytes()} trả về {@code -1}),
+ * nên khi chạy với {@code spring.threads.virtual.enabled=true} request không được ghi.
+ * <p>
+ * Request được gán cho endpoint theo header {@value #ENDPOINT_HEADER} do {@link LoadGenerator} gửi.
+ */
+class AllocationTrackingFilter extends OncePerRequestFilter {
+
+    static final String ENDPOINT_HEADER = "X-Load-Test-Endpoint";
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private volatile Map<String, EndpointStats> sink = Map.of();
+
+    AllocationTrackingFilter() {
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    void recordInto(Map<String, EndpointStats> sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String endpoint = request.getHeader(ENDPOINT_HEADER);
+        EndpointStats stats = endpoint != null ? sink.get(endpoint) : null;
+        if (stats == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long after = threadMXBean.getCurrentThreadAllocatedBytes();
+            if (before >= 0 && after >= 0) {
+                stats.recordAllocation(after - before);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hduong25.javalearn.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Số liệu của một endpoint trong một lần chạy: latency từng request (ns), số request lỗi,
+ * và số byte server cấp phát cho các request đó (do {@link AllocationTrackingFilter} ghi).
+ * {@code allocatedBytesPerRequest} là {@code -1} khi không đo được request nào (ví dụ trên virtual thread).
+ */
+class EndpointStats {
+
+    private final String name;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong allocatedRequests = new AtomicLong();
+    private long[] latencies = new long[4096];
+    private int count;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        if (!success) {
+            errors.incrementAndGet();
+        }
+        lock.lock();
+        try {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void recordAllocation(long bytes) {
+        allocatedBytes.addAndGet(bytes);
+        allocatedRequests.incrementAndGet();
+    }
+
+    Summary summarize(double seconds) {
+        long[] sorted;
+        lock.lock();
+        try {
+            sorted = Arrays.copyOf(latencies, count);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(sorted);
+
+        long requests = allocatedRequests.get();
+        return new Summary(name, sorted.length, errors.get(), sorted.length / seconds,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.99), percentileMs(sorted, 0.999),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0,
+                requests > 0 ? allocatedBytes.get() / requests : -1);
+    }
+
+    /**
+     * Percentile theo nearest-rank trên mảng đã sắp xếp.
+     */
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    record Summary(String name, long requests, long errors, double throughput,
+                   double p50Ms, double p99Ms, double p999Ms, double maxMs, long allocatedBytesPerRequest) {
+
+        double errorRate() {
+            return requests > 0 ? (double) errors / requests : 0;
+        }
+    }
+}
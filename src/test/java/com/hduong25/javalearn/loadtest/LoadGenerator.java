@@ -0,0 +1,193 @@
+package com.hduong25.javalearn.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.loadtest.LoadTestPlan.Endpoint;
+import com.hduong25.javalearn.loadtest.LoadTestPlan.Workload;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sinh tải HTTP theo một {@link Workload}, chọn endpoint ngẫu nhiên theo {@code weight}.
+ * <ul>
+ *   <li>{@code CLOSED}: {@code concurrency} client, mỗi client gửi request tiếp theo sau khi nhận
+ *   response (và nghỉ {@code thinkTime})</li>
+ *   <li>{@code OPEN}: request được lên lịch đều đặn theo {@code arrivalRate}; latency tính từ thời
+ *   điểm dự kiến gửi nên thời gian xếp hàng khi server chậm cũng được tính
+ *   (tránh coordinated omission)</li>
+ * </ul>
+ */
+class LoadGenerator {
+
+    record SeedUser(long id, String account, String password) {
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<Endpoint> endpoints;
+    private final int[] cumulativeWeights;
+    private final List<SeedUser> seedUsers;
+    private final String bearerToken;
+    private final AtomicLong sequence;
+
+    LoadGenerator(HttpClient client, URI baseUri, List<Endpoint> endpoints, List<SeedUser> seedUsers,
+                  String bearerToken, AtomicLong sequence) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.endpoints = endpoints;
+        this.seedUsers = seedUsers;
+        this.bearerToken = bearerToken;
+        this.sequence = sequence;
+        this.cumulativeWeights = new int[endpoints.size()];
+        int total = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            total += endpoints.get(i).getWeight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Chạy workload trong {@code duration}.
+     *
+     * @param stats nơi ghi số liệu theo tên endpoint, {@code null} khi warmup
+     */
+    void run(Workload workload, Duration duration, Map<String, EndpointStats> stats) throws InterruptedException {
+        if (workload.getModel() == LoadTestPlan.Model.OPEN) {
+            runOpen(workload, duration, stats);
+        } else {
+            runClosed(workload, duration, stats);
+        }
+    }
+
+    private void runClosed(Workload workload, Duration duration, Map<String, EndpointStats> stats)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long thinkNanos = workload.getThinkTime().toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(workload.getConcurrency());
+        for (int i = 0; i < workload.getConcurrency(); i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    Endpoint endpoint = pick();
+                    long start = System.nanoTime();
+                    send(endpoint, start, stats);
+                    if (thinkNanos > 0) {
+                        LockSupport.parkNanos(thinkNanos);
+                    }
+                }
+            });
+        }
+        awaitCompletion(clients, duration);
+    }
+
+    private void runOpen(Workload workload, Duration duration, Map<String, EndpointStats> stats)
+            throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / workload.getArrivalRate());
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService connections = Executors.newFixedThreadPool(workload.getMaxConcurrency());
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pick();
+            connections.execute(() -> send(endpoint, intended, stats));
+        }
+        awaitCompletion(connections, duration);
+    }
+
+    private void send(Endpoint endpoint, long startNanos, Map<String, EndpointStats> stats) {
+        boolean success;
+        try {
+            HttpResponse<String> response = client.send(request(endpoint), HttpResponse.BodyHandlers.ofString());
+            success = isSuccess(response);
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long latency = System.nanoTime() - startNanos;
+        if (stats != null) {
+            stats.get(endpoint.getName()).record(latency, success);
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        SeedUser user = seedUsers.get(ThreadLocalRandom.current().nextInt(seedUsers.size()));
+        long seq = sequence.incrementAndGet();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(expand(endpoint.getPath(), user, seq)))
+                .timeout(Duration.ofSeconds(30))
+                .header(AllocationTrackingFilter.ENDPOINT_HEADER, endpoint.getName());
+        if (endpoint.isAuthenticated()) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        if (endpoint.getBody() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(endpoint.getMethod(), HttpRequest.BodyPublishers.ofString(expand(endpoint.getBody(), user, seq)));
+        } else {
+            builder.method(endpoint.getMethod(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private Endpoint pick() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints.get(i);
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private static String expand(String template, SeedUser user, long seq) {
+        return template
+                .replace("{userId}", Long.toString(user.id()))
+                .replace("{account}", user.account())
+                .replace("{password}", user.password())
+                .replace("{seq}", Long.toString(seq));
+    }
+
+    /**
+     * Request thành công khi HTTP status là 2xx và trường {@code status} của body (nếu có) nhỏ hơn 400,
+     * vì phần lớn API trả lỗi trong body {@code Result} với HTTP 200.
+     */
+    static boolean isSuccess(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return false;
+        }
+        try {
+            JsonNode status = MAPPER.readTree(response.body()).get("status");
+            return status == null || !status.isNumber() || status.asInt() < 400;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static void awaitCompletion(ExecutorService executor, Duration duration) throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.hduong25.javalearn.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kịch bản load test đọc từ file JSON (mặc định {@code classpath:loadtest/load-test.json},
+ * đổi bằng {@code -Dloadtest.plan=<đường dẫn>}).
+ * <p>
+ * Gồm các workload cần chạy, tỉ lệ request giữa các endpoint và ngân sách (budget) cho từng endpoint.
+ * Trong {@code path} và {@code body} có thể dùng:
+ * <ul>
+ *   <li>{@code {userId}}: ID của một user ngẫu nhiên đã tạo sẵn</li>
+ *   <li>{@code {account}}, {@code {password}}: thông tin đăng nhập của một user đã tạo sẵn</li>
+ *   <li>{@code {seq}}: số tăng dần, không trùng trong cả lần chạy</li>
+ * </ul>
+ */
+@Getter
+@Setter
+public class LoadTestPlan {
+
+    static final String PLAN_PROPERTY = "loadtest.plan";
+    private static final String DEFAULT_PLAN = "/loadtest/load-test.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /// Số user được đăng ký trước khi chạy, dùng cho {@code {userId}} và {@code {account}}.
+    private int seedUsers = 20;
+    private List<Workload> workloads = new ArrayList<>();
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    static LoadTestPlan load() throws IOException {
+        String location = System.getProperty(PLAN_PROPERTY);
+        if (location != null && !location.isBlank()) {
+            try (InputStream input = Files.newInputStream(Path.of(location))) {
+                return MAPPER.readValue(input, LoadTestPlan.class);
+            }
+        }
+        try (InputStream input = LoadTestPlan.class.getResourceAsStream(DEFAULT_PLAN)) {
+            if (input == null) {
+                throw new IOException("Load test plan not found: " + DEFAULT_PLAN);
+            }
+            return MAPPER.readValue(input, LoadTestPlan.class);
+        }
+    }
+
+    public enum Model {
+        /// Số client cố định, mỗi client gửi request tiếp theo khi nhận được response.
+        CLOSED,
+        /// Request đến theo tốc độ cố định, không phụ thuộc server trả lời nhanh hay chậm.
+        OPEN
+    }
+
+    @Getter
+    @Setter
+    public static class Workload {
+        private String name;
+        private Model model = Model.CLOSED;
+        private Duration warmup = Duration.ofSeconds(5);
+        private Duration duration = Duration.ofSeconds(15);
+        /// CLOSED: số client đồng thời.
+        private int concurrency = 8;
+        /// CLOSED: thời gian nghỉ giữa hai request của một client.
+        private Duration thinkTime = Duration.ZERO;
+        /// OPEN: số request mỗi giây.
+        private double arrivalRate = 100;
+        /// OPEN: số connection tối đa; request vượt quá phải xếp hàng và thời gian chờ được tính vào latency.
+        private int maxConcurrency = 64;
+        /// Throughput tối thiểu (request/giây) của cả workload.
+        private double minThroughput;
+
+        @Override
+        public String toString() {
+            return name != null ? name : model.name();
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private String name;
+        private String method = "GET";
+        private String path;
+        private String body;
+        private int weight = 1;
+        /// Gửi kèm bearer token lấy từ {@code /auth/login}.
+        private boolean authenticated;
+        private Budget budget = new Budget();
+    }
+
+    /**
+     * Ngân sách của một endpoint; trường để trống (null) thì không kiểm tra.
+     */
+    @Getter
+    @Setter
+    public static class Budget {
+        private Double p50Ms;
+        private Double p99Ms;
+        private Double p999Ms;
+        private Long maxAllocatedBytes;
+        private double maxErrorRate;
+    }
+}
@@ -0,0 +1,209 @@
+package com.hduong25.javalearn.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hduong25.javalearn.loadtest.EndpointStats.Summary;
+import com.hduong25.javalearn.loadtest.LoadGenerator.SeedUser;
+import com.hduong25.javalearn.loadtest.LoadTestPlan.Budget;
+import com.hduong25.javalearn.loadtest.LoadTestPlan.Endpoint;
+import com.hduong25.javalearn.loadtest.LoadTestPlan.Workload;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test end-to-end: khởi động ứng dụng với H2, gửi tải HTTP thật qua security filter chain,
+ * logging filter, Jackson và JPA, rồi so sánh throughput, p50/p99/p999 và số byte cấp phát mỗi request
+ * với ngân sách trong {@link LoadTestPlan}.
+ * <p>
+ * Không chạy trong {@code mvn test}; chạy bằng {@code mvn -Ploadtest test}.
+ * Kết quả được ghi vào {@code target/loadtest/<mode>/<workload>.json}, với {@code <mode>} là {@link #mode()}.
+ * {@link VirtualThreadLoadTests} chạy cùng plan và ngân sách với virtual thread.
+ */
+@Tag("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.rate-limit.enabled=false"
+})
+class LoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTests.class);
+    private static final Path REPORT_DIR = Path.of("target", "loadtest");
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AllocationTrackingFilter allocationTrackingFilter;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong sequence = new AtomicLong();
+    private LoadTestPlan plan;
+    private LoadGenerator generator;
+
+    @TestConfiguration
+    static class AllocationTrackingConfig {
+        @Bean
+        AllocationTrackingFilter allocationTrackingFilter() {
+            return new AllocationTrackingFilter();
+        }
+
+        @Bean
+        FilterRegistrationBean<AllocationTrackingFilter> allocationTrackingFilterRegistration(
+                AllocationTrackingFilter filter) {
+            FilterRegistrationBean<AllocationTrackingFilter> registration = new FilterRegistrationBean<>(filter);
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    /**
+     * Tên chế độ chạy, dùng trong log và thư mục báo cáo.
+     */
+    String mode() {
+        return "platform-threads";
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        plan = LoadTestPlan.load();
+        URI baseUri = URI.create("http://localhost:" + port);
+
+        List<SeedUser> users = new ArrayList<>();
+        for (int i = 0; i < plan.getSeedUsers(); i++) {
+            String account = "seed-" + i;
+            String password = "Seed@" + i;
+            JsonNode result = post(baseUri.resolve("/auth/register"), """
+                    {"name":"Seed %d","address":"Hà Nội","account":"%s","password":"%s",\
+                    "email":"%s@loadtest.local","phone":"0900%06d"}""".formatted(i, account, password, account, i));
+            users.add(new SeedUser(result.get("data").asLong(), account, password));
+        }
+
+        SeedUser first = users.get(0);
+        JsonNode login = post(baseUri.resolve("/auth/login"),
+                "{\"account\":\"%s\",\"password\":\"%s\"}".formatted(first.account(), first.password()));
+        String token = login.get("data").get("accessToken").asText();
+
+        generator = new LoadGenerator(client, baseUri, plan.getEndpoints(), users, token, sequence);
+    }
+
+    List<Workload> workloads() throws IOException {
+        return LoadTestPlan.load().getWorkloads();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("workloads")
+    void meetsBudgets(Workload workload) throws Exception {
+        generator.run(workload, workload.getWarmup(), null);
+
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        plan.getEndpoints().forEach(endpoint -> stats.put(endpoint.getName(), new EndpointStats(endpoint.getName())));
+        allocationTrackingFilter.recordInto(stats);
+        long start = System.nanoTime();
+        generator.run(workload, workload.getDuration(), stats);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        allocationTrackingFilter.recordInto(Map.of());
+
+        List<Summary> summaries = stats.values().stream().map(s -> s.summarize(seconds)).toList();
+        double throughput = summaries.stream().mapToDouble(Summary::throughput).sum();
+        report(workload, throughput, summaries);
+
+        List<String> violations = new ArrayList<>();
+        if (throughput < workload.getMinThroughput()) {
+            violations.add("throughput %.1f req/s < %.1f".formatted(throughput, workload.getMinThroughput()));
+        }
+        for (Endpoint endpoint : plan.getEndpoints()) {
+            Summary summary = summaries.stream().filter(s -> s.name().equals(endpoint.getName())).findFirst().orElseThrow();
+            checkBudget(endpoint.getBudget(), summary, violations);
+        }
+        assertThat(violations).as("Budget violations in workload %s", workload).isEmpty();
+    }
+
+    private static void checkBudget(Budget budget, Summary summary, List<String> violations) {
+        String name = summary.name();
+        if (summary.requests() == 0) {
+            violations.add(name + ": no requests completed");
+            return;
+        }
+        check(violations, name, "p50", summary.p50Ms(), budget.getP50Ms());
+        check(violations, name, "p99", summary.p99Ms(), budget.getP99Ms());
+        check(violations, name, "p999", summary.p999Ms(), budget.getP999Ms());
+        // -1: không đo được số byte cấp phát (virtual thread), bỏ qua ngân sách này
+        if (budget.getMaxAllocatedBytes() != null && summary.allocatedBytesPerRequest() >= 0
+                && summary.allocatedBytesPerRequest() > budget.getMaxAllocatedBytes()) {
+            violations.add("%s: %d bytes/request > %d".formatted(name, summary.allocatedBytesPerRequest(),
+                    budget.getMaxAllocatedBytes()));
+        }
+        if (summary.errorRate() > budget.getMaxErrorRate()) {
+            violations.add("%s: error rate %.4f > %.4f".formatted(name, summary.errorRate(), budget.getMaxErrorRate()));
+        }
+    }
+
+    private static void check(List<String> violations, String name, String metric, double actual, Double limit) {
+        if (limit != null && actual > limit) {
+            violations.add("%s: %s %.2f ms > %.2f ms".formatted(name, metric, actual, limit));
+        }
+    }
+
+    private void report(Workload workload, double throughput, List<Summary> summaries) throws IOException {
+        StringBuilder table = new StringBuilder()
+                .append("%n%-12s %8s %7s %9s %9s %9s %9s %9s %12s%n".formatted("endpoint", "requests", "errors",
+                        "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "bytes/req"));
+        for (Summary s : summaries) {
+            table.append("%-12s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %12d%n".formatted(s.name(), s.requests(),
+                    s.errors(), s.throughput(), s.p50Ms(), s.p99Ms(), s.p999Ms(), s.maxMs(), s.allocatedBytesPerRequest()));
+        }
+        log.info("Load test {} ({}, {}): {} req/s{}", workload, workload.getModel(), mode(),
+                "%.1f".formatted(throughput), table);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workload", workload.toString());
+        report.put("mode", mode());
+        report.put("model", workload.getModel());
+        report.put("throughput", throughput);
+        report.put("endpoints", summaries);
+        Path dir = Files.createDirectories(REPORT_DIR.resolve(mode()));
+        MAPPER.writeValue(dir.resolve(workload + ".json").toFile(), report);
+    }
+
+    private JsonNode post(URI uri, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(LoadGenerator.isSuccess(response)).as("%s -> %s", uri, response.body()).isTrue();
+        return MAPPER.readTree(response.body());
+    }
+}
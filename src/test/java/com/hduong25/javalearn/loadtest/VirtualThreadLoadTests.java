@@ -0,0 +1,43 @@
+package com.hduong25.javalearn.loadtest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link LoadTests} với profile {@code virtual-threads}: cùng plan, cùng ngân sách, request Tomcat chạy
+ * trên virtual thread. Dùng database H2 riêng để seed user không trùng với lần chạy platform thread.
+ * <p>
+ * Chỉ chạy trên Java 21: {@code mvn -Pjava21 -Ploadtest test}. Số byte cấp phát không đo được trên
+ * virtual thread nên báo cáo ghi {@code -1} và ngân sách {@code maxAllocatedBytes} được bỏ qua.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles("virtual-threads")
+@Import(LoadTests.AllocationTrackingConfig.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.rate-limit.enabled=false",
+        "spring.datasource.learn-java.url=jdbc:h2:mem:loadtest_virtual_threads;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER"
+})
+class VirtualThreadLoadTests extends LoadTests {
+
+    @Autowired
+    private Environment environment;
+
+    @Override
+    String mode() {
+        return "virtual-threads";
+    }
+
+    @BeforeAll
+    void usesVirtualThreads() {
+        assertThat(Threading.VIRTUAL.isActive(environment)).as("spring.threads.virtual.enabled").isTrue();
+    }
+}
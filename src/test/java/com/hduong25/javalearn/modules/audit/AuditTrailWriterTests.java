@@ -0,0 +1,132 @@
+package com.hduong25.javalearn.modules.audit;
+
+import com.hduong25.javalearn.config.AuditProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Kiểm tra {@link AuditTrailWriter} với JdbcTemplate giả: gom batch, thử lại, hàng đợi đầy và ghi hết khi tắt.
+ */
+class AuditTrailWriterTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final AuditProperties properties = new AuditProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(50);
+        properties.setFlushIntervalMs(10);
+        properties.setShutdownTimeoutMs(2_000);
+    }
+
+    @Test
+    void writesQueuedRecordsInBatches() {
+        recordBatches(0, 0);
+        AuditTrailWriter writer = new AuditTrailWriter(jdbcTemplate, properties);
+        writer.submit(records(120));
+
+        writer.start();
+        writer.stop();
+
+        assertThat(batchSizes).containsExactly(50, 50, 20);
+        assertThat(writer.getWrittenCount()).isEqualTo(120);
+        assertThat(writer.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void retriesFailedBatchesUpToMaxRetries() {
+        properties.setMaxRetries(2);
+        recordBatches(1, 0);
+        AuditTrailWriter writer = new AuditTrailWriter(jdbcTemplate, properties);
+        writer.submit(records(10));
+        writer.start();
+        writer.stop();
+        assertThat(writer.getWrittenCount()).isEqualTo(10);
+        assertThat(writer.getDroppedCount()).isZero();
+
+        batchSizes.clear();
+        recordBatches(2, 0);
+        AuditTrailWriter givingUp = new AuditTrailWriter(jdbcTemplate, properties);
+        givingUp.submit(records(10));
+        givingUp.start();
+        givingUp.stop();
+        assertThat(givingUp.getWrittenCount()).isZero();
+        assertThat(givingUp.getDroppedCount()).isEqualTo(10);
+    }
+
+    @Test
+    void dropsRecordsWhenQueueStaysFull() {
+        properties.setQueueCapacity(10);
+        properties.setOfferTimeoutMs(5);
+        AuditTrailWriter writer = new AuditTrailWriter(jdbcTemplate, properties);
+
+        writer.submit(records(15));
+
+        assertThat(writer.getQueueSize()).isEqualTo(10);
+        assertThat(writer.getDroppedCount()).isEqualTo(5);
+    }
+
+    @Test
+    void flushesRemainingRecordsWhenWorkerMissesShutdownTimeout() {
+        properties.setBatchSize(10);
+        properties.setShutdownTimeoutMs(20);
+        recordBatches(0, 50);
+        AuditTrailWriter writer = new AuditTrailWriter(jdbcTemplate, properties);
+        writer.submit(records(100));
+
+        writer.start();
+        writer.stop();
+
+        assertThat(writer.getWrittenCount()).isEqualTo(100);
+        assertThat(writer.getDroppedCount()).isZero();
+        assertThat(writer.getQueueSize()).isZero();
+    }
+
+    /**
+     * JdbcTemplate giả ghi lại kích thước mỗi batch.
+     *
+     * @param failures   số lần đầu tiên ném lỗi database
+     * @param sleepMillis thời gian mỗi lần ghi
+     */
+    @SuppressWarnings("unchecked")
+    private void recordBatches(int failures, long sleepMillis) {
+        AtomicInteger calls = new AtomicInteger();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            Thread.sleep(sleepMillis);
+            if (calls.incrementAndGet() <= failures) {
+                throw new DataAccessResourceFailureException("database down");
+            }
+            batchSizes.add(invocation.<Collection<AuditRecord>>getArgument(1).size());
+            return new int[0][];
+        });
+    }
+
+    private static List<AuditRecord> records(int count) {
+        List<AuditRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(new AuditRecord("UserEntity", String.valueOf(i), AuditRecord.ACTION_UPDATE, "name",
+                    "old", "new", "ADMIN", LocalDateTime.now()));
+        }
+        return records;
+    }
+}
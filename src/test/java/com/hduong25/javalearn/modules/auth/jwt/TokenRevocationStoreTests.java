@@ -0,0 +1,133 @@
+package com.hduong25.javalearn.modules.auth.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra {@link TokenRevocationStore} với đồng hồ giả: thu hồi, hết hạn, va chạm slot, giới hạn và lưu file.
+ */
+class TokenRevocationStoreTests {
+
+    private static final long NOW = 1_700_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void revokesUntilTokenExpires() throws IOException {
+        TokenRevocationStore store = new TokenRevocationStore(100, null, clock::get);
+
+        store.revoke("jti-1", at(NOW + 60));
+        store.revoke("jti-expired", at(NOW - 1));
+
+        assertThat(store.isRevoked("jti-1")).isTrue();
+        assertThat(store.isRevoked("jti-2")).isFalse();
+        assertThat(store.isRevoked("jti-expired")).isFalse();
+        assertThat(store.isRevoked(null)).isFalse();
+        assertThat(store.size()).isEqualTo(1);
+
+        clock.set(NOW + 60);
+        assertThat(store.isRevoked("jti-1")).isFalse();
+        assertThat(store.size()).isEqualTo(1);
+        store.purgeExpired();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void revokingTwiceKeepsTheLaterExpiry() throws IOException {
+        TokenRevocationStore store = new TokenRevocationStore(100, null, clock::get);
+
+        store.revoke("jti-1", at(NOW + 120));
+        store.revoke("jti-1", at(NOW + 10));
+
+        assertThat(store.size()).isEqualTo(1);
+        clock.set(NOW + 60);
+        assertThat(store.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void keepsCollidingEntriesReachableAfterPurge() throws IOException {
+        // 12 entry -> 16 slot, tìm các jti có cùng slot gốc để tạo một cluster
+        List<String> sameHome = jtisWithHome(3, 16, 3);
+        String neighbour = jtisWithHome(4, 16, 1).get(0);
+        TokenRevocationStore store = new TokenRevocationStore(12, null, clock::get);
+
+        store.revoke(sameHome.get(0), at(NOW + 10));
+        store.revoke(sameHome.get(1), at(NOW + 100));
+        store.revoke(sameHome.get(2), at(NOW + 100));
+        store.revoke(neighbour, at(NOW + 100));
+
+        clock.set(NOW + 10);
+        store.purgeExpired();
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.isRevoked(sameHome.get(0))).isFalse();
+        assertThat(store.isRevoked(sameHome.get(1))).isTrue();
+        assertThat(store.isRevoked(sameHome.get(2))).isTrue();
+        assertThat(store.isRevoked(neighbour)).isTrue();
+    }
+
+    @Test
+    void rejectsNewEntriesWhenFullUntilSomeExpire() throws IOException {
+        TokenRevocationStore store = new TokenRevocationStore(4, null, clock::get);
+        for (int i = 0; i < 4; i++) {
+            store.revoke("jti-" + i, at(NOW + 10 + i));
+        }
+
+        assertThatThrownBy(() -> store.revoke("jti-4", at(NOW + 100)))
+                .isInstanceOf(IllegalStateException.class);
+
+        clock.set(NOW + 11);
+        store.revoke("jti-4", at(NOW + 100));
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.isRevoked("jti-0")).isFalse();
+        assertThat(store.isRevoked("jti-4")).isTrue();
+    }
+
+    @Test
+    void reloadsUnexpiredEntriesFromFile() throws IOException {
+        Path file = tempDir.resolve("revoked.bin");
+        TokenRevocationStore store = new TokenRevocationStore(100, file, clock::get);
+        store.revoke("jti-short", at(NOW + 10));
+        store.revoke("jti-long", at(NOW + 100));
+        store.destroy();
+
+        clock.set(NOW + 50);
+        TokenRevocationStore reloaded = new TokenRevocationStore(100, file, clock::get);
+        assertThat(reloaded.size()).isEqualTo(1);
+        assertThat(reloaded.isRevoked("jti-long")).isTrue();
+        assertThat(reloaded.isRevoked("jti-short")).isFalse();
+        reloaded.destroy();
+
+        TokenRevocationStore resized = new TokenRevocationStore(1_000, file, clock::get);
+        assertThat(resized.size()).isZero();
+        resized.destroy();
+    }
+
+    private static Instant at(long epochSecond) {
+        return Instant.ofEpochSecond(epochSecond);
+    }
+
+    private static List<String> jtisWithHome(int home, int slots, int count) {
+        List<String> jtis = new ArrayList<>(count);
+        for (int i = 0; jtis.size() < count; i++) {
+            long fingerprint = TokenRevocationStore.fingerprint("jti-" + i);
+            if (((int) (fingerprint ^ (fingerprint >>> 32)) & (slots - 1)) == home) {
+                jtis.add("jti-" + i);
+            }
+        }
+        return jtis;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hduong25.javalearn.modules.auth.password;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Kiểm tra xác thực HTTP Basic khi executor băm mật khẩu từ chối: 503 với body {@code Result}, không phải 500.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PasswordHashingRejectedFilterTests {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void returnsServiceUnavailableForBasicAuthWhenHashingIsRejected() throws Exception {
+        assertThat(ping().statusCode()).isNotEqualTo(503);
+
+        doThrow(new PasswordHashingRejectedException("Password hashing queue is full"))
+                .when(passwordEncoder).matches(any(), any());
+        HttpResponse<String> rejected = ping();
+
+        assertThat(rejected.statusCode()).isEqualTo(503);
+        assertThat(rejected.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValueSatisfying(value ->
+                assertThat(value).startsWith("application/json"));
+        assertThat(rejected.body()).contains("\"status\":503").contains("ERROR_005");
+    }
+
+    private HttpResponse<String> ping() throws Exception {
+        String credentials = Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+        return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1"))
+                .header(HttpHeaders.AUTHORIZATION, "Basic " + credentials).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,69 @@
+package com.hduong25.javalearn.modules.auth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Kiểm tra {@link ReactiveRateLimitFilter} trên Netty với profile {@code reactive}: 429 kèm
+ * {@code Retry-After} khi hết token, body được phát lại cho controller với rule {@code keyByAccount},
+ * 400 khi body vượt {@code max-body-bytes}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.learn-java.url=jdbc:h2:mem:reactive_rate_limit_db;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive_rate_limit_db?options=MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "spring.r2dbc.username=sa",
+        "security.rate-limit.max-body-bytes=256",
+        "security.rate-limit.rules[0].path=/ping",
+        "security.rate-limit.rules[0].capacity=2",
+        "security.rate-limit.rules[0].refill-per-second=0.01",
+        "security.rate-limit.rules[1].path=/auth/login",
+        "security.rate-limit.rules[1].capacity=3",
+        "security.rate-limit.rules[1].refill-per-second=0.01",
+        "security.rate-limit.rules[1].key-by-account=true"
+})
+@ActiveProfiles("reactive")
+class ReactiveRateLimitFilterTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void rejectsWithRetryAfterWhenBucketIsEmpty() {
+        webTestClient.post().uri("/ping").exchange().expectStatus().isOk();
+        webTestClient.post().uri("/ping").exchange().expectStatus().isOk();
+
+        webTestClient.post().uri("/ping").exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "100")
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(429)
+                .jsonPath("$.error.errorCode").isEqualTo("ERROR_008");
+    }
+
+    @Test
+    void replaysBodyForAccountKeyedRule() {
+        String wrongPassword = "{\"account\":\"admin\",\"password\":\"wrong\"}";
+        webTestClient.post().uri("/auth/login").contentType(MediaType.APPLICATION_JSON).bodyValue(wrongPassword)
+                .exchange()
+                .expectBody().jsonPath("$.status").isEqualTo(401);
+
+        webTestClient.post().uri("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"account\":\"" + "a".repeat(300) + "\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error.errorCode").isEqualTo("ERROR_003");
+
+        webTestClient.post().uri("/auth/login").contentType(MediaType.APPLICATION_JSON).bodyValue(wrongPassword)
+                .exchange()
+                .expectBody().jsonPath("$.status").isEqualTo(401);
+        webTestClient.post().uri("/auth/login").contentType(MediaType.APPLICATION_JSON).bodyValue(wrongPassword)
+                .exchange()
+                .expectStatus().isEqualTo(429);
+    }
+}
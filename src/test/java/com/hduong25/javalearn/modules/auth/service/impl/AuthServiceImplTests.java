@@ -0,0 +1,93 @@
+package com.hduong25.javalearn.modules.auth.service.impl;
+
+import com.hduong25.javalearn.modules.auth.dto.RegisterRequest;
+import com.hduong25.javalearn.modules.auth.service.AuthService;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.modules.user.UserRepository;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import com.hduong25.javalearn.utils.result.Result;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra đăng ký đồng thời cùng account và cập nhật mật khẩu sau khi băm lại.
+ */
+@SpringBootTest
+class AuthServiceImplTests {
+
+    private static final int CONCURRENT_REGISTRATIONS = 6;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentRegistrationsOfTheSameAccountReturnConflict() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REGISTRATIONS);
+        try {
+            List<Future<Result<Long>>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REGISTRATIONS; i++) {
+                Callable<Result<Long>> register = () -> {
+                    start.await();
+                    return authService.register(request("race_account", "race@mail.vn"));
+                };
+                results.add(executor.submit(register));
+            }
+            start.countDown();
+
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Result<Long>> result : results) {
+                statuses.add(result.get().getStatus());
+            }
+            assertThat(statuses).containsOnly(HttpStatusConstants.CREATED, HttpStatusConstants.CONFLICT)
+                    .containsOnlyOnce(HttpStatusConstants.CREATED);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void passwordUpgradeGoesThroughTheEntityAndBumpsUpdatedDate() throws InterruptedException {
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .name("Rehash").account("rehash_account").password("{noop}old").email("rehash@mail.vn")
+                .phone("0903333333").build());
+        LocalDateTime before = userRepository.findById(user.getId()).orElseThrow().getUpdatedDate();
+        Thread.sleep(5);
+
+        userDetailsService.updatePassword(User.withUsername("rehash_account").password("{noop}old")
+                .roles("EMPLOYEE").build(), "{noop}new");
+
+        UserEntity updated = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(updated.getPassword()).isEqualTo("{noop}new");
+        assertThat(updated.getUpdatedDate()).isAfter(before);
+    }
+
+    private static RegisterRequest request(String account, String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Race");
+        request.setAccount(account);
+        request.setPassword("secret");
+        request.setEmail(email);
+        request.setPhone("0904444444");
+        return request;
+    }
+}
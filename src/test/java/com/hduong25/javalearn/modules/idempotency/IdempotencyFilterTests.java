@@ -0,0 +1,212 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.config.IdempotencyProperties;
+import com.hduong25.javalearn.utils.constants.HttpStatusConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra {@link IdempotencyFilter} với {@link InMemoryIdempotencyStore}: phát lại, key dùng lại cho body khác,
+ * request trùng đang xử lý, hết hạn và phạm vi theo người gọi.
+ */
+class IdempotencyFilterTests {
+
+    private static final String BODY = "{\"account\":\"an\"}";
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void replaysStoredResponseForSameKeyAndBody() throws Exception {
+        IdempotencyFilter filter = filter();
+
+        MockHttpServletResponse first = send(filter, "key-1", BODY, "10.0.0.1", created());
+        MockHttpServletResponse second = send(filter, "key-1", BODY, "10.0.0.1", created());
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(second.getStatus()).isEqualTo(first.getStatus());
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).contains("\"data\":1");
+    }
+
+    @Test
+    void rejectsSameKeyWithDifferentBody() throws Exception {
+        IdempotencyFilter filter = filter();
+
+        send(filter, "key-1", BODY, "10.0.0.1", created());
+        MockHttpServletResponse reused = send(filter, "key-1", "{\"account\":\"binh\"}", "10.0.0.1", created());
+
+        assertThat(executions).hasValue(1);
+        assertThat(reused.getStatus()).isEqualTo(HttpStatusConstants.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void scopesAnonymousKeysByClientAddressAndUsersByAccount() throws Exception {
+        IdempotencyFilter filter = filter();
+
+        send(filter, "key-1", BODY, "10.0.0.1", created());
+        MockHttpServletResponse otherClient = send(filter, "key-1", BODY, "10.0.0.2", created());
+        assertThat(executions).hasValue(2);
+        assertThat(otherClient.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("an", null, List.of()));
+        send(filter, "key-1", BODY, "10.0.0.1", created());
+        MockHttpServletResponse sameUser = send(filter, "key-1", BODY, "10.0.0.9", created());
+        assertThat(executions).hasValue(3);
+        assertThat(sameUser.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void doesNotStoreServerErrors() throws Exception {
+        IdempotencyFilter filter = filter();
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            write(response, 200, "{\"status\":503,\"message\":\"busy\"}");
+        };
+
+        send(filter, "key-1", BODY, "10.0.0.1", failing);
+        MockHttpServletResponse retried = send(filter, "key-1", BODY, "10.0.0.1", created());
+
+        assertThat(executions).hasValue(2);
+        assertThat(retried.getContentAsString()).contains("\"data\":2");
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheRequestInFlight() throws Exception {
+        IdempotencyFilter filter = filter();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+            awaitQuietly(release);
+            created().doFilter(request, response);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> send(filter, "key-1", BODY, "10.0.0.1", slow));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> send(filter, "key-1", BODY, "10.0.0.1", slow));
+            Thread.sleep(100);
+            assertThat(duplicate.isDone()).isFalse();
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+            MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+            assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(replayed.getContentAsString()).contains("\"data\":1");
+            assertThat(executions).hasValue(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentDuplicateGetsConflictAfterWaitTimeout() throws Exception {
+        properties.setWaitTimeout(Duration.ofMillis(100));
+        IdempotencyFilter filter = filter();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+            awaitQuietly(release);
+            created().doFilter(request, response);
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> send(filter, "key-1", BODY, "10.0.0.1", slow));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            MockHttpServletResponse duplicate = send(filter, "key-1", BODY, "10.0.0.1", slow);
+            assertThat(duplicate.getStatus()).isEqualTo(HttpStatusConstants.CONFLICT);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getContentAsString()).contains("\"data\":1");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executesAgainAfterTtlExpires() throws Exception {
+        properties.setTtl(Duration.ofMillis(50));
+        IdempotencyFilter filter = filter();
+
+        send(filter, "key-1", BODY, "10.0.0.1", created());
+        Thread.sleep(100);
+        MockHttpServletResponse afterExpiry = send(filter, "key-1", BODY, "10.0.0.1", created());
+
+        assertThat(executions).hasValue(2);
+        assertThat(afterExpiry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    private IdempotencyFilter filter() throws IOException {
+        return new IdempotencyFilter(new InMemoryIdempotencyStore(properties), properties, new ObjectMapper());
+    }
+
+    /**
+     * Controller giả: trả về 201 với ID tăng dần theo số lần chạy.
+     */
+    private FilterChain created() {
+        return (request, response) -> {
+            int id = executions.incrementAndGet();
+            write(response, 200, "{\"status\":201,\"data\":" + id + "}");
+        };
+    }
+
+    private static MockHttpServletResponse send(IdempotencyFilter filter, String key, String body, String remoteAddr,
+                                                FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/register");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static void write(ServletResponse response, int status, String body) throws IOException {
+        ((HttpServletResponse) response).setStatus(status);
+        response.setContentType("application/json");
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
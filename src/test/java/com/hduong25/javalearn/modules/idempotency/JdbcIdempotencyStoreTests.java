@@ -0,0 +1,118 @@
+package com.hduong25.javalearn.modules.idempotency;
+
+import com.hduong25.javalearn.config.IdempotencyProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra {@link JdbcIdempotencyStore} trên bảng IDEMPOTENCY_KEY, dùng hai instance store
+ * để giả lập hai node cùng chia sẻ database.
+ */
+@SpringBootTest
+class JdbcIdempotencyStoreTests {
+
+    private static final StoredResponse CREATED = new StoredResponse(200, "application/json",
+            "{\"status\":201}".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reservesCompletesAndReplays() {
+        JdbcIdempotencyStore store = store(new IdempotencyProperties());
+        String key = key();
+
+        assertThat(store.reserve(key, "fp-1").type()).isEqualTo(Reservation.Type.ACQUIRED);
+        assertThat(store.reserve(key, "fp-1").type()).isEqualTo(Reservation.Type.IN_FLIGHT);
+        assertThat(store.reserve(key, "fp-2").type()).isEqualTo(Reservation.Type.MISMATCH);
+
+        store.complete(key, CREATED);
+
+        Reservation replay = store.reserve(key, "fp-1");
+        assertThat(replay.type()).isEqualTo(Reservation.Type.COMPLETED);
+        assertThat(replay.response().status()).isEqualTo(200);
+        assertThat(replay.response().body()).isEqualTo(CREATED.body());
+        assertThat(store.reserve(key, "fp-2").type()).isEqualTo(Reservation.Type.MISMATCH);
+    }
+
+    @Test
+    void releasedKeyCanBeAcquiredAgain() throws Exception {
+        JdbcIdempotencyStore store = store(new IdempotencyProperties());
+        String key = key();
+
+        store.reserve(key, "fp-1");
+        Reservation waiting = store.reserve(key, "fp-1");
+        store.release(key);
+
+        assertThat(waiting.inFlight()).isCompletedWithValue(null);
+        assertThat(store.reserve(key, "fp-1").type()).isEqualTo(Reservation.Type.ACQUIRED);
+    }
+
+    @Test
+    void expiredKeyIsTakenOverAndPurged() throws Exception {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setInFlightTimeout(Duration.ofMillis(50));
+        properties.setTtl(Duration.ofMillis(50));
+        JdbcIdempotencyStore store = store(properties);
+        String abandoned = key();
+        String completed = key();
+
+        store.reserve(abandoned, "fp-1");
+        store.reserve(completed, "fp-1");
+        store.complete(completed, CREATED);
+        Thread.sleep(100);
+
+        // Key bị bỏ dở quá in-flight-timeout được giữ lại, kể cả với body khác
+        assertThat(store.reserve(abandoned, "fp-2").type()).isEqualTo(Reservation.Type.ACQUIRED);
+
+        store.purge();
+        assertThat(count(completed)).isZero();
+        assertThat(store.reserve(completed, "fp-1").type()).isEqualTo(Reservation.Type.ACQUIRED);
+    }
+
+    @Test
+    void waiterOnAnotherInstanceSeesResultAfterPoll() {
+        JdbcIdempotencyStore owner = store(new IdempotencyProperties());
+        JdbcIdempotencyStore other = store(new IdempotencyProperties());
+        String completedKey = key();
+        String releasedKey = key();
+
+        owner.reserve(completedKey, "fp-1");
+        owner.reserve(releasedKey, "fp-1");
+        Reservation completedWait = other.reserve(completedKey, "fp-1");
+        Reservation releasedWait = other.reserve(releasedKey, "fp-1");
+        assertThat(completedWait.type()).isEqualTo(Reservation.Type.IN_FLIGHT);
+
+        other.pollWaiting();
+        assertThat(completedWait.inFlight()).isNotDone();
+
+        owner.complete(completedKey, CREATED);
+        owner.release(releasedKey);
+        other.pollWaiting();
+
+        assertThat(completedWait.inFlight()).isCompleted();
+        assertThat(completedWait.inFlight().join().body()).isEqualTo(CREATED.body());
+        assertThat(releasedWait.inFlight()).isCompletedWithValue(null);
+    }
+
+    private JdbcIdempotencyStore store(IdempotencyProperties properties) {
+        return new JdbcIdempotencyStore(jdbcTemplate, properties);
+    }
+
+    private Integer count(String key) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + IdempotencyKeyEntity.TABLE_NAME + " WHERE ID = ?",
+                Integer.class, key);
+    }
+
+    private static String key() {
+        return UUID.randomUUID().toString();
+    }
+}
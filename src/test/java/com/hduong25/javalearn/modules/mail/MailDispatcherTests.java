@@ -0,0 +1,123 @@
+package com.hduong25.javalearn.modules.mail;
+
+import com.hduong25.javalearn.config.MailQueueProperties;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "mail.queue.enabled=true",
+        "mail.queue.poll-interval=PT0.05S",
+        "mail.queue.initial-backoff=PT0.2S"
+})
+class MailDispatcherTests {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcherTests.class);
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailQueue mailQueue;
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private MailQueueProperties mailQueueProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sendsQueuedMail() throws Exception {
+        long id = mailQueue.enqueue("user@test.local", "Xin chào", "Nội dung");
+
+        assertThat(waitFor(() -> mailQueue.status(id).equals(Optional.of(MailStatus.SENT)), 10_000)).isTrue();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo("Xin chào");
+    }
+
+    @Test
+    void retriesWhileServerIsDown() {
+        greenMail.stop();
+        long id = mailQueue.enqueue("retry@test.local", "Retry", "Body");
+
+        assertThat(waitFor(() -> attemptsOf(id) >= 1, 10_000)).isTrue();
+        assertThat(mailQueue.status(id)).contains(MailStatus.PENDING);
+
+        greenMail.start();
+        assertThat(waitFor(() -> mailQueue.status(id).equals(Optional.of(MailStatus.SENT)), 10_000)).isTrue();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    /**
+     * Đo throughput với số worker khác nhau. Mail được đưa vào hàng đợi khi dispatcher đang dừng
+     * để chỉ tính thời gian gửi.
+     */
+    @Test
+    void throughputByWorkerCount() {
+        int messages = 300;
+        int originalWorkers = mailQueueProperties.getWorkers();
+        try {
+            for (int workers : new int[]{1, 2, 4}) {
+                mailDispatcher.stop();
+                mailQueueProperties.setWorkers(workers);
+                long sentBefore = mailDispatcher.getSentCount();
+                long connectionsBefore = mailDispatcher.getConnectionCount();
+                for (int i = 0; i < messages; i++) {
+                    mailQueue.enqueue("bench" + i + "@test.local", "Bench " + i, "Body " + i);
+                }
+
+                long start = System.nanoTime();
+                mailDispatcher.start();
+                assertThat(waitFor(() -> mailDispatcher.getSentCount() - sentBefore >= messages, 60_000)).isTrue();
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                log.info("workers={} messages={} elapsed={}s throughput={} msg/s connections={}",
+                        workers, messages, String.format("%.2f", seconds), String.format("%.0f", messages / seconds),
+                        mailDispatcher.getConnectionCount() - connectionsBefore);
+                assertThat(mailDispatcher.getConnectionCount() - connectionsBefore).isLessThanOrEqualTo(workers);
+            }
+        } finally {
+            mailDispatcher.stop();
+            mailQueueProperties.setWorkers(originalWorkers);
+            mailDispatcher.start();
+        }
+    }
+
+    private int attemptsOf(long id) {
+        Integer attempts = jdbcTemplate.queryForObject(
+                "SELECT ATTEMPTS FROM " + MailQueueEntity.TABLE_NAME + " WHERE ID = ?", Integer.class, id);
+        return attempts != null ? attempts : 0;
+    }
+
+    private static boolean waitFor(BooleanSupplier condition, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return condition.getAsBoolean();
+    }
+}
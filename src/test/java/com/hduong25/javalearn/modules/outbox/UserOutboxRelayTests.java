@@ -0,0 +1,82 @@
+package com.hduong25.javalearn.modules.outbox;
+
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.modules.user.UserRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "outbox.relay.enabled=true",
+        "outbox.relay.poll-interval-ms=100"
+})
+@EmbeddedKafka(partitions = 3, topics = "user-events")
+class UserOutboxRelayTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Test
+    void relaysUserEventsInOrderAndCleansOutbox() throws InterruptedException {
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .name("Outbox").account("outbox").password("secret").email("outbox@test").phone("0900000000")
+                .build());
+        user.setName("Outbox Updated");
+        userRepository.save(user);
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps("outbox-test", "true", embeddedKafkaBroker);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, "user-events");
+
+            List<ConsumerRecord<String, String>> received = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 20_000;
+            while (received.size() < 2 && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(2), 2);
+                records.forEach(received::add);
+            }
+
+            assertThat(received).hasSize(2);
+            assertThat(received).allSatisfy(r -> assertThat(r.key()).isEqualTo(Long.toString(user.getId())));
+            assertThat(received.get(0).value()).contains(UserOutboxListener.USER_CREATED).doesNotContain("secret");
+            assertThat(received.get(1).value()).contains(UserOutboxListener.USER_UPDATED, "Outbox Updated");
+        }
+
+        assertThat(waitForEmptyOutbox()).isZero();
+    }
+
+    private int waitForEmptyOutbox() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        int remaining;
+        do {
+            remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + UserOutboxEntity.TABLE_NAME, Integer.class);
+            if (remaining > 0) {
+                Thread.sleep(100);
+            }
+        } while (remaining > 0 && System.currentTimeMillis() < deadline);
+        return remaining;
+    }
+}
@@ -0,0 +1,131 @@
+package com.hduong25.javalearn.modules.profiling;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.modules.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra actuator endpoint {@code jfr} qua server thật: phân quyền admin, bắt đầu recording,
+ * 409 khi đang chạy, tải file khi đang chạy và sau khi dừng.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.endpoints.web.exposure.include=health,jfr")
+class JfrRecordingEndpointTests {
+
+    private static final String ADMIN = basic("admin", "admin");
+    private static final String EMPLOYEE = basic("jfr_employee", "secret");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByAccount("jfr_employee").isEmpty()) {
+            userRepository.save(UserEntity.builder().name("JFR").account("jfr_employee")
+                    .password(passwordEncoder.encode("secret")).email("jfr@mail.vn").phone("0906666666").build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        send(request("/actuator/jfr", ADMIN).DELETE());
+    }
+
+    @Test
+    void requiresAdminAuthority() throws Exception {
+        assertThat(send(request("/actuator/jfr", null).GET()).statusCode()).isEqualTo(401);
+        assertThat(send(request("/actuator/jfr", EMPLOYEE).GET()).statusCode()).isEqualTo(403);
+        assertThat(send(start(EMPLOYEE, "PT30S")).statusCode()).isEqualTo(403);
+        assertThat(send(request("/actuator/jfr/1", EMPLOYEE).GET()).statusCode()).isEqualTo(403);
+
+        assertThat(send(request("/actuator/jfr", ADMIN).GET()).statusCode()).isEqualTo(200);
+        String token = json(send(HttpRequest.newBuilder(uri("/auth/login"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"account\":\"admin\",\"password\":\"admin\"}"))))
+                .path("data").path("accessToken").asText();
+        assertThat(send(request("/actuator/jfr", "Bearer " + token).GET()).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void startsRecordingRejectsSecondStartAndDownloadsFile() throws Exception {
+        HttpResponse<byte[]> started = send(start(ADMIN, "PT30S"));
+        assertThat(started.statusCode()).isEqualTo(200);
+        JsonNode status = json(started);
+        long id = status.path("id").asLong();
+        assertThat(status.path("state").asText()).isEqualTo("RUNNING");
+
+        HttpResponse<byte[]> conflict = send(start(ADMIN, "PT30S"));
+        assertThat(conflict.statusCode()).isEqualTo(409);
+        assertThat(json(conflict).path("id").asLong()).isEqualTo(id);
+
+        HttpResponse<byte[]> snapshot = send(request("/actuator/jfr/" + id, ADMIN).GET());
+        assertThat(snapshot.statusCode()).isEqualTo(200);
+        assertThat(Arrays.copyOf(snapshot.body(), 4)).isEqualTo("FLR\0".getBytes(StandardCharsets.US_ASCII));
+
+        HttpResponse<byte[]> stopped = send(request("/actuator/jfr", ADMIN).DELETE());
+        assertThat(json(stopped).path("state").asText()).isEqualTo("CLOSED");
+        HttpResponse<byte[]> file = send(request("/actuator/jfr/" + id, ADMIN).GET());
+        assertThat(file.statusCode()).isEqualTo(200);
+        assertThat(Arrays.copyOf(file.body(), 4)).isEqualTo("FLR\0".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(send(request("/actuator/jfr/" + (id + 1000), ADMIN).GET()).statusCode()).isEqualTo(404);
+        assertThat(send(start(ADMIN, "PT0S")).statusCode()).isEqualTo(400);
+    }
+
+    private HttpRequest.Builder start(String authorization, String duration) {
+        return request("/actuator/jfr", authorization)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"duration\":\"" + duration + "\"}"));
+    }
+
+    private HttpRequest.Builder request(String path, String authorization) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path));
+        return authorization != null ? builder.header(HttpHeaders.AUTHORIZATION, authorization) : builder;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private JsonNode json(HttpResponse<byte[]> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    private static String basic(String account, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((account + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package com.hduong25.javalearn.modules.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra {@link RequestResourceMeter} với {@link SimpleMeterRegistry}: ghi theo từng handler
+ * và bỏ qua giá trị {@code -1}.
+ */
+class RequestResourceMeterTests {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestResourceMeter meter = new RequestResourceMeter(
+            new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class));
+
+    @Test
+    void recordsIntoPerHandlerTimerAndSummary() {
+        RequestResourceMeter.Snapshot start = meter.start();
+        byte[][] garbage = new byte[64][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[1024];
+        }
+        RequestResourceMeter.Usage usage = meter.stop("UserController#search", start);
+        meter.stop("UserController#search", meter.start());
+        meter.stop("AuthController#login", meter.start());
+
+        assertThat(usage.cpuNanos()).isNotNegative();
+        assertThat(usage.allocatedBytes()).isGreaterThanOrEqualTo(64L * 1024);
+
+        Timer cpu = cpu("UserController#search");
+        DistributionSummary allocated = allocated("UserController#search");
+        assertThat(cpu.count()).isEqualTo(2);
+        assertThat(allocated.count()).isEqualTo(2);
+        assertThat(allocated.totalAmount()).isGreaterThanOrEqualTo(usage.allocatedBytes());
+        assertThat(cpu.totalTime(TimeUnit.NANOSECONDS)).isGreaterThanOrEqualTo(usage.cpuNanos());
+
+        assertThat(cpu("AuthController#login").count()).isEqualTo(1);
+        assertThat(allocated("AuthController#login").count()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsUnmeasuredValues() {
+        RequestResourceMeter.Snapshot measured = meter.start();
+
+        RequestResourceMeter.Usage none = meter.stop("handler", new RequestResourceMeter.Snapshot(-1, -1));
+        assertThat(none.cpuNanos()).isEqualTo(-1);
+        assertThat(none.allocatedBytes()).isEqualTo(-1);
+        assertThat(cpu("handler").count()).isZero();
+        assertThat(allocated("handler").count()).isZero();
+
+        RequestResourceMeter.Usage allocationOnly = meter.stop("handler",
+                new RequestResourceMeter.Snapshot(-1, measured.allocatedBytes()));
+        assertThat(allocationOnly.cpuNanos()).isEqualTo(-1);
+        assertThat(cpu("handler").count()).isZero();
+        assertThat(allocated("handler").count()).isEqualTo(1);
+
+        meter.stop("handler", new RequestResourceMeter.Snapshot(measured.cpuNanos(), -1));
+        assertThat(cpu("handler").count()).isEqualTo(1);
+        assertThat(allocated("handler").count()).isEqualTo(1);
+    }
+
+    @Test
+    void returnsUsageWithoutRegistry() {
+        RequestResourceMeter withoutRegistry = new RequestResourceMeter(
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+        RequestResourceMeter.Usage usage = withoutRegistry.stop("handler", withoutRegistry.start());
+
+        assertThat(usage.cpuNanos()).isNotNegative();
+        assertThat(usage.allocatedBytes()).isNotNegative();
+        assertThat(registry.find(RequestResourceMeter.CPU_METRIC).meters()).isEmpty();
+    }
+
+    private Timer cpu(String handler) {
+        return registry.get(RequestResourceMeter.CPU_METRIC).tag("handler", handler).timer();
+    }
+
+    private DistributionSummary allocated(String handler) {
+        return registry.get(RequestResourceMeter.ALLOCATION_METRIC).tag("handler", handler).summary();
+    }
+}
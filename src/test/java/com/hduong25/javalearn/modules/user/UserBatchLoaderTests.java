@@ -0,0 +1,188 @@
+package com.hduong25.javalearn.modules.user;
+
+import com.hduong25.javalearn.config.UserLoaderProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Kiểm tra {@link UserBatchLoader} với repository giả lập database: mỗi truy vấn giữ một trong
+ * {@value #POOL_SIZE} connection trong {@value #QUERY_MILLIS} ms.
+ */
+class UserBatchLoaderTests {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBatchLoaderTests.class);
+
+    private static final int POOL_SIZE = 10;
+    private static final int QUERY_MILLIS = 2;
+    private static final int CALLERS = 64;
+    private static final int LOOKUPS_PER_CALLER = 50;
+    private static final int HOT_USERS = 20;
+
+    private final Semaphore connections = new Semaphore(POOL_SIZE);
+    private final AtomicInteger queries = new AtomicInteger();
+    private final List<List<Long>> batches = new ArrayList<>();
+    private ExecutorService taskExecutor;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskExecutor = Executors.newFixedThreadPool(POOL_SIZE);
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> query(invocation,
+                () -> Optional.of(user(invocation.getArgument(0)))));
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> query(invocation, () -> {
+            List<Long> ids = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+            synchronized (batches) {
+                batches.add(ids);
+            }
+            return ids.stream().filter(id -> id > 0).map(UserBatchLoaderTests::user).toList();
+        }));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdownNow();
+    }
+
+    @Test
+    void coalescesSameIdAndBatchesDistinctIds() throws Exception {
+        UserBatchLoader loader = loader(Duration.ofMillis(20), 3);
+
+        var first = loader.load(1);
+        var duplicate = loader.load(1);
+        var second = loader.load(2);
+        var missing = loader.load(-1);
+        var afterFull = loader.load(3);
+
+        assertThat(duplicate).isSameAs(first);
+        assertThat(first.get(1, TimeUnit.SECONDS)).map(UserEntity::getId).contains(1L);
+        assertThat(second.get(1, TimeUnit.SECONDS)).map(UserEntity::getId).contains(2L);
+        assertThat(missing.get(1, TimeUnit.SECONDS)).isEmpty();
+        assertThat(afterFull.get(1, TimeUnit.SECONDS)).map(UserEntity::getId).contains(3L);
+        assertThat(loader.getCoalescedCount()).isEqualTo(1);
+        // Batch đầy (3 ID) được gửi ngay, ID còn lại đi theo window bằng findById
+        assertThat(batches).containsExactly(List.of(1L, 2L, -1L));
+        assertThat(queries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void fewerQueriesUnderFanIn() throws Exception {
+        run(id -> userRepository.findById(id));
+        int directQueries = queries.getAndSet(0);
+
+        UserBatchLoader loader = loader(Duration.ofMillis(1), 100);
+        run(id -> loader.load(id).join());
+        int batchedQueries = queries.get();
+
+        // Mỗi lần đọc hoặc được gộp vào future đang chờ, hoặc nằm trong đúng một truy vấn
+        int batchedIds = batches.stream().mapToInt(List::size).sum() + (batchedQueries - batches.size());
+        assertThat(directQueries).isEqualTo(CALLERS * LOOKUPS_PER_CALLER);
+        assertThat(loader.getQueryCount()).isEqualTo(batchedQueries);
+        assertThat(loader.getCoalescedCount()).isPositive();
+        assertThat(loader.getCoalescedCount() + batchedIds).isEqualTo(CALLERS * LOOKUPS_PER_CALLER);
+        assertThat(batchedQueries).isLessThan(directQueries / 10);
+    }
+
+    @Test
+    @Tag("loadtest")
+    void lowerTailLatencyUnderFanIn() throws Exception {
+        Result direct = run(id -> userRepository.findById(id));
+        int directQueries = queries.getAndSet(0);
+
+        UserBatchLoader loader = loader(Duration.ofMillis(1), 100);
+        Result batched = run(id -> loader.load(id).join());
+
+        log.info("direct:  queries={} p50={}us p99={}us", directQueries, direct.p50Micros(), direct.p99Micros());
+        log.info("batched: queries={} p50={}us p99={}us coalesced={}", queries.get(), batched.p50Micros(),
+                batched.p99Micros(), loader.getCoalescedCount());
+
+        assertThat(batched.p99Micros()).isLessThan(direct.p99Micros());
+    }
+
+    private UserBatchLoader loader(Duration window, int maxBatchSize) {
+        UserLoaderProperties properties = new UserLoaderProperties();
+        properties.setWindow(window);
+        properties.setMaxBatchSize(maxBatchSize);
+        return new UserBatchLoader(userRepository, properties, taskExecutor);
+    }
+
+    /**
+     * {@value #CALLERS} thread đọc đồng thời các user trong một tập nhỏ (hot users), đo latency từng lần đọc.
+     */
+    private Result run(LongFunction<Optional<UserEntity>> lookup) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < CALLERS; c++) {
+            int caller = c;
+            futures.add(callers.submit(() -> {
+                long[] latencies = new long[LOOKUPS_PER_CALLER];
+                start.await();
+                for (int i = 0; i < LOOKUPS_PER_CALLER; i++) {
+                    long id = 1 + (caller * 7L + i) % HOT_USERS;
+                    long begin = System.nanoTime();
+                    assertThat(lookup.apply(id)).isPresent();
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+        start.countDown();
+
+        long[] all = new long[CALLERS * LOOKUPS_PER_CALLER];
+        int index = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get(60, TimeUnit.SECONDS);
+            System.arraycopy(latencies, 0, all, index, latencies.length);
+            index += latencies.length;
+        }
+        callers.shutdown();
+        Arrays.sort(all);
+        return new Result(all[all.length / 2] / 1_000, all[(int) (all.length * 0.99)] / 1_000);
+    }
+
+    private <T> T query(InvocationOnMock invocation, Supplier<T> result) throws InterruptedException {
+        connections.acquire();
+        try {
+            queries.incrementAndGet();
+            Thread.sleep(QUERY_MILLIS);
+            return result.get();
+        } finally {
+            connections.release();
+        }
+    }
+
+    private static UserEntity user(long id) {
+        return UserEntity.builder().id(id).name("User " + id).account("user" + id).build();
+    }
+
+    private record Result(long p50Micros, long p99Micros) {
+    }
+}
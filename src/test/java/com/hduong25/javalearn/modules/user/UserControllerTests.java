@@ -0,0 +1,132 @@
+package com.hduong25.javalearn.modules.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra conditional GET trên {@code /users/{id}}, nén gzip và phân quyền export qua server thật.
+ * <p>
+ * Dùng {@link HttpClient} của JDK vì client này không tự giải nén, nên thấy được header {@code Content-Encoding}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserControllerTests {
+
+    private static final String ADMIN = "admin:admin";
+    private static final String EMPLOYEE = "etag_account:secret";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByAccount("etag_account").orElseGet(() -> userRepository.save(UserEntity.builder()
+                .name("ETag").account("etag_account").password(passwordEncoder.encode("secret")).email("etag@mail.vn")
+                .phone("0905555555").build()));
+    }
+
+    @Test
+    void returnsNotModifiedForMatchingETagAndNewETagAfterUpdate() throws Exception {
+        HttpResponse<String> first = send(get("/users/" + user.getId()), HttpResponse.BodyHandlers.ofString());
+        String eTag = first.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(eTag).startsWith("W/\"" + user.getId() + "-");
+        assertThat(first.headers().firstValue(HttpHeaders.CACHE_CONTROL)).hasValueSatisfying(value ->
+                assertThat(value).contains("no-cache").contains("private"));
+        assertThat(first.body()).contains("\"account\":\"etag_account\"");
+
+        HttpResponse<String> notModified = send(get("/users/" + user.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag), HttpResponse.BodyHandlers.ofString());
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(notModified.body()).isEmpty();
+
+        Thread.sleep(5);
+        UserEntity stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setName("ETag Mới");
+        userRepository.save(stored);
+
+        HttpResponse<String> modified = send(get("/users/" + user.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag), HttpResponse.BodyHandlers.ofString());
+        assertThat(modified.statusCode()).isEqualTo(200);
+        assertThat(modified.headers().firstValue(HttpHeaders.ETAG)).isPresent().get().isNotEqualTo(eTag);
+        assertThat(modified.body()).contains("ETag Mới");
+    }
+
+    @Test
+    void compressesResponsesOnlyWhenClientAcceptsGzip() throws Exception {
+        HttpResponse<InputStream> gzip = send(get("/users/export?format=NDJSON", ADMIN)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"), HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(gzip.statusCode()).isEqualTo(200);
+        assertThat(gzip.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        try (InputStream body = new GZIPInputStream(gzip.body())) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).contains("\"account\":\"etag_account\"");
+        }
+
+        HttpResponse<String> plain = send(get("/users/export?format=NDJSON", ADMIN), HttpResponse.BodyHandlers.ofString());
+        assertThat(plain.statusCode()).isEqualTo(200);
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(plain.body()).contains("\"account\":\"etag_account\"");
+    }
+
+    @Test
+    void restrictsExportToAdmins() throws Exception {
+        HttpResponse<String> login = send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"account\":\"etag_account\",\"password\":\"secret\"}")),
+                HttpResponse.BodyHandlers.ofString());
+        String token = new ObjectMapper().readTree(login.body()).path("data").path("accessToken").asText();
+
+        HttpResponse<String> bearer = send(HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/users/export?format=NDJSON&gzip=true")).header(HttpHeaders.AUTHORIZATION, "Bearer " + token),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(bearer.statusCode()).isEqualTo(403);
+        assertThat(send(get("/users/export", EMPLOYEE), HttpResponse.BodyHandlers.ofString()).statusCode())
+                .isEqualTo(403);
+        assertThat(send(get("/users/" + user.getId(), EMPLOYEE), HttpResponse.BodyHandlers.ofString()).statusCode())
+                .isEqualTo(200);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return get(path, EMPLOYEE);
+    }
+
+    private HttpRequest.Builder get(String path, String account) {
+        String credentials = Base64.getEncoder().encodeToString(account.getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.AUTHORIZATION, "Basic " + credentials)
+                .GET();
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        return httpClient.send(request.build(), handler);
+    }
+}
@@ -0,0 +1,108 @@
+package com.hduong25.javalearn.modules.user.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra {@link UserSearchIndex}: chuẩn hóa tiếng Việt, xếp hạng, phần thay đổi và dựng lại index.
+ */
+class UserSearchIndexTests {
+
+    private static final List<UserSearchDocument> USERS = List.of(
+            new UserSearchDocument(1, "Nguyễn Văn An", "an_nguyen", "an.nguyen@mail.vn", "0901234567"),
+            new UserSearchDocument(2, "Trần Thị Ánh", "anhtran", "anh.tran@mail.vn", "0912345678"),
+            new UserSearchDocument(3, "Đặng Quốc Nguyên", "nguyendq", "dang.nguyen@corp.vn", "0987654321"),
+            new UserSearchDocument(4, "Lê An", "le.an", "lean@corp.vn", "0901999999"));
+
+    @Test
+    void matchesPrefixesWithoutDiacriticsAndRanksExactAccountFirst() {
+        UserSearchIndex index = new UserSearchIndex();
+        assertThat(index.isReady()).isFalse();
+        index.rebuild(USERS);
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("Nguyễn", 10)).containsExactly(1L, 3L);
+        assertThat(index.search("nguyen van", 10)).containsExactly(1L);
+        assertThat(index.search("DANG", 10)).containsExactly(3L);
+        assertThat(index.search("an", 10)).startsWith(1L, 4L).contains(2L).doesNotContain(3L);
+        assertThat(index.search("an_nguyen", 10)).containsExactly(1L);
+        assertThat(index.search("anh.tran@", 10)).containsExactly(2L);
+        assertThat(index.search("@corp.vn", 10)).containsExactly(3L, 4L);
+        assertThat(index.search("0901", 10)).containsExactly(1L, 4L);
+        assertThat(index.search("an", 1)).containsExactly(1L);
+        assertThat(index.search("xyz", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void appliesChangesOverTheSegmentAndDropsThemOnRebuild() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.rebuild(USERS);
+
+        index.index(new UserSearchDocument(5, "Phạm Minh Anh", "minhanh", "minh@mail.vn", "0933333333"));
+        index.index(new UserSearchDocument(1, "Nguyễn Văn Bình", "an_nguyen", "an.nguyen@mail.vn", "0977777777"));
+        index.remove(4);
+
+        assertThat(index.search("minh", 10)).containsExactly(5L);
+        assertThat(index.search("nguyen binh", 10)).containsExactly(1L);
+        assertThat(index.search("0901234", 10)).isEmpty();
+        assertThat(index.search("0977", 10)).containsExactly(1L);
+        assertThat(index.search("le", 10)).isEmpty();
+        assertThat(index.pendingChanges()).isEqualTo(3);
+
+        long since = index.beginRebuild();
+        index.index(new UserSearchDocument(6, "Hoàng Yến", "yen", "yen@mail.vn", "0944444444"));
+        SearchSegment.Builder builder = new SearchSegment.Builder();
+        builder.add(new UserSearchDocument(1, "Nguyễn Văn Bình", "an_nguyen", "an.nguyen@mail.vn", "0977777777"));
+        builder.add(USERS.get(1));
+        builder.add(USERS.get(2));
+        builder.add(new UserSearchDocument(5, "Phạm Minh Anh", "minhanh", "minh@mail.vn", "0933333333"));
+        index.completeRebuild(builder.build(), since);
+
+        assertThat(index.pendingChanges()).isEqualTo(1);
+        assertThat(index.search("yen", 10)).containsExactly(6L);
+        assertThat(index.search("binh", 10)).containsExactly(1L);
+        assertThat(index.search("le", 10)).isEmpty();
+    }
+
+    @Test
+    void mergedSegmentsSearchLikeASingleSegment() {
+        Random random = new Random(42);
+        String[] surnames = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Võ", "Đặng"};
+        String[] given = {"An", "Anh", "Bình", "Chi", "Dũng", "Giang", "Hà", "Hải", "Khánh", "Linh"};
+        List<UserSearchDocument> users = new ArrayList<>();
+        for (int id = 1; id <= 3_000; id++) {
+            String name = surnames[random.nextInt(surnames.length)] + " " + given[random.nextInt(given.length)];
+            users.add(new UserSearchDocument(id, name, "user" + id, "user" + id + "@mail.vn",
+                    "09" + String.format("%08d", random.nextInt(100_000_000))));
+        }
+
+        UserSearchIndex single = new UserSearchIndex();
+        single.rebuild(users);
+
+        List<SearchSegment> parts = new ArrayList<>();
+        for (int from = 0; from < users.size(); from += 700) {
+            SearchSegment.Builder builder = new SearchSegment.Builder();
+            users.subList(from, Math.min(from + 700, users.size())).forEach(builder::add);
+            parts.add(builder.build());
+        }
+        UserSearchIndex merged = new UserSearchIndex();
+        merged.completeRebuild(SearchSegment.merge(parts), merged.beginRebuild());
+
+        assertThat(merged.stats().terms()).isEqualTo(single.stats().terms());
+        assertThat(merged.stats().postings()).isEqualTo(single.stats().postings());
+        for (String query : List.of("nguyen", "ha", "hai", "le anh", "user12", "user123@", "09", "dang khanh", "x")) {
+            assertThat(merged.search(query, 50)).as(query).isEqualTo(single.search(query, 50));
+        }
+        assertThat(single.search("user1234", 5)).startsWith(1234L);
+
+        String surname = users.get(1233).name().split(" ")[0];
+        assertThat(merged.search("user1234 " + surname, 5)).containsExactly(1234L);
+        assertThat(merged.search("user1234 " + (surname.equals("Võ") ? "Lê" : "Võ"), 5)).isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package com.hduong25.javalearn.modules.user.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.modules.user.UserRepository;
+import com.hduong25.javalearn.modules.user.service.UserExportFormat;
+import com.hduong25.javalearn.modules.user.service.UserExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra nội dung CSV/NDJSON của {@link UserExportServiceImpl} và fetch size theo JDBC URL.
+ */
+@SpringBootTest
+class UserExportServiceImplTests {
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsCsvAndNdjsonWithoutPasswords() throws IOException {
+        UserEntity first = userRepository.save(UserEntity.builder()
+                .name("Nguyễn Văn \"An\"").address("12 Lê Lợi, Q1").account("export_an").password("secret-hash")
+                .email("export.an@mail.vn").phone("0901111111").build());
+        UserEntity second = userRepository.save(UserEntity.builder()
+                .name("Trần Bình").address("dòng 1\ndòng 2").account("export_binh").password("secret-hash")
+                .email("export.binh@mail.vn").phone("0902222222").build());
+
+        String csv = export(UserExportFormat.CSV, first.getId() - 1, second.getId());
+        List<String> lines = List.of(csv.split("\r\n"));
+        assertThat(lines.get(0)).isEqualTo("id,name,address,account,email,phone,createdDate,updatedDate");
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(1)).startsWith(first.getId() + ",\"Nguyễn Văn \"\"An\"\"\",\"12 Lê Lợi, Q1\","
+                + "export_an,export.an@mail.vn,0901111111,");
+        assertThat(lines.get(2)).startsWith(second.getId() + ",Trần Bình,\"dòng 1\ndòng 2\",export_binh,");
+        assertThat(csv).doesNotContain("secret-hash");
+
+        String ndjson = export(UserExportFormat.NDJSON, first.getId(), second.getId());
+        String[] rows = ndjson.split("\n");
+        assertThat(rows).hasSize(1);
+        JsonNode row = objectMapper.readTree(rows[0]);
+        assertThat(row.get("id").asLong()).isEqualTo(second.getId());
+        assertThat(row.get("address").asText()).isEqualTo("dòng 1\ndòng 2");
+        assertThat(row.get("createdDate").asText()).isNotBlank();
+        assertThat(row.has("password")).isFalse();
+    }
+
+    @Test
+    void streamsRowByRowOnMysqlWithoutCursorFetch() {
+        assertThat(UserExportServiceImpl.fetchSize("jdbc:mysql://db:3306/learn_java_db", 1000))
+                .isEqualTo(Integer.MIN_VALUE);
+        assertThat(UserExportServiceImpl.fetchSize("jdbc:mysql://db:3306/learn_java_db?useCursorFetch=true", 1000))
+                .isEqualTo(1000);
+        assertThat(UserExportServiceImpl.fetchSize("jdbc:h2:mem:learn_java_db", 1000)).isEqualTo(1000);
+    }
+
+    private String export(UserExportFormat format, long afterId, long toId) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userExportService.export(format, afterId, toId, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,286 @@
+package com.hduong25.javalearn.modules.user.shard;
+
+import com.hduong25.javalearn.config.UserShardProperties;
+import com.hduong25.javalearn.modules.user.UserEntity;
+import com.hduong25.javalearn.utils.SnowflakeIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra {@link ShardedUserRepository} và {@link UserShardRebalancer} với nhiều database H2 trong bộ nhớ.
+ */
+class ShardedUserRepositoryTests {
+
+    private static final String CREATE_TABLE = "CREATE TABLE USER (ID BIGINT PRIMARY KEY,"
+            + " NAME VARCHAR(250) NOT NULL, ADDRESS VARCHAR(300), ACCOUNT VARCHAR(100) NOT NULL,"
+            + " PASSWORD VARCHAR(100) NOT NULL, EMAIL VARCHAR(100) NOT NULL, PHONE VARCHAR(10) NOT NULL,"
+            + " CREATED_BY VARCHAR(50) NOT NULL, UPDATED_BY VARCHAR(50) NOT NULL,"
+            + " CREATED_DATE TIMESTAMP, UPDATED_DATE TIMESTAMP,"
+            + " CONSTRAINT UK_USER_ACCOUNT UNIQUE (ACCOUNT), CONSTRAINT UK_USER_EMAIL UNIQUE (EMAIL))";
+
+    private static final int USERS = 600;
+
+    private final List<UserShards> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(UserShards::close);
+    }
+
+    @Test
+    void routesByIdAndFansOutQueriesWithoutAKey() {
+        List<DataSource> dataSources = databases(3);
+        UserShards shards = shards(dataSources, UserShardProperties.Key.ID, 0);
+        ShardedUserRepository repository = new ShardedUserRepository(shards, new SnowflakeIdGenerator(1));
+        List<Long> ids = insertUsers(repository);
+
+        for (int shard = 0; shard < 3; shard++) {
+            int index = shard;
+            List<Long> stored = shards.shard(shard).queryForList("SELECT ID FROM USER", Long.class);
+            assertThat(stored).hasSizeBetween(USERS / 3 - 60, USERS / 3 + 60)
+                    .allMatch(id -> shards.router().shardOf(id, null) == index);
+        }
+        assertThat(repository.count()).isEqualTo(USERS);
+
+        UserEntity user = repository.findById(ids.get(42)).orElseThrow();
+        assertThat(user.getAccount()).isEqualTo("user42");
+        assertThat(user.getCreatedBy()).isEqualTo("ADMIN");
+        assertThat(repository.findByAccount("user43")).map(UserEntity::getId).contains(ids.get(43));
+        assertThat(repository.findByAccount("missing")).isEmpty();
+        assertThat(repository.findAllById(List.of(ids.get(5), ids.get(1), ids.get(300), -1L)))
+                .extracting(UserEntity::getId).containsExactly(ids.get(1), ids.get(5), ids.get(300));
+
+        List<Long> paged = new ArrayList<>();
+        long afterId = 0;
+        List<UserEntity> page;
+        while (!(page = repository.findPage(afterId, 70)).isEmpty()) {
+            page.forEach(u -> paged.add(u.getId()));
+            afterId = page.get(page.size() - 1).getId();
+        }
+        assertThat(paged).isSorted().containsExactlyElementsOf(ids);
+
+        user.setName("Nguyễn Văn Mới");
+        assertThat(repository.update(user)).isTrue();
+        assertThat(repository.findById(user.getId())).map(UserEntity::getName).contains("Nguyễn Văn Mới");
+        assertThat(repository.deleteById(user.getId())).isTrue();
+        assertThat(repository.deleteById(user.getId())).isFalse();
+        assertThat(repository.count()).isEqualTo(USERS - 1);
+    }
+
+    @Test
+    void routesByAccountIgnoringCase() {
+        UserShards shards = shards(databases(4), UserShardProperties.Key.ACCOUNT, 0);
+        ShardedUserRepository repository = new ShardedUserRepository(shards, new SnowflakeIdGenerator(2));
+        List<Long> ids = insertUsers(repository);
+
+        assertThat(shards.router().shardOf(0, "An.Nguyen")).isEqualTo(shards.router().shardOf(0, "an.nguyen"));
+        for (int shard = 0; shard < 4; shard++) {
+            int index = shard;
+            assertThat(shards.shard(shard).queryForList("SELECT ACCOUNT FROM USER", String.class))
+                    .isNotEmpty().allMatch(account -> shards.router().shardOf(0, account) == index);
+        }
+        assertThat(repository.findByAccount("user7")).map(UserEntity::getId).contains(ids.get(7));
+        assertThat(repository.findById(ids.get(8))).map(UserEntity::getAccount).contains("user8");
+        assertThat(repository.findAllById(List.of(ids.get(9), ids.get(10)))).hasSize(2);
+        assertThat(repository.deleteById(ids.get(8))).isTrue();
+        assertThat(repository.findByAccount("user8")).isEmpty();
+    }
+
+    @Test
+    void rebalanceMovesOnlyUsersOfTheNewShard() {
+        List<DataSource> dataSources = databases(4);
+        UserShards threeShards = shards(dataSources.subList(0, 3), UserShardProperties.Key.ID, 0);
+        List<Long> ids = insertUsers(new ShardedUserRepository(threeShards, new SnowflakeIdGenerator(3)));
+
+        UserShards fourShards = shards(dataSources, UserShardProperties.Key.ID, 3);
+        ShardedUserRepository repository = new ShardedUserRepository(fourShards, new SnowflakeIdGenerator(3));
+        assertThat(repository.findById(ids.get(0))).isPresent();
+        assertThat(repository.findAllById(ids)).hasSize(USERS);
+
+        UserShardProperties properties = new UserShardProperties();
+        properties.setRebalancePageSize(50);
+        UserShardRebalancer rebalancer = new UserShardRebalancer(fourShards, properties);
+        UserShardRebalancer.Report plan = rebalancer.plan();
+        assertThat(plan.misplaced()).isBetween(USERS / 4L - 60, USERS / 4L + 60);
+        assertThat(fourShards.shard(3).queryForObject("SELECT COUNT(*) FROM USER", Long.class)).isZero();
+
+        UserShardRebalancer.Report report = rebalancer.rebalance();
+        assertThat(report.misplaced()).isEqualTo(plan.misplaced());
+        assertThat(fourShards.shard(3).queryForObject("SELECT COUNT(*) FROM USER", Long.class))
+                .isEqualTo(plan.misplaced());
+        for (int shard = 0; shard < 4; shard++) {
+            int index = shard;
+            assertThat(fourShards.shard(shard).queryForList("SELECT ID FROM USER", Long.class))
+                    .allMatch(id -> fourShards.router().shardOf(id, null) == index);
+        }
+        assertThat(repository.count()).isEqualTo(USERS);
+        assertThat(repository.findAllById(ids)).hasSize(USERS);
+        assertThat(rebalancer.rebalance().misplaced()).isZero();
+    }
+
+    @Test
+    void rejectsAccountsAndEmailsUsedOnAnotherShard() {
+        UserShards shards = shards(databases(3), UserShardProperties.Key.ID, 0);
+        ShardedUserRepository repository = new ShardedUserRepository(shards, new SnowflakeIdGenerator(4));
+        List<Long> ids = insertUsers(repository);
+
+        assertThatThrownBy(() -> repository.insert(user("user1", "new@mail.vn")))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> repository.insert(user("new", "user2@mail.vn")))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(repository.count()).isEqualTo(USERS);
+
+        UserEntity user = repository.findById(ids.get(3)).orElseThrow();
+        user.setEmail("user4@mail.vn");
+        assertThatThrownBy(() -> repository.update(user)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(repository.findById(ids.get(3))).map(UserEntity::getEmail).contains("user3@mail.vn");
+
+        // Dữ liệu ghi thẳng vào shard, không qua repository
+        long otherShard = ids.stream().filter(id -> shards.router().shardOf(id, null)
+                != shards.router().shardOf(ids.get(5), null)).findFirst().orElseThrow();
+        shards.shard(shards.router().shardOf(otherShard, null)).update(ShardedUserRepository.INSERT_SQL,
+                ShardedUserRepository.insertArgs(withId(user("user5", "copy@mail.vn"), otherShard + 1)));
+        assertThatThrownBy(() -> repository.findByAccount("user5"))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    @Test
+    void rebalanceKeepsConflictingUsersInTheSourceShard() {
+        List<DataSource> dataSources = databases(4);
+        UserShards threeShards = shards(dataSources.subList(0, 3), UserShardProperties.Key.ID, 0);
+        List<Long> ids = insertUsers(new ShardedUserRepository(threeShards, new SnowflakeIdGenerator(7)));
+        UserShards fourShards = shards(dataSources, UserShardProperties.Key.ID, 3);
+        ShardedUserRepository repository = new ShardedUserRepository(fourShards, new SnowflakeIdGenerator(7));
+        List<Long> moving = ids.stream().filter(id -> fourShards.router().shardOf(id, null) == 3).toList();
+        long conflicting = moving.get(0);
+        long copied = moving.get(1);
+        UserEntity conflictingUser = repository.findById(conflicting).orElseThrow();
+        UserEntity copiedUser = repository.findById(copied).orElseThrow();
+        int conflictingSource = threeShards.router().shardOf(conflicting, null);
+
+        // Shard mới đã có user khác cùng email, và một user đã được chép sang rồi cập nhật (lần chạy trước bị ngắt)
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(8);
+        long otherId;
+        do {
+            otherId = generator.nextId();
+        } while (fourShards.router().shardOf(otherId, null) != 3);
+        UserEntity other = withId(user("other", conflictingUser.getEmail()), otherId);
+        fourShards.shard(3).update(ShardedUserRepository.INSERT_SQL, ShardedUserRepository.insertArgs(other));
+        copiedUser.setName("Đã cập nhật");
+        fourShards.shard(3).update(ShardedUserRepository.INSERT_SQL, ShardedUserRepository.insertArgs(copiedUser));
+
+        UserShardRebalancer rebalancer = new UserShardRebalancer(fourShards, new UserShardProperties());
+        assertThat(rebalancer.plan().conflicts()).containsExactly(conflicting);
+        UserShardRebalancer.Report report = rebalancer.rebalance();
+
+        assertThat(report.misplaced()).isEqualTo(moving.size());
+        assertThat(report.conflicts()).containsExactly(conflicting);
+        assertThat(fourShards.shard(conflictingSource).queryForObject("SELECT EMAIL FROM USER WHERE ID = ?",
+                String.class, conflicting)).isEqualTo(conflictingUser.getEmail());
+        assertThat(fourShards.shard(3).queryForObject("SELECT ACCOUNT FROM USER WHERE EMAIL = ?",
+                String.class, conflictingUser.getEmail())).isEqualTo("other");
+        assertThat(repository.findById(copied)).map(UserEntity::getName).contains("Đã cập nhật");
+        assertThat(fourShards.shard(3).queryForObject("SELECT COUNT(*) FROM USER", Long.class))
+                .isEqualTo(moving.size());
+        assertThat(repository.count()).isEqualTo(USERS + 1);
+        assertThat(rebalancer.rebalance().conflicts()).containsExactly(conflicting);
+    }
+
+    @Test
+    void generatesUniqueIdsAcrossWorkersWithoutCoordination() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<SnowflakeIdGenerator> generators = List.of(new SnowflakeIdGenerator(5), new SnowflakeIdGenerator(6));
+            List<Future<long[]>> batches = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                SnowflakeIdGenerator generator = generators.get(thread % 2);
+                batches.add(executor.submit(() -> {
+                    long[] batch = new long[50_000];
+                    for (int i = 0; i < batch.length; i++) {
+                        batch[i] = generator.nextId();
+                    }
+                    return batch;
+                }));
+            }
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> batch : batches) {
+                long[] ids = batch.get();
+                assertThat(ids).isSorted();
+                for (long id : ids) {
+                    assertThat(SnowflakeIdGenerator.workerOf(id)).isIn(5, 6);
+                    seen.add(id);
+                }
+            }
+            assertThat(seen).hasSize(200_000);
+            long now = System.currentTimeMillis();
+            assertThat(SnowflakeIdGenerator.timestampOf(new SnowflakeIdGenerator(0).nextId()))
+                    .isBetween(now - 1_000, now + 1_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static UserEntity user(String account, String email) {
+        return UserEntity.builder().name(account).account(account).password("{noop}secret").email(email)
+                .phone("0900000000").build();
+    }
+
+    private static UserEntity withId(UserEntity user, long id) {
+        user.setId(id);
+        user.prePersist();
+        return user;
+    }
+
+    private static List<Long> insertUsers(ShardedUserRepository repository) {
+        List<Long> ids = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            UserEntity user = repository.insert(UserEntity.builder()
+                    .name("User " + i)
+                    .account("user" + i)
+                    .password("{noop}secret")
+                    .email("user" + i + "@mail.vn")
+                    .phone(String.format("09%08d", i))
+                    .build());
+            ids.add(user.getId());
+        }
+        return ids;
+    }
+
+    private UserShards shards(List<DataSource> dataSources, UserShardProperties.Key key, int previousShardCount) {
+        UserShardProperties properties = new UserShardProperties();
+        properties.setKey(key);
+        properties.setPreviousShardCount(previousShardCount);
+        UserShards shards = new UserShards(dataSources, properties);
+        opened.add(shards);
+        return shards;
+    }
+
+    private static List<DataSource> databases(int count) {
+        String prefix = "user_shard_" + UUID.randomUUID().toString().replace("-", "");
+        List<DataSource> dataSources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:" + prefix + "_" + i + ";MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER", "sa", "");
+            new JdbcTemplate(dataSource).execute(CREATE_TABLE);
+            dataSources.add(dataSource);
+        }
+        return dataSources;
+    }
+}
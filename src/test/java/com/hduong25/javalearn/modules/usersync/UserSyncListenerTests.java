@@ -0,0 +1,223 @@
+package com.hduong25.javalearn.modules.usersync;
+
+import com.hduong25.javalearn.config.OutboxConfig;
+import com.hduong25.javalearn.config.UserSyncConfig;
+import com.hduong25.javalearn.modules.auth.service.impl.UserDetailsServiceImpl;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "user-sync.enabled=true",
+        "user-sync.retry-interval=PT0.1S"
+})
+@EmbeddedKafka(partitions = 3, topics = {
+        "identity-user-events", "identity-user-events.DLT",
+        "user-sync-bench-10", "user-sync-bench-100", "user-sync-bench-1000"
+})
+class UserSyncListenerTests {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSyncListenerTests.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Autowired
+    @Qualifier(OutboxConfig.OUTBOX_KAFKA_TEMPLATE_NAME)
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    @Qualifier(UserSyncConfig.CONTAINER_FACTORY_NAME)
+    private ConcurrentKafkaListenerContainerFactory<String, String> containerFactory;
+
+    @Autowired
+    private UserSyncListener userSyncListener;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Test
+    void upsertsLatestChangePerUserAndRoutesBadRecordsToDeadLetter() throws InterruptedException {
+        send("identity-user-events", 1_000_001, event("USER_CREATED", 1_000_001, "First"));
+        send("identity-user-events", 1_000_001, event("USER_UPDATED", 1_000_001, "First v2"));
+        kafkaTemplate.send("identity-user-events", "bad", "not json");
+        send("identity-user-events", 1_000_002, event("USER_CREATED", 1_000_002, "Second"));
+        send("identity-user-events", 1_000_003, "{\"eventType\":\"USER_CREATED\",\"id\":1000003,\"name\":\"Third\","
+                + "\"account\":\"third\",\"email\":\"third@test\",\"phone\":\"09000000000000\"}");
+        send("identity-user-events", 1_000_004, event("USER_CREATED", 1_000_004, "Fourth"));
+        send("identity-user-events", 1_000_004, "{\"eventType\":\"USER_DELETED\",\"id\":1000004}");
+        kafkaTemplate.flush();
+
+        assertThat(waitFor(() -> userCount(1_000_001, 1_000_002) == 2
+                && "First v2".equals(nameOf(1_000_001)), 20_000)).isTrue();
+        assertThat(waitFor(() -> userCount(1_000_004, 1_000_004) == 0, 5_000)).isTrue();
+        assertThat(userCount(1_000_003, 1_000_003)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT PASSWORD FROM USER WHERE ID = ?", String.class, 1_000_001))
+                .isEqualTo(UserSyncWriter.UNUSABLE_PASSWORD);
+
+        assertThat(deadLetterKeys("user-sync-dlt-test", "bad", "1000003"))
+                .contains("bad", "1000003").doesNotContain("1000001", "1000002", "1000004");
+    }
+
+    @Test
+    void rejectsChangesThatTakeAnotherUsersAccountOrEmail() throws InterruptedException {
+        jdbcTemplate.update("INSERT INTO USER (ID, NAME, ACCOUNT, PASSWORD, EMAIL, PHONE, CREATED_BY, UPDATED_BY)"
+                + " VALUES (2000001, 'Owner', 'owner', '{bcrypt}hash', 'owner@test', '0900000000', 'ADMIN', 'ADMIN')");
+        send("identity-user-events", 2_000_002, "{\"eventType\":\"USER_CREATED\",\"id\":2000002,\"name\":\"Thief\","
+                + "\"account\":\"owner\",\"email\":\"thief@test\",\"phone\":\"0900000000\"}");
+        send("identity-user-events", 2_000_003, "{\"eventType\":\"USER_CREATED\",\"id\":2000003,\"name\":\"Thief\","
+                + "\"account\":\"thief\",\"email\":\"owner@test\",\"phone\":\"0900000000\"}");
+        send("identity-user-events", 2_000_004, event("USER_CREATED", 2_000_004, "Honest"));
+        kafkaTemplate.flush();
+
+        assertThat(deadLetterKeys("user-sync-conflict-test", "2000002", "2000003"))
+                .contains("2000002", "2000003").doesNotContain("2000004");
+        assertThat(waitFor(() -> "Honest".equals(nameOf(2_000_004)), 10_000)).isTrue();
+        assertThat(userCount(2_000_002, 2_000_003)).isZero();
+        assertThat(jdbcTemplate.queryForMap("SELECT NAME, PASSWORD FROM USER WHERE ID = 2000001"))
+                .containsEntry("NAME", "Owner").containsEntry("PASSWORD", "{bcrypt}hash");
+    }
+
+    @Test
+    void evictsCachedPrincipalsAfterCommit() throws InterruptedException {
+        send("identity-user-events", 3_000_001, event("USER_CREATED", 3_000_001, "Cached"));
+        kafkaTemplate.flush();
+        assertThat(waitFor(() -> userCount(3_000_001, 3_000_001) == 1, 20_000)).isTrue();
+        assertThat(userDetailsService.loadUserByUsername("acc3000001").getUsername()).isEqualTo("acc3000001");
+
+        send("identity-user-events", 3_000_001, "{\"eventType\":\"USER_DELETED\",\"id\":3000001}");
+        kafkaTemplate.flush();
+        assertThat(waitFor(() -> userCount(3_000_001, 3_000_001) == 0, 20_000)).isTrue();
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("acc3000001"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    /**
+     * Đo throughput (message/giây) của listener và upsert theo kích thước batch (max.poll.records).
+     * Mỗi lần chạy: 20.000 message cho 5.000 user (mỗi user 4 thay đổi) được gửi trước; thời gian tính từ lúc
+     * consumer (đã được gán partition, đang pause) bắt đầu đọc tới khi listener xử lý hết.
+     */
+    @Test
+    @Tag("loadtest")
+    void reportsThroughputForBatchSizes() throws InterruptedException {
+        int messages = 20_000;
+        int users = 5_000;
+        for (int batchSize : new int[]{10, 100, 1000}) {
+            String topic = "user-sync-bench-" + batchSize;
+            long baseId = 10_000_000L * batchSize;
+            long receivedBefore = userSyncListener.getReceivedCount();
+            ConcurrentMessageListenerContainer<String, String> container = containerFactory.createContainer(topic);
+            container.getContainerProperties().setGroupId("user-sync-bench-" + batchSize);
+            Properties overrides = new Properties();
+            overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Integer.toString(batchSize));
+            container.getContainerProperties().setKafkaConsumerProperties(overrides);
+            container.setupMessageListener((BatchMessageListener<String, String>) userSyncListener::onBatch);
+            for (int i = 0; i < messages; i++) {
+                long id = baseId + (i % users);
+                send(topic, id, event("USER_UPDATED", id, "Bench " + i));
+            }
+            kafkaTemplate.flush();
+
+            container.pause();
+            container.start();
+            long start;
+            try {
+                ContainerTestUtils.waitForAssignment(container, embeddedKafkaBroker.getPartitionsPerTopic());
+                start = System.nanoTime();
+                container.resume();
+                assertThat(waitFor(() -> userSyncListener.getReceivedCount() - receivedBefore >= messages, 60_000))
+                        .isTrue();
+            } finally {
+                container.stop();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            log.info("user-sync batch size {}: {} messages in {} s ({} messages/s)", batchSize, messages,
+                    String.format("%.2f", seconds), Math.round(messages / seconds));
+
+            assertThat(userCount(baseId, baseId + users - 1)).isEqualTo(users);
+        }
+    }
+
+    /**
+     * Đọc topic dead-letter từ đầu với consumer group riêng tới khi thấy đủ các key mong đợi (tối đa 20 giây).
+     */
+    private List<String> deadLetterKeys(String groupId, String... expectedKeys) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps(groupId, "false", embeddedKafkaBroker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, "identity-user-events.DLT");
+            List<String> keys = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 20_000;
+            while (!keys.containsAll(List.of(expectedKeys)) && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<String, String> deadLetter : KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(1))) {
+                    keys.add(deadLetter.key());
+                }
+            }
+            return keys;
+        }
+    }
+
+    private void send(String topic, long id, String payload) {
+        kafkaTemplate.send(topic, Long.toString(id), payload);
+    }
+
+    private static String event(String type, long id, String name) {
+        return "{\"eventType\":\"" + type + "\",\"id\":" + id + ",\"name\":\"" + name + "\",\"account\":\"acc" + id
+                + "\",\"email\":\"" + id + "@test\",\"phone\":\"0900000000\",\"address\":null}";
+    }
+
+    private int userCount(long fromId, long toId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM USER WHERE ID BETWEEN ? AND ?",
+                Integer.class, fromId, toId);
+    }
+
+    private String nameOf(long id) {
+        List<String> names = jdbcTemplate.queryForList("SELECT NAME FROM USER WHERE ID = ?", String.class, id);
+        return names.isEmpty() ? null : names.get(0);
+    }
+
+    private static boolean waitFor(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.hduong25.javalearn.utils;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra {@link ReplayedBodyRequest}: đọc blocking và đọc qua {@link ReadListener}.
+ */
+class ReplayedBodyRequestTests {
+
+    @Test
+    void replaysHeadThenRestOfTheBody() throws IOException {
+        ReplayedBodyRequest request = request("{\"account\":", "\"an\"}");
+
+        assertThat(request.getReader().readLine()).isEqualTo("{\"account\":\"an\"}");
+    }
+
+    @Test
+    void notifiesReadListenerImmediately() throws IOException {
+        ReplayedBodyRequest request = request("{\"account\":", "\"an\"}");
+        ServletInputStream input = request.getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        List<String> callbacks = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                callbacks.add("onDataAvailable");
+                byte[] buffer = new byte[4];
+                int read;
+                while (input.isReady() && (read = input.read(buffer)) != -1) {
+                    received.write(buffer, 0, read);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                callbacks.add("onAllDataRead");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                callbacks.add("onError");
+            }
+        });
+
+        assertThat(callbacks).containsExactly("onDataAvailable", "onAllDataRead");
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo("{\"account\":\"an\"}");
+        assertThat(input.isFinished()).isTrue();
+    }
+
+    private static ReplayedBodyRequest request(String head, String rest) throws IOException {
+        MockHttpServletRequest original = new MockHttpServletRequest("POST", "/auth/login");
+        original.setContent(rest.getBytes(StandardCharsets.UTF_8));
+        return new ReplayedBodyRequest(original, head.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,147 @@
+package com.hduong25.javalearn.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * So sánh {@link SensitiveDataMasker#maskBody} với cách mask cũ bằng regex mà nó thay thế:
+ * hai cách phải cho cùng kết quả với mọi body JSON hợp lệ.
+ */
+class SensitiveDataMaskerTests {
+
+    private static final List<String> FIELDS = List.of("password", "token", "secret");
+    private static final int MAX_BODY_LENGTH = 120;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Tên trường, giá trị chứa dấu nháy kép, gạch chéo ngược, xuống dòng và chuỗi giống một cặp key/value
+    private static final List<String> STRINGS = List.of("password", "token", "secret", "account", "", "p",
+            "a\"b", "x\\", "line\nbreak", "\"token\":\"", "a\"token", "password\\", "\",\"secret\":\"s",
+            "Nguyễn Văn A");
+
+    private final SensitiveDataMasker masker = new SensitiveDataMasker(FIELDS, MAX_BODY_LENGTH);
+
+    static Stream<String> bodies() {
+        return Stream.of(
+                "{\"account\":\"an\",\"password\":\"S3cret\"}",
+                "{\"password\" : \"a\", \"token\":\t\"b\",\"secret\"\n:\n\"c\"}",
+                // JSON lồng nhau và mảng
+                "{\"user\":{\"account\":\"an\",\"credentials\":{\"password\":\"p\",\"token\":\"t\"}}}",
+                "{\"data\":[{\"token\":\"t1\"},{\"token\":\"t2\"},{\"password\":\"\"}]}",
+                "{\"token\":[\"a\",\"b\"],\"password\":null,\"secret\":123,\"nested\":{\"secret\":\"s\"}}",
+                // Dấu nháy kép được escape: regex cũ dừng ở dấu nháy kép đầu tiên
+                "{\"password\":\"a\\\"b\\\"c\",\"account\":\"an\"}",
+                "{\"note\":\"\\\"password\\\":\\\"x\\\"\",\"token\":\"t\"}",
+                "{\"password\":\"\\\\\",\"token\":\"t\"}",
+                // Giá trị có xuống dòng không bị mask
+                "{\"password\":\"line1\nline2\",\"token\":\"t\"}",
+                // Tên trường chỉ chứa tên cần mask, hoặc không có giá trị
+                "{\"mypassword\":\"x\",\"password_hint\":\"y\",\"passwords\":\"z\",\"password\":",
+                "{\"password\":\"unterminated",
+                "\"password\"",
+                "password=123&token=abc",
+                "{\"token\":\"" + "x".repeat(200) + "\"}",
+                "{\"account\":\"" + "a".repeat(110) + "\",\"password\":\"p\"}",
+                "{\"password\":\"p\",\"account\":\"" + "a".repeat(200) + "\"}",
+                "",
+                "   "
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("bodies")
+    void matchesLegacyRegex(String body) {
+        assertThat(masker.maskBody(body)).isEqualTo(legacyMaskBody(body));
+    }
+
+    @Test
+    void matchesLegacyRegexOnRandomJson() throws JsonProcessingException {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            Object document = randomValue(random, 3);
+            String json = random.nextBoolean()
+                    ? MAPPER.writeValueAsString(document)
+                    : MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(document);
+            assertThat(masker.maskBody(json)).as(json).isEqualTo(legacyMaskBody(json));
+        }
+    }
+
+    @Test
+    void differsFromLegacyRegexWhenMatchesOverlapInNonJsonText() {
+        // Regex cũ chạy lần lượt từng trường nên giá trị của "token" ("password") lại được mask như một trường
+        String body = "\"token\" : \"password\":\"secret\" : \"secret\"";
+
+        assertThat(legacyMaskBody(body)).isEqualTo("\"token\" : \"******\":\"******\" : \"secret\"");
+        assertThat(masker.maskBody(body)).isEqualTo("\"token\" : \"******\":\"secret\" : \"******\"");
+    }
+
+    @Test
+    void truncatesAfterMasking() {
+        String body = "{\"password\":\"" + "p".repeat(200) + "\"}";
+
+        assertThat(masker.maskBody(body)).isEqualTo("{\"password\":\"" + SensitiveDataMasker.MASK + "\"}");
+        assertThat(masker.maskBody("x".repeat(MAX_BODY_LENGTH + 1)))
+                .isEqualTo("x".repeat(MAX_BODY_LENGTH) + "... (truncated)");
+    }
+
+    @Test
+    void masksHeadersAndNestedParameters() {
+        assertThat(masker.maskHeader("X-Auth-Token", "abc")).isEqualTo(SensitiveDataMasker.MASK);
+        assertThat(masker.maskHeader("Accept", "application/json")).isEqualTo("application/json");
+        assertThat(masker.maskParameters(Map.of("Password", "p", "filter", Map.of("token", "t", "page", 1))))
+                .isEqualTo(Map.of("Password", SensitiveDataMasker.MASK,
+                        "filter", Map.of("token", SensitiveDataMasker.MASK, "page", 1)));
+    }
+
+    private static Object randomValue(Random random, int depth) {
+        int kind = random.nextInt(depth > 0 ? 6 : 4);
+        return switch (kind) {
+            case 0 -> null;
+            case 1 -> random.nextInt(1000);
+            case 2, 3 -> STRINGS.get(random.nextInt(STRINGS.size()));
+            case 4 -> {
+                List<Object> list = new ArrayList<>();
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    list.add(randomValue(random, depth - 1));
+                }
+                yield list;
+            }
+            default -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = random.nextInt(5); i > 0; i--) {
+                    map.put(STRINGS.get(random.nextInt(STRINGS.size())), randomValue(random, depth - 1));
+                }
+                yield map;
+            }
+        };
+    }
+
+    /**
+     * Cách mask trước đây trong {@code LoggingRequestConfig}: một regex cho từng trường.
+     */
+    private static String legacyMaskBody(String content) {
+        if (content == null || content.isBlank()) {
+            return content;
+        }
+        String maskedContent = content;
+        for (String field : FIELDS) {
+            maskedContent = maskedContent.replaceAll(
+                    String.format("(\"%s\"\\s*:\\s*\")(.*?)(\")", field),
+                    "$1******$3"
+            );
+        }
+        return maskedContent.length() > MAX_BODY_LENGTH
+                ? maskedContent.substring(0, MAX_BODY_LENGTH) + "... (truncated)"
+                : maskedContent;
+    }
+}
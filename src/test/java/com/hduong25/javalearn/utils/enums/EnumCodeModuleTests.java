@@ -0,0 +1,56 @@
+package com.hduong25.javalearn.utils.enums;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.hduong25.javalearn.config.ObjectMapperConfig;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra ghi/đọc enum theo mã của {@link EnumCodeModule} và việc module chỉ được bật khi cấu hình.
+ */
+class EnumCodeModuleTests {
+
+    record Holder(StatusEnum status, ErrorResponse error, DayOfWeek day) {
+    }
+
+    private final ObjectMapper mapper = new ObjectMapperConfig().objectMapper(true);
+
+    @Test
+    void writesCodes() throws Exception {
+        assertThat(mapper.writeValueAsString(new Holder(StatusEnum.INACTIVE, ErrorResponse.NOT_FOUND, DayOfWeek.MONDAY)))
+                .isEqualTo("{\"status\":\"Không hoạt động\",\"error\":\"ERROR_002\",\"day\":\"MONDAY\"}");
+    }
+
+    @Test
+    void readsByCodeOrName() throws Exception {
+        Holder byCode = mapper.readValue("{\"status\":\"Hoạt động\",\"error\":\"ERROR_002\",\"day\":\"MONDAY\"}",
+                Holder.class);
+        Holder byName = mapper.readValue("{\"status\":\"ACTIVE\",\"error\":\"NOT_FOUND\"}", Holder.class);
+
+        assertThat(byCode).isEqualTo(new Holder(StatusEnum.ACTIVE, ErrorResponse.NOT_FOUND, DayOfWeek.MONDAY));
+        assertThat(byName).isEqualTo(new Holder(StatusEnum.ACTIVE, ErrorResponse.NOT_FOUND, null));
+    }
+
+    @Test
+    void rejectsUnknownValues() {
+        assertThatThrownBy(() -> mapper.readValue("{\"status\":\"A\"}", Holder.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> mapper.readValue("{\"status\":1}", Holder.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+
+    @Test
+    void notRegisteredByDefault() throws Exception {
+        ObjectMapper defaultMapper = new ObjectMapperConfig().objectMapper(false);
+
+        assertThat(defaultMapper.writeValueAsString(new Holder(StatusEnum.INACTIVE, ErrorResponse.NOT_FOUND, null)))
+                .isEqualTo("{\"status\":\"INACTIVE\",\"error\":\"NOT_FOUND\",\"day\":null}");
+    }
+}
@@ -0,0 +1,59 @@
+package com.hduong25.javalearn.utils.enums;
+
+import com.hduong25.fixtures.enums.DuplicateCodeEnum;
+import com.hduong25.fixtures.enums.DuplicateShortCodeEnum;
+import com.hduong25.javalearn.utils.response.ErrorResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra tra cứu theo mã, mã ngắn, tên hằng của {@link EnumRegistry} và lỗi khi mã bị trùng.
+ */
+class EnumRegistryTests {
+
+    @Test
+    void findsByCodeAndShortCode() {
+        assertThat(EnumRegistry.fromCode(StatusEnum.class, "Không hoạt động")).isEqualTo(StatusEnum.INACTIVE);
+        assertThat(EnumRegistry.fromShortCode(StatusEnum.class, "A")).isEqualTo(StatusEnum.ACTIVE);
+        assertThat(EnumRegistry.fromShortCode(RoleEnums.class, "ADMIN")).isEqualTo(RoleEnums.ADMIN);
+        assertThat(EnumRegistry.fromCode(ErrorResponse.class, "ERROR_010")).isEqualTo(ErrorResponse.IDEMPOTENCY_KEY_REUSED);
+        assertThat(EnumRegistry.findByCode(StatusEnum.class, "INACTIVE")).isEmpty();
+        assertThat(EnumRegistry.findByCode(StatusEnum.class, null)).isEmpty();
+
+        assertThatThrownBy(() -> EnumRegistry.fromCode(StatusEnum.class, "X"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EnumRegistry.fromShortCode(StatusEnum.class, "ACTIVE"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findsByCodeOrName() {
+        assertThat(EnumRegistry.findByCodeOrName(StatusEnum.class, "Hoạt động")).isEqualTo(StatusEnum.ACTIVE);
+        assertThat(EnumRegistry.findByCodeOrName(StatusEnum.class, "ACTIVE")).isEqualTo(StatusEnum.ACTIVE);
+        assertThat(EnumRegistry.findByCodeOrName(StatusEnum.class, "A")).isNull();
+        assertThat(EnumRegistry.findByCodeOrName(StatusEnum.class, null)).isNull();
+    }
+
+    @Test
+    void rejectsDuplicateCodes() {
+        assertThatThrownBy(() -> EnumRegistry.precompute(List.of(DuplicateCodeEnum.class)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("duplicate code 'SAME'");
+        assertThatThrownBy(() -> EnumRegistry.fromCode(DuplicateShortCodeEnum.class, "SAVED"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("duplicate short code 'S'");
+    }
+
+    @Test
+    void ignoresEnumsWithoutCodes() {
+        assertThat(EnumRegistry.supports(DayOfWeek.class)).isFalse();
+        assertThat(EnumRegistry.precompute(List.of(DayOfWeek.class, String.class, StatusEnum.class))).isEqualTo(1);
+        assertThatThrownBy(() -> EnumRegistry.fromCode(DayOfWeek.class, "MONDAY"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
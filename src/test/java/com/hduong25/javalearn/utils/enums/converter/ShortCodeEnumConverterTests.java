@@ -0,0 +1,44 @@
+package com.hduong25.javalearn.utils.enums.converter;
+
+import com.hduong25.javalearn.utils.enums.RoleEnums;
+import com.hduong25.javalearn.utils.enums.StatusEnum;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra {@link ShortCodeEnumConverter} qua {@link StatusEnumConverter} và {@link RoleEnumsConverter}.
+ */
+class ShortCodeEnumConverterTests {
+
+    private final StatusEnumConverter statusConverter = new StatusEnumConverter();
+    private final RoleEnumsConverter roleConverter = new RoleEnumsConverter();
+
+    @Test
+    void roundTripsEveryConstant() {
+        for (StatusEnum status : StatusEnum.values()) {
+            assertThat(statusConverter.convertToEntityAttribute(statusConverter.convertToDatabaseColumn(status)))
+                    .isEqualTo(status);
+        }
+        for (RoleEnums role : RoleEnums.values()) {
+            assertThat(roleConverter.convertToEntityAttribute(roleConverter.convertToDatabaseColumn(role)))
+                    .isEqualTo(role);
+        }
+    }
+
+    @Test
+    void storesShortCodes() {
+        assertThat(statusConverter.convertToDatabaseColumn(StatusEnum.ACTIVE)).isEqualTo("A");
+        assertThat(statusConverter.convertToDatabaseColumn(StatusEnum.INACTIVE)).isEqualTo("I");
+        assertThat(roleConverter.convertToDatabaseColumn(RoleEnums.EMPLOYEE)).isEqualTo("EMPLOYEE");
+    }
+
+    @Test
+    void handlesNullAndUnknownValues() {
+        assertThat(statusConverter.convertToDatabaseColumn(null)).isNull();
+        assertThat(statusConverter.convertToEntityAttribute(null)).isNull();
+        assertThatThrownBy(() -> statusConverter.convertToEntityAttribute("ACTIVE"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}